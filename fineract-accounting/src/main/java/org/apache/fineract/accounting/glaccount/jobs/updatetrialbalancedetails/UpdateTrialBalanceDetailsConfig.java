@@ -19,8 +19,8 @@
 package org.apache.fineract.accounting.glaccount.jobs.updatetrialbalancedetails;
 
 import lombok.RequiredArgsConstructor;
-import org.apache.fineract.accounting.glaccount.domain.TrialBalanceRepositoryWrapper;
-import org.apache.fineract.infrastructure.core.service.database.RoutingDataSourceServiceFactory;
+import org.apache.fineract.accounting.trialbalance.service.TrialBalanceWritePlatformService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
@@ -38,8 +38,8 @@ public class UpdateTrialBalanceDetailsConfig {
 
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
-    private final RoutingDataSourceServiceFactory dataSourceServiceFactory;
-    private final TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper;
+    private final TrialBalanceWritePlatformService trialBalanceWritePlatformService;
+    private final FineractProperties fineractProperties;
 
     @Bean
     protected Step updateTrialBalanceDetailsStep() {
@@ -55,6 +55,6 @@ public class UpdateTrialBalanceDetailsConfig {
 
     @Bean
     public UpdateTrialBalanceDetailsTasklet updateTrialBalanceDetailsTasklet() {
-        return new UpdateTrialBalanceDetailsTasklet(dataSourceServiceFactory, trialBalanceRepositoryWrapper);
+        return new UpdateTrialBalanceDetailsTasklet(trialBalanceWritePlatformService, fineractProperties);
     }
 }
@@ -18,81 +18,67 @@
  */
 package org.apache.fineract.accounting.glaccount.jobs.updatetrialbalancedetails;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.fineract.accounting.glaccount.domain.TrialBalance;
-import org.apache.fineract.accounting.glaccount.domain.TrialBalanceRepositoryWrapper;
-import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.accounting.trialbalance.data.TrialBalanceAccountData;
+import org.apache.fineract.accounting.trialbalance.service.TrialBalanceWritePlatformService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.TrialBalanceUpdateMode;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
-import org.apache.fineract.infrastructure.core.service.database.RoutingDataSourceServiceFactory;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.repeat.RepeatStatus;
-import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.util.CollectionUtils;
 
+/**
+ * Folds the journal entries posted since the previous run into the trial balance. Every chunk of
+ * {@code fineract.trial-balance.batch-size} pending changes is applied in its own transaction, in {@code VERIFY} mode
+ * the accounts that still differ from the journal are rebuilt afterwards, once the applied changes are committed, and in
+ * {@code REBUILD} mode the whole trial balance is recomputed from the journal.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class UpdateTrialBalanceDetailsTasklet implements Tasklet {
 
-    private final RoutingDataSourceServiceFactory dataSourceServiceFactory;
-    private final TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper;
+    static final String VERIFYING_KEY = "trialBalance.verifying";
+
+    private final TrialBalanceWritePlatformService trialBalanceWritePlatformService;
+    private final FineractProperties fineractProperties;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
-        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSourceServiceFactory.determineDataSourceService().retrieveDataSource());
-        final StringBuilder tbGapSqlBuilder = new StringBuilder(500);
-        tbGapSqlBuilder.append("select distinct(je.transaction_date) ").append("from acc_gl_journal_entry je ")
-                .append("where je.transaction_date > (select coalesce(MAX(created_date),'2010-01-01') from m_trial_balance)");
-        final List<LocalDate> tbGaps = jdbcTemplate.queryForList(tbGapSqlBuilder.toString(), LocalDate.class);
-        for (LocalDate tbGap : tbGaps) {
-            int days = DateUtils.getExactDifferenceInDays(tbGap, DateUtils.getBusinessLocalDate());
-            if (days < 1) {
-                continue;
-            }
-            final StringBuilder sqlBuilder = new StringBuilder(600);
-            sqlBuilder.append("Insert Into m_trial_balance(office_id, account_id, Amount, entry_date, created_date,closing_balance) ")
-                    .append("Select je.office_id, je.account_id, SUM(CASE WHEN je.type_enum=1 THEN (-1) * je.amount ELSE je.amount END) ")
-                    .append("as Amount, Date(je.entry_date) as Entry_Date, je.transaction_date as Created_Date,sum(je.amount) as closing_balance ")
-                    .append("from acc_gl_journal_entry je WHERE je.transaction_date = ? ")
-                    .append("group by je.account_id, je.office_id, je.transaction_date, Date(je.entry_date)");
-            final int result = jdbcTemplate.update(sqlBuilder.toString(), tbGap);
-            log.debug("{}: Records affected by updateTrialBalanceDetails: {}", ThreadLocalContextUtil.getTenant().getName(), result);
+        final FineractProperties.FineractTrialBalanceProperties properties = fineractProperties.getTrialBalance();
+        if (properties.getUpdateMode() == TrialBalanceUpdateMode.REBUILD) {
+            final int result = trialBalanceWritePlatformService.rebuildAll();
+            log.debug("{}: Trial balance rebuilt with {} records", ThreadLocalContextUtil.getTenant().getName(), result);
+            return RepeatStatus.FINISHED;
         }
-        String distinctOfficeQuery = "select distinct(office_id) from m_trial_balance where closing_balance is null group by office_id";
-        final List<Long> officeIds = jdbcTemplate.queryForList(distinctOfficeQuery, Long.class);
-        for (Long officeId : officeIds) {
-            String distinctAccountQuery = "select distinct(account_id) from m_trial_balance where office_id=? and closing_balance is null group by account_id";
-            final List<Long> accountIds = jdbcTemplate.queryForList(distinctAccountQuery, Long.class, officeId);
-            for (Long accountId : accountIds) {
-                final String closingBalanceQuery = "select closing_balance from m_trial_balance where office_id=? and account_id=? and closing_balance "
-                        + "is not null order by created_date desc, entry_date desc limit 1";
-                List<BigDecimal> closingBalanceData = jdbcTemplate.queryForList(closingBalanceQuery, BigDecimal.class, officeId, accountId);
-                List<TrialBalance> tbRows = trialBalanceRepositoryWrapper.findNewByOfficeAndAccount(officeId, accountId);
-                BigDecimal closingBalance = null;
-                if (!CollectionUtils.isEmpty(closingBalanceData)) {
-                    closingBalance = closingBalanceData.get(0);
-                }
-                if (CollectionUtils.isEmpty(closingBalanceData)) {
-                    closingBalance = BigDecimal.ZERO;
-                    for (TrialBalance row : tbRows) {
-                        closingBalance = closingBalance.add(row.getAmount());
-                        row.setClosingBalance(closingBalance);
-                    }
-                } else {
-                    for (TrialBalance tbRow : tbRows) {
-                        if (closingBalance != null) {
-                            closingBalance = closingBalance.add(tbRow.getAmount());
-                        }
-                        tbRow.setClosingBalance(closingBalance);
-                    }
-                }
-                trialBalanceRepositoryWrapper.save(tbRows);
+
+        final ExecutionContext executionContext = contribution.getStepExecution().getExecutionContext();
+        if (!executionContext.containsKey(VERIFYING_KEY)) {
+            final int applied = trialBalanceWritePlatformService.applyPendingChanges(properties.getBatchSize());
+            log.debug("{}: Pending trial balance changes applied: {}", ThreadLocalContextUtil.getTenant().getName(), applied);
+            if (applied >= properties.getBatchSize()) {
+                return RepeatStatus.CONTINUABLE;
             }
+            if (properties.getUpdateMode() != TrialBalanceUpdateMode.VERIFY) {
+                return RepeatStatus.FINISHED;
+            }
+            // the accounts are rebuilt in their own transactions, the changes applied above have to be committed first
+            executionContext.put(VERIFYING_KEY, Boolean.TRUE);
+            return RepeatStatus.CONTINUABLE;
+        }
+
+        executionContext.remove(VERIFYING_KEY);
+        final List<TrialBalanceAccountData> inconsistentAccounts = trialBalanceWritePlatformService.findInconsistentAccounts();
+        for (TrialBalanceAccountData account : inconsistentAccounts) {
+            trialBalanceWritePlatformService.rebuild(account);
+        }
+        if (!inconsistentAccounts.isEmpty()) {
+            log.warn("{}: Trial balance of {} GL accounts did not match the journal and was rebuilt",
+                    ThreadLocalContextUtil.getTenant().getName(), inconsistentAccounts.size());
         }
         return RepeatStatus.FINISHED;
     }
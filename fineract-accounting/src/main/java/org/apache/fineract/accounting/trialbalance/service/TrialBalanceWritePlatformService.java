@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.trialbalance.service;
+
+import java.util.List;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.trialbalance.data.TrialBalanceAccountData;
+
+/**
+ * Maintains {@code m_trial_balance}: one row per office, GL account, entry date and posting date holding the net
+ * (debit minus credit) amount of the journal entries and the closing balance of the account in the office, accumulated
+ * in entry date and posting date order.
+ */
+public interface TrialBalanceWritePlatformService {
+
+    /**
+     * Records the amount of a newly posted journal entry as pending trial balance change. The change is written with
+     * the posting transaction and folded into the trial balance by {@link #applyPendingChanges(int)}.
+     */
+    void recordJournalEntry(JournalEntry journalEntry);
+
+    /**
+     * Records the amounts of newly posted journal entries as pending trial balance changes with one JDBC batch.
+     */
+    void recordJournalEntries(List<JournalEntry> journalEntries);
+
+    /**
+     * Folds up to {@code limit} pending changes into the trial balance, moving the closing balances of all later rows of
+     * the affected accounts by the changed amount, so backdated entries and reversals are handled without a rebuild.
+     *
+     * @return the number of pending changes applied
+     */
+    int applyPendingChanges(int limit);
+
+    /**
+     * Compares the trial balance, including the pending changes, with the journal entries and checks the closing
+     * balances of every account.
+     *
+     * @return the accounts whose trial balance differs from the journal
+     */
+    List<TrialBalanceAccountData> findInconsistentAccounts();
+
+    /**
+     * Rebuilds the trial balance of the account from its journal entries, discarding its pending changes. Runs in a new
+     * transaction, the caller must not hold uncommitted trial balance changes of the account.
+     */
+    void rebuild(TrialBalanceAccountData account);
+
+    /**
+     * Rebuilds the whole trial balance from the journal entries with set-based statements.
+     *
+     * @return the number of trial balance rows written
+     */
+    int rebuildAll();
+}
@@ -0,0 +1,277 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.trialbalance.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.accounting.trialbalance.data.TrialBalanceAccountData;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.TrialBalanceUpdateMode;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Journal entries only append their amount to {@code m_trial_balance_pending} when they are posted, so concurrent
+ * postings never update the same trial balance rows. The trial balance job folds the pending changes into
+ * {@code m_trial_balance} in id order and deletes exactly the changes it applied, changes committed meanwhile are left
+ * for the next run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrialBalanceWritePlatformServiceImpl implements TrialBalanceWritePlatformService {
+
+    private static final String NET_AMOUNT = "case when je.type_enum = " + JournalEntryType.CREDIT.getValue()
+            + " then -je.amount else je.amount end";
+
+    private static final String INSERT_PENDING_CHANGE_SQL = "insert into m_trial_balance_pending"
+            + " (office_id, account_id, entry_date, created_date, amount) values (?, ?, ?, ?, ?)";
+    private static final String SELECT_PENDING_CHANGES_SQL = "select id, office_id, account_id, entry_date, created_date, amount"
+            + " from m_trial_balance_pending order by id ";
+    private static final String DELETE_PENDING_CHANGE_SQL = "delete from m_trial_balance_pending where id = ?";
+
+    private static final String UPDATE_ROW_SQL = "update m_trial_balance set amount = amount + ?, closing_balance = closing_balance + ?"
+            + " where office_id = ? and account_id = ? and entry_date = ? and created_date = ?";
+    private static final String INSERT_ROW_SQL = "insert into m_trial_balance"
+            + " (office_id, account_id, amount, entry_date, created_date, closing_balance) values (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_PREVIOUS_CLOSING_BALANCE_SQL = "select closing_balance from m_trial_balance"
+            + " where office_id = ? and account_id = ? and (entry_date < ? or (entry_date = ? and created_date < ?))"
+            + " order by entry_date desc, created_date desc ";
+    private static final String SHIFT_CLOSING_BALANCES_SQL = "update m_trial_balance set closing_balance = closing_balance + ?"
+            + " where office_id = ? and account_id = ? and (entry_date > ? or (entry_date = ? and created_date > ?))";
+    private static final String SHIFT_CLOSING_BALANCES_BEFORE_SQL = SHIFT_CLOSING_BALANCES_SQL
+            + " and (entry_date < ? or (entry_date = ? and created_date < ?))";
+
+    private static final String SELECT_ACCOUNT_JOURNAL_SQL = "select je.entry_date as entry_date,"
+            + " je.submitted_on_date as created_date, sum(" + NET_AMOUNT + ") as amount"
+            + " from acc_gl_journal_entry je where je.office_id = ? and je.account_id = ?"
+            + " group by je.entry_date, je.submitted_on_date order by je.entry_date, je.submitted_on_date";
+
+    private static final String REBUILD_ALL_SQL = "insert into m_trial_balance"
+            + " (office_id, account_id, amount, entry_date, created_date, closing_balance)"
+            + " select tb.office_id, tb.account_id, tb.amount, tb.entry_date, tb.created_date, sum(tb.amount) over (partition by"
+            + " tb.office_id, tb.account_id order by tb.entry_date, tb.created_date rows between unbounded preceding and current row)"
+            + " from (select je.office_id as office_id, je.account_id as account_id, je.entry_date as entry_date,"
+            + " je.submitted_on_date as created_date, sum(" + NET_AMOUNT + ") as amount from acc_gl_journal_entry je"
+            + " group by je.office_id, je.account_id, je.entry_date, je.submitted_on_date) tb";
+
+    // accounts with a day whose stored (and pending) amount differs from the journal, or with a wrong closing balance
+    private static final String SELECT_INCONSISTENT_ACCOUNTS_SQL = "select amounts.office_id, amounts.account_id from ("
+            + "select d.office_id as office_id, d.account_id as account_id from ("
+            + "select je.office_id as office_id, je.account_id as account_id, je.entry_date as entry_date,"
+            + " je.submitted_on_date as created_date, " + NET_AMOUNT + " as amount from acc_gl_journal_entry je"
+            + " union all select tb.office_id, tb.account_id, tb.entry_date, tb.created_date, -tb.amount from m_trial_balance tb"
+            + " union all select p.office_id, p.account_id, p.entry_date, p.created_date, -p.amount from m_trial_balance_pending p) d"
+            + " group by d.office_id, d.account_id, d.entry_date, d.created_date having sum(d.amount) <> 0) amounts"
+            + " union select balances.office_id, balances.account_id from ("
+            + "select tb.office_id as office_id, tb.account_id as account_id, tb.closing_balance as closing_balance,"
+            + " sum(tb.amount) over (partition by tb.office_id, tb.account_id order by tb.entry_date, tb.created_date"
+            + " rows between unbounded preceding and current row) as running_balance from m_trial_balance tb) balances"
+            + " where balances.closing_balance is null or balances.closing_balance <> balances.running_balance";
+
+    private static final Comparator<TrialBalanceKey> KEY_ORDER = Comparator.comparing(TrialBalanceKey::officeId)
+            .thenComparing(TrialBalanceKey::glAccountId).thenComparing(TrialBalanceKey::entryDate)
+            .thenComparing(TrialBalanceKey::createdDate);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final FineractProperties fineractProperties;
+
+    @Override
+    public void recordJournalEntry(final JournalEntry journalEntry) {
+        if (getUpdateMode() == TrialBalanceUpdateMode.REBUILD) {
+            return;
+        }
+        this.jdbcTemplate.update(INSERT_PENDING_CHANGE_SQL, toPendingChange(journalEntry));
+    }
+
+    @Override
+    public void recordJournalEntries(final List<JournalEntry> journalEntries) {
+        if (journalEntries.isEmpty() || getUpdateMode() == TrialBalanceUpdateMode.REBUILD) {
+            return;
+        }
+        final List<Object[]> batch = new ArrayList<>(journalEntries.size());
+        for (final JournalEntry journalEntry : journalEntries) {
+            batch.add(toPendingChange(journalEntry));
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_PENDING_CHANGE_SQL, batch);
+    }
+
+    @Override
+    public int applyPendingChanges(final int limit) {
+        final List<Long> pendingChangeIds = new ArrayList<>();
+        final Map<TrialBalanceKey, BigDecimal> changes = new TreeMap<>(KEY_ORDER);
+        this.jdbcTemplate.query(SELECT_PENDING_CHANGES_SQL + this.sqlGenerator.limit(limit), rs -> {
+            pendingChangeIds.add(rs.getLong("id"));
+            final TrialBalanceKey key = new TrialBalanceKey(rs.getLong("office_id"), rs.getLong("account_id"),
+                    JdbcSupport.getLocalDate(rs, "entry_date"), JdbcSupport.getLocalDate(rs, "created_date"));
+            changes.merge(key, rs.getBigDecimal("amount"), BigDecimal::add);
+        });
+        if (pendingChangeIds.isEmpty()) {
+            return 0;
+        }
+
+        TrialBalanceKey previousKey = null;
+        BigDecimal accumulatedChange = BigDecimal.ZERO;
+        for (final Map.Entry<TrialBalanceKey, BigDecimal> change : changes.entrySet()) {
+            final TrialBalanceKey key = change.getKey();
+            if (change.getValue().signum() == 0) {
+                continue;
+            }
+            if (previousKey != null && !previousKey.isSameAccount(key)) {
+                shiftClosingBalancesAfter(previousKey, accumulatedChange);
+                accumulatedChange = BigDecimal.ZERO;
+            } else if (previousKey != null) {
+                shiftClosingBalancesBetween(previousKey, key, accumulatedChange);
+            }
+            accumulatedChange = accumulatedChange.add(change.getValue());
+            applyChange(key, change.getValue(), accumulatedChange);
+            previousKey = key;
+        }
+        if (previousKey != null) {
+            shiftClosingBalancesAfter(previousKey, accumulatedChange);
+        }
+
+        deletePendingChanges(pendingChangeIds);
+        log.debug("Applied {} pending trial balance changes to {} trial balance rows", pendingChangeIds.size(), changes.size());
+        return pendingChangeIds.size();
+    }
+
+    @Override
+    public List<TrialBalanceAccountData> findInconsistentAccounts() {
+        return this.jdbcTemplate.query(SELECT_INCONSISTENT_ACCOUNTS_SQL,
+                (rs, rowNum) -> new TrialBalanceAccountData(rs.getLong("office_id"), rs.getLong("account_id")));
+    }
+
+    /**
+     * Runs in its own repeatable read transaction: the pending changes and the journal are read from the same snapshot,
+     * so a posting committed meanwhile is neither counted in the rebuilt balance nor deleted from the pending changes,
+     * the next run applies it.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
+    public void rebuild(final TrialBalanceAccountData account) {
+        final List<Long> pendingChangeIds = this.jdbcTemplate.queryForList(
+                "select id from m_trial_balance_pending where office_id = ? and account_id = ?", Long.class, account.officeId(),
+                account.glAccountId());
+        final List<Object[]> rows = new ArrayList<>();
+        final BigDecimal[] closingBalance = { BigDecimal.ZERO };
+        this.jdbcTemplate.query(SELECT_ACCOUNT_JOURNAL_SQL, rs -> {
+            final BigDecimal amount = rs.getBigDecimal("amount");
+            closingBalance[0] = closingBalance[0].add(amount);
+            rows.add(new Object[] { account.officeId(), account.glAccountId(), amount, JdbcSupport.getLocalDate(rs, "entry_date"),
+                    JdbcSupport.getLocalDate(rs, "created_date"), closingBalance[0] });
+        }, account.officeId(), account.glAccountId());
+
+        this.jdbcTemplate.update("delete from m_trial_balance where office_id = ? and account_id = ?", account.officeId(),
+                account.glAccountId());
+        if (!rows.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(INSERT_ROW_SQL, rows);
+        }
+        deletePendingChanges(pendingChangeIds);
+        log.debug("Rebuilt {} trial balance rows of GL account {} in office {}", rows.size(), account.glAccountId(), account.officeId());
+    }
+
+    @Override
+    public int rebuildAll() {
+        this.jdbcTemplate.update("delete from m_trial_balance");
+        final int rows = this.jdbcTemplate.update(REBUILD_ALL_SQL);
+        this.jdbcTemplate.update("delete from m_trial_balance_pending");
+        return rows;
+    }
+
+    private static Object[] toPendingChange(final JournalEntry journalEntry) {
+        final BigDecimal amount = JournalEntryType.CREDIT.getValue().equals(journalEntry.getType()) ? journalEntry.getAmount().negate()
+                : journalEntry.getAmount();
+        return new Object[] { journalEntry.getOffice().getId(), journalEntry.getGlAccount().getId(), journalEntry.getTransactionDate(),
+                journalEntry.getSubmittedOnDate(), amount };
+    }
+
+    private TrialBalanceUpdateMode getUpdateMode() {
+        final FineractProperties.FineractTrialBalanceProperties properties = this.fineractProperties.getTrialBalance();
+        return properties == null ? TrialBalanceUpdateMode.INCREMENTAL : properties.getUpdateMode();
+    }
+
+    /**
+     * Adds the change to the row of the key, the closing balance of the row moves by all the changes of the account up to
+     * and including this one. A new row continues from the closing balance of the row before it, which already contains
+     * the earlier changes of this run.
+     */
+    private void applyChange(final TrialBalanceKey key, final BigDecimal change, final BigDecimal accumulatedChange) {
+        final int updated = this.jdbcTemplate.update(UPDATE_ROW_SQL, change, accumulatedChange, key.officeId(), key.glAccountId(),
+                key.entryDate(), key.createdDate());
+        if (updated > 0) {
+            return;
+        }
+        final List<BigDecimal> previousClosingBalance = this.jdbcTemplate.queryForList(
+                SELECT_PREVIOUS_CLOSING_BALANCE_SQL + this.sqlGenerator.limit(1), BigDecimal.class, key.officeId(), key.glAccountId(),
+                key.entryDate(), key.entryDate(), key.createdDate());
+        final BigDecimal closingBalance = previousClosingBalance.isEmpty() ? change : previousClosingBalance.get(0).add(change);
+        this.jdbcTemplate.update(INSERT_ROW_SQL, key.officeId(), key.glAccountId(), change, key.entryDate(), key.createdDate(),
+                closingBalance);
+    }
+
+    private void shiftClosingBalancesBetween(final TrialBalanceKey from, final TrialBalanceKey to, final BigDecimal change) {
+        if (change.signum() == 0) {
+            return;
+        }
+        this.jdbcTemplate.update(SHIFT_CLOSING_BALANCES_BEFORE_SQL, change, from.officeId(), from.glAccountId(), from.entryDate(),
+                from.entryDate(), from.createdDate(), to.entryDate(), to.entryDate(), to.createdDate());
+    }
+
+    private void shiftClosingBalancesAfter(final TrialBalanceKey from, final BigDecimal change) {
+        if (change.signum() == 0) {
+            return;
+        }
+        this.jdbcTemplate.update(SHIFT_CLOSING_BALANCES_SQL, change, from.officeId(), from.glAccountId(), from.entryDate(),
+                from.entryDate(), from.createdDate());
+    }
+
+    private void deletePendingChanges(final List<Long> pendingChangeIds) {
+        if (pendingChangeIds.isEmpty()) {
+            return;
+        }
+        final List<Object[]> batch = new ArrayList<>(pendingChangeIds.size());
+        for (final Long pendingChangeId : pendingChangeIds) {
+            batch.add(new Object[] { pendingChangeId });
+        }
+        this.jdbcTemplate.batchUpdate(DELETE_PENDING_CHANGE_SQL, batch);
+    }
+
+    record TrialBalanceKey(Long officeId, Long glAccountId, LocalDate entryDate, LocalDate createdDate) {
+
+        boolean isSameAccount(final TrialBalanceKey other) {
+            return officeId.equals(other.officeId) && glAccountId.equals(other.glAccountId);
+        }
+    }
+}
@@ -42,5 +42,13 @@ public class Command<T> implements Serializable {
 
     private String username;
 
+    /**
+     * Identifies the entity (e.g. the account) the command changes within the resource of the command type. Commands of
+     * the same tenant, type and aggregate key are executed in the order they were sent, commands of different entities
+     * may run in parallel. Leave it empty when the command changes a resource as a whole. It is derived from the request
+     * when the command is created and therefore not persisted.
+     */
+    private String aggregateKey;
+
     private T payload;
 }
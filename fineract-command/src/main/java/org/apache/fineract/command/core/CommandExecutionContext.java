@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.command.core;
+
+/**
+ * Hook for executors that run commands on other threads than the sender. Implementations resolve the tenant of a
+ * command, its concurrency limit and carry the thread context of the sender over to the executing thread.
+ * <p>
+ * All methods except the task returned by {@link #decorate(Runnable)} are called on the sending thread.
+ */
+public interface CommandExecutionContext {
+
+    default String resolveTenantId(Command<?> command) {
+        return command.getTenantId();
+    }
+
+    /**
+     * @return maximum number of commands of the tenant executed at the same time, {@code null} to use
+     *         {@code fineract.command.max-concurrency-per-tenant}
+     */
+    default Integer resolveMaxConcurrency(String tenantId) {
+        return null;
+    }
+
+    default Runnable decorate(Runnable task) {
+        return task;
+    }
+}
@@ -22,4 +22,14 @@ package org.apache.fineract.command.core;
 public interface CommandMiddleware {
 
     void invoke(Command<?> command);
+
+    /**
+     * Called once the handler of the last command of a batch returned, middlewares can flush work buffered for the
+     * commands of the batch here. Executors that do not batch commands call it after every command.
+     * <p>
+     * All executors call it in a {@code finally} block, so it also runs when a middleware, the routing or the handler
+     * failed. Exceptions thrown here are logged and never reach the sender of the command, nor keep the other middlewares
+     * from finishing their batch.
+     */
+    default void endOfBatch() {}
 }
@@ -51,9 +51,34 @@ public final class CommandProperties implements Serializable {
     @Builder.Default
     private ProducerType producerType = ProducerType.SINGLE;
 
+    /**
+     * Number of ring buffers of the disruptor executor, each with its own consumer thread. Commands with the same
+     * aggregate key always go to the same ring buffer.
+     */
+    @Builder.Default
+    private Integer shards = 1;
+
+    @Builder.Default
+    private CommandWaitStrategyType waitStrategy = CommandWaitStrategyType.yielding;
+
+    /**
+     * Number of commands of a tenant the virtual thread executor runs at the same time, unless the tenant defines its own
+     * limit.
+     */
+    @Builder.Default
+    private Integer maxConcurrencyPerTenant = 10;
+
     public enum CommandExecutorType {
         sync, //
         async, //
-        disruptor //
+        disruptor, //
+        virtual //
+    }
+
+    public enum CommandWaitStrategyType {
+        blocking, //
+        sleeping, //
+        yielding, //
+        busy_spin //
     }
 }
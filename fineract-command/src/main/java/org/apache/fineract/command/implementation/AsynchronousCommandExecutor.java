@@ -44,13 +44,17 @@ public class AsynchronousCommandExecutor implements CommandExecutor {
     @Override
     public <REQ, RES> Supplier<RES> execute(Command<REQ> command) {
         CompletableFuture<RES> future = CompletableFuture.supplyAsync(() -> {
-            for (CommandMiddleware middleware : middlewares) {
-                middleware.invoke(command);
-            }
+            try {
+                for (CommandMiddleware middleware : middlewares) {
+                    middleware.invoke(command);
+                }
 
-            CommandHandler<REQ, RES> handler = router.route(command);
+                CommandHandler<REQ, RES> handler = router.route(command);
 
-            return handler.handle(command);
+                return handler.handle(command);
+            } finally {
+                CommandMiddlewares.endOfBatch(middlewares);
+            }
         });
 
         return future::join;
@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.command.implementation;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.command.core.CommandMiddleware;
+
+@Slf4j
+final class CommandMiddlewares {
+
+    private CommandMiddlewares() {}
+
+    /**
+     * Calls {@link CommandMiddleware#endOfBatch()} of every middleware, a failing middleware is logged and does not keep
+     * the others from finishing their batch.
+     */
+    static void endOfBatch(List<CommandMiddleware> middlewares) {
+        for (CommandMiddleware middleware : middlewares) {
+            try {
+                middleware.endOfBatch();
+            } catch (Exception e) {
+                log.warn("Failed to finish the batch of commands in middleware {}", middleware.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
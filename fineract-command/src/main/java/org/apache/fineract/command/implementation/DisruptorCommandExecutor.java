@@ -19,7 +19,6 @@
 package org.apache.fineract.command.implementation;
 
 import com.lmax.disruptor.EventHandler;
-import com.lmax.disruptor.dsl.Disruptor;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.List;
@@ -43,31 +42,36 @@ import org.springframework.stereotype.Component;
 @SuppressWarnings({ "unchecked", "rawtypes" })
 public class DisruptorCommandExecutor implements CommandExecutor, Closeable {
 
-    private final Disruptor<CommandEvent> disruptor;
+    private final DisruptorCommandShards shards;
 
     @Override
     public <REQ, RES> Supplier<RES> execute(Command<REQ> command) {
-        CommandEvent<REQ, RES> processedEvent = next(command);
+        CompletableFuture<RES> future = publish(command);
 
-        return processedEvent.getFuture()::join;
+        return future::join;
     }
 
     @Override
     public void close() throws IOException {
-        disruptor.shutdown();
+        shards.close();
     }
 
-    @SuppressWarnings({ "unchecked" })
-    private <REQ, RES> CommandEvent<REQ, RES> next(Command<REQ> command) {
-        var ringBuffer = disruptor.getRingBuffer();
+    private <REQ, RES> CompletableFuture<RES> publish(Command<REQ> command) {
+        var ringBuffer = shards.select(command).getRingBuffer();
 
-        var sequenceId = ringBuffer.next();
+        // a new future per command, the slot is reused once the ring buffer wraps
+        CompletableFuture<RES> future = new CompletableFuture<>();
 
-        CommandEvent<REQ, RES> event = ringBuffer.get(sequenceId);
-        event.setCommand(command);
-        ringBuffer.publish(sequenceId);
+        var sequenceId = ringBuffer.next();
+        try {
+            CommandEvent<REQ, RES> event = ringBuffer.get(sequenceId);
+            event.setCommand(command);
+            event.setFuture(future);
+        } finally {
+            ringBuffer.publish(sequenceId);
+        }
 
-        return event;
+        return future;
     }
 
     @Getter
@@ -75,7 +79,7 @@ public class DisruptorCommandExecutor implements CommandExecutor, Closeable {
     public static class CommandEvent<REQ, RES> {
 
         private Command<REQ> command;
-        private CompletableFuture<RES> future = new CompletableFuture<>();
+        private CompletableFuture<RES> future;
     }
 
     @RequiredArgsConstructor
@@ -88,16 +92,27 @@ public class DisruptorCommandExecutor implements CommandExecutor, Closeable {
 
         @Override
         public void onEvent(CommandEvent event, long sequence, boolean endOfBatch) throws Exception {
+            Command command = event.getCommand();
+            CompletableFuture future = event.getFuture();
+
+            // release the slot, the ring buffer keeps its events for its whole lifetime
+            event.setCommand(null);
+            event.setFuture(null);
+
             try {
                 for (CommandMiddleware middleware : middlewares) {
-                    middleware.invoke(event.getCommand());
+                    middleware.invoke(command);
                 }
 
-                var handler = router.route(event.getCommand());
+                var handler = router.route(command);
 
-                event.getFuture().complete(handler.handle(event.getCommand()));
+                future.complete(handler.handle(command));
             } catch (Exception e) {
-                event.getFuture().completeExceptionally(e);
+                future.completeExceptionally(e);
+            } finally {
+                if (endOfBatch) {
+                    CommandMiddlewares.endOfBatch(middlewares);
+                }
             }
         }
     }
@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.command.implementation;
+
+import com.lmax.disruptor.dsl.Disruptor;
+import java.io.Closeable;
+import java.util.List;
+import org.apache.fineract.command.core.Command;
+
+/**
+ * The ring buffers of the {@link DisruptorCommandExecutor}. The commands are distributed by the hash of the entity they
+ * target (see {@link #aggregateKey(Command)}), so the commands of an entity are always consumed by the same thread in
+ * the order they were published, while the commands of different entities are executed in parallel.
+ */
+@SuppressWarnings({ "rawtypes" })
+public class DisruptorCommandShards implements Closeable {
+
+    private final List<Disruptor<DisruptorCommandExecutor.CommandEvent>> disruptors;
+
+    public DisruptorCommandShards(List<Disruptor<DisruptorCommandExecutor.CommandEvent>> disruptors) {
+        if (disruptors.isEmpty()) {
+            throw new IllegalArgumentException("At least one disruptor is required");
+        }
+        this.disruptors = List.copyOf(disruptors);
+    }
+
+    public Disruptor<DisruptorCommandExecutor.CommandEvent> select(Command<?> command) {
+        int shards = disruptors.size();
+        if (shards == 1) {
+            return disruptors.get(0);
+        }
+        int hash = aggregateKey(command).hashCode();
+        return disruptors.get(Math.floorMod(hash ^ (hash >>> 16), shards));
+    }
+
+    /**
+     * The entity a command targets: the resource (the command type) of the tenant and the id of the entity within it
+     * ({@link Command#getAggregateKey()}). Commands without an entity id are keyed by their resource only, so e.g. all
+     * updates of a configuration stay ordered.
+     */
+    static String aggregateKey(Command<?> command) {
+        return command.getTenantId() + "/" + command.getClass().getName() + "/" + command.getAggregateKey();
+    }
+
+    public int size() {
+        return disruptors.size();
+    }
+
+    @Override
+    public void close() {
+        disruptors.forEach(Disruptor::shutdown);
+    }
+}
@@ -43,12 +43,24 @@ public class SynchronousCommandExecutor implements CommandExecutor {
 
     @Override
     public <REQ, RES> Supplier<RES> execute(Command<REQ> command) {
-        for (CommandMiddleware middleware : middlewares) {
-            middleware.invoke(command);
-        }
+        CommandHandler<REQ, RES> handler;
+        try {
+            for (CommandMiddleware middleware : middlewares) {
+                middleware.invoke(command);
+            }
 
-        CommandHandler<REQ, RES> handler = router.route(command);
+            handler = router.route(command);
+        } catch (RuntimeException e) {
+            CommandMiddlewares.endOfBatch(middlewares);
+            throw e;
+        }
 
-        return () -> handler.handle(command);
+        return () -> {
+            try {
+                return handler.handle(command);
+            } finally {
+                CommandMiddlewares.endOfBatch(middlewares);
+            }
+        };
     }
 }
@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.command.implementation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.command.core.Command;
+import org.apache.fineract.command.core.CommandExecutionContext;
+import org.apache.fineract.command.core.CommandExecutor;
+import org.apache.fineract.command.core.CommandHandler;
+import org.apache.fineract.command.core.CommandMiddleware;
+import org.apache.fineract.command.core.CommandProperties;
+import org.apache.fineract.command.core.CommandRouter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs every command on its own virtual thread, so handlers blocking on JDBC do not occupy platform threads. The number
+ * of commands executed at the same time is limited per tenant (usually to the size of the connection pool of the
+ * tenant); commands waiting for a permit are served in order of arrival and never hold back the commands of other
+ * tenants.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "fineract.command.executor", havingValue = "virtual")
+public class VirtualThreadCommandExecutor implements CommandExecutor, Closeable {
+
+    private static final String DEFAULT_TENANT = "default";
+    private static final String METRIC_NAME_QUEUE = "fineract.command.queue.duration";
+    private static final String METRIC_NAME_EXECUTION = "fineract.command.execution.duration";
+
+    private final List<CommandMiddleware> middlewares;
+
+    private final CommandRouter router;
+
+    private final CommandProperties properties;
+
+    private final CommandExecutionContext context;
+
+    private final Optional<MeterRegistry> meterRegistry;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("command-", 0).factory());
+
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public VirtualThreadCommandExecutor(List<CommandMiddleware> middlewares, CommandRouter router, CommandProperties properties,
+            Optional<CommandExecutionContext> context, Optional<MeterRegistry> meterRegistry) {
+        this.middlewares = middlewares;
+        this.router = router;
+        this.properties = properties;
+        this.context = context.orElseGet(() -> new CommandExecutionContext() {});
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <REQ, RES> Supplier<RES> execute(Command<REQ> command) {
+        String tenantId = Optional.ofNullable(context.resolveTenantId(command)).orElse(DEFAULT_TENANT);
+        Semaphore tenantPermits = permits.computeIfAbsent(tenantId, this::createPermits);
+        long submittedAt = System.nanoTime();
+
+        CompletableFuture<RES> future = CompletableFuture.supplyAsync(() -> {
+            // parking a virtual thread is cheap, no need to queue the commands ourselves
+            tenantPermits.acquireUninterruptibly();
+            long startedAt = System.nanoTime();
+            record(METRIC_NAME_QUEUE, command, tenantId, startedAt - submittedAt);
+            try {
+                for (CommandMiddleware middleware : middlewares) {
+                    middleware.invoke(command);
+                }
+
+                CommandHandler<REQ, RES> handler = router.route(command);
+
+                return handler.handle(command);
+            } finally {
+                CommandMiddlewares.endOfBatch(middlewares);
+                tenantPermits.release();
+                record(METRIC_NAME_EXECUTION, command, tenantId, System.nanoTime() - startedAt);
+            }
+        }, task -> executor.execute(context.decorate(task)));
+
+        return future::join;
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private Semaphore createPermits(String tenantId) {
+        Integer maxConcurrency = context.resolveMaxConcurrency(tenantId);
+        if (maxConcurrency == null || maxConcurrency < 1) {
+            maxConcurrency = properties.getMaxConcurrencyPerTenant();
+        }
+        log.debug("Executing at most {} commands of tenant {} at the same time", maxConcurrency, tenantId);
+        return new Semaphore(maxConcurrency, true);
+    }
+
+    private void record(String name, Command<?> command, String tenantId, long nanos) {
+        meterRegistry.ifPresent(registry -> Timer.builder(name) //
+                .tags("command", command.getClass().getSimpleName(), "tenant", tenantId) //
+                .register(registry) //
+                .record(nanos, TimeUnit.NANOSECONDS));
+    }
+}
@@ -18,22 +18,30 @@
  */
 package org.apache.fineract.command.starter;
 
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
 import com.lmax.disruptor.IgnoreExceptionHandler;
+import com.lmax.disruptor.SleepingWaitStrategy;
 import com.lmax.disruptor.WaitStrategy;
 import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.util.DaemonThreadFactory;
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.fineract.command.core.CommandMiddleware;
 import org.apache.fineract.command.core.CommandProperties;
 import org.apache.fineract.command.core.CommandRouter;
 import org.apache.fineract.command.implementation.DisruptorCommandExecutor;
+import org.apache.fineract.command.implementation.DisruptorCommandShards;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
 
 @Configuration
 @EnableConfigurationProperties(CommandProperties.class)
@@ -41,29 +49,48 @@ import org.springframework.context.annotation.Configuration;
 @ComponentScan("org.apache.fineract.command.implementation")
 class CommandConfiguration {
 
+    /**
+     * Wait strategies keep state and cannot be shared between ring buffers, so the strategy is a prototype and every
+     * shard gets its own instance. A replacement bean should be a prototype as well when more than one shard is used.
+     */
     @Bean
     @ConditionalOnMissingBean
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
     @ConditionalOnProperty(value = "fineract.command.executor", havingValue = "disruptor")
-    WaitStrategy waitStrategy() {
-        return new YieldingWaitStrategy();
+    WaitStrategy waitStrategy(CommandProperties properties) {
+        if (properties.getWaitStrategy() == null) {
+            return new YieldingWaitStrategy();
+        }
+        return switch (properties.getWaitStrategy()) {
+            case blocking -> new BlockingWaitStrategy();
+            case sleeping -> new SleepingWaitStrategy();
+            case yielding -> new YieldingWaitStrategy();
+            case busy_spin -> new BusySpinWaitStrategy();
+        };
     }
 
     @Bean
     @ConditionalOnProperty(value = "fineract.command.executor", havingValue = "disruptor")
-    Disruptor<?> disruptor(CommandProperties properties, WaitStrategy waitStrategy, List<CommandMiddleware> middlewares,
-            CommandRouter router) {
-        // TODO: make this more configurable
+    DisruptorCommandShards disruptorCommandShards(CommandProperties properties, ObjectProvider<WaitStrategy> waitStrategies,
+            List<CommandMiddleware> middlewares, CommandRouter router) {
+        int shards = properties.getShards() == null ? 1 : Math.max(1, properties.getShards());
 
-        // Create the disruptor
-        Disruptor<DisruptorCommandExecutor.CommandEvent> disruptor = new Disruptor<>(DisruptorCommandExecutor.CommandEvent::new,
-                properties.getRingBufferSize(), DaemonThreadFactory.INSTANCE, properties.getProducerType(), waitStrategy);
+        List<Disruptor<DisruptorCommandExecutor.CommandEvent>> disruptors = new ArrayList<>(shards);
 
-        disruptor.handleEventsWith(new DisruptorCommandExecutor.CompleteableCommandEventHandler(middlewares, router));
-        disruptor.setDefaultExceptionHandler(new IgnoreExceptionHandler());
+        for (int i = 0; i < shards; i++) {
+            // every shard has its own ring buffer and consumer thread
+            Disruptor<DisruptorCommandExecutor.CommandEvent> disruptor = new Disruptor<>(DisruptorCommandExecutor.CommandEvent::new,
+                    properties.getRingBufferSize(), DaemonThreadFactory.INSTANCE, properties.getProducerType(),
+                    waitStrategies.getObject());
 
-        // Start the disruptor
-        disruptor.start();
+            disruptor.handleEventsWith(new DisruptorCommandExecutor.CompleteableCommandEventHandler(middlewares, router));
+            disruptor.setDefaultExceptionHandler(new IgnoreExceptionHandler());
 
-        return disruptor;
+            disruptor.start();
+
+            disruptors.add(disruptor);
+        }
+
+        return new DisruptorCommandShards(disruptors);
     }
 }
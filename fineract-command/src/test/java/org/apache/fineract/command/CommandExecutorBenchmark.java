@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.command;
+
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.command.core.CommandExecutor;
+import org.apache.fineract.command.core.CommandMiddleware;
+import org.apache.fineract.command.core.CommandPipeline;
+import org.apache.fineract.command.core.CommandProperties;
+import org.apache.fineract.command.core.CommandRouter;
+import org.apache.fineract.command.implementation.AsynchronousCommandExecutor;
+import org.apache.fineract.command.implementation.DefaultCommandPipeline;
+import org.apache.fineract.command.implementation.DefaultCommandRouter;
+import org.apache.fineract.command.implementation.DisruptorCommandExecutor;
+import org.apache.fineract.command.implementation.DisruptorCommandShards;
+import org.apache.fineract.command.implementation.SynchronousCommandExecutor;
+import org.apache.fineract.command.implementation.VirtualThreadCommandExecutor;
+import org.apache.fineract.command.sample.command.DummyCommand;
+import org.apache.fineract.command.sample.data.DummyRequest;
+import org.apache.fineract.command.sample.data.DummyResponse;
+import org.apache.fineract.command.sample.handler.DummyCommandHandler;
+import org.apache.fineract.command.sample.middleware.DummyIdempotencyMiddleware;
+import org.apache.fineract.command.sample.middleware.DummyMiddleware;
+import org.apache.fineract.command.sample.service.DefaultDummyService;
+import org.apache.fineract.command.sample.service.DefaultDummyTenantService;
+import org.apache.fineract.command.sample.service.DummyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the command executors with handlers blocking like a JDBC call would, sent by many request threads at once.
+ */
+@Slf4j
+@BenchmarkMode(Mode.Throughput) // Measures operations per second
+@State(Scope.Benchmark) // Benchmark state shared by all threads
+@OutputTimeUnit(TimeUnit.SECONDS) // Output results in seconds
+@SuppressWarnings({ "raw" })
+public class CommandExecutorBenchmark {
+
+    private static final int TENANTS = 4;
+
+    @Param({ "sync", "async", "disruptor", "virtual" })
+    private CommandProperties.CommandExecutorType executorType;
+
+    @Param({ "0", "2" })
+    private long blockingMillis;
+
+    private CommandExecutor executor;
+
+    private CommandPipeline pipeline;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        DummyService service = new DefaultDummyService(new DefaultDummyTenantService());
+        DummyService blockingService = request -> {
+            simulateBlockingIo();
+            return service.process(request);
+        };
+
+        CommandRouter router = new DefaultCommandRouter(List.of(new DummyCommandHandler(blockingService)));
+        List<CommandMiddleware> middlewares = List.of(new DummyMiddleware(), new DummyIdempotencyMiddleware());
+
+        this.executor = switch (executorType) {
+            case sync -> new SynchronousCommandExecutor(middlewares, router);
+            case async -> new AsynchronousCommandExecutor(middlewares, router);
+            case disruptor -> {
+                Disruptor<DisruptorCommandExecutor.CommandEvent> disruptor = new Disruptor<>(DisruptorCommandExecutor.CommandEvent::new,
+                        2048, DaemonThreadFactory.INSTANCE, ProducerType.MULTI, new YieldingWaitStrategy());
+                disruptor.handleEventsWith(new DisruptorCommandExecutor.CompleteableCommandEventHandler(middlewares, router));
+                disruptor.start();
+                yield new DisruptorCommandExecutor(new DisruptorCommandShards(List.of(disruptor)));
+            }
+            case virtual -> new VirtualThreadCommandExecutor(middlewares, router, CommandProperties.builder().build(), Optional.empty(),
+                    Optional.empty());
+        };
+
+        pipeline = new DefaultCommandPipeline(executor);
+    }
+
+    @TearDown(Level.Iteration)
+    @SneakyThrows
+    public void tearDown() {
+        if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void processCommand() {
+        var command = new DummyCommand();
+        command.setId(UUID.randomUUID());
+        command.setTenantId("tenant-" + ThreadLocalRandom.current().nextInt(TENANTS));
+        command.setPayload(DummyRequest.builder().content("hello").build());
+
+        Supplier<DummyResponse> result = pipeline.send(command);
+
+        // NOTE: force yield
+        result.get();
+    }
+
+    @SneakyThrows
+    private void simulateBlockingIo() {
+        if (blockingMillis > 0) {
+            Thread.sleep(blockingMillis);
+        }
+    }
+}
@@ -22,8 +22,10 @@ import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
 import com.lmax.disruptor.util.DaemonThreadFactory;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import lombok.SneakyThrows;
@@ -33,6 +35,7 @@ import org.apache.fineract.command.core.CommandRouter;
 import org.apache.fineract.command.implementation.DefaultCommandPipeline;
 import org.apache.fineract.command.implementation.DefaultCommandRouter;
 import org.apache.fineract.command.implementation.DisruptorCommandExecutor;
+import org.apache.fineract.command.implementation.DisruptorCommandShards;
 import org.apache.fineract.command.sample.command.DummyCommand;
 import org.apache.fineract.command.sample.data.DummyRequest;
 import org.apache.fineract.command.sample.data.DummyResponse;
@@ -46,10 +49,12 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
 
 @Slf4j
 @BenchmarkMode(Mode.Throughput) // Measures operations per second
@@ -58,8 +63,13 @@ import org.openjdk.jmh.annotations.TearDown;
 @SuppressWarnings({ "raw" })
 public class CommandPipelineBenchmark {
 
+    private static final int AGGREGATES = 64;
+
+    @Param({ "1", "4" })
+    private int shards;
+
     private CommandRouter router;
-    private Disruptor<DisruptorCommandExecutor.CommandEvent> disruptor;
+    private DisruptorCommandShards disruptors;
 
     private CommandPipeline pipeline;
 
@@ -67,29 +77,48 @@ public class CommandPipelineBenchmark {
     public void setUp() {
         this.router = new DefaultCommandRouter(List.of(new DummyCommandHandler(new DefaultDummyService(new DefaultDummyTenantService()))));
 
-        // Create the disruptor
-        this.disruptor = new Disruptor<>(DisruptorCommandExecutor.CommandEvent::new, 2048, DaemonThreadFactory.INSTANCE, ProducerType.MULTI,
-                new YieldingWaitStrategy());
+        List<Disruptor<DisruptorCommandExecutor.CommandEvent>> ringBuffers = new ArrayList<>(shards);
+
+        for (int i = 0; i < shards; i++) {
+            // Create the disruptor
+            Disruptor<DisruptorCommandExecutor.CommandEvent> disruptor = new Disruptor<>(DisruptorCommandExecutor.CommandEvent::new, 2048,
+                    DaemonThreadFactory.INSTANCE, ProducerType.MULTI, new YieldingWaitStrategy());
+
+            disruptor.handleEventsWith(new DisruptorCommandExecutor.CompleteableCommandEventHandler(
+                    List.of(new DummyMiddleware(), new DummyIdempotencyMiddleware()), router));
+
+            // Start the disruptor
+            disruptor.start();
 
-        disruptor.handleEventsWith(new DisruptorCommandExecutor.CompleteableCommandEventHandler(
-                List.of(new DummyMiddleware(), new DummyIdempotencyMiddleware()), router));
+            ringBuffers.add(disruptor);
+        }
 
-        // Start the disruptor
-        disruptor.start();
+        this.disruptors = new DisruptorCommandShards(ringBuffers);
 
-        pipeline = new DefaultCommandPipeline(new DisruptorCommandExecutor(disruptor));
+        pipeline = new DefaultCommandPipeline(new DisruptorCommandExecutor(disruptors));
     }
 
     @TearDown(Level.Iteration)
     @SneakyThrows
     public void tearDown() {
-        disruptor.shutdown(1, TimeUnit.SECONDS);
+        disruptors.close();
     }
 
     @Benchmark
     public void processCommand() {
+        send();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void processCommandMultipleProducers() {
+        send();
+    }
+
+    private void send() {
         var command = new DummyCommand();
         command.setId(UUID.randomUUID());
+        command.setAggregateKey("loan-" + ThreadLocalRandom.current().nextInt(AGGREGATES));
         command.setPayload(DummyRequest.builder().content("hello").build());
 
         Supplier<DummyResponse> result = pipeline.send(command);
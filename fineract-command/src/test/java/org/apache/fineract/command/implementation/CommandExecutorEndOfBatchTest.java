@@ -0,0 +1,189 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.command.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.fineract.command.core.Command;
+import org.apache.fineract.command.core.CommandExecutor;
+import org.apache.fineract.command.core.CommandHandler;
+import org.apache.fineract.command.core.CommandMiddleware;
+import org.apache.fineract.command.core.CommandProperties;
+import org.apache.fineract.command.core.CommandRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+class CommandExecutorEndOfBatchTest {
+
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    private final CountDownLatch batchFinished = new CountDownLatch(1);
+
+    private final List<CommandMiddleware> middlewares = List.of(new RecordingMiddleware("first", true),
+            new RecordingMiddleware("second", false));
+
+    private final CommandRouter router = new CommandRouter() {
+
+        @Override
+        public <REQ, RES> CommandHandler<REQ, RES> route(Command<REQ> command) {
+            return (CommandHandler) (CommandHandler<Integer, Integer>) c -> {
+                events.add("handle");
+                if (c.getPayload() < 0) {
+                    throw new IllegalArgumentException("Negative payload");
+                }
+                return c.getPayload();
+            };
+        }
+    };
+
+    private DisruptorCommandShards shards;
+
+    private VirtualThreadCommandExecutor virtualThreadExecutor;
+
+    @AfterEach
+    void tearDown() {
+        if (shards != null) {
+            shards.close();
+        }
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.close();
+        }
+    }
+
+    @Test
+    void synchronousExecutorEndsTheBatchAfterTheHandler() throws Exception {
+        assertEndOfBatchAfterHandler(new SynchronousCommandExecutor(middlewares, router));
+    }
+
+    @Test
+    void synchronousExecutorEndsTheBatchWhenTheHandlerFails() throws Exception {
+        assertEndOfBatchWhenHandlerFails(new SynchronousCommandExecutor(middlewares, router));
+    }
+
+    @Test
+    void asynchronousExecutorEndsTheBatchAfterTheHandler() throws Exception {
+        assertEndOfBatchAfterHandler(new AsynchronousCommandExecutor(middlewares, router));
+    }
+
+    @Test
+    void asynchronousExecutorEndsTheBatchWhenTheHandlerFails() throws Exception {
+        assertEndOfBatchWhenHandlerFails(new AsynchronousCommandExecutor(middlewares, router));
+    }
+
+    @Test
+    void virtualThreadExecutorEndsTheBatchAfterTheHandler() throws Exception {
+        assertEndOfBatchAfterHandler(virtualThreadExecutor());
+    }
+
+    @Test
+    void virtualThreadExecutorEndsTheBatchWhenTheHandlerFails() throws Exception {
+        assertEndOfBatchWhenHandlerFails(virtualThreadExecutor());
+    }
+
+    @Test
+    void disruptorExecutorEndsTheBatchAfterTheHandler() throws Exception {
+        assertEndOfBatchAfterHandler(disruptorExecutor());
+    }
+
+    @Test
+    void disruptorExecutorEndsTheBatchWhenTheHandlerFails() throws Exception {
+        assertEndOfBatchWhenHandlerFails(disruptorExecutor());
+    }
+
+    private void assertEndOfBatchAfterHandler(CommandExecutor executor) throws InterruptedException {
+        Supplier<Integer> result = executor.execute(command(42));
+
+        assertEquals(42, result.get());
+        assertTrue(batchFinished.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("invoke first", "invoke second", "handle", "endOfBatch first", "endOfBatch second"), events);
+    }
+
+    private void assertEndOfBatchWhenHandlerFails(CommandExecutor executor) throws InterruptedException {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> executor.execute(command(-1)).get());
+
+        assertTrue(e instanceof IllegalArgumentException || e.getCause() instanceof IllegalArgumentException,
+                "The failure of the handler must reach the sender, not the one of endOfBatch: " + e);
+        assertTrue(batchFinished.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("invoke first", "invoke second", "handle", "endOfBatch first", "endOfBatch second"), events);
+    }
+
+    private VirtualThreadCommandExecutor virtualThreadExecutor() {
+        virtualThreadExecutor = new VirtualThreadCommandExecutor(middlewares, router, CommandProperties.builder().build(),
+                Optional.empty(), Optional.empty());
+        return virtualThreadExecutor;
+    }
+
+    private DisruptorCommandExecutor disruptorExecutor() {
+        Disruptor<DisruptorCommandExecutor.CommandEvent> disruptor = new Disruptor<>(DisruptorCommandExecutor.CommandEvent::new, 1024,
+                DaemonThreadFactory.INSTANCE, ProducerType.SINGLE, new BlockingWaitStrategy());
+        disruptor.handleEventsWith(new DisruptorCommandExecutor.CompleteableCommandEventHandler(middlewares, router));
+        disruptor.start();
+        shards = new DisruptorCommandShards(List.of(disruptor));
+        return new DisruptorCommandExecutor(shards);
+    }
+
+    private static Command<Integer> command(int payload) {
+        var command = new Command<Integer>();
+        command.setId(UUID.randomUUID());
+        command.setTenantId("default");
+        command.setPayload(payload);
+        return command;
+    }
+
+    private final class RecordingMiddleware implements CommandMiddleware {
+
+        private final String name;
+
+        private final boolean failing;
+
+        private RecordingMiddleware(String name, boolean failing) {
+            this.name = name;
+            this.failing = failing;
+        }
+
+        @Override
+        public void invoke(Command<?> command) {
+            events.add("invoke " + name);
+        }
+
+        @Override
+        public void endOfBatch() {
+            events.add("endOfBatch " + name);
+            if (failing) {
+                throw new IllegalStateException("Failed to flush " + name);
+            }
+            batchFinished.countDown();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.command.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.fineract.command.core.Command;
+import org.apache.fineract.command.core.CommandHandler;
+import org.apache.fineract.command.core.CommandRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+class DisruptorCommandShardsTest {
+
+    private static final int SHARDS = 4;
+
+    private DisruptorCommandShards shards;
+
+    @AfterEach
+    void tearDown() {
+        if (shards != null) {
+            shards.close();
+        }
+    }
+
+    @Test
+    void commandsOfTheSameEntityGoToTheSameShard() {
+        shards = new DisruptorCommandShards(disruptors(null));
+
+        for (int i = 0; i < 100; i++) {
+            assertSame(shards.select(command("default", "loan-" + i, i)), shards.select(command("default", "loan-" + i, i)));
+        }
+    }
+
+    @Test
+    void commandsWithoutEntityIdAreKeyedByTheirResource() {
+        shards = new DisruptorCommandShards(disruptors(null));
+
+        var first = shards.select(command("default", null, 1));
+        for (int i = 0; i < 100; i++) {
+            assertSame(first, shards.select(command("default", null, i)));
+        }
+        assertNotEquals(DisruptorCommandShards.aggregateKey(command("default", null, 1)),
+                DisruptorCommandShards.aggregateKey(command("other", null, 1)));
+    }
+
+    @Test
+    void commandsOfDifferentEntitiesAreSpreadOverTheShards() {
+        shards = new DisruptorCommandShards(disruptors(null));
+
+        Set<Object> used = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            used.add(shards.select(command("default", "loan-" + i, i)));
+        }
+
+        assertEquals(SHARDS, used.size());
+    }
+
+    @Test
+    void commandsOfAnEntityAreExecutedInTheOrderTheyWereSent() {
+        Map<String, List<Integer>> executed = new ConcurrentHashMap<>();
+        Map<String, Set<String>> threads = new ConcurrentHashMap<>();
+        CommandHandler<Integer, Integer> handler = command -> {
+            executed.computeIfAbsent(command.getAggregateKey(), key -> new ArrayList<>()).add(command.getPayload());
+            threads.computeIfAbsent(command.getAggregateKey(), key -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread().getName());
+            return command.getPayload();
+        };
+        shards = new DisruptorCommandShards(disruptors(new CommandRouter() {
+
+            @Override
+            public <REQ, RES> CommandHandler<REQ, RES> route(Command<REQ> command) {
+                return (CommandHandler) handler;
+            }
+        }));
+        var executor = new DisruptorCommandExecutor(shards);
+
+        List<Supplier<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            results.add(executor.execute(command("default", "loan-" + (i % 10), i)));
+        }
+        results.forEach(Supplier::get);
+
+        assertEquals(10, executed.size());
+        executed.forEach((key, payloads) -> {
+            assertEquals(100, payloads.size());
+            for (int i = 1; i < payloads.size(); i++) {
+                assertTrue(payloads.get(i - 1) < payloads.get(i), "Commands of " + key + " executed out of order: " + payloads);
+            }
+            assertEquals(1, threads.get(key).size(), "Commands of " + key + " executed by more than one thread");
+        });
+    }
+
+    private static List<Disruptor<DisruptorCommandExecutor.CommandEvent>> disruptors(CommandRouter router) {
+        List<Disruptor<DisruptorCommandExecutor.CommandEvent>> disruptors = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            Disruptor<DisruptorCommandExecutor.CommandEvent> disruptor = new Disruptor<>(DisruptorCommandExecutor.CommandEvent::new, 1024,
+                    DaemonThreadFactory.INSTANCE, ProducerType.SINGLE, new BlockingWaitStrategy());
+            if (router != null) {
+                disruptor.handleEventsWith(new DisruptorCommandExecutor.CompleteableCommandEventHandler(List.of(), router));
+                disruptor.start();
+            }
+            disruptors.add(disruptor);
+        }
+        return disruptors;
+    }
+
+    private static Command<Integer> command(String tenantId, String aggregateKey, int payload) {
+        var command = new Command<Integer>();
+        command.setId(UUID.randomUUID());
+        command.setTenantId(tenantId);
+        command.setAggregateKey(aggregateKey);
+        command.setPayload(payload);
+        return command;
+    }
+}
@@ -165,6 +165,10 @@ public class CommandSource extends AbstractPersistableCustom<Long> {
                 .loanExternalId(command.getLoanExternalId()).sanitized(sanitized).build(); //
     }
 
+    public String getResult() {
+        return CommandSourceResultCodec.decode(this.result);
+    }
+
     public String getPermissionCode() {
         return this.actionName + "_" + this.entityName;
     }
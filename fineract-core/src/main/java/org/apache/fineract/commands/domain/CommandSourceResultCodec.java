@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.domain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes the stored result of a {@link CommandSource}. Results above the configured threshold are gzipped and stored
+ * base64 encoded with a marker prefix, everything else is stored as is, so existing rows stay readable.
+ */
+public final class CommandSourceResultCodec {
+
+    static final String COMPRESSED_PREFIX = "gz:";
+
+    private CommandSourceResultCodec() {}
+
+    public static String encode(String result, int compressionThreshold) {
+        if (result == null || compressionThreshold <= 0 || result.length() < compressionThreshold || isCompressed(result)) {
+            return result;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(result.length() / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(result.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String encoded = COMPRESSED_PREFIX + Base64.getEncoder().encodeToString(bytes.toByteArray());
+        return encoded.length() < result.length() ? encoded : result;
+    }
+
+    public static String decode(String stored) {
+        if (!isCompressed(stored)) {
+            return stored;
+        }
+        byte[] compressed = Base64.getDecoder().decode(stored.substring(COMPRESSED_PREFIX.length()));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static boolean isCompressed(String stored) {
+        return stored != null && stored.startsWith(COMPRESSED_PREFIX);
+    }
+}
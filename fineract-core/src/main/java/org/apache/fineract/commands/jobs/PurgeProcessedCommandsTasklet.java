@@ -19,18 +19,25 @@
 package org.apache.fineract.commands.jobs;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.commands.domain.CommandProcessingResultType;
 import org.apache.fineract.commands.domain.CommandSourceRepository;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+/**
+ * Purges the processed commands in batches of {@code fineract.job.purge-batch-size}, committing every batch separately
+ * like {@link org.apache.fineract.infrastructure.event.external.jobs.PurgeExternalEventsTasklet}.
+ */
 @Slf4j
 @AllArgsConstructor
 @Component
@@ -38,13 +45,21 @@ public class PurgeProcessedCommandsTasklet implements Tasklet {
 
     private final CommandSourceRepository repository;
     private final ConfigurationDomainService configurationDomainService;
+    private final FineractProperties fineractProperties;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
         try {
             Long numberOfDaysForPurgeCriteria = configurationDomainService.retrieveProcessedCommandsPurgeDaysCriteria();
             OffsetDateTime dateForPurgeCriteria = DateUtils.getAuditOffsetDateTime().minusDays(numberOfDaysForPurgeCriteria);
-            repository.deleteOlderEventsWithStatus(CommandProcessingResultType.PROCESSED.getValue(), dateForPurgeCriteria);
+            int batchSize = fineractProperties.getJob().getPurgeBatchSize();
+            List<Long> ids = repository.findIdsOfOlderCommandsWithStatus(CommandProcessingResultType.PROCESSED.getValue(),
+                    dateForPurgeCriteria, PageRequest.of(0, batchSize));
+            if (!ids.isEmpty()) {
+                repository.deleteByIds(ids);
+                contribution.incrementWriteCount(ids.size());
+            }
+            return ids.size() < batchSize ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
         } catch (Exception e) {
             log.error("Error occurred while purging processed commands: ", e);
         }
@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the command round-trip time (idempotency check, journaling and handler execution) tagged by journal mode, so
+ * the default and the optimized command source journal can be compared on the same deployment.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommandSourceJournalMetrics {
+
+    private static final String METRIC_NAME_ROUND_TRIP = "fineract.command.round-trip";
+
+    private final Optional<MeterRegistry> meterRegistry;
+
+    public void recordRoundTrip(boolean optimizedJournal, boolean success, long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        meterRegistry.ifPresent(registry -> Timer.builder(METRIC_NAME_ROUND_TRIP) //
+                .description("Command processing round-trip time") //
+                .tags("journal", optimizedJournal ? "optimized" : "default", "outcome", success ? "success" : "failure") //
+                .register(registry) //
+                .record(elapsedNanos, TimeUnit.NANOSECONDS));
+    }
+}
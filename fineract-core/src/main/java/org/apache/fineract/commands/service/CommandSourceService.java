@@ -18,21 +18,26 @@
  */
 package org.apache.fineract.commands.service;
 
+import static org.apache.fineract.commands.domain.CommandProcessingResultType.PROCESSED;
 import static org.apache.fineract.commands.domain.CommandProcessingResultType.UNDER_PROCESSING;
+import static org.apache.http.HttpStatus.SC_OK;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import java.util.Set;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.commands.domain.CommandSource;
 import org.apache.fineract.commands.domain.CommandSourceRepository;
+import org.apache.fineract.commands.domain.CommandSourceResultCodec;
 import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.exception.CommandNotFoundException;
 import org.apache.fineract.commands.exception.RollbackTransactionNotApprovedException;
 import org.apache.fineract.commands.handler.NewCommandSourceHandler;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
 import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
@@ -50,6 +55,10 @@ import org.springframework.transaction.annotation.Transactional;
  * Two phase transactional command processing: save initial...work...finish/failed to handle idempotent requests. As the
  * default isolation level for MYSQL is REPEATABLE_READ and a lower value READ_COMMITED for postgres, we can force to
  * use the same for both database backends to be consistent.
+ * <p>
+ * When the optimized journal is enabled the final status is written by
+ * {@link #processCommandAndSaveResult(NewCommandSourceHandler, JsonCommand, CommandSource, AppUser, boolean, Function)}
+ * as part of the business transaction instead of a separate transaction after it.
  */
 @Component
 @RequiredArgsConstructor
@@ -62,6 +71,7 @@ public class CommandSourceService {
     private final CommandSourceRepository commandSourceRepository;
     private final ErrorHandler errorHandler;
     private final FromJsonHelper fromApiJsonHelper;
+    private final FineractProperties fineractProperties;
 
     @NonNull
     @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
@@ -101,9 +111,22 @@ public class CommandSourceService {
 
     @NonNull
     private CommandSource saveResult(@NonNull CommandSource commandSource) {
+        compressResult(commandSource);
         return commandSourceRepository.saveAndFlush(commandSource);
     }
 
+    public boolean isOptimizedJournalEnabled() {
+        FineractProperties.FineractCommandSourceProperties properties = fineractProperties.getCommandSource();
+        return properties != null && properties.isOptimizedJournalEnabled();
+    }
+
+    private void compressResult(@NonNull CommandSource commandSource) {
+        FineractProperties.FineractCommandSourceProperties properties = fineractProperties.getCommandSource();
+        if (properties != null && properties.getResultCompressionThreshold() > 0) {
+            commandSource.setResult(CommandSourceResultCodec.encode(commandSource.getResult(), properties.getResultCompressionThreshold()));
+        }
+    }
+
     public ErrorInfo generateErrorInfo(Throwable t) {
         return errorHandler.handle(ErrorHandler.getMappable(t));
     }
@@ -151,6 +174,26 @@ public class CommandSourceService {
         return result;
     }
 
+    /**
+     * Runs the command and records the final status of the command source in the same (business) transaction. The
+     * command source row is merged without an explicit flush, it is written together with the business changes on
+     * commit.
+     */
+    @Transactional
+    public CommandProcessingResult processCommandAndSaveResult(NewCommandSourceHandler handler, JsonCommand command,
+            CommandSource commandSource, AppUser user, boolean isApprovedByChecker,
+            Function<CommandProcessingResult, String> resultSerializer) {
+        final CommandProcessingResult result = processCommand(handler, command, commandSource, user, isApprovedByChecker);
+
+        commandSource.setResultStatusCode(SC_OK);
+        commandSource.updateForAudit(result);
+        commandSource.setResult(resultSerializer.apply(result));
+        commandSource.setStatus(PROCESSED);
+        compressResult(commandSource);
+        commandSourceRepository.save(commandSource);
+        return result;
+    }
+
     private void sanitizeJson(@NonNull CommandSource commandSource, Set<String> sanitizeKeys) {
         if (sanitizeKeys == null || sanitizeKeys.isEmpty()) {
             return;
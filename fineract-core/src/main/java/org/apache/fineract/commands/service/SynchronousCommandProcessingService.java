@@ -80,6 +80,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private final IdempotencyKeyResolver idempotencyKeyResolver;
     private final CommandSourceService commandSourceService;
     private final RetryConfigurationAssembler retryConfigurationAssembler;
+    private final CommandSourceJournalMetrics commandSourceJournalMetrics;
 
     private final FineractRequestContextHolder fineractRequestContextHolder;
     private final Gson gson = GoogleGsonSerializerHelper.createSimpleGson();
@@ -98,6 +99,20 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     @Override
     public CommandProcessingResult executeCommand(final CommandWrapper wrapper, final JsonCommand command,
             final boolean isApprovedByChecker) {
+        final boolean optimizedJournalEnabled = commandSourceService.isOptimizedJournalEnabled();
+        final long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            CommandProcessingResult result = executeCommandWithRetry(wrapper, command, isApprovedByChecker, optimizedJournalEnabled);
+            success = true;
+            return result;
+        } finally {
+            commandSourceJournalMetrics.recordRoundTrip(optimizedJournalEnabled, success, startNanos);
+        }
+    }
+
+    private CommandProcessingResult executeCommandWithRetry(final CommandWrapper wrapper, final JsonCommand command,
+            final boolean isApprovedByChecker, final boolean optimizedJournalEnabled) {
         return retryWrapper(() -> {
             // Do not store the idempotency key because of the exception handling
             setIdempotencyKeyStoreFlag(false);
@@ -117,12 +132,20 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
             } else {
                 idempotencyKey = idempotencyKeyResolver.resolve(wrapper);
             }
-            exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, isRetry);
+            // The optimized journal detects duplicates by the unique constraint of the initial insert, so the upfront
+            // lookup is only needed for commands which already have a command source
+            boolean optimizedJournal = optimizedJournalEnabled && !isEnclosingTransaction && commandSource == null;
+            if (!optimizedJournal) {
+                exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, isRetry);
+            }
 
             AppUser user = context.authenticatedUser(wrapper);
             if (commandSource == null) {
                 if (isEnclosingTransaction) {
                     commandSource = commandSourceService.getInitialCommandSource(wrapper, command, user, idempotencyKey);
+                } else if (optimizedJournal) {
+                    commandSource = saveInitialOrDetectDuplicate(wrapper, command, user, idempotencyKey);
+                    commandId = commandSource.getId();
                 } else {
                     commandSource = commandSourceService.saveInitialNewTransaction(wrapper, command, user, idempotencyKey);
                     commandId = commandSource.getId();
@@ -134,10 +157,39 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
 
             setIdempotencyKeyStoreFlag(true);
 
+            if (optimizedJournal) {
+                return executeCommandWithJournal(wrapper, command, isApprovedByChecker, commandSource, user);
+            }
             return executeCommand(wrapper, command, isApprovedByChecker, commandSource, user, isEnclosingTransaction);
         });
     }
 
+    private CommandSource saveInitialOrDetectDuplicate(CommandWrapper wrapper, JsonCommand command, AppUser user,
+            String idempotencyKey) {
+        try {
+            return commandSourceService.saveInitialNewTransaction(wrapper, command, user, idempotencyKey);
+        } catch (IdempotentCommandProcessUnderProcessingException e) {
+            // The unique constraint was hit, resolve the state of the already existing command source
+            exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, false);
+            throw e;
+        }
+    }
+
+    private CommandProcessingResult executeCommandWithJournal(final CommandWrapper wrapper, final JsonCommand command,
+            final boolean isApprovedByChecker, CommandSource commandSource, AppUser user) {
+        final CommandProcessingResult result;
+        try {
+            result = commandSourceService.processCommandAndSaveResult(findCommandHandler(wrapper), command, commandSource, user,
+                    isApprovedByChecker, toApiResultJsonSerializer::serializeResult);
+        } catch (Throwable t) { // NOSONAR
+            throw handleCommandFailure(wrapper, command, commandSource, t, false);
+        }
+
+        result.setRollbackTransaction(null);
+        publishHookEvent(wrapper.entityName(), wrapper.actionName(), command, result);
+        return result;
+    }
+
     private CommandProcessingResult executeCommand(final CommandWrapper wrapper, final JsonCommand command,
             final boolean isApprovedByChecker, CommandSource commandSource, AppUser user, boolean isEnclosingTransaction) {
 
@@ -145,21 +197,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         try {
             result = commandSourceService.processCommand(findCommandHandler(wrapper), command, commandSource, user, isApprovedByChecker);
         } catch (Throwable t) { // NOSONAR
-            RuntimeException mappable = ErrorHandler.getMappable(t);
-            ErrorInfo errorInfo = commandSourceService.generateErrorInfo(mappable);
-            Integer statusCode = errorInfo.getStatusCode();
-            commandSource.setResultStatusCode(statusCode);
-            commandSource.setResult(errorInfo.getMessage());
-            if (statusCode != SC_OK) {
-                commandSource.setStatus(ERROR);
-            }
-            if (!isEnclosingTransaction) { // TODO: temporary solution
-                commandSourceService.saveResultNewTransaction(commandSource);
-            }
-            // must not throw any exception; must persist in new transaction as the current transaction was already
-            // marked as rollback
-            publishHookErrorEvent(wrapper, command, errorInfo);
-            throw mappable;
+            throw handleCommandFailure(wrapper, command, commandSource, t, isEnclosingTransaction);
         }
 
         Retry persistenceRetry = retryConfigurationAssembler.getRetryConfigurationForCommandResultPersistence();
@@ -202,6 +240,25 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         return result;
     }
 
+    private RuntimeException handleCommandFailure(CommandWrapper wrapper, JsonCommand command, CommandSource commandSource, Throwable t,
+            boolean isEnclosingTransaction) {
+        RuntimeException mappable = ErrorHandler.getMappable(t);
+        ErrorInfo errorInfo = commandSourceService.generateErrorInfo(mappable);
+        Integer statusCode = errorInfo.getStatusCode();
+        commandSource.setResultStatusCode(statusCode);
+        commandSource.setResult(errorInfo.getMessage());
+        if (statusCode != SC_OK) {
+            commandSource.setStatus(ERROR);
+        }
+        if (!isEnclosingTransaction) { // TODO: temporary solution
+            commandSourceService.saveResultNewTransaction(commandSource);
+        }
+        // must not throw any exception; must persist in new transaction as the current transaction was already
+        // marked as rollback
+        publishHookErrorEvent(wrapper, command, errorInfo);
+        return mappable;
+    }
+
     private void storeCommandIdInContext(CommandSource savedCommandSource) {
         if (savedCommandSource.getId() == null) {
             throw new IllegalStateException("Command source not saved");
@@ -80,6 +80,8 @@ public class BusinessDateApiResource {
         command.setId(UUID.randomUUID());
         command.setIdempotencyKey(idempotencyKey);
         command.setCreatedAt(DateUtils.getAuditOffsetDateTime());
+        // updates of the same business date type are executed in order
+        command.setAggregateKey(request.getType() == null ? null : request.getType().name());
         command.setPayload(request);
 
         final Supplier<BusinessDateResponse> response = commandPipeline.send(command);
@@ -30,14 +30,19 @@ import java.time.MonthDay;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.exception.InvalidJsonException;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.MathUtil;
 import org.apache.fineract.infrastructure.security.domain.BasicPasswordEncodablePlatformUser;
@@ -49,6 +54,10 @@ import org.apache.fineract.infrastructure.security.service.PlatformPasswordEncod
  *
  * Wraps the provided JSON with convenience functions for extracting parameter values and checking for changes against
  * an existing value.
+ *
+ * The JSON is parsed once; typed values (dates, numbers, booleans, arrays and the locale) are converted on first access
+ * and memoized, as validators, assemblers and domain updates read the same parameters several times while processing a
+ * command. A command is processed by a single thread, the memoized values are not shared.
  */
 
 @Getter
@@ -72,6 +81,8 @@ public final class JsonCommand {
     private final Long organisationCreditBureauId;
     private final String jobName;
     private final ExternalId loanExternalId;
+    @Getter(AccessLevel.NONE)
+    private final Map<ExtractedValueKey, Object> extractedValues = new HashMap<>();
 
     public static JsonCommand from(final String jsonCommand, final JsonElement parsedCommand, final FromJsonHelper fromApiJsonHelper,
             final String entityName, final Long resourceId, final Long subresourceId, final Long groupId, final Long clientId,
@@ -293,7 +304,8 @@ public final class JsonCommand {
     }
 
     public Long longValueOfParameterNamed(final String parameterName) {
-        return this.fromApiJsonHelper.extractLongNamed(parameterName, this.parsedCommand);
+        return extract(ValueType.LONG, parameterName, null,
+                () -> this.fromApiJsonHelper.extractLongNamed(parameterName, this.parsedCommand));
     }
 
     public boolean isChangeInDateParameterNamed(final String parameterName, final LocalDate existingValue) {
@@ -337,11 +349,13 @@ public final class JsonCommand {
     }
 
     public LocalDate localDateValueOfParameterNamed(final String parameterName) {
-        return this.fromApiJsonHelper.extractLocalDateNamed(parameterName, this.parsedCommand);
+        return extract(ValueType.LOCAL_DATE, parameterName, null,
+                () -> this.fromApiJsonHelper.extractLocalDateNamed(parameterName, this.parsedCommand));
     }
 
     public LocalTime localTimeValueOfParameterNamed(final String parameterName) {
-        return this.fromApiJsonHelper.extractLocalTimeNamed(parameterName, this.parsedCommand);
+        return extract(ValueType.LOCAL_TIME, parameterName, null,
+                () -> this.fromApiJsonHelper.extractLocalTimeNamed(parameterName, this.parsedCommand));
     }
 
     public MonthDay extractMonthDayNamed(final String parameterName) {
@@ -349,7 +363,7 @@ public final class JsonCommand {
     }
 
     public LocalDate dateValueOfParameterNamed(final String parameterName) {
-        return this.fromApiJsonHelper.extractLocalDateNamed(parameterName, this.parsedCommand);
+        return localDateValueOfParameterNamed(parameterName);
     }
 
     public boolean isChangeInStringParameterNamed(final String parameterName, final String existingValue) {
@@ -443,11 +457,13 @@ public final class JsonCommand {
     }
 
     public BigDecimal bigDecimalValueOfParameterNamed(final String parameterName) {
-        return this.fromApiJsonHelper.extractBigDecimalWithLocaleNamed(parameterName, this.parsedCommand);
+        return extract(ValueType.BIG_DECIMAL, parameterName, null,
+                () -> this.fromApiJsonHelper.extractBigDecimalWithLocaleNamed(parameterName, this.parsedCommand));
     }
 
     public BigDecimal bigDecimalValueOfParameterNamed(final String parameterName, final Locale locale) {
-        return this.fromApiJsonHelper.extractBigDecimalNamed(parameterName, this.parsedCommand, locale);
+        return extract(ValueType.BIG_DECIMAL, parameterName, locale,
+                () -> this.fromApiJsonHelper.extractBigDecimalNamed(parameterName, this.parsedCommand, locale));
     }
 
     public BigDecimal bigDecimalValueOfParameterNamedDefaultToNullIfZero(final String parameterName) {
@@ -495,11 +511,13 @@ public final class JsonCommand {
     }
 
     public Integer integerValueOfParameterNamed(final String parameterName) {
-        return this.fromApiJsonHelper.extractIntegerWithLocaleNamed(parameterName, this.parsedCommand);
+        return extract(ValueType.INTEGER, parameterName, null,
+                () -> this.fromApiJsonHelper.extractIntegerWithLocaleNamed(parameterName, this.parsedCommand));
     }
 
     public Integer integerValueOfParameterNamed(final String parameterName, final Locale locale) {
-        return this.fromApiJsonHelper.extractIntegerNamed(parameterName, this.parsedCommand, locale);
+        return extract(ValueType.INTEGER, parameterName, locale,
+                () -> this.fromApiJsonHelper.extractIntegerNamed(parameterName, this.parsedCommand, locale));
     }
 
     public Integer integerValueOfParameterNamedDefaultToNullIfZero(final String parameterName) {
@@ -516,7 +534,8 @@ public final class JsonCommand {
     }
 
     public Integer integerValueSansLocaleOfParameterNamed(final String parameterName) {
-        return this.fromApiJsonHelper.extractIntegerSansLocaleNamed(parameterName, this.parsedCommand);
+        return extract(ValueType.INTEGER_SANS_LOCALE, parameterName, null,
+                () -> this.fromApiJsonHelper.extractIntegerSansLocaleNamed(parameterName, this.parsedCommand));
     }
 
     public boolean isChangeInBooleanParameterNamed(final String parameterName, final Boolean existingValue) {
@@ -532,14 +551,15 @@ public final class JsonCommand {
      * Returns {@link Boolean} that could possibly be null.
      */
     public Boolean booleanObjectValueOfParameterNamed(final String parameterName) {
-        return this.fromApiJsonHelper.extractBooleanNamed(parameterName, this.parsedCommand);
+        return extract(ValueType.BOOLEAN, parameterName, null,
+                () -> this.fromApiJsonHelper.extractBooleanNamed(parameterName, this.parsedCommand));
     }
 
     /**
      * always returns true or false
      */
     public boolean booleanPrimitiveValueOfParameterNamed(final String parameterName) {
-        final Boolean value = this.fromApiJsonHelper.extractBooleanNamed(parameterName, this.parsedCommand);
+        final Boolean value = booleanObjectValueOfParameterNamed(parameterName);
         return ObjectUtils.defaultIfNull(value, Boolean.FALSE);
     }
 
@@ -553,7 +573,10 @@ public final class JsonCommand {
     }
 
     public String[] arrayValueOfParameterNamed(final String parameterName) {
-        return this.fromApiJsonHelper.extractArrayNamed(parameterName, this.parsedCommand);
+        final String[] value = extract(ValueType.ARRAY, parameterName, null,
+                () -> this.fromApiJsonHelper.extractArrayNamed(parameterName, this.parsedCommand));
+        // callers sort and modify the returned array
+        return value == null ? null : value.clone();
     }
 
     public JsonArray arrayOfParameterNamed(final String parameterName) {
@@ -590,11 +613,40 @@ public final class JsonCommand {
     }
 
     public Locale extractLocale() {
-        return this.fromApiJsonHelper.extractLocaleParameter(this.parsedCommand.getAsJsonObject());
+        return extract(ValueType.LOCALE, "locale", null,
+                () -> this.fromApiJsonHelper.extractLocaleParameter(this.parsedCommand.getAsJsonObject()));
     }
 
     public void checkForUnsupportedParameters(final Type typeOfMap, final String json, final Set<String> requestDataParameters) {
         this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, requestDataParameters);
     }
 
+    /**
+     * Same check as {@link #checkForUnsupportedParameters(Type, String, Set)} done on the already parsed JSON.
+     */
+    public void checkForUnsupportedParameters(final Collection<String> supportedParameters) {
+        if (this.parsedCommand == null || !this.parsedCommand.isJsonObject()) {
+            throw new InvalidJsonException();
+        }
+        this.fromApiJsonHelper.checkForUnsupportedParameters(this.parsedCommand.getAsJsonObject(), supportedParameters);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T extract(final ValueType valueType, final String parameterName, final Locale locale, final Supplier<T> extractor) {
+        final ExtractedValueKey key = new ExtractedValueKey(valueType, parameterName, locale);
+        if (this.extractedValues.containsKey(key)) {
+            return (T) this.extractedValues.get(key);
+        }
+        final T value = extractor.get();
+        this.extractedValues.put(key, value);
+        return value;
+    }
+
+    private enum ValueType {
+        LONG, LOCAL_DATE, LOCAL_TIME, BIG_DECIMAL, INTEGER, INTEGER_SANS_LOCALE, BOOLEAN, ARRAY, LOCALE
+    }
+
+    private record ExtractedValueKey(ValueType valueType, String parameterName, Locale locale) {
+    }
+
 }
@@ -86,6 +86,14 @@ public class FineractProperties {
 
     private RetryProperties retry;
 
+    private FineractCommandSourceProperties commandSource;
+
+    private FineractReadReplicaProperties readReplica;
+
+    private FineractTrialBalanceProperties trialBalance;
+
+    private FineractJournalEntryProperties journalEntry;
+
     @Getter
     @Setter
     public static class FineractTenantProperties {
@@ -354,6 +362,16 @@ public class FineractProperties {
         private List<String> mimeWhitelist;
         private FineractContentFilesystemProperties filesystem;
         private FineractContentS3Properties s3;
+        private FineractContentImageCacheProperties imageCache;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractContentImageCacheProperties {
+
+        private boolean enabled;
+        private String directory;
+        private long maxSizeMb;
     }
 
     @Getter
@@ -382,6 +400,24 @@ public class FineractProperties {
     public static class FineractReportProperties {
 
         private FineractExportProperties export;
+        private FineractReportStreamingProperties streaming;
+        private FineractReportResultCacheProperties resultCache;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReportStreamingProperties {
+
+        private int fetchSize;
+        private long maxRows;
+        private long maxBytes;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReportResultCacheProperties {
+
+        private boolean enabled;
     }
 
     @Getter
@@ -405,6 +441,17 @@ public class FineractProperties {
 
         private int stuckRetryThreshold;
         private boolean loanCobEnabled;
+        private int purgeBatchSize;
+        private int standingInstructionThreadPoolSize;
+        private boolean loanCobCatchUpMultiDateEnabled;
+        private int loanCobCatchUpMaxDatesPerPass;
+        private int periodicAccrualChunkSize;
+        private int periodicAccrualMaxInFlightChunks;
+        private boolean loanCobMemoryBoundedEnabled;
+        private int loanCobLargeLoanGraphSizeThreshold;
+        private boolean inlineLoanCobDirectEnabled;
+        private int overdueChargeThreadPoolSize;
+        private int overdueChargePageSize;
     }
 
     @Getter
@@ -420,6 +467,7 @@ public class FineractProperties {
     public static class FineractJpaProperties {
 
         private boolean statementLoggingEnabled;
+        private int batchWritingSize;
     }
 
     @Getter
@@ -618,6 +666,60 @@ public class FineractProperties {
         private Integer maximumEntries;
     }
 
+    @Getter
+    @Setter
+    public static class FineractCommandSourceProperties {
+
+        private boolean optimizedJournalEnabled;
+        private int resultCompressionThreshold;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReadReplicaProperties {
+
+        private boolean enabled;
+        private Duration maxLag;
+        private Duration lagCheckInterval;
+        private Map<String, Duration> endpointMaxLag = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class FineractTrialBalanceProperties {
+
+        private TrialBalanceUpdateMode updateMode = TrialBalanceUpdateMode.INCREMENTAL;
+        private int batchSize = 10000;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractJournalEntryProperties {
+
+        /**
+         * Collects the journal entries of a loan posting and inserts them with one JDBC batch instead of one JPA save
+         * per entry.
+         */
+        private boolean batchWriteEnabled = true;
+    }
+
+    public enum TrialBalanceUpdateMode {
+        /**
+         * Journal entries record their amounts as pending changes which the trial balance job folds into the stored
+         * balances.
+         */
+        INCREMENTAL,
+        /**
+         * Same as {@link #INCREMENTAL}, the job afterwards also compares the trial balance with the journal and rebuilds
+         * the balances of the accounts that differ.
+         */
+        VERIFY,
+        /**
+         * Nothing is recorded on posting, the job rebuilds the whole trial balance from the journal.
+         */
+        REBUILD
+    }
+
     @Setter
     @Getter
     public static class RetryProperties {
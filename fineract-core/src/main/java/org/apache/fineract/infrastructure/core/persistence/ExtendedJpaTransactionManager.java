@@ -43,7 +43,14 @@ public class ExtendedJpaTransactionManager extends JpaTransactionManager {
 
     @Override
     protected void doBegin(Object transaction, TransactionDefinition definition) {
-        super.doBegin(transaction, definition);
+        // exposed before the connection is acquired so the routing datasource can pick the read replica
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(definition.isReadOnly());
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException e) {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            throw e;
+        }
         if (isReadOnlyConnection() || isReadOnlyTx(transaction)) {
             EntityManager entityManager = getCurrentEntityManager();
             if (entityManager != null) {
@@ -93,6 +93,14 @@ public class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<T> {
         return serializeWithSettings(delegatedSerializer, settings, singleObject);
     }
 
+    @Override
+    public StreamingJsonResponse stream(final ApiRequestJsonSerializationSettings settings, final T singleObject,
+            final Set<String> supportedResponseParameters) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
+        final Gson serializer = delegatedSerializer != null ? delegatedSerializer : this.excludeNothingWithPrettyPrintingOff.getGson();
+        return new StreamingJsonResponse(serializer, singleObject);
+    }
+
     private String serializeWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings, final Object[] dataObject) {
         return gson != null ? this.helper.serializedJsonFrom(gson, dataObject) : serialize(dataObject);
     }
@@ -39,6 +39,10 @@ public final class ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson {
         this.gson = builder.create();
     }
 
+    public Gson getGson() {
+        return this.gson;
+    }
+
     public String serialize(final Object result) {
         String returnedResult = null;
         final String serializedResult = this.gson.toJson(result);
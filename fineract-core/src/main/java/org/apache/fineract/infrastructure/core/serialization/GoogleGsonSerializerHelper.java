@@ -28,7 +28,10 @@ import java.time.MonthDay;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import org.apache.fineract.infrastructure.core.api.DateAdapter;
 import org.apache.fineract.infrastructure.core.api.ExternalIdAdapter;
@@ -46,16 +49,27 @@ import org.springframework.stereotype.Service;
 
 /**
  * Helper class for serialization of Java objects into JSON using Google's GSON.
+ * <p>
+ * The serializers of partial responses ({@code fields=...}) are cached by the set of included or skipped fields, the
+ * least recently used ones are dropped once {@value #PARTIAL_RESPONSE_SERIALIZER_CACHE_SIZE} field sets are cached.
  */
 @Service
 public final class GoogleGsonSerializerHelper {
 
-    public Gson createGsonBuilderForPartialResponseFiltering(final Set<String> responseParameters) {
-        final ExclusionStrategy strategy = new ParameterListInclusionStrategy(responseParameters);
+    private static final int PARTIAL_RESPONSE_SERIALIZER_CACHE_SIZE = 256;
 
-        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
-        registerTypeAdapters(builder);
-        return builder.create();
+    private final Map<PartialResponseSerializerKey, Gson> partialResponseSerializers = Collections
+            .synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<PartialResponseSerializerKey, Gson> eldest) {
+                    return size() > PARTIAL_RESPONSE_SERIALIZER_CACHE_SIZE;
+                }
+            });
+
+    public Gson createGsonBuilderForPartialResponseFiltering(final Set<String> responseParameters) {
+        return partialResponseSerializers.computeIfAbsent(new PartialResponseSerializerKey(true, Set.copyOf(responseParameters)),
+                key -> createGson(new ParameterListInclusionStrategy(key.parameterNames())));
     }
 
     public Gson createGsonBuilderWithParameterExclusionSerializationStrategy(final Set<String> supportedParameters,
@@ -77,11 +91,8 @@ public final class GoogleGsonSerializerHelper {
             parameterNamesToSkip.removeAll(responseParameters);
         }
 
-        final ExclusionStrategy strategy = new ParameterListExclusionStrategy(parameterNamesToSkip);
-
-        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
-        registerTypeAdapters(builder);
-        return builder.create();
+        return partialResponseSerializers.computeIfAbsent(new PartialResponseSerializerKey(false, Set.copyOf(parameterNamesToSkip)),
+                key -> createGson(new ParameterListExclusionStrategy(key.parameterNames())));
     }
 
     public String serializedJsonFrom(final Gson serializer, final Object[] dataObjects) {
@@ -92,6 +103,12 @@ public final class GoogleGsonSerializerHelper {
         return serializer.toJson(singleDataObject);
     }
 
+    private static Gson createGson(final ExclusionStrategy strategy) {
+        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
+        registerTypeAdapters(builder);
+        return builder.create();
+    }
+
     public static Gson createSimpleGson() {
         return createGsonBuilder().create();
     }
@@ -113,4 +130,7 @@ public final class GoogleGsonSerializerHelper {
         builder.registerTypeAdapter(OffsetDateTime.class, new OffsetDateTimeAdapter());
         builder.registerTypeAdapter(ExternalId.class, new ExternalIdAdapter());
     }
+
+    private record PartialResponseSerializerKey(boolean inclusion, Set<String> parameterNames) {
+    }
 }
@@ -38,11 +38,12 @@ import java.time.format.DateTimeParseException;
 import java.time.format.ResolverStyle;
 import java.time.temporal.ChronoField;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.data.DateFormat;
@@ -54,6 +55,16 @@ import org.springframework.format.number.NumberStyleFormatter;
  */
 public class JsonParserHelper {
 
+    private static final Set<String> ISO_LANGUAGES = Set.of(Locale.getISOLanguages());
+    private static final Set<String> ISO_COUNTRIES = Set.of(Locale.getISOCountries());
+
+    /**
+     * Date formats and locales come from the requests, the number of cached formatters is capped so arbitrary input
+     * cannot grow the cache without bounds.
+     */
+    private static final int MAX_CACHED_DATE_TIME_FORMATTERS = 256;
+    private static final ConcurrentMap<DateTimeFormatterKey, DateTimeFormatter> DATE_TIME_FORMATTERS = new ConcurrentHashMap<>();
+
     public boolean parameterExists(final String parameterName, final JsonElement element) {
         if (element == null) {
             return false;
@@ -562,12 +573,7 @@ public class JsonParserHelper {
         LocalDateTime eventLocalDateTime = null;
         if (StringUtils.isNotBlank(dateTimeAsString)) {
             try {
-                String strictResolveCompatibleDateTimeFormat = dateTimeFormat.replace("y", "u");
-                DateTimeFormatter formatter = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient()
-                        .appendPattern(strictResolveCompatibleDateTimeFormat).optionalStart().appendPattern(" HH:mm:ss").optionalEnd()
-                        .parseDefaulting(ChronoField.HOUR_OF_DAY, 0).parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
-                        .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0).toFormatter(clientApplicationLocale)
-                        .withResolverStyle(ResolverStyle.STRICT);
+                DateTimeFormatter formatter = dateTimeFormatter(dateTimeFormat, clientApplicationLocale);
                 eventLocalDateTime = LocalDateTime.parse(dateTimeAsString, formatter);
             } catch (final IllegalArgumentException | DateTimeParseException e) {
                 final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
@@ -586,6 +592,27 @@ public class JsonParserHelper {
         return eventLocalDateTime;
     }
 
+    private static DateTimeFormatter dateTimeFormatter(final String dateTimeFormat, final Locale clientApplicationLocale) {
+        final DateTimeFormatterKey key = new DateTimeFormatterKey(dateTimeFormat, clientApplicationLocale);
+        final DateTimeFormatter cached = DATE_TIME_FORMATTERS.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final DateTimeFormatter formatter = buildDateTimeFormatter(dateTimeFormat, clientApplicationLocale);
+        if (DATE_TIME_FORMATTERS.size() < MAX_CACHED_DATE_TIME_FORMATTERS) {
+            DATE_TIME_FORMATTERS.putIfAbsent(key, formatter);
+        }
+        return formatter;
+    }
+
+    private static DateTimeFormatter buildDateTimeFormatter(final String dateTimeFormat, final Locale clientApplicationLocale) {
+        String strictResolveCompatibleDateTimeFormat = dateTimeFormat.replace("y", "u");
+        return new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient().appendPattern(strictResolveCompatibleDateTimeFormat)
+                .optionalStart().appendPattern(" HH:mm:ss").optionalEnd().parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+                .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0).parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+                .toFormatter(clientApplicationLocale).withResolverStyle(ResolverStyle.STRICT);
+    }
+
     private static void validateDateFormatAndLocale(final String parameterName, final String dateFormat,
             final Locale clientApplicationLocale) {
         if (StringUtils.isBlank(dateFormat) || clientApplicationLocale == null) {
@@ -798,16 +825,14 @@ public class JsonParserHelper {
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
 
-        final List<String> allowedLanguages = Arrays.asList(Locale.getISOLanguages());
-        if (!allowedLanguages.contains(languageCode.toLowerCase())) {
+        if (!ISO_LANGUAGES.contains(languageCode.toLowerCase())) {
             final ApiParameterError error = ApiParameterError.parameterError("validation.msg.invalid.locale.format",
                     "The parameter `locale` has an invalid language value " + languageCode + " .", "locale", languageCode);
             dataValidationErrors.add(error);
         }
 
         if (StringUtils.isNotBlank(courntryCode.toUpperCase())) {
-            final List<String> allowedCountries = Arrays.asList(Locale.getISOCountries());
-            if (!allowedCountries.contains(courntryCode)) {
+            if (!ISO_COUNTRIES.contains(courntryCode)) {
                 final ApiParameterError error = ApiParameterError.parameterError("validation.msg.invalid.locale.format",
                         "The parameter `locale` has an invalid country value " + courntryCode + " .", "locale", courntryCode);
                 dataValidationErrors.add(error);
@@ -832,4 +857,7 @@ public class JsonParserHelper {
         }
         return clientApplicationLocale;
     }
+
+    private record DateTimeFormatterKey(String dateTimeFormat, Locale locale) {
+    }
 }
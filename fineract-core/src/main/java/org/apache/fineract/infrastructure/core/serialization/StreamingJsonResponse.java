@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.serialization;
+
+import com.google.gson.Gson;
+import java.io.Writer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A data object returned by an API resource together with the serializer it is rendered with. The JSON is written to
+ * the response by {@link org.apache.fineract.infrastructure.core.api.jersey.StreamingJsonMessageBodyWriter} while it is
+ * being serialized, without building the whole document in memory first.
+ */
+@RequiredArgsConstructor
+public class StreamingJsonResponse {
+
+    private final Gson serializer;
+    private final Object data;
+
+    public void writeTo(final Writer writer) {
+        this.serializer.toJson(this.data, writer);
+    }
+
+    /**
+     * Renders the whole document, for callers which need it as a string (e.g. batch requests).
+     */
+    public String toJson() {
+        return this.serializer.toJson(this.data);
+    }
+}
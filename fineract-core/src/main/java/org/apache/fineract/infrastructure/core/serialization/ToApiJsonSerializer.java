@@ -34,6 +34,12 @@ public interface ToApiJsonSerializer<T> {
 
     String serialize(ApiRequestJsonSerializationSettings settings, Page<T> singleObject);
 
+    /**
+     * Same as {@link #serialize(ApiRequestJsonSerializationSettings, Object, Set)}, but the JSON is written to the response
+     * while it is serialized instead of being built as a string first. Meant for large documents.
+     */
+    StreamingJsonResponse stream(ApiRequestJsonSerializationSettings settings, T single, Set<String> supportedResponseParameters);
+
     // TODO: TECHDEBT - bottom three will be deprecated going forward to remove
     // need for people to pass full list of supported parameters. It was only
     // used in cases where the partial response features was used (fields=x,y,x)
@@ -18,9 +18,16 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import java.util.List;
+
 public interface DataEnricher<T> {
 
     boolean isDataTypeSupported(Class<T> dataType);
 
     void enrich(T data);
+
+    /**
+     * Called before a batch of data is enriched one by one, lets the enricher load what it needs for all of them at once.
+     */
+    default void prefetch(List<T> data) {}
 }
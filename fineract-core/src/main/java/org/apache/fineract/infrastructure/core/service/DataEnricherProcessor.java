@@ -42,4 +42,14 @@ public class DataEnricherProcessor {
         }
         return source;
     }
+
+    public void prefetch(List<?> sources) {
+        for (DataEnricher enhancer : enhancers) {
+            List<Object> supported = sources.stream().filter(source -> enhancer.isDataTypeSupported(source.getClass()))
+                    .map(Object.class::cast).toList();
+            if (!supported.isEmpty()) {
+                enhancer.prefetch(supported);
+            }
+        }
+    }
 }
@@ -0,0 +1,194 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Decides whether a connection for the current thread can be served by the read replica (read-only schema server) of
+ * the tenant instead of the primary database.
+ * <p>
+ * Only read-only transactions ({@code @Transactional(readOnly = true)}) started by a {@code GET} API request are routed,
+ * so batch jobs and write paths always see the primary. The replica is used only while its replication lag is within
+ * the tolerance configured for the endpoint ({@code fineract.read-replica.endpoint-max-lag.<path segment>}, falling back
+ * to {@code fineract.read-replica.max-lag}); otherwise, or when the replica cannot be reached, the primary is used.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReadReplicaRoutingService {
+
+    private static final String METRIC_NAME_ROUTE = "fineract.datasource.route";
+    private static final String ROUTE_REPLICA = "replica";
+    private static final String ROUTE_FALLBACK = "fallback";
+
+    private static final String POSTGRESQL_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM (clock_timestamp() - pg_last_xact_replay_timestamp())), 0) END";
+    // MySQL 8.0.22+ and MariaDB 10.5.1+; SHOW SLAVE STATUS is removed in MySQL 8.4
+    private static final String MYSQL_LAG_QUERY = "SHOW REPLICA STATUS";
+    private static final String MYSQL_LEGACY_LAG_QUERY = "SHOW SLAVE STATUS";
+    private static final String MYSQL_LAG_COLUMN = "Seconds_Behind_Source";
+    // older MySQL servers and MariaDB
+    private static final String MYSQL_LEGACY_LAG_COLUMN = "Seconds_Behind_Master";
+
+    private final FineractProperties fineractProperties;
+    private final DatabaseTypeResolver databaseTypeResolver;
+    private final Optional<MeterRegistry> meterRegistry;
+
+    private final Map<Long, ReplicaLag> replicaLags = new ConcurrentHashMap<>();
+
+    public boolean isReplicaRoutingApplicable(FineractPlatformTenantConnection tenantConnection) {
+        FineractProperties.FineractReadReplicaProperties properties = fineractProperties.getReadReplica();
+        if (properties == null || !properties.isEnabled() || fineractProperties.getMode().isReadOnlyMode()) {
+            return false;
+        }
+        if (StringUtils.isBlank(tenantConnection.getReadOnlySchemaServer())) {
+            return false;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && currentGetRequest() != null;
+    }
+
+    public DataSource route(FineractPlatformTenant tenant, DataSource primary, DataSource replica) {
+        Duration maxLag = resolveMaxLag(currentGetRequest());
+        Duration lag = currentLag(tenant.getConnection().getConnectionId(), replica);
+        if (lag != null && lag.compareTo(maxLag) <= 0) {
+            countRoute(tenant, ROUTE_REPLICA);
+            return replica;
+        }
+        log.debug("Read replica of tenant {} is not usable (lag: {}, tolerance: {}), falling back to primary", tenant.getTenantIdentifier(),
+                lag, maxLag);
+        countRoute(tenant, ROUTE_FALLBACK);
+        return primary;
+    }
+
+    Duration resolveMaxLag(HttpServletRequest request) {
+        FineractProperties.FineractReadReplicaProperties properties = fineractProperties.getReadReplica();
+        if (request != null && request.getRequestURI() != null) {
+            for (String pathSegment : StringUtils.split(request.getRequestURI(), '/')) {
+                Duration endpointMaxLag = properties.getEndpointMaxLag().get(pathSegment);
+                if (endpointMaxLag != null) {
+                    return endpointMaxLag;
+                }
+            }
+        }
+        return properties.getMaxLag();
+    }
+
+    private Duration currentLag(Long connectionId, DataSource replica) {
+        long checkIntervalNanos = fineractProperties.getReadReplica().getLagCheckInterval().toNanos();
+        long now = System.nanoTime();
+        ReplicaLag current = replicaLags.get(connectionId);
+        if (current != null && now - current.checkedAtNanos() < checkIntervalNanos) {
+            return current.lag();
+        }
+        // probed outside of the map operations so that a slow replica does not block other threads using the map
+        Duration lag = measureLag(replica);
+        replicaLags.put(connectionId, new ReplicaLag(lag, now));
+        return lag;
+    }
+
+    private Duration measureLag(DataSource replica) {
+        try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            if (databaseTypeResolver.isPostgreSQL()) {
+                try (ResultSet rs = statement.executeQuery(POSTGRESQL_LAG_QUERY)) {
+                    return rs.next() ? Duration.ofMillis(Math.round(rs.getDouble(1) * 1000)) : Duration.ZERO;
+                }
+            }
+            try (ResultSet rs = executeReplicaStatusQuery(connection, statement)) {
+                if (!rs.next()) {
+                    // not configured as a replica, nothing to lag behind
+                    return Duration.ZERO;
+                }
+                long secondsBehind = rs.getLong(findLagColumn(rs));
+                // NULL means the replication threads are not running
+                return rs.wasNull() ? null : Duration.ofSeconds(secondsBehind);
+            }
+        } catch (SQLException e) {
+            log.warn("Unable to determine the replication lag of the read replica", e);
+            return null;
+        }
+    }
+
+    private static ResultSet executeReplicaStatusQuery(Connection connection, Statement statement) throws SQLException {
+        try {
+            return statement.executeQuery(MYSQL_LAG_QUERY);
+        } catch (SQLException e) {
+            log.debug("{} is not supported by the read replica, falling back to {}", MYSQL_LAG_QUERY, MYSQL_LEGACY_LAG_QUERY, e);
+            Statement legacyStatement = connection.createStatement();
+            legacyStatement.closeOnCompletion();
+            return legacyStatement.executeQuery(MYSQL_LEGACY_LAG_QUERY);
+        }
+    }
+
+    private static String findLagColumn(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (MYSQL_LAG_COLUMN.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                return MYSQL_LAG_COLUMN;
+            }
+        }
+        return MYSQL_LEGACY_LAG_COLUMN;
+    }
+
+    private void countRoute(FineractPlatformTenant tenant, String route) {
+        meterRegistry.ifPresent(registry -> Counter.builder(METRIC_NAME_ROUTE) //
+                .description("Connections requested by read-only transactions per route") //
+                .tags("tenant", tenant.getTenantIdentifier(), "route", route) //
+                .register(registry) //
+                .increment());
+    }
+
+    private static HttpServletRequest currentGetRequest() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes instanceof ServletRequestAttributes servletRequestAttributes) {
+            HttpServletRequest request = servletRequestAttributes.getRequest();
+            if (HttpMethod.GET.matches(request.getMethod())) {
+                return request;
+            }
+        }
+        return null;
+    }
+
+    private record ReplicaLag(Duration lag, long checkedAtNanos) {
+    }
+}
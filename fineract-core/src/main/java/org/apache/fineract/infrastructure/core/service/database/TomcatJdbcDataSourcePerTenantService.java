@@ -47,11 +47,13 @@ import org.springframework.stereotype.Service;
 public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceService, ApplicationListener<ContextRefreshedEvent> {
 
     private static final Map<Long, DataSource> TENANT_TO_DATA_SOURCE_MAP = new ConcurrentHashMap<>();
+    private static final Map<Long, DataSource> TENANT_TO_REPLICA_DATA_SOURCE_MAP = new ConcurrentHashMap<>();
     @Qualifier("hikariTenantDataSource")
     private final DataSource tenantDataSource;
     private final TenantDetailsService tenantDetailsService;
 
     private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final ReadReplicaRoutingService readReplicaRoutingService;
 
     @Override
     public DataSource retrieveDataSource() {
@@ -66,7 +68,12 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
             // appropriate datasource for that tenant.
             actualDataSource = TENANT_TO_DATA_SOURCE_MAP.computeIfAbsent(tenantConnectionKey,
                     (key) -> dataSourcePerTenantServiceFactory.createNewDataSourceFor(tenant, tenantConnection));
-
+            // read-only GET requests may be served by the read replica while it is within the tolerated lag
+            if (readReplicaRoutingService.isReplicaRoutingApplicable(tenantConnection)) {
+                DataSource replicaDataSource = TENANT_TO_REPLICA_DATA_SOURCE_MAP.computeIfAbsent(tenantConnectionKey,
+                        (key) -> dataSourcePerTenantServiceFactory.createNewReadReplicaDataSourceFor(tenant, tenantConnection));
+                actualDataSource = readReplicaRoutingService.route(tenant, actualDataSource, replicaDataSource);
+            }
         }
 
         return actualDataSource;
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.tenant;
+
+import org.apache.fineract.command.core.Command;
+import org.apache.fineract.command.core.CommandExecutionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets commands executed on other threads run in the tenant, business date and security context of the request that
+ * sent them, and limits the concurrently executed commands of a tenant to the size of its connection pool.
+ */
+@Component
+public class TenantCommandExecutionContext implements CommandExecutionContext {
+
+    @Override
+    public String resolveTenantId(Command<?> command) {
+        if (command.getTenantId() != null) {
+            return command.getTenantId();
+        }
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        return tenant == null ? null : tenant.getTenantIdentifier();
+    }
+
+    @Override
+    public Integer resolveMaxConcurrency(String tenantId) {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null || tenant.getConnection() == null || !tenant.getTenantIdentifier().equals(tenantId)) {
+            return null;
+        }
+        return tenant.getConnection().getMaxActive();
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        return () -> {
+            try {
+                ThreadLocalContextUtil.init(context);
+                SecurityContextHolder.setContext(securityContext);
+                task.run();
+            } finally {
+                SecurityContextHolder.clearContext();
+                ThreadLocalContextUtil.reset();
+            }
+        };
+    }
+}
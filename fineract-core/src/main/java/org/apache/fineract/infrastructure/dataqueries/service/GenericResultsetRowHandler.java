@@ -0,0 +1,37 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+
+/**
+ * Callback receiving the rows of a generic resultset one by one while the query cursor is being read, see
+ * {@link GenericDataService#streamGenericResultSet(String, int, GenericResultsetRowHandler)}.
+ */
+public interface GenericResultsetRowHandler {
+
+    void onColumnHeaders(List<ResultsetColumnHeaderData> columnHeaders) throws IOException;
+
+    /**
+     * @return {@code false} to stop reading further rows, the running query is cancelled
+     */
+    boolean onRow(List<Object> row) throws IOException;
+}
@@ -19,9 +19,11 @@
 package org.apache.fineract.infrastructure.event.external.jobs;
 
 import java.time.LocalDate;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
@@ -29,8 +31,14 @@ import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+/**
+ * Purges the sent events in batches of {@code fineract.job.purge-batch-size}. Every batch is committed separately (the
+ * tasklet is called again while it returns {@link RepeatStatus#CONTINUABLE}), so the undo/WAL volume and the time the
+ * deleted rows are locked stay bounded regardless of how many events are purged.
+ */
 @Slf4j
 @AllArgsConstructor
 @Component
@@ -38,13 +46,21 @@ public class PurgeExternalEventsTasklet implements Tasklet {
 
     private final ExternalEventRepository repository;
     private final ConfigurationDomainService configurationDomainService;
+    private final FineractProperties fineractProperties;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
         try {
             Long numberOfDaysForPurgeCriteria = configurationDomainService.retrieveExternalEventsPurgeDaysCriteria();
             LocalDate dateForPurgeCriteria = DateUtils.getBusinessLocalDate().minusDays(numberOfDaysForPurgeCriteria);
-            repository.deleteOlderEventsWithSentStatus(ExternalEventStatus.SENT, dateForPurgeCriteria);
+            int batchSize = fineractProperties.getJob().getPurgeBatchSize();
+            List<Long> ids = repository.findIdsOfOlderEventsWithStatus(ExternalEventStatus.SENT, dateForPurgeCriteria,
+                    PageRequest.of(0, batchSize));
+            if (!ids.isEmpty()) {
+                repository.deleteByIds(ids);
+                contribution.incrementWriteCount(ids.size());
+            }
+            return ids.size() < batchSize ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
         } catch (Exception e) {
             log.error("Error occurred while purging external events: ", e);
         }
@@ -35,10 +35,13 @@ public interface ExternalEventRepository extends JpaRepository<ExternalEvent, Lo
 
     List<ExternalEventView> findByStatusOrderByBusinessDateAscIdAsc(ExternalEventStatus status, Pageable batchSize);
 
+    @Query("select e.id from ExternalEvent e where e.status = :status and e.businessDate <= :dateForPurgeCriteria order by e.id")
+    List<Long> findIdsOfOlderEventsWithStatus(@Param("status") ExternalEventStatus status,
+            @Param("dateForPurgeCriteria") LocalDate dateForPurgeCriteria, Pageable batchSize);
+
     @Modifying(flushAutomatically = true)
-    @Query("delete from ExternalEvent e where e.status = :status and e.businessDate <= :dateForPurgeCriteria")
-    void deleteOlderEventsWithSentStatus(@Param("status") ExternalEventStatus status,
-            @Param("dateForPurgeCriteria") LocalDate dateForPurgeCriteria);
+    @Query("delete from ExternalEvent e where e.id in :ids")
+    void deleteByIds(@Param("ids") List<Long> ids);
 
     @Modifying
     @Query("UPDATE ExternalEvent e SET e.status = org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus.SENT, e.sentAt = :sentAt WHERE e.id IN :ids")
@@ -22,7 +22,6 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -85,14 +84,7 @@ public class ExternalEventService {
     }
 
     private ExternalEvent handleBulkBusinessEvent(BulkBusinessEvent bulkBusinessEvent) throws IOException {
-        List<BulkMessageItemV1> messages = new ArrayList<>();
-        List<BusinessEvent<?>> events = bulkBusinessEvent.get();
-        for (int i = 0; i < events.size(); i++) {
-            BusinessEvent<?> event = events.get(i);
-            long id = (long) i + 1;
-            BulkMessageItemV1 message = bulkMessageItemFactory.createBulkMessageItem(id, event);
-            messages.add(message);
-        }
+        List<BulkMessageItemV1> messages = bulkMessageItemFactory.createBulkMessageItems(bulkBusinessEvent.get());
         String idempotencyKey = idempotencyKeyGenerator.generate(bulkBusinessEvent);
         BulkMessagePayloadV1 avroDto = new BulkMessagePayloadV1(messages);
         byte[] data = byteBufferConverter.convert(avroDto.toByteBuffer());
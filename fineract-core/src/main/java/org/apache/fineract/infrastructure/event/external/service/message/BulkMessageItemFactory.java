@@ -20,6 +20,8 @@ package org.apache.fineract.infrastructure.event.external.service.message;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.avro.BulkMessageItemV1;
 import org.apache.fineract.avro.generator.ByteBufferSerializable;
@@ -40,7 +42,31 @@ public class BulkMessageItemFactory {
 
     public BulkMessageItemV1 createBulkMessageItem(long id, BusinessEvent<?> event) throws IOException {
         BusinessEventSerializer eventSerializer = serializerFactory.create(event);
-        ByteBufferSerializable avroDto = dataEnricherProcessor.enrich(eventSerializer.toAvroDTO(event));
+        return createBulkMessageItem(id, event, eventSerializer, eventSerializer.toAvroDTO(event));
+    }
+
+    /**
+     * Creates the items of a bulk message, the data enrichers can prefetch what they need for all the events at once.
+     */
+    public List<BulkMessageItemV1> createBulkMessageItems(List<BusinessEvent<?>> events) throws IOException {
+        List<BusinessEventSerializer> serializers = new ArrayList<>(events.size());
+        List<ByteBufferSerializable> avroDtos = new ArrayList<>(events.size());
+        for (BusinessEvent<?> event : events) {
+            BusinessEventSerializer eventSerializer = serializerFactory.create(event);
+            serializers.add(eventSerializer);
+            avroDtos.add(eventSerializer.toAvroDTO(event));
+        }
+        dataEnricherProcessor.prefetch(avroDtos);
+        List<BulkMessageItemV1> messages = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            messages.add(createBulkMessageItem((long) i + 1, events.get(i), serializers.get(i), avroDtos.get(i)));
+        }
+        return messages;
+    }
+
+    private BulkMessageItemV1 createBulkMessageItem(long id, BusinessEvent<?> event, BusinessEventSerializer eventSerializer,
+            ByteBufferSerializable avroDtoToEnrich) throws IOException {
+        ByteBufferSerializable avroDto = dataEnricherProcessor.enrich(avroDtoToEnrich);
         ByteBuffer buffer = avroDto.toByteBuffer();
         byte[] serializedContent = byteBufferConverter.convert(buffer);
         String type = event.getType();
@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.workingdays.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.service.HolidayUtil;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.portfolio.calendar.service.CalendarUtils;
+
+/**
+ * Working days and holidays of an office indexed by day, so that the date adjustments done while generating a repayment
+ * schedule are answered by lookups instead of evaluating the working days RRULE and scanning the holiday list for every
+ * single date.
+ * <p>
+ * Working days are resolved through the day-of-week mask of the working days rule, rules that do not select days by day
+ * of week only are still evaluated as RRULE. Holidays are indexed per day over the period they cover; where holidays
+ * overlap the first one of the list applies, as in {@link HolidayUtil#getApplicableHoliday(LocalDate, List)}. An
+ * instance is a snapshot of the configuration it was built from and is rebuilt together with the holidays it was
+ * created for.
+ */
+public final class WorkingDayCalendar {
+
+    /**
+     * Holidays spanning more days than this (about a century) are scanned instead of being indexed.
+     */
+    private static final int MAX_INDEXED_DAYS = 36_600;
+
+    private final WorkingDays workingDays;
+    private final int dayOfWeekMask;
+    private final boolean sevenDayWeek;
+    private final List<Holiday> holidays;
+    private final long firstIndexedDay;
+    // position + 1 of the applicable holiday by day, 0 if none; null if the holidays are scanned
+    private final int[] holidayIndex;
+
+    private WorkingDayCalendar(final WorkingDays workingDays, final List<Holiday> holidays) {
+        this.workingDays = workingDays;
+        this.dayOfWeekMask = WorkingDaysUtil.dayOfWeekMask(workingDays.getRecurrence());
+        this.sevenDayWeek = CalendarUtils.getICalRecur(workingDays.getRecurrence()).getDayList().size() == 7;
+        this.holidays = holidays;
+
+        long firstDay = Long.MAX_VALUE;
+        long lastDay = Long.MIN_VALUE;
+        boolean indexable = true;
+        for (final Holiday holiday : holidays) {
+            if (holiday.getFromDate() == null || holiday.getToDate() == null) {
+                indexable = false;
+                break;
+            }
+            firstDay = Math.min(firstDay, holiday.getFromDate().toEpochDay());
+            lastDay = Math.max(lastDay, holiday.getToDate().toEpochDay());
+        }
+        if (holidays.isEmpty() || lastDay < firstDay) {
+            this.firstIndexedDay = 0;
+            this.holidayIndex = new int[0];
+        } else if (!indexable || lastDay - firstDay >= MAX_INDEXED_DAYS) {
+            this.firstIndexedDay = 0;
+            this.holidayIndex = null;
+        } else {
+            this.firstIndexedDay = firstDay;
+            this.holidayIndex = new int[(int) (lastDay - firstDay + 1)];
+            for (int i = 0; i < holidays.size(); i++) {
+                final Holiday holiday = holidays.get(i);
+                final long toDay = holiday.getToDate().toEpochDay();
+                for (long day = holiday.getFromDate().toEpochDay(); day <= toDay; day++) {
+                    final int dayIndex = (int) (day - firstDay);
+                    if (this.holidayIndex[dayIndex] == 0) {
+                        this.holidayIndex[dayIndex] = i + 1;
+                    }
+                }
+            }
+        }
+    }
+
+    public static WorkingDayCalendar of(final WorkingDays workingDays, final List<Holiday> holidays) {
+        return new WorkingDayCalendar(workingDays, holidays == null ? List.of() : new ArrayList<>(holidays));
+    }
+
+    public WorkingDays getWorkingDays() {
+        return this.workingDays;
+    }
+
+    /**
+     * @return whether every day of the week is a working day according to the {@code BYDAY} list of the working days
+     *         rule
+     */
+    public boolean isSevenDayWeek() {
+        return this.sevenDayWeek;
+    }
+
+    public boolean isWorkingDay(final LocalDate date) {
+        if (this.dayOfWeekMask != WorkingDaysUtil.NO_DAY_OF_WEEK_MASK) {
+            return WorkingDaysUtil.isWorkingDayOfWeek(this.dayOfWeekMask, date.getDayOfWeek());
+        }
+        return WorkingDaysUtil.isWorkingDay(this.workingDays, date);
+    }
+
+    public boolean isNonWorkingDay(final LocalDate date) {
+        return !isWorkingDay(date);
+    }
+
+    public Holiday getApplicableHoliday(final LocalDate date) {
+        if (this.holidayIndex == null) {
+            return HolidayUtil.getApplicableHoliday(date, this.holidays);
+        }
+        final long dayIndex = date.toEpochDay() - this.firstIndexedDay;
+        if (dayIndex < 0 || dayIndex >= this.holidayIndex.length) {
+            return null;
+        }
+        final int position = this.holidayIndex[(int) dayIndex];
+        return position == 0 ? null : this.holidays.get(position - 1);
+    }
+
+    public boolean isHoliday(final LocalDate date) {
+        return getApplicableHoliday(date) != null;
+    }
+
+    /**
+     * @return the given date if it is a working day, otherwise the first working day after it; holidays are not taken
+     *         into account
+     */
+    public LocalDate nextWorkingDay(final LocalDate date) {
+        LocalDate workingDay = date;
+        while (isNonWorkingDay(workingDay)) {
+            workingDay = workingDay.plusDays(1);
+        }
+        return workingDay;
+    }
+
+    /**
+     * @return the given date if it is a working day, otherwise the last working day before it; holidays are not taken
+     *         into account
+     */
+    public LocalDate previousWorkingDay(final LocalDate date) {
+        LocalDate workingDay = date;
+        while (isNonWorkingDay(workingDay)) {
+            workingDay = workingDay.minusDays(1);
+        }
+        return workingDay;
+    }
+
+    /**
+     * Same as {@link WorkingDaysUtil#getOffSetDateIfNonWorkingDay(LocalDate, LocalDate, WorkingDays)} for the working days
+     * of this calendar.
+     */
+    public LocalDate getOffSetDateIfNonWorkingDay(final LocalDate date, final LocalDate nextMeetingDate) {
+        if (isWorkingDay(date)) {
+            return date;
+        }
+        return switch (RepaymentRescheduleType.fromInt(this.workingDays.getRepaymentReschedulingType())) {
+            case MOVE_TO_NEXT_WORKING_DAY -> nextWorkingDay(date);
+            case MOVE_TO_NEXT_REPAYMENT_MEETING_DAY -> nextMeetingDate;
+            case MOVE_TO_PREVIOUS_WORKING_DAY -> previousWorkingDay(date);
+            default -> date;
+        };
+    }
+}
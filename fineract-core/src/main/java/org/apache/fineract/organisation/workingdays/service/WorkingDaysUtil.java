@@ -18,7 +18,11 @@
  */
 package org.apache.fineract.organisation.workingdays.service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.fortuna.ical4j.model.Recur;
 import org.apache.fineract.organisation.workingdays.data.AdjustedDateDetailsDTO;
 import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
 import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
@@ -26,6 +30,20 @@ import org.apache.fineract.portfolio.calendar.service.CalendarUtils;
 
 public final class WorkingDaysUtil {
 
+    /**
+     * Mask value of a working days rule that is not a plain weekly rule by day of week and has to be evaluated as RRULE.
+     */
+    static final int NO_DAY_OF_WEEK_MASK = -1;
+
+    private static final int MAX_CACHED_DAY_OF_WEEK_MASKS = 64;
+    private static final LocalDate MASK_REFERENCE_MONDAY = LocalDate.of(2024, 1, 1);
+
+    /**
+     * Day-of-week masks by working days rule. A mask only depends on the rule text, so a changed working days
+     * configuration simply resolves to another entry and nothing has to be invalidated.
+     */
+    private static final Map<String, Integer> DAY_OF_WEEK_MASKS = new ConcurrentHashMap<>();
+
     private WorkingDaysUtil() {
 
     }
@@ -57,6 +75,10 @@ public final class WorkingDaysUtil {
     }
 
     public static boolean isWorkingDay(final WorkingDays workingDays, final LocalDate date) {
+        final int dayOfWeekMask = dayOfWeekMask(workingDays.getRecurrence());
+        if (dayOfWeekMask != NO_DAY_OF_WEEK_MASK) {
+            return isWorkingDayOfWeek(dayOfWeekMask, date.getDayOfWeek());
+        }
         return CalendarUtils.isValidRecurringDate(workingDays.getRecurrence(), date, date);
     }
 
@@ -74,4 +96,52 @@ public final class WorkingDaysUtil {
     public static RepaymentRescheduleType getRepaymentRescheduleType(final WorkingDays workingDays) {
         return RepaymentRescheduleType.fromInt(workingDays.getRepaymentReschedulingType());
     }
+
+    /**
+     * Returns the working days of the rule as bit mask (bit 0 for Monday up to bit 6 for Sunday), or
+     * {@link #NO_DAY_OF_WEEK_MASK} if the rule does not select days by day of week only.
+     * <p>
+     * A working day check evaluates the rule seeded on the checked date, so for a weekly rule restricted by {@code BYDAY}
+     * alone the result only depends on the day of week and is computed once per rule from the rule itself.
+     */
+    static int dayOfWeekMask(final String recurrence) {
+        if (recurrence == null) {
+            return NO_DAY_OF_WEEK_MASK;
+        }
+        Integer dayOfWeekMask = DAY_OF_WEEK_MASKS.get(recurrence);
+        if (dayOfWeekMask == null) {
+            dayOfWeekMask = computeDayOfWeekMask(recurrence);
+            if (DAY_OF_WEEK_MASKS.size() < MAX_CACHED_DAY_OF_WEEK_MASKS) {
+                DAY_OF_WEEK_MASKS.put(recurrence, dayOfWeekMask);
+            }
+        }
+        return dayOfWeekMask;
+    }
+
+    static boolean isWorkingDayOfWeek(final int dayOfWeekMask, final DayOfWeek dayOfWeek) {
+        return (dayOfWeekMask & (1 << (dayOfWeek.getValue() - 1))) != 0;
+    }
+
+    private static int computeDayOfWeekMask(final String recurrence) {
+        final Recur recur = CalendarUtils.getICalRecur(recurrence);
+        if (recur == null || !isDayOfWeekRule(recur)) {
+            return NO_DAY_OF_WEEK_MASK;
+        }
+        int dayOfWeekMask = 0;
+        for (int i = 0; i < 7; i++) {
+            final LocalDate date = MASK_REFERENCE_MONDAY.plusDays(i);
+            if (CalendarUtils.isValidRecurringDate(recur, date, date, false, 0)) {
+                dayOfWeekMask |= 1 << (date.getDayOfWeek().getValue() - 1);
+            }
+        }
+        return dayOfWeekMask;
+    }
+
+    private static boolean isDayOfWeekRule(final Recur recur) {
+        return Recur.Frequency.WEEKLY.equals(recur.getFrequency()) && recur.getCount() < 1 && recur.getUntil() == null
+                && recur.getDayList().stream().allMatch(weekDay -> weekDay.getOffset() == 0) && recur.getMonthDayList().isEmpty()
+                && recur.getYearDayList().isEmpty() && recur.getWeekNoList().isEmpty() && recur.getMonthList().isEmpty()
+                && recur.getSetPosList().isEmpty() && recur.getHourList().isEmpty() && recur.getMinuteList().isEmpty()
+                && recur.getSecondList().isEmpty();
+    }
 }
@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CommandSourceResultCodecTest {
+
+    private static final String RESULT = "{\"officeId\":1,\"clientId\":1,\"loanId\":1,\"resourceId\":1,\"changes\":{\"note\":\""
+            + "a".repeat(512) + "\"}}";
+
+    @Test
+    public void testLargeResultIsCompressedAndDecoded() {
+        // when
+        String stored = CommandSourceResultCodec.encode(RESULT, 256);
+        // then
+        assertThat(CommandSourceResultCodec.isCompressed(stored)).isTrue();
+        assertThat(stored.length()).isLessThan(RESULT.length());
+        assertThat(CommandSourceResultCodec.decode(stored)).isEqualTo(RESULT);
+    }
+
+    @Test
+    public void testResultBelowThresholdIsStoredAsIs() {
+        assertThat(CommandSourceResultCodec.encode("{\"resourceId\":1}", 256)).isEqualTo("{\"resourceId\":1}");
+        assertThat(CommandSourceResultCodec.encode(RESULT, 0)).isEqualTo(RESULT);
+        assertThat(CommandSourceResultCodec.decode("{\"resourceId\":1}")).isEqualTo("{\"resourceId\":1}");
+        assertThat(CommandSourceResultCodec.decode(null)).isNull();
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.api;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.gson.JsonParser;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class JsonCommandTest {
+
+    private static final String JSON = """
+            {"principal": "1,000.50", "submittedOnDate": "01 March 2024", "numberOfRepayments": 12, "isTopup": true,
+             "charges": ["b", "a"], "locale": "en", "dateFormat": "dd MMMM yyyy"}
+            """;
+
+    private final FromJsonHelper fromApiJsonHelper = spy(new FromJsonHelper());
+
+    @Test
+    void typedValuesAreConvertedOnce() {
+        JsonCommand command = command(JSON);
+
+        BigDecimal principal = command.bigDecimalValueOfParameterNamed("principal");
+        LocalDate submittedOnDate = command.localDateValueOfParameterNamed("submittedOnDate");
+
+        Assertions.assertEquals(0, new BigDecimal("1000.50").compareTo(principal));
+        Assertions.assertEquals(LocalDate.of(2024, 3, 1), submittedOnDate);
+        Assertions.assertSame(principal, command.bigDecimalValueOfParameterNamed("principal"));
+        Assertions.assertSame(submittedOnDate, command.dateValueOfParameterNamed("submittedOnDate"));
+        Assertions.assertEquals(12, command.integerValueOfParameterNamed("numberOfRepayments"));
+        Assertions.assertEquals(12, command.integerValueOfParameterNamed("numberOfRepayments"));
+        Assertions.assertTrue(command.booleanPrimitiveValueOfParameterNamed("isTopup"));
+        Assertions.assertTrue(command.booleanObjectValueOfParameterNamed("isTopup"));
+
+        verify(fromApiJsonHelper, times(1)).extractBigDecimalWithLocaleNamed(eq("principal"), any());
+        verify(fromApiJsonHelper, times(1)).extractLocalDateNamed(eq("submittedOnDate"), any());
+        verify(fromApiJsonHelper, times(1)).extractIntegerWithLocaleNamed(eq("numberOfRepayments"), any());
+        verify(fromApiJsonHelper, times(1)).extractBooleanNamed(eq("isTopup"), any());
+    }
+
+    @Test
+    void missingValuesAreMemoizedAsNull() {
+        JsonCommand command = command(JSON);
+
+        Assertions.assertNull(command.longValueOfParameterNamed("clientId"));
+        Assertions.assertNull(command.longValueOfParameterNamed("clientId"));
+
+        verify(fromApiJsonHelper, times(1)).extractLongNamed(eq("clientId"), any());
+    }
+
+    @Test
+    void valuesWithExplicitLocaleAreMemoizedSeparately() {
+        JsonCommand command = command("""
+                {"principal": "1.000,50", "locale": "de"}
+                """);
+
+        BigDecimal principal = command.bigDecimalValueOfParameterNamed("principal");
+        BigDecimal principalWithLocale = command.bigDecimalValueOfParameterNamed("principal", Locale.GERMAN);
+
+        Assertions.assertEquals(0, new BigDecimal("1000.50").compareTo(principal));
+        Assertions.assertEquals(0, new BigDecimal("1000.50").compareTo(principalWithLocale));
+        Assertions.assertSame(principalWithLocale, command.bigDecimalValueOfParameterNamed("principal", Locale.GERMAN));
+        verify(fromApiJsonHelper, times(1)).extractBigDecimalWithLocaleNamed(eq("principal"), any());
+        verify(fromApiJsonHelper, times(1)).extractBigDecimalNamed(eq("principal"), any(), eq(Locale.GERMAN));
+    }
+
+    @Test
+    void arrayValuesAreReturnedAsCopies() {
+        JsonCommand command = command(JSON);
+
+        Assertions.assertTrue(command.isChangeInArrayParameterNamed("charges", new String[] { "a", "c" }));
+        Assertions.assertArrayEquals(new String[] { "b", "a" }, command.arrayValueOfParameterNamed("charges"));
+    }
+
+    @Test
+    void unsupportedParametersAreCheckedOnTheParsedJson() {
+        JsonCommand command = command(JSON);
+
+        UnsupportedParameterException exception = Assertions.assertThrows(UnsupportedParameterException.class,
+                () -> command.checkForUnsupportedParameters(Set.of("principal", "submittedOnDate", "locale", "dateFormat")));
+
+        Assertions.assertEquals(List.of("numberOfRepayments", "isTopup", "charges"), exception.getUnsupportedParameters());
+    }
+
+    private JsonCommand command(String json) {
+        return JsonCommand.from(json, JsonParser.parseString(json), fromApiJsonHelper, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null);
+    }
+}
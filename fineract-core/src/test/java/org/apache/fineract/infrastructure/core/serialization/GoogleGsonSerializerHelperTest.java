@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.serialization;
+
+import com.google.gson.Gson;
+import java.io.StringWriter;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class GoogleGsonSerializerHelperTest {
+
+    private static final Set<String> SUPPORTED_PARAMETERS = Set.of("id", "name", "amount");
+
+    private final GoogleGsonSerializerHelper helper = new GoogleGsonSerializerHelper();
+
+    @Test
+    void partialResponseSerializerIsReusedForSameFields() {
+        Gson first = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, Set.of("id", "name"));
+        Gson second = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, Set.of("name", "id"));
+        Gson other = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, Set.of("id"));
+
+        Assertions.assertSame(first, second);
+        Assertions.assertNotSame(first, other);
+        Assertions.assertEquals("{\"id\":1,\"name\":\"loan\"}", first.toJson(new Data(1L, "loan", 10)));
+        Assertions.assertEquals("{\"id\":1}", other.toJson(new Data(1L, "loan", 10)));
+    }
+
+    @Test
+    void inclusionAndExclusionSerializersAreCachedSeparately() {
+        Gson inclusion = helper.createGsonBuilderForPartialResponseFiltering(Set.of("id"));
+        Gson exclusion = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS,
+                Set.of("name", "amount"));
+
+        Assertions.assertSame(inclusion, helper.createGsonBuilderForPartialResponseFiltering(Set.of("id")));
+        Assertions.assertNotSame(inclusion, exclusion);
+        Assertions.assertEquals("{\"id\":1}", inclusion.toJson(new Data(1L, "loan", 10)));
+        Assertions.assertEquals("{\"name\":\"loan\",\"amount\":10}", exclusion.toJson(new Data(1L, "loan", 10)));
+    }
+
+    @Test
+    void unsupportedFieldIsRejectedEvenWhenCached() {
+        helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, Set.of("id"));
+
+        Assertions.assertThrows(UnsupportedParameterException.class,
+                () -> helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, Set.of("id", "unknown")));
+    }
+
+    @Test
+    void streamingResponseWritesSameJsonAsString() {
+        StreamingJsonResponse response = new StreamingJsonResponse(GoogleGsonSerializerHelper.createSimpleGson(), new Data(1L, "loan", 10));
+        StringWriter writer = new StringWriter();
+
+        response.writeTo(writer);
+
+        Assertions.assertEquals(response.toJson(), writer.toString());
+    }
+
+    private record Data(Long id, String name, Integer amount) {
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class ReadReplicaRoutingServiceTest {
+
+    private final DatabaseTypeResolver databaseTypeResolver = mock(DatabaseTypeResolver.class);
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FineractProperties.FineractReadReplicaProperties readReplicaProperties;
+    private ReadReplicaRoutingService underTest;
+    private FineractPlatformTenant tenant;
+
+    @BeforeEach
+    public void setUp() {
+        readReplicaProperties = new FineractProperties.FineractReadReplicaProperties();
+        readReplicaProperties.setEnabled(true);
+        readReplicaProperties.setMaxLag(Duration.ofSeconds(5));
+        readReplicaProperties.setLagCheckInterval(Duration.ofMinutes(1));
+        readReplicaProperties.setEndpointMaxLag(Map.of("reports", Duration.ofSeconds(60)));
+        FineractProperties.FineractModeProperties mode = new FineractProperties.FineractModeProperties();
+        mode.setReadEnabled(true);
+        mode.setWriteEnabled(true);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setReadReplica(readReplicaProperties);
+        fineractProperties.setMode(mode);
+        underTest = new ReadReplicaRoutingService(fineractProperties, databaseTypeResolver, Optional.of(meterRegistry));
+        tenant = FineractPlatformTenant.builder().tenantIdentifier("default")
+                .connection(FineractPlatformTenantConnection.builder().connectionId(1L).readOnlySchemaServer("replica-host").build())
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void testRoutingAppliesOnlyToReadOnlyGetRequests() {
+        givenRequest("GET", "/fineract-provider/api/v1/loans");
+        assertFalse(underTest.isReplicaRoutingApplicable(tenant.getConnection()));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertTrue(underTest.isReplicaRoutingApplicable(tenant.getConnection()));
+
+        givenRequest("POST", "/fineract-provider/api/v1/loans");
+        assertFalse(underTest.isReplicaRoutingApplicable(tenant.getConnection()));
+
+        RequestContextHolder.resetRequestAttributes();
+        assertFalse(underTest.isReplicaRoutingApplicable(tenant.getConnection()));
+
+        givenRequest("GET", "/fineract-provider/api/v1/loans");
+        assertFalse(underTest.isReplicaRoutingApplicable(FineractPlatformTenantConnection.builder().connectionId(2L).build()));
+    }
+
+    @Test
+    public void testRoutesToReplicaWithinLagTolerance() throws SQLException {
+        givenRequest("GET", "/fineract-provider/api/v1/loans");
+        givenMySqlReplica("Seconds_Behind_Source", 3L);
+
+        assertSame(replica, underTest.route(tenant, primary, replica));
+        assertEquals(1.0, routeCount("replica"));
+    }
+
+    @Test
+    public void testFallsBackToPrimaryAboveLagTolerance() throws SQLException {
+        givenRequest("GET", "/fineract-provider/api/v1/loans");
+        givenMySqlReplica("Seconds_Behind_Source", 30L);
+
+        assertSame(primary, underTest.route(tenant, primary, replica));
+        assertEquals(1.0, routeCount("fallback"));
+    }
+
+    @Test
+    public void testEndpointSpecificLagTolerance() throws SQLException {
+        givenRequest("GET", "/fineract-provider/api/v1/runreports/reports");
+        givenMySqlReplica("Seconds_Behind_Source", 30L);
+
+        assertSame(replica, underTest.route(tenant, primary, replica));
+    }
+
+    @Test
+    public void testFallsBackToPrimaryWhenProbeFails() throws SQLException {
+        givenRequest("GET", "/fineract-provider/api/v1/loans");
+        when(replica.getConnection()).thenThrow(new SQLException("replica down"));
+
+        assertSame(primary, underTest.route(tenant, primary, replica));
+        assertEquals(1.0, routeCount("fallback"));
+    }
+
+    @Test
+    public void testFallsBackToLegacyReplicaStatusOnOlderServers() throws SQLException {
+        givenRequest("GET", "/fineract-provider/api/v1/loans");
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        Statement legacyStatement = mock(Statement.class);
+        ResultSet resultSet = replicaStatus("Seconds_Behind_Master", 2L);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement, legacyStatement);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenThrow(new SQLException("syntax error"));
+        when(legacyStatement.executeQuery("SHOW SLAVE STATUS")).thenReturn(resultSet);
+
+        assertSame(replica, underTest.route(tenant, primary, replica));
+        verify(resultSet).getLong("Seconds_Behind_Master");
+    }
+
+    @Test
+    public void testLagIsProbedOncePerCheckInterval() throws SQLException {
+        givenRequest("GET", "/fineract-provider/api/v1/loans");
+        givenMySqlReplica("Seconds_Behind_Source", 1L);
+
+        underTest.route(tenant, primary, replica);
+        underTest.route(tenant, primary, replica);
+
+        verify(replica, times(1)).getConnection();
+        assertEquals(2.0, routeCount("replica"));
+    }
+
+    private void givenRequest(String method, String uri) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(method, uri)));
+    }
+
+    private void givenMySqlReplica(String lagColumn, long secondsBehind) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = replicaStatus(lagColumn, secondsBehind);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(resultSet);
+    }
+
+    private ResultSet replicaStatus(String lagColumn, long secondsBehind) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(anyInt())).thenReturn(lagColumn);
+        when(resultSet.getLong(lagColumn)).thenReturn(secondsBehind);
+        return resultSet;
+    }
+
+    private double routeCount(String route) {
+        return meterRegistry.get("fineract.datasource.route").tag("route", route).counter().count();
+    }
+}
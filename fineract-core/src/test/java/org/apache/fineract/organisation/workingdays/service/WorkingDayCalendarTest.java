@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.workingdays.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.RescheduleType;
+import org.apache.fineract.organisation.holiday.service.HolidayUtil;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.portfolio.calendar.service.CalendarUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class WorkingDayCalendarTest {
+
+    private static final LocalDate START = LocalDate.of(2023, 11, 1);
+    private static final String WEEKDAYS = "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR";
+
+    @ParameterizedTest
+    @ValueSource(strings = { WEEKDAYS, "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU", "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,WE,FR",
+            "FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,SA", "FREQ=WEEKLY;INTERVAL=1", "FREQ=DAILY;INTERVAL=1", "FREQ=MONTHLY;BYMONTHDAY=1" })
+    void workingDaysMatchRecurringRule(String recurrence) {
+        WorkingDays workingDays = workingDays(recurrence, RepaymentRescheduleType.SAME_DAY);
+        WorkingDayCalendar calendar = WorkingDayCalendar.of(workingDays, List.of());
+
+        for (LocalDate date = START; date.isBefore(START.plusYears(2)); date = date.plusDays(1)) {
+            boolean expected = CalendarUtils.isValidRecurringDate(recurrence, date, date);
+            assertEquals(expected, calendar.isWorkingDay(date), recurrence + " on " + date);
+            assertEquals(expected, WorkingDaysUtil.isWorkingDay(workingDays, date), recurrence + " on " + date);
+        }
+    }
+
+    @Test
+    void onlyPlainWeeklyRulesHaveDayOfWeekMask() {
+        assertEquals(0b0011111, WorkingDaysUtil.dayOfWeekMask(WEEKDAYS));
+        assertEquals(0b1111111, WorkingDaysUtil.dayOfWeekMask("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU"));
+        assertEquals(WorkingDaysUtil.NO_DAY_OF_WEEK_MASK, WorkingDaysUtil.dayOfWeekMask("FREQ=DAILY;INTERVAL=1"));
+        assertEquals(WorkingDaysUtil.NO_DAY_OF_WEEK_MASK, WorkingDaysUtil.dayOfWeekMask("FREQ=WEEKLY;COUNT=3;BYDAY=MO"));
+        assertEquals(WorkingDaysUtil.NO_DAY_OF_WEEK_MASK, WorkingDaysUtil.dayOfWeekMask("FREQ=MONTHLY;BYDAY=1MO"));
+        assertEquals(WorkingDaysUtil.NO_DAY_OF_WEEK_MASK, WorkingDaysUtil.dayOfWeekMask(null));
+    }
+
+    @Test
+    void sevenDayWeekFollowsDayList() {
+        assertTrue(WorkingDayCalendar.of(workingDays("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU", RepaymentRescheduleType.SAME_DAY),
+                List.of()).isSevenDayWeek());
+        assertFalse(WorkingDayCalendar.of(workingDays(WEEKDAYS, RepaymentRescheduleType.SAME_DAY), List.of()).isSevenDayWeek());
+    }
+
+    @Test
+    void applicableHolidayMatchesHolidayList() {
+        Holiday christmas = holiday(LocalDate.of(2023, 12, 24), LocalDate.of(2023, 12, 26));
+        Holiday yearEnd = holiday(LocalDate.of(2023, 12, 26), LocalDate.of(2024, 1, 2));
+        Holiday easter = holiday(LocalDate.of(2024, 3, 29), LocalDate.of(2024, 4, 1));
+        Holiday inverted = holiday(LocalDate.of(2024, 5, 2), LocalDate.of(2024, 5, 1));
+        List<Holiday> holidays = List.of(christmas, yearEnd, easter, inverted);
+        WorkingDayCalendar calendar = WorkingDayCalendar.of(workingDays(WEEKDAYS, RepaymentRescheduleType.SAME_DAY), holidays);
+
+        for (LocalDate date = START; date.isBefore(START.plusYears(1)); date = date.plusDays(1)) {
+            assertSame(HolidayUtil.getApplicableHoliday(date, holidays), calendar.getApplicableHoliday(date), date.toString());
+            assertEquals(HolidayUtil.isHoliday(date, holidays), calendar.isHoliday(date), date.toString());
+        }
+        assertSame(christmas, calendar.getApplicableHoliday(LocalDate.of(2023, 12, 26)));
+        assertNull(calendar.getApplicableHoliday(LocalDate.of(2023, 12, 23)));
+    }
+
+    @Test
+    void holidaysSpanningTooManyDaysAreScanned() {
+        Holiday first = holiday(LocalDate.of(1950, 1, 1), LocalDate.of(1950, 1, 2));
+        Holiday last = holiday(LocalDate.of(2100, 1, 1), LocalDate.of(2100, 1, 2));
+        WorkingDayCalendar calendar = WorkingDayCalendar.of(workingDays(WEEKDAYS, RepaymentRescheduleType.SAME_DAY), List.of(first, last));
+
+        assertSame(first, calendar.getApplicableHoliday(LocalDate.of(1950, 1, 2)));
+        assertSame(last, calendar.getApplicableHoliday(LocalDate.of(2100, 1, 1)));
+        assertNull(calendar.getApplicableHoliday(LocalDate.of(2024, 1, 1)));
+    }
+
+    @Test
+    void nonWorkingDaysAreMovedLikeWorkingDaysUtil() {
+        LocalDate saturday = LocalDate.of(2024, 1, 6);
+        LocalDate nextMeeting = LocalDate.of(2024, 1, 20);
+        for (RepaymentRescheduleType rescheduleType : List.of(RepaymentRescheduleType.SAME_DAY,
+                RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY, RepaymentRescheduleType.MOVE_TO_NEXT_REPAYMENT_MEETING_DAY,
+                RepaymentRescheduleType.MOVE_TO_PREVIOUS_WORKING_DAY)) {
+            WorkingDays workingDays = workingDays(WEEKDAYS, rescheduleType);
+            WorkingDayCalendar calendar = WorkingDayCalendar.of(workingDays, List.of());
+            for (LocalDate date = saturday; date.isBefore(saturday.plusDays(14)); date = date.plusDays(1)) {
+                assertEquals(WorkingDaysUtil.getOffSetDateIfNonWorkingDay(date, nextMeeting, workingDays),
+                        calendar.getOffSetDateIfNonWorkingDay(date, nextMeeting), rescheduleType + " on " + date);
+            }
+        }
+
+        WorkingDayCalendar calendar = WorkingDayCalendar.of(workingDays(WEEKDAYS, RepaymentRescheduleType.SAME_DAY), List.of());
+        assertEquals(LocalDate.of(2024, 1, 8), calendar.nextWorkingDay(saturday));
+        assertEquals(LocalDate.of(2024, 1, 5), calendar.previousWorkingDay(saturday));
+        assertEquals(LocalDate.of(2024, 1, 8), calendar.nextWorkingDay(LocalDate.of(2024, 1, 8)));
+    }
+
+    private static WorkingDays workingDays(String recurrence, RepaymentRescheduleType rescheduleType) {
+        return new WorkingDays(recurrence, rescheduleType.getValue(), false, false);
+    }
+
+    private static Holiday holiday(LocalDate fromDate, LocalDate toDate) {
+        return new Holiday().setFromDate(fromDate).setToDate(toDate).setReschedulingType(RescheduleType.RESCHEDULETOSPECIFICDATE.getValue())
+                .setRepaymentsRescheduledTo(toDate.plusDays(1));
+    }
+}
@@ -19,16 +19,32 @@
 package org.apache.fineract.infrastructure.documentmanagement.api;
 
 import com.google.common.io.ByteSource;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
+import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.service.ContentDownloadMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Utilities common to file upload/download resources.
+ * <p>
+ * Downloads honour a single HTTP {@code Range} and {@code If-None-Match} against the ETag of the content. Content
+ * backed by a local file is written with {@link FileChannel#transferTo(long, long, WritableByteChannel)}, which avoids
+ * copying it through the heap where the servlet container output supports it; other content is streamed (S3 ranges
+ * are fetched with ranged GETs) and the source stream is closed once written.
  *
  * @author Michael Vorburger.ch
  */
@@ -36,26 +52,168 @@ final class ContentResources {
 
     private static final Logger LOG = LoggerFactory.getLogger(ContentResources.class);
 
+    private static final String BYTES_UNIT = "bytes=";
+
     private ContentResources() {}
 
-    static Response fileDataToResponse(FileData fileData, String fileName, String dispositionType) {
-        ResponseBuilder response;
+    static Response fileDataToResponse(FileData fileData, String fileName, String dispositionType, String rangeHeader,
+            String ifNoneMatchHeader, ContentDownloadMetrics metrics) {
+        long startNanos = System.nanoTime();
+        String eTag = fileData.eTag();
+        if (eTag != null && matchesETag(ifNoneMatchHeader, eTag)) {
+            metrics.record(fileData.origin(), statusOf(Status.NOT_MODIFIED), startNanos);
+            return Response.notModified().header(HttpHeaders.ETAG, eTag).build();
+        }
+
+        Long size;
         try {
-            ByteSource byteSource = fileData.getByteSource();
-            // TODO Where is this InputStream closed?! It needs to be AFTER it's read by JAX-RS.. how to do that?
-            InputStream is = byteSource.openBufferedStream();
-            response = Response.ok(is);
-            response.header("Content-Disposition", dispositionType + "; filename=\"" + fileName + "\"");
-            response.header("Content-Length", byteSource.sizeIfKnown().or(-1L));
-            response.header("Content-Type", fileData.contentType());
+            size = sizeOf(fileData);
         } catch (IOException e) {
-            LOG.error("resizedImage.getByteSource().openBufferedStream() failed", e);
-            response = Response.serverError();
+            LOG.error("Unable to access the content of {}", fileName, e);
+            metrics.record(fileData.origin(), statusOf(Status.INTERNAL_SERVER_ERROR), startNanos);
+            return Response.serverError().build();
+        }
+
+        long offset = 0L;
+        Long length = size;
+        ResponseBuilder response = Response.ok();
+        Status status = Status.OK;
+        if (size != null && rangeHeader != null) {
+            long[] range = parseRange(rangeHeader, size);
+            if (range != null && range.length == 0) {
+                metrics.record(fileData.origin(), statusOf(Status.REQUESTED_RANGE_NOT_SATISFIABLE), startNanos);
+                return Response.status(Status.REQUESTED_RANGE_NOT_SATISFIABLE).header("Content-Range", "bytes */" + size).build();
+            }
+            if (range != null) {
+                offset = range[0];
+                length = range[1] - range[0] + 1;
+                status = Status.PARTIAL_CONTENT;
+                response = Response.status(status).header("Content-Range", "bytes " + range[0] + "-" + range[1] + "/" + size);
+            }
+        }
+
+        response.entity(contentOf(fileData, offset, length, status, metrics, startNanos));
+        response.header("Content-Disposition", dispositionType + "; filename=\"" + fileName + "\"");
+        response.header("Content-Length", length != null ? length : -1L);
+        response.header("Content-Type", fileData.contentType());
+        if (size != null) {
+            response.header("Accept-Ranges", "bytes");
+        }
+        if (eTag != null) {
+            response.header(HttpHeaders.ETAG, eTag);
         }
         return response.build();
     }
 
-    static Response fileDataToResponse(FileData fileData, String dispositionType) {
-        return fileDataToResponse(fileData, fileData.name(), dispositionType);
+    static Response fileDataToResponse(FileData fileData, String dispositionType, String rangeHeader, String ifNoneMatchHeader,
+            ContentDownloadMetrics metrics) {
+        return fileDataToResponse(fileData, fileData.name(), dispositionType, rangeHeader, ifNoneMatchHeader, metrics);
+    }
+
+    private static StreamingOutput contentOf(FileData fileData, long offset, Long length, Status status, ContentDownloadMetrics metrics,
+            long startNanos) {
+        return output -> {
+            try {
+                if (fileData.file() != null) {
+                    transferFile(fileData.file(), offset, length, Channels.newChannel(output));
+                } else {
+                    ByteSource byteSource = fileData.getByteSource();
+                    if (status == Status.PARTIAL_CONTENT) {
+                        byteSource = byteSource.slice(offset, length);
+                    }
+                    try (InputStream is = byteSource.openStream()) {
+                        is.transferTo(output);
+                    }
+                }
+                metrics.record(fileData.origin(), statusOf(status), startNanos);
+            } catch (IOException | RuntimeException e) {
+                metrics.record(fileData.origin(), "error", startNanos);
+                throw e;
+            }
+        };
+    }
+
+    private static void transferFile(Path file, long offset, Long length, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = offset;
+            long remaining = length != null ? length : channel.size() - offset;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    private static Long sizeOf(FileData fileData) throws IOException {
+        if (fileData.file() != null) {
+            return Files.size(fileData.file());
+        }
+        return fileData.getByteSource().sizeIfKnown().orNull();
+    }
+
+    /**
+     * @return the first and last byte position of a single satisfiable range, an empty array if the range cannot be
+     *         satisfied, or {@code null} to ignore the header and send the whole content (malformed or multiple ranges)
+     */
+    static long[] parseRange(String rangeHeader, long size) {
+        if (!rangeHeader.startsWith(BYTES_UNIT) || rangeHeader.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = rangeHeader.substring(BYTES_UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        if (!StringUtils.isNumeric(first) && !StringUtils.isNumeric(last)) {
+            return null;
+        }
+        if ((!first.isEmpty() && !StringUtils.isNumeric(first)) || (!last.isEmpty() && !StringUtils.isNumeric(last))) {
+            return null;
+        }
+        try {
+            if (first.isEmpty()) {
+                // suffix range, the last N bytes
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength == 0 || size == 0) {
+                    return new long[0];
+                }
+                return new long[] { Math.max(0L, size - suffixLength), size - 1 };
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            if (start >= size) {
+                return new long[0];
+            }
+            if (end < start) {
+                return null;
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean matchesETag(String ifNoneMatchHeader, String eTag) {
+        if (StringUtils.isBlank(ifNoneMatchHeader)) {
+            return false;
+        }
+        String opaqueTag = StringUtils.removeStart(eTag, "W/");
+        for (String candidate : StringUtils.split(ifNoneMatchHeader, ',')) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || opaqueTag.equals(StringUtils.removeStart(tag, "W/"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String statusOf(Status status) {
+        return String.valueOf(status.getStatusCode());
     }
 }
@@ -46,6 +46,7 @@ import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.documentmanagement.command.DocumentCommand;
 import org.apache.fineract.infrastructure.documentmanagement.data.DocumentData;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.service.ContentDownloadMetrics;
 import org.apache.fineract.infrastructure.documentmanagement.service.DocumentReadPlatformService;
 import org.apache.fineract.infrastructure.documentmanagement.service.DocumentWritePlatformService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
@@ -69,6 +70,7 @@ public class DocumentManagementApiResource {
     private final DocumentReadPlatformService documentReadPlatformService;
     private final DocumentWritePlatformService documentWritePlatformService;
     private final FileUploadValidator fileUploadValidator;
+    private final ContentDownloadMetrics contentDownloadMetrics;
 
     @GET
     @Consumes({ MediaType.APPLICATION_JSON })
@@ -178,11 +180,14 @@ public class DocumentManagementApiResource {
     @ApiResponses({ @ApiResponse(responseCode = "200", description = "Not Shown: The corresponding Binary file") })
     public Response downloadFile(@PathParam("entityType") @Parameter(description = "entityType") final String entityType,
             @PathParam("entityId") @Parameter(description = "entityId") final Long entityId,
-            @PathParam("documentId") @Parameter(description = "documentId") final Long documentId) {
+            @PathParam("documentId") @Parameter(description = "documentId") final Long documentId,
+            @HeaderParam("Range") @Parameter(description = "single byte range to download") final String rangeHeader,
+            @HeaderParam("If-None-Match") @Parameter(description = "ETag of a previously downloaded version")
+            final String ifNoneMatchHeader) {
 
         context.authenticatedUser().validateHasReadPermission(SYSTEM_ENTITY_TYPE);
         final FileData fileData = documentReadPlatformService.retrieveFileData(entityType, entityId, documentId);
-        return ContentResources.fileDataToResponse(fileData, "attachment");
+        return ContentResources.fileDataToResponse(fileData, "attachment", rangeHeader, ifNoneMatchHeader, contentDownloadMetrics);
     }
 
     @DELETE
@@ -48,6 +48,7 @@ import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
 import org.apache.fineract.infrastructure.documentmanagement.data.ImageResizer;
 import org.apache.fineract.infrastructure.documentmanagement.exception.ContentManagementException;
 import org.apache.fineract.infrastructure.documentmanagement.exception.InvalidEntityTypeForImageManagementException;
+import org.apache.fineract.infrastructure.documentmanagement.service.ContentDownloadMetrics;
 import org.apache.fineract.infrastructure.documentmanagement.service.ImageReadPlatformService;
 import org.apache.fineract.infrastructure.documentmanagement.service.ImageWritePlatformService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
@@ -67,6 +68,7 @@ public class ImagesApiResource {
     private final ImageWritePlatformService imageWritePlatformService;
     private final FileUploadValidator fileUploadValidator;
     private final ImageResizer imageResizer;
+    private final ContentDownloadMetrics contentDownloadMetrics;
 
     /**
      * Upload images through multi-part form upload
@@ -116,7 +118,8 @@ public class ImagesApiResource {
     // octet-stream)
     public Response retrieveImage(@PathParam("entity") final String entityName, @PathParam("entityId") final Long entityId,
             @QueryParam("maxWidth") final Integer maxWidth, @QueryParam("maxHeight") final Integer maxHeight,
-            @QueryParam("output") final String output, @HeaderParam("Accept") String acceptHeader) {
+            @QueryParam("output") final String output, @HeaderParam("Accept") String acceptHeader,
+            @HeaderParam("Range") final String rangeHeader, @HeaderParam("If-None-Match") final String ifNoneMatchHeader) {
         validateEntityTypeforImage(entityName);
         if (EntityTypeForImages.CLIENTS.toString().equalsIgnoreCase(entityName)) {
             context.authenticatedUser().validateHasReadPermission("CLIENTIMAGE");
@@ -132,7 +135,7 @@ public class ImagesApiResource {
         if (MediaType.APPLICATION_OCTET_STREAM.equalsIgnoreCase(acceptHeader)
                 || (output != null && (output.equals("octet") || output.equals("inline_octet")))) {
             return ContentResources.fileDataToResponse(resizedImage, resizedImage.name() + ImageFileExtension.JPEG,
-                    "inline_octet".equals(output) ? "inline" : "attachment");
+                    "inline_octet".equals(output) ? "inline" : "attachment", rangeHeader, ifNoneMatchHeader, contentDownloadMetrics);
         }
 
         // Else return response with Base64 encoded
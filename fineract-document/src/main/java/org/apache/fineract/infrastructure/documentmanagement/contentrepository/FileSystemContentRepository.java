@@ -107,7 +107,8 @@ public class FileSystemContentRepository implements ContentRepository {
         String sanitizedPath = pathSanitizer.sanitize(documentData.getLocation());
 
         final File file = new File(sanitizedPath);
-        return new FileData(Files.asByteSource(file), documentData.getFileName(), documentData.getType());
+        return new FileData(Files.asByteSource(file), documentData.getFileName(), documentData.getType(), file.toPath(), eTagOf(file),
+                FileData.ORIGIN_FILESYSTEM);
     }
 
     @Override
@@ -115,7 +116,8 @@ public class FileSystemContentRepository implements ContentRepository {
         String sanitizedPath = pathSanitizer.sanitize(imageData.location());
 
         final File file = new File(sanitizedPath);
-        return new FileData(Files.asByteSource(file), imageData.getEntityDisplayName(), imageData.contentType().getValue());
+        return new FileData(Files.asByteSource(file), imageData.getEntityDisplayName(), imageData.contentType().getValue(), file.toPath(),
+                eTagOf(file), FileData.ORIGIN_FILESYSTEM);
     }
 
     @Override
@@ -123,6 +125,16 @@ public class FileSystemContentRepository implements ContentRepository {
         return StorageType.FILE_SYSTEM;
     }
 
+    /**
+     * Weak validator built from the size and the modification time, stored files are never rewritten in place.
+     */
+    private static String eTagOf(final File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        return "W/\"" + Long.toHexString(file.length()) + "-" + Long.toHexString(file.lastModified()) + "\"";
+    }
+
     /**
      * Generate the directory path for storing the new document
      */
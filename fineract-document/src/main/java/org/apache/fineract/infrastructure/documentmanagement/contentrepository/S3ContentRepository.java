@@ -18,7 +18,6 @@
  */
 package org.apache.fineract.infrastructure.documentmanagement.contentrepository;
 
-import com.google.common.io.ByteSource;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
@@ -45,8 +44,8 @@ import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.core.sync.ResponseTransformer;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -103,26 +102,33 @@ public class S3ContentRepository implements ContentRepository {
 
     @Override
     public FileData fetchFile(final DocumentData documentData) throws DocumentNotFoundException {
-        return new FileData(new ByteSource() {
-
-            @Override
-            public InputStream openStream() throws IOException {
-                return s3Client.getObject(GetObjectRequest.builder().bucket(fineractProperties.getContent().getS3().getBucketName())
-                        .key(documentData.getLocation()).build(), ResponseTransformer.toBytes()).asInputStream();
-            }
-        }, documentData.getFileName(), documentData.getType());
+        return fetchObject(documentData.getLocation(), documentData.getFileName(), documentData.getType());
     }
 
     @Override
     public FileData fetchImage(final ImageData imageData) {
-        return new FileData(new ByteSource() {
+        return fetchObject(imageData.location(), imageData.getEntityDisplayName(), imageData.contentType().getValue());
+    }
 
-            @Override
-            public InputStream openStream() throws IOException {
-                return s3Client.getObject(GetObjectRequest.builder().bucket(fineractProperties.getContent().getS3().getBucketName())
-                        .key(imageData.location()).build(), ResponseTransformer.toBytes()).asInputStream();
-            }
-        }, imageData.getEntityDisplayName(), imageData.contentType().getValue());
+    /**
+     * The size and the ETag of the object are read with a HEAD request, so downloads support ranges and conditional
+     * requests and derived images can be looked up without fetching the object.
+     */
+    private FileData fetchObject(final String location, final String fileName, final String contentType) {
+        final String bucketName = fineractProperties.getContent().getS3().getBucketName();
+        Long size = null;
+        String eTag = null;
+        try {
+            HeadObjectResponse head = s3Client.headObject(builder -> builder.bucket(bucketName).key(location));
+            size = head.contentLength();
+            eTag = head.eTag();
+        } catch (final SdkException e) {
+            // the object is still requested when streamed, which reports the failure to the client
+            log.warn("Unable to read the metadata of S3 object {}: {}", LogParameterEscapeUtil.escapeLogParameter(location),
+                    e.getMessage());
+        }
+        return new FileData(new S3ObjectByteSource(s3Client, bucketName, location, size), fileName, contentType, null,
+                "s3://" + bucketName + "/" + location, eTag, FileData.ORIGIN_S3);
     }
 
     @Override
@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.contentrepository;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.io.InputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+
+/**
+ * {@link ByteSource} streaming an S3 object instead of buffering it; {@link #slice(long, long)} is served by a ranged GET
+ * so only the requested bytes are transferred.
+ */
+final class S3ObjectByteSource extends ByteSource {
+
+    private final S3Client s3Client;
+    private final String bucketName;
+    private final String key;
+    private final Long size;
+    private final long offset;
+    private final long length;
+
+    S3ObjectByteSource(S3Client s3Client, String bucketName, String key, Long size) {
+        this(s3Client, bucketName, key, size, 0L, Long.MAX_VALUE);
+    }
+
+    private S3ObjectByteSource(S3Client s3Client, String bucketName, String key, Long size, long offset, long length) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+        this.key = key;
+        this.size = size;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        GetObjectRequest.Builder request = GetObjectRequest.builder().bucket(bucketName).key(key);
+        if (isSlice()) {
+            long last = length == Long.MAX_VALUE ? -1L : offset + length - 1;
+            request.range("bytes=" + offset + "-" + (last < 0 ? "" : String.valueOf(last)));
+        }
+        try {
+            return s3Client.getObject(request.build());
+        } catch (SdkException e) {
+            throw new IOException("Unable to read S3 object " + key, e);
+        }
+    }
+
+    @Override
+    public ByteSource slice(long sliceOffset, long sliceLength) {
+        Preconditions.checkArgument(sliceOffset >= 0, "offset (%s) may not be negative", sliceOffset);
+        Preconditions.checkArgument(sliceLength >= 0, "length (%s) may not be negative", sliceLength);
+        long maxLength = length - sliceOffset;
+        return new S3ObjectByteSource(s3Client, bucketName, key, size, offset + sliceOffset, Math.min(sliceLength, maxLength));
+    }
+
+    @Override
+    public Optional<Long> sizeIfKnown() {
+        if (size == null) {
+            return Optional.absent();
+        }
+        long remaining = Math.max(0L, size - offset);
+        return Optional.of(Math.min(remaining, length));
+    }
+
+    private boolean isSlice() {
+        return offset > 0 || length != Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.data;
+
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed on-disk cache of resized image renditions, so an image is decoded and scaled once per requested
+ * size instead of on every request.
+ * <p>
+ * Entries are keyed by the location of the original, its version (the ETag from the content repository metadata, built
+ * from the size and the modification time for the file system) and the requested bounds, so a lookup does not fetch the
+ * original. Entries are immutable: a new upload produces a new version and therefore a new key, stale renditions simply
+ * age out. The total size is bounded by
+ * {@code fineract.content.image-cache.max-size-mb}; the least recently used entries (by modification time, refreshed on
+ * every hit) are evicted first. An empty entry records that the original already fits the bounds.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DerivedImageCache {
+
+    private static final String METRIC_NAME = "fineract.content.image-cache";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final double EVICTION_TARGET_RATIO = 0.9;
+
+    private final FineractProperties fineractProperties;
+    private final Optional<MeterRegistry> meterRegistry;
+
+    private final AtomicLong currentSize = new AtomicLong(-1L);
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public boolean isEnabled() {
+        FineractProperties.FineractContentImageCacheProperties properties = fineractProperties.getContent().getImageCache();
+        return properties != null && properties.isEnabled();
+    }
+
+    public String keyOf(String location, String version, int maxWidth, int maxHeight, String format) {
+        return Hashing.sha256().hashString(location + "\n" + version, StandardCharsets.UTF_8) + "-" + maxWidth + "x" + maxHeight + "."
+                + format;
+    }
+
+    /**
+     * @return the cached rendition, an empty file if the original fits the requested bounds
+     */
+    public Optional<Path> get(String key) {
+        Path entry = entryPath(key);
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            count("hit");
+            return Optional.of(entry);
+        } catch (NoSuchFileException e) {
+            count("miss");
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Unable to read derived image {}: {}", key, e.getMessage());
+            count("miss");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the rendition, an empty array records that the original fits the requested bounds.
+     *
+     * @return the cached entry or empty if it could not be written
+     */
+    public Optional<Path> put(String key, byte[] rendition) {
+        Path entry = entryPath(key);
+        Path temp = entry.resolveSibling(entry.getFileName() + "." + Thread.currentThread().getId() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(entry.getParent());
+            Files.write(temp, rendition);
+            try {
+                Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to store derived image {}: {}", key, e.getMessage());
+            deleteQuietly(temp);
+            return Optional.empty();
+        }
+        if (currentSize.get() >= 0) {
+            currentSize.addAndGet(rendition.length);
+        }
+        evictIfNeeded();
+        return Optional.of(entry);
+    }
+
+    private void evictIfNeeded() {
+        long maxSize = fineractProperties.getContent().getImageCache().getMaxSizeMb() * 1024L * 1024L;
+        long size = currentSize.get();
+        if (maxSize <= 0 || (size >= 0 && size <= maxSize) || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            List<CachedEntry> entries = listEntries();
+            long total = entries.stream().mapToLong(CachedEntry::size).sum();
+            if (total > maxSize) {
+                long target = (long) (maxSize * EVICTION_TARGET_RATIO);
+                entries.sort(Comparator.comparing(CachedEntry::lastAccess));
+                for (CachedEntry entry : entries) {
+                    if (total <= target) {
+                        break;
+                    }
+                    if (deleteQuietly(entry.path())) {
+                        total -= entry.size();
+                    }
+                }
+                log.debug("Evicted derived images, cache size is now {} bytes", total);
+            }
+            currentSize.set(total);
+        } catch (UncheckedIOException | IOException e) {
+            log.warn("Unable to evict derived images: {}", e.getMessage());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private List<CachedEntry> listEntries() throws IOException {
+        Path root = cacheDirectory();
+        List<CachedEntry> entries = new ArrayList<>();
+        if (!Files.isDirectory(root)) {
+            return entries;
+        }
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            files.filter(path -> !path.getFileName().toString().endsWith(TEMP_SUFFIX)).forEach(path -> {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        entries.add(new CachedEntry(path, attributes.size(), attributes.lastModifiedTime()));
+                    }
+                } catch (IOException e) {
+                    // removed concurrently
+                }
+            });
+        }
+        return entries;
+    }
+
+    private Path entryPath(String key) {
+        // two level fan-out keeps the directories small
+        return cacheDirectory().resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private Path cacheDirectory() {
+        String directory = fineractProperties.getContent().getImageCache().getDirectory();
+        if (StringUtils.isBlank(directory)) {
+            return Paths.get(fineractProperties.getContent().getFilesystem().getRootFolder(), ".derived-images");
+        }
+        return Paths.get(directory);
+    }
+
+    private boolean deleteQuietly(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Unable to delete derived image {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.ifPresent(registry -> Counter.builder(METRIC_NAME) //
+                .description("Derived image cache lookups") //
+                .tags("result", result) //
+                .register(registry) //
+                .increment());
+    }
+
+    private record CachedEntry(Path path, long size, FileTime lastAccess) {
+    }
+}
@@ -19,17 +19,53 @@
 package org.apache.fineract.infrastructure.documentmanagement.data;
 
 import com.google.common.io.ByteSource;
+import java.nio.file.Path;
 
 public class FileData {
 
+    public static final String ORIGIN_FILESYSTEM = "filesystem";
+    public static final String ORIGIN_S3 = "s3";
+    public static final String ORIGIN_DERIVED_CACHE = "derived-cache";
+    public static final String ORIGIN_GENERATED = "generated";
+
     private final String fileName;
     private final String contentType;
     private final ByteSource byteSource;
+    private final Path file;
+    private final String location;
+    private final String eTag;
+    private final String origin;
 
     public FileData(final ByteSource byteSource, final String fileName, final String contentType) {
+        this(byteSource, fileName, contentType, null, null, ORIGIN_GENERATED);
+    }
+
+    /**
+     * @param file
+     *            the local file backing the content if any, allows it to be sent without copying it through the heap
+     * @param eTag
+     *            validator of the current version of the content, {@code null} if unknown
+     * @param origin
+     *            where the content is served from, used to tag the download metrics
+     */
+    public FileData(final ByteSource byteSource, final String fileName, final String contentType, final Path file, final String eTag,
+            final String origin) {
+        this(byteSource, fileName, contentType, file, file != null ? file.toString() : null, eTag, origin);
+    }
+
+    /**
+     * @param location
+     *            where the content is stored in its content repository, {@code null} if it is not stored
+     */
+    public FileData(final ByteSource byteSource, final String fileName, final String contentType, final Path file, final String location,
+            final String eTag, final String origin) {
         this.fileName = fileName;
         this.contentType = contentType;
         this.byteSource = byteSource;
+        this.file = file;
+        this.location = location;
+        this.eTag = eTag;
+        this.origin = origin;
     }
 
     public String contentType() {
@@ -43,4 +79,20 @@ public class FileData {
     public ByteSource getByteSource() {
         return this.byteSource;
     }
+
+    public Path file() {
+        return this.file;
+    }
+
+    public String location() {
+        return this.location;
+    }
+
+    public String eTag() {
+        return this.eTag;
+    }
+
+    public String origin() {
+        return this.origin;
+    }
 }
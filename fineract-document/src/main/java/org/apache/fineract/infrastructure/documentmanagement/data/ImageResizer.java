@@ -19,16 +19,19 @@
 package org.apache.fineract.infrastructure.documentmanagement.data;
 
 import com.google.common.io.ByteSource;
+import com.google.common.io.MoreFiles;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import javax.imageio.ImageIO;
+import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils;
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils.ImageFileExtension;
 import org.slf4j.Logger;
@@ -36,26 +39,29 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 @Service
+@RequiredArgsConstructor
 public class ImageResizer {
 
     private static final Logger LOG = LoggerFactory.getLogger(ImageResizer.class);
 
+    private final DerivedImageCache derivedImageCache;
+
     public FileData resize(FileData fileData, Integer maxWidth, Integer maxHeight) {
-        if (maxWidth == null && maxHeight != null) {
+        if (maxWidth == null) {
             return fileData;
         }
-        try (InputStream is = fileData.getByteSource().openBufferedStream()) {
-            Optional<InputStream> optResizedIS = resizeImage(ContentRepositoryUtils.imageExtensionFromFileName(fileData.name()), is,
-                    maxWidth != null ? maxWidth : Integer.MAX_VALUE, maxHeight != null ? maxHeight : Integer.MAX_VALUE);
-            if (optResizedIS.isPresent()) {
-                FileData resizedImage = new FileData(new ByteSource() {
-
-                    @Override
-                    public InputStream openStream() throws IOException {
-                        return optResizedIS.get(); // NOSONAR
-                    }
-                }, fileData.name(), fileData.contentType());
-                return resizedImage;
+        ImageFileExtension fileExtension = ContentRepositoryUtils.imageExtensionFromFileName(fileData.name());
+        int width = maxWidth;
+        int height = maxHeight != null ? maxHeight : Integer.MAX_VALUE;
+        try {
+            if (derivedImageCache.isEnabled() && fileData.location() != null && fileData.eTag() != null) {
+                return resizeCached(fileData, fileExtension, width, height);
+            }
+            try (InputStream is = fileData.getByteSource().openBufferedStream()) {
+                Optional<byte[]> resized = resizeImage(fileExtension, is, width, height);
+                if (resized.isPresent()) {
+                    return new FileData(ByteSource.wrap(resized.get()), fileData.name(), fileData.contentType());
+                }
             }
             return fileData;
         } catch (IOException e) {
@@ -64,7 +70,38 @@ public class ImageResizer {
         }
     }
 
-    private Optional<InputStream> resizeImage(ImageFileExtension fileExtension, InputStream in, int maxWidth, int maxHeight)
+    /**
+     * Looks the rendition up by the metadata of the original, which is only fetched when the rendition is not cached
+     * yet.
+     */
+    private FileData resizeCached(FileData fileData, ImageFileExtension fileExtension, int maxWidth, int maxHeight) throws IOException {
+        String key = derivedImageCache.keyOf(fileData.location(), fileData.eTag(), maxWidth, maxHeight, formatOf(fileExtension));
+        Optional<Path> cached = derivedImageCache.get(key);
+        if (cached.isEmpty()) {
+            Optional<byte[]> resized;
+            try (InputStream is = fileData.getByteSource().openBufferedStream()) {
+                resized = resizeImage(fileExtension, is, maxWidth, maxHeight);
+            }
+            cached = derivedImageCache.put(key, resized.orElse(new byte[0]));
+            if (cached.isEmpty()) {
+                return resized.map(bytes -> new FileData(ByteSource.wrap(bytes), fileData.name(), fileData.contentType()))
+                        .orElse(fileData);
+            }
+        }
+        Path rendition = cached.get();
+        if (Files.size(rendition) == 0) {
+            // the original fits the bounds
+            return fileData;
+        }
+        return new FileData(MoreFiles.asByteSource(rendition), fileData.name(), fileData.contentType(), rendition, "\"" + key + "\"",
+                FileData.ORIGIN_DERIVED_CACHE);
+    }
+
+    private static String formatOf(ImageFileExtension fileExtension) {
+        return fileExtension != null ? fileExtension.getValueWithoutDot() : "jpeg";
+    }
+
+    private Optional<byte[]> resizeImage(ImageFileExtension fileExtension, InputStream in, int maxWidth, int maxHeight)
             throws IOException {
         BufferedImage src = ImageIO.read(in);
         if (src.getWidth() <= maxWidth && src.getHeight() <= maxHeight) {
@@ -87,7 +124,7 @@ public class ImageResizer {
         g.dispose();
 
         ByteArrayOutputStream os = new ByteArrayOutputStream();
-        ImageIO.write(target, fileExtension != null ? fileExtension.getValueWithoutDot() : "jpeg", os);
-        return Optional.of(new ByteArrayInputStream(os.toByteArray()));
+        ImageIO.write(target, formatOf(fileExtension), os);
+        return Optional.of(os.toByteArray());
     }
 }
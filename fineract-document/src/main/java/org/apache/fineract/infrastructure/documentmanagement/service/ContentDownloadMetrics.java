@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latency of document and image downloads, tagged by where the content was served from (file system, S3, derived image
+ * cache) and by the HTTP status of the response.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentDownloadMetrics {
+
+    private static final String METRIC_NAME = "fineract.content.download";
+
+    private final Optional<MeterRegistry> meterRegistry;
+
+    public void record(String origin, String status, long startNanos) {
+        meterRegistry.ifPresent(registry -> Timer.builder(METRIC_NAME) //
+                .description("Time to serve document and image content") //
+                .tags("origin", origin, "status", status) //
+                .register(registry) //
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS));
+    }
+}
@@ -36,6 +36,7 @@ import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalid
 import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMapping;
 import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMappingRepository;
 import org.apache.fineract.accounting.producttoaccountmapping.exception.ProductToGLAccountMappingNotFoundException;
+import org.apache.fineract.accounting.trialbalance.service.TrialBalanceWritePlatformService;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.organisation.office.domain.Office;
 import org.apache.fineract.portfolio.PortfolioProductType;
@@ -51,6 +52,7 @@ public class InvestorAccountingHelper {
     private final ProductToGLAccountMappingRepository accountMappingRepository;
     private final FinancialActivityAccountRepositoryWrapper financialActivityAccountRepository;
     private final GLClosureRepository closureRepository;
+    private final TrialBalanceWritePlatformService trialBalanceWritePlatformService;
 
     /**
      * @param officeId
@@ -102,7 +104,7 @@ public class InvestorAccountingHelper {
         final JournalEntry journalEntry = JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry,
                 transactionDate, JournalEntryType.CREDIT, amount, null, PortfolioProductType.LOAN.getValue(), loanId, null, null, null,
                 null, null);
-        return this.glJournalEntryRepository.saveAndFlush(journalEntry);
+        return saveJournalEntry(journalEntry);
     }
 
     private JournalEntry createDebitJournalEntryForInvestor(final Office office, final String currencyCode, final GLAccount account,
@@ -113,7 +115,13 @@ public class InvestorAccountingHelper {
         final JournalEntry journalEntry = JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry,
                 transactionDate, JournalEntryType.DEBIT, amount, null, PortfolioProductType.LOAN.getValue(), loanId, null, null, null, null,
                 null);
-        return this.glJournalEntryRepository.saveAndFlush(journalEntry);
+        return saveJournalEntry(journalEntry);
+    }
+
+    private JournalEntry saveJournalEntry(final JournalEntry journalEntry) {
+        final JournalEntry savedJournalEntry = this.glJournalEntryRepository.saveAndFlush(journalEntry);
+        this.trialBalanceWritePlatformService.recordJournalEntry(savedJournalEntry);
+        return savedJournalEntry;
     }
 
     public GLAccount getLinkedGLAccountForLoanProduct(final Long loanProductId, final int accountMappingTypeId) {
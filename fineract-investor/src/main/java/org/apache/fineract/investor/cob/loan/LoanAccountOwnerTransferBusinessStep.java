@@ -18,11 +18,13 @@
  */
 package org.apache.fineract.investor.cob.loan;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.cob.loan.LoanCOBBusinessStep;
@@ -42,6 +44,7 @@ import org.apache.fineract.investor.domain.LoanOwnershipTransferBusinessEvent;
 import org.apache.fineract.investor.service.AccountingService;
 import org.apache.fineract.investor.service.DelayedSettlementAttributeService;
 import org.apache.fineract.investor.service.ExternalAssetOwnerTransferOutstandingInterestCalculation;
+import org.apache.fineract.investor.service.LoanOwnerLookupCache;
 import org.apache.fineract.investor.service.LoanTransferabilityService;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.springframework.context.annotation.Conditional;
@@ -59,6 +62,7 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
             ExternalTransferStatus.PENDING);
     public static final List<ExternalTransferStatus> BUYBACK_STATUSES = List.of(ExternalTransferStatus.BUYBACK_INTERMEDIATE,
             ExternalTransferStatus.BUYBACK);
+    private static final String METRIC_NAME_STEP_TIME = "fineract.investor.cob.transfer-step";
     private final ExternalAssetOwnerTransferRepository externalAssetOwnerTransferRepository;
     private final ExternalAssetOwnerTransferLoanMappingRepository externalAssetOwnerTransferLoanMappingRepository;
     private final AccountingService accountingService;
@@ -66,17 +70,27 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
     private final LoanTransferabilityService loanTransferabilityService;
     private final DelayedSettlementAttributeService delayedSettlementAttributeService;
     private final ExternalAssetOwnerTransferOutstandingInterestCalculation externalAssetOwnerTransferOutstandingInterestCalculation;
+    private final LoanOwnershipTransferIndex loanOwnershipTransferIndex;
+    private final LoanOwnerLookupCache loanOwnerLookupCache;
+    private final Optional<MeterRegistry> meterRegistry;
 
     @Override
     public Loan execute(Loan loan) {
+        long startNanos = System.nanoTime();
         Long loanId = loan.getId();
         log.debug("start processing loan ownership transfer business step for loan with Id [{}]", loanId);
 
+        // the COB date in the COB action context, the date the partition index was built for
         LocalDate settlementDate = DateUtils.getBusinessLocalDate();
+        if (!loanOwnershipTransferIndex.mayHavePendingTransfer(loanId, settlementDate)) {
+            log.debug("no pending transfer for loan Id [{}] on {}, skipping", loanId, settlementDate);
+            recordStepTime(startNanos, false);
+            return loan;
+        }
         List<ExternalAssetOwnerTransfer> transferDataList = externalAssetOwnerTransferRepository.findAll(
                 (root, query, criteriaBuilder) -> criteriaBuilder.and(criteriaBuilder.equal(root.get("loanId"), loanId),
                         criteriaBuilder.equal(root.get("settlementDate"), settlementDate),
-                        root.get("status").in(Stream.concat(PENDING_STATUSES.stream(), BUYBACK_STATUSES.stream()).toList()),
+                        root.get("status").in(LoanOwnershipTransferIndex.PENDING_OR_BUYBACK_STATUSES),
                         criteriaBuilder.greaterThanOrEqualTo(root.get("effectiveDateTo"), FUTURE_DATE_9999_12_31)),
                 Sort.by(Sort.Direction.ASC, "id"));
         int size = transferDataList.size();
@@ -106,9 +120,18 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
         }
 
         log.debug("end processing loan ownership transfer business step for loan Id [{}]", loan.getId());
+        recordStepTime(startNanos, true);
         return loan;
     }
 
+    private void recordStepTime(long startNanos, boolean queried) {
+        meterRegistry.ifPresent(registry -> Timer.builder(METRIC_NAME_STEP_TIME) //
+                .description("Time spent per loan in the external asset owner transfer business step") //
+                .tags("transfers", queried ? "queried" : "skipped") //
+                .register(registry) //
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS));
+    }
+
     private void handleSale(final Loan loan, final LocalDate settlementDate, final ExternalAssetOwnerTransfer externalAssetOwnerTransfer) {
         ExternalAssetOwnerTransfer newExternalAssetOwnerTransfer = sellAssetOrDecline(loan, settlementDate, externalAssetOwnerTransfer);
 
@@ -148,6 +171,7 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
         externalAssetOwnerTransferRepository.save(activeExternalAssetOwnerTransfer);
         buybackExternalAssetOwnerTransfer = externalAssetOwnerTransferRepository.save(buybackExternalAssetOwnerTransfer);
         externalAssetOwnerTransferLoanMappingRepository.deleteByLoanIdAndOwnerTransfer(loan.getId(), activeExternalAssetOwnerTransfer);
+        loanOwnerLookupCache.evict(loan.getId());
         accountingService.createJournalEntriesForBuybackAssetTransfer(loan, buybackExternalAssetOwnerTransfer);
         return buybackExternalAssetOwnerTransfer;
     }
@@ -195,6 +219,7 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
         ExternalAssetOwnerTransfer activeIntermediateTransfer = getActiveIntermediateOrThrow(loan);
         expireTransfer(settlementDate, activeIntermediateTransfer);
         externalAssetOwnerTransferLoanMappingRepository.deleteByLoanIdAndOwnerTransfer(loan.getId(), activeIntermediateTransfer);
+        loanOwnerLookupCache.evict(loan.getId());
 
         return activeIntermediateTransfer.getOwner();
     }
@@ -236,6 +261,7 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
         externalAssetOwnerTransferLoanMapping.setLoanId(loanId);
         externalAssetOwnerTransferLoanMapping.setOwnerTransfer(externalAssetOwnerTransfer);
         externalAssetOwnerTransferLoanMappingRepository.save(externalAssetOwnerTransferLoanMapping);
+        loanOwnerLookupCache.evict(loanId);
     }
 
     private void handleSameDaySaleAndBuyback(final LocalDate settlementDate, final List<ExternalAssetOwnerTransfer> transferDataList,
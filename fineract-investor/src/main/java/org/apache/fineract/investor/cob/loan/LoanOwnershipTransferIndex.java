@@ -0,0 +1,172 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.investor.cob.loan;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.data.LoanCOBParameter;
+import org.apache.fineract.cob.loan.LoanCOBPartitionListener;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.investor.data.ExternalTransferStatus;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferLoanMappingRepository;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loan ids of a Loan COB partition which have a pending sale or buyback settling on the COB date, and which have an
+ * active owner, loaded with two queries when the partition starts.
+ * <p>
+ * {@link LoanAccountOwnerTransferBusinessStep} and the external event enrichers consult it to skip the per loan
+ * transfer and owner lookups for the vast majority of loans that are not involved in any transfer. Pending transfers
+ * of the COB date cannot be created any more while it runs and active owner mappings are only created by the business
+ * step for loans with a pending transfer, so the index stays a superset of the loans needing a lookup for the lifetime
+ * of the partition. Outside of a prepared partition every lookup goes to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoanOwnershipTransferIndex implements LoanCOBPartitionListener {
+
+    public static final List<ExternalTransferStatus> PENDING_OR_BUYBACK_STATUSES = Stream
+            .concat(LoanAccountOwnerTransferBusinessStep.PENDING_STATUSES.stream(),
+                    LoanAccountOwnerTransferBusinessStep.BUYBACK_STATUSES.stream())
+            .toList();
+
+    private static final String METRIC_NAME = "fineract.investor.transfer-index.lookups";
+
+    private final ExternalAssetOwnerTransferRepository externalAssetOwnerTransferRepository;
+    private final ExternalAssetOwnerTransferLoanMappingRepository externalAssetOwnerTransferLoanMappingRepository;
+    private final FineractProperties fineractProperties;
+    private final Optional<MeterRegistry> meterRegistry;
+
+    private final Map<String, List<PartitionIndex>> partitionsByTenant = new ConcurrentHashMap<>();
+
+    @Override
+    public void beforePartition(LoanCOBParameter partition, LocalDate cobDate) {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null || cobDate == null || !fineractProperties.getModule().getInvestor().isEnabled()) {
+            return;
+        }
+        long[] pendingLoanIds = toSortedArray(externalAssetOwnerTransferRepository.findLoanIdsBySettlementDateAndStatusIn(
+                partition.getMinLoanId(), partition.getMaxLoanId(), cobDate, PENDING_OR_BUYBACK_STATUSES,
+                LoanAccountOwnerTransferBusinessStep.FUTURE_DATE_9999_12_31));
+        long[] ownedLoanIds = toSortedArray(
+                externalAssetOwnerTransferLoanMappingRepository.findLoanIdsBetween(partition.getMinLoanId(), partition.getMaxLoanId()));
+        partitionsByTenant.computeIfAbsent(tenant.getTenantIdentifier(), key -> new CopyOnWriteArrayList<>())
+                .add(new PartitionIndex(partition.getMinLoanId(), partition.getMaxLoanId(), cobDate, pendingLoanIds, ownedLoanIds));
+        log.debug("Indexed loans {}-{} for {}: {} with pending transfers, {} with an active owner", partition.getMinLoanId(),
+                partition.getMaxLoanId(), cobDate, pendingLoanIds.length, ownedLoanIds.length);
+    }
+
+    @Override
+    public void afterPartition(LoanCOBParameter partition, LocalDate cobDate) {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null) {
+            return;
+        }
+        List<PartitionIndex> partitions = partitionsByTenant.get(tenant.getTenantIdentifier());
+        if (partitions != null) {
+            partitions.removeIf(index -> index.minLoanId() == partition.getMinLoanId() && index.maxLoanId() == partition.getMaxLoanId()
+                    && Objects.equals(index.cobDate(), cobDate));
+        }
+    }
+
+    /**
+     * @return {@code false} if the loan surely has no pending sale or buyback settling on the given date
+     */
+    public boolean mayHavePendingTransfer(Long loanId, LocalDate settlementDate) {
+        PartitionIndex index = find(loanId, settlementDate);
+        if (index == null) {
+            return true;
+        }
+        boolean pending = Arrays.binarySearch(index.pendingLoanIds(), loanId) >= 0;
+        count("pending-transfer", pending);
+        return pending;
+    }
+
+    /**
+     * @return {@code false} if the loan surely has no active external owner
+     */
+    public boolean mayHaveActiveOwner(Long loanId) {
+        if (loanId == null || ThreadLocalContextUtil.getActionContext() != ActionContext.COB) {
+            return true;
+        }
+        PartitionIndex index = find(loanId, DateUtils.getBusinessLocalDate());
+        if (index == null) {
+            return true;
+        }
+        boolean owned = Arrays.binarySearch(index.ownedLoanIds(), loanId) >= 0 || Arrays.binarySearch(index.pendingLoanIds(), loanId) >= 0;
+        count("active-owner", owned);
+        return owned;
+    }
+
+    private PartitionIndex find(Long loanId, LocalDate cobDate) {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null || loanId == null) {
+            return null;
+        }
+        List<PartitionIndex> partitions = partitionsByTenant.get(tenant.getTenantIdentifier());
+        if (partitions == null) {
+            return null;
+        }
+        for (PartitionIndex index : partitions) {
+            if (index.covers(loanId, cobDate)) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    private void count(String lookup, boolean queried) {
+        meterRegistry.ifPresent(registry -> Counter.builder(METRIC_NAME) //
+                .description("Loan ownership lookups answered by the COB partition index") //
+                .tags("lookup", lookup, "result", queried ? "queried" : "skipped") //
+                .register(registry) //
+                .increment());
+    }
+
+    private static long[] toSortedArray(Collection<Long> loanIds) {
+        long[] result = loanIds.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    private record PartitionIndex(long minLoanId, long maxLoanId, LocalDate cobDate, long[] pendingLoanIds, long[] ownedLoanIds) {
+
+        boolean covers(long loanId, LocalDate date) {
+            return loanId >= minLoanId && loanId <= maxLoanId && cobDate.equals(date);
+        }
+    }
+}
@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.investor.domain;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -32,6 +34,13 @@ public interface ExternalAssetOwnerTransferLoanMappingRepository extends JpaRepo
 
     Optional<ExternalAssetOwnerTransferLoanMapping> findByLoanId(Long loanId);
 
+    @Query("SELECT mapping FROM ExternalAssetOwnerTransferLoanMapping mapping JOIN FETCH mapping.ownerTransfer transfer"
+            + " JOIN FETCH transfer.owner WHERE mapping.loanId IN :loanIds")
+    List<ExternalAssetOwnerTransferLoanMapping> findAllWithOwnerByLoanIdIn(@Param("loanIds") Collection<Long> loanIds);
+
+    @Query("SELECT mapping.loanId FROM ExternalAssetOwnerTransferLoanMapping mapping WHERE mapping.loanId BETWEEN :minLoanId AND :maxLoanId")
+    List<Long> findLoanIdsBetween(@Param("minLoanId") Long minLoanId, @Param("maxLoanId") Long maxLoanId);
+
     @Query("SELECT mapping FROM ExternalAssetOwnerTransferLoanMapping mapping WHERE mapping.ownerTransfer.externalLoanId =:externalLoanId")
     Optional<ExternalAssetOwnerTransferLoanMapping> findByLoanExternalId(@Param("externalLoanId") ExternalId externalLoanId);
 
@@ -18,22 +18,25 @@
  */
 package org.apache.fineract.investor.enricher;
 
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.avro.loan.v1.LoanAccountDataV1;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.infrastructure.core.service.DataEnricher;
 import org.apache.fineract.infrastructure.event.external.service.serialization.mapper.support.AvroDateTimeMapper;
 import org.apache.fineract.infrastructure.event.external.service.serialization.mapper.support.ExternalIdMapper;
-import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
+import org.apache.fineract.investor.cob.loan.LoanOwnershipTransferIndex;
+import org.apache.fineract.investor.service.LoanOwnerLookupCache;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class LoanAccountDataV1Enricher implements DataEnricher<LoanAccountDataV1> {
 
-    private final ExternalAssetOwnerTransferRepository externalAssetOwnerTransferRepository;
+    private final LoanOwnerLookupCache loanOwnerLookupCache;
     private final ExternalIdMapper externalIdMapper;
     private final AvroDateTimeMapper avroDateTimeMapper;
+    private final LoanOwnershipTransferIndex loanOwnershipTransferIndex;
 
     @Override
     public boolean isDataTypeSupported(Class<LoanAccountDataV1> dataType) {
@@ -42,7 +45,10 @@ public class LoanAccountDataV1Enricher implements DataEnricher<LoanAccountDataV1
 
     @Override
     public void enrich(LoanAccountDataV1 data) {
-        externalAssetOwnerTransferRepository.findActiveByLoanId(data.getId()).ifPresent(transfer -> {
+        if (!loanOwnershipTransferIndex.mayHaveActiveOwner(data.getId())) {
+            return;
+        }
+        loanOwnerLookupCache.findActiveTransfer(data.getId()).ifPresent(transfer -> {
             ExternalId transferOwnerExternalId = transfer.getOwner().getExternalId();
             data.setExternalOwnerId(externalIdMapper.mapExternalId(transferOwnerExternalId));
             data.setSettlementDate(avroDateTimeMapper.mapLocalDate(transfer.getSettlementDate()));
@@ -52,4 +58,10 @@ public class LoanAccountDataV1Enricher implements DataEnricher<LoanAccountDataV1
             }
         });
     }
+
+    @Override
+    public void prefetch(List<LoanAccountDataV1> data) {
+        loanOwnerLookupCache
+                .prefetch(data.stream().map(LoanAccountDataV1::getId).filter(loanOwnershipTransferIndex::mayHaveActiveOwner).toList());
+    }
 }
@@ -18,19 +18,22 @@
  */
 package org.apache.fineract.investor.enricher;
 
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.avro.loan.v1.LoanChargeDataV1;
 import org.apache.fineract.infrastructure.core.service.DataEnricher;
 import org.apache.fineract.infrastructure.event.external.service.serialization.mapper.support.ExternalIdMapper;
-import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
+import org.apache.fineract.investor.cob.loan.LoanOwnershipTransferIndex;
+import org.apache.fineract.investor.service.LoanOwnerLookupCache;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class LoanChargeDataV1Enricher implements DataEnricher<LoanChargeDataV1> {
 
-    private final ExternalAssetOwnerTransferRepository externalAssetOwnerTransferRepository;
+    private final LoanOwnerLookupCache loanOwnerLookupCache;
     private final ExternalIdMapper externalIdMapper;
+    private final LoanOwnershipTransferIndex loanOwnershipTransferIndex;
 
     @Override
     public boolean isDataTypeSupported(Class<LoanChargeDataV1> dataType) {
@@ -39,7 +42,16 @@ public class LoanChargeDataV1Enricher implements DataEnricher<LoanChargeDataV1>
 
     @Override
     public void enrich(LoanChargeDataV1 data) {
-        externalAssetOwnerTransferRepository.findActiveOwnerByLoanId(data.getLoanId())
+        if (!loanOwnershipTransferIndex.mayHaveActiveOwner(data.getLoanId())) {
+            return;
+        }
+        loanOwnerLookupCache.findActiveOwner(data.getLoanId())
                 .ifPresent(owner -> data.setExternalOwnerId(externalIdMapper.mapExternalId(owner.getExternalId())));
     }
+
+    @Override
+    public void prefetch(List<LoanChargeDataV1> data) {
+        loanOwnerLookupCache
+                .prefetch(data.stream().map(LoanChargeDataV1::getLoanId).filter(loanOwnershipTransferIndex::mayHaveActiveOwner).toList());
+    }
 }
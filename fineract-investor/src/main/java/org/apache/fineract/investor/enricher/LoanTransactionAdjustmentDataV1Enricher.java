@@ -18,6 +18,9 @@
  */
 package org.apache.fineract.investor.enricher;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.avro.loan.v1.LoanTransactionAdjustmentDataV1;
 import org.apache.fineract.infrastructure.core.service.DataEnricher;
@@ -43,4 +46,11 @@ public class LoanTransactionAdjustmentDataV1Enricher implements DataEnricher<Loa
             loanTransactionDataV1Enricher.enrich(data.getNewTransactionDetail());
         }
     }
+
+    @Override
+    public void prefetch(List<LoanTransactionAdjustmentDataV1> data) {
+        loanTransactionDataV1Enricher.prefetch(data.stream()
+                .flatMap(adjustment -> Stream.of(adjustment.getTransactionToAdjust(), adjustment.getNewTransactionDetail()))
+                .filter(Objects::nonNull).toList());
+    }
 }
@@ -18,19 +18,22 @@
  */
 package org.apache.fineract.investor.enricher;
 
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.avro.loan.v1.LoanTransactionDataV1;
 import org.apache.fineract.infrastructure.core.service.DataEnricher;
 import org.apache.fineract.infrastructure.event.external.service.serialization.mapper.support.ExternalIdMapper;
-import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
+import org.apache.fineract.investor.cob.loan.LoanOwnershipTransferIndex;
+import org.apache.fineract.investor.service.LoanOwnerLookupCache;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class LoanTransactionDataV1Enricher implements DataEnricher<LoanTransactionDataV1> {
 
-    private final ExternalAssetOwnerTransferRepository externalAssetOwnerTransferRepository;
+    private final LoanOwnerLookupCache loanOwnerLookupCache;
     private final ExternalIdMapper externalIdMapper;
+    private final LoanOwnershipTransferIndex loanOwnershipTransferIndex;
 
     @Override
     public boolean isDataTypeSupported(Class<LoanTransactionDataV1> dataType) {
@@ -39,7 +42,16 @@ public class LoanTransactionDataV1Enricher implements DataEnricher<LoanTransacti
 
     @Override
     public void enrich(LoanTransactionDataV1 data) {
-        externalAssetOwnerTransferRepository.findActiveOwnerByLoanId(data.getLoanId())
+        if (!loanOwnershipTransferIndex.mayHaveActiveOwner(data.getLoanId())) {
+            return;
+        }
+        loanOwnerLookupCache.findActiveOwner(data.getLoanId())
                 .ifPresent(owner -> data.setExternalOwnerId(externalIdMapper.mapExternalId(owner.getExternalId())));
     }
+
+    @Override
+    public void prefetch(List<LoanTransactionDataV1> data) {
+        loanOwnerLookupCache.prefetch(
+                data.stream().map(LoanTransactionDataV1::getLoanId).filter(loanOwnershipTransferIndex::mayHaveActiveOwner).toList());
+    }
 }
@@ -86,6 +86,7 @@ public class ExternalAssetOwnersWriteServiceImpl implements ExternalAssetOwnersW
     private final FromJsonHelper fromApiJsonHelper;
     private final LoanRepository loanRepository;
     private final DelayedSettlementAttributeService delayedSettlementAttributeService;
+    private final LoanOwnerLookupCache loanOwnerLookupCache;
 
     @Override
     @Transactional
@@ -106,6 +107,7 @@ public class ExternalAssetOwnersWriteServiceImpl implements ExternalAssetOwnersW
                 loanDataForExternalTransfer.getExternalId());
         validateIntermediarySale(intermediarySaleTransfer);
         externalAssetOwnerTransferRepository.saveAndFlush(intermediarySaleTransfer);
+        loanOwnerLookupCache.evict(loanId);
         return buildResponseData(intermediarySaleTransfer);
     }
 
@@ -125,6 +127,7 @@ public class ExternalAssetOwnersWriteServiceImpl implements ExternalAssetOwnersW
                 loanDataForExternalTransfer.getExternalId());
         validateSale(externalAssetOwnerTransfer, isDelayedSettlementEnabled);
         externalAssetOwnerTransferRepository.saveAndFlush(externalAssetOwnerTransfer);
+        loanOwnerLookupCache.evict(loanId);
         return buildResponseData(externalAssetOwnerTransfer);
     }
 
@@ -142,6 +145,7 @@ public class ExternalAssetOwnersWriteServiceImpl implements ExternalAssetOwnersW
                 settlementDate);
         ExternalAssetOwnerTransfer externalAssetOwnerTransfer = createBuybackTransfer(effectiveTransfer, settlementDate, externalId);
         externalAssetOwnerTransferRepository.saveAndFlush(externalAssetOwnerTransfer);
+        loanOwnerLookupCache.evict(externalAssetOwnerTransfer.getLoanId());
         return buildResponseData(externalAssetOwnerTransfer);
     }
 
@@ -165,6 +169,7 @@ public class ExternalAssetOwnersWriteServiceImpl implements ExternalAssetOwnersW
         ExternalAssetOwnerTransfer cancelTransfer = createCancelTransfer(externalAssetOwnerTransfer);
         externalAssetOwnerTransferRepository.save(cancelTransfer);
         externalAssetOwnerTransferRepository.save(externalAssetOwnerTransfer);
+        loanOwnerLookupCache.evict(externalAssetOwnerTransfer.getLoanId());
         return buildResponseData(cancelTransfer);
     }
 
@@ -63,6 +63,7 @@ public class LoanAccountOwnerTransferServiceImpl implements LoanAccountOwnerTran
     private final AccountingService accountingService;
     private final BusinessEventNotifierService businessEventNotifierService;
     private final ExternalAssetOwnerTransferOutstandingInterestCalculation externalAssetOwnerTransferOutstandingInterestCalculation;
+    private final LoanOwnerLookupCache loanOwnerLookupCache;
 
     @Override
     public void handleLoanClosedOrOverpaid(Loan loan) {
@@ -107,6 +108,7 @@ public class LoanAccountOwnerTransferServiceImpl implements LoanAccountOwnerTran
         buybackTransfer = updatePendingBuybackTransfer(loan, buybackTransfer);
 
         externalAssetOwnerTransferLoanMappingRepository.deleteByLoanIdAndOwnerTransfer(loan.getId(), activeTransfer);
+        loanOwnerLookupCache.evict(loan.getId());
         accountingService.createJournalEntriesForBuybackAssetTransfer(loan, buybackTransfer);
 
         businessEventNotifierService.notifyPostBusinessEvent(new LoanOwnershipTransferBusinessEvent(buybackTransfer, loan));
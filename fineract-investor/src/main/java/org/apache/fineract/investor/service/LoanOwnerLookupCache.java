@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.investor.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.investor.domain.ExternalAssetOwner;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransfer;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferLoanMapping;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferLoanMappingRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Active owner transfer of loans, looked up at most once per loan within the current transaction (an API request or a
+ * COB chunk), so the several external events raised for the same loan do not repeat the lookup when they are enriched.
+ * <p>
+ * Handlers changing the active owner of a loan must {@link #evict(Long)} it. Without an active transaction every lookup
+ * goes to the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoanOwnerLookupCache {
+
+    private final ExternalAssetOwnerTransferLoanMappingRepository externalAssetOwnerTransferLoanMappingRepository;
+
+    public Optional<ExternalAssetOwnerTransfer> findActiveTransfer(Long loanId) {
+        if (loanId == null) {
+            return Optional.empty();
+        }
+        Map<Long, Optional<ExternalAssetOwnerTransfer>> cache = currentCache();
+        if (cache == null) {
+            return load(List.of(loanId)).getOrDefault(loanId, Optional.empty());
+        }
+        Optional<ExternalAssetOwnerTransfer> cached = cache.get(loanId);
+        if (cached == null) {
+            cached = load(List.of(loanId)).getOrDefault(loanId, Optional.empty());
+            cache.put(loanId, cached);
+        }
+        return cached;
+    }
+
+    public Optional<ExternalAssetOwner> findActiveOwner(Long loanId) {
+        return findActiveTransfer(loanId).map(ExternalAssetOwnerTransfer::getOwner);
+    }
+
+    /**
+     * Loads the active owner transfer of all the given loans not looked up yet in the current transaction with a single
+     * query.
+     */
+    public void prefetch(Collection<Long> loanIds) {
+        Map<Long, Optional<ExternalAssetOwnerTransfer>> cache = currentCache();
+        if (cache == null) {
+            return;
+        }
+        Set<Long> missing = loanIds.stream().filter(loanId -> loanId != null && !cache.containsKey(loanId)).collect(Collectors.toSet());
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<Long, Optional<ExternalAssetOwnerTransfer>> loaded = load(missing);
+        missing.forEach(loanId -> cache.put(loanId, loaded.getOrDefault(loanId, Optional.empty())));
+    }
+
+    public void evict(Long loanId) {
+        Map<Long, Optional<ExternalAssetOwnerTransfer>> cache = currentCache();
+        if (cache != null) {
+            cache.remove(loanId);
+        }
+    }
+
+    private Map<Long, Optional<ExternalAssetOwnerTransfer>> load(Collection<Long> loanIds) {
+        return externalAssetOwnerTransferLoanMappingRepository.findAllWithOwnerByLoanIdIn(loanIds).stream()
+                .collect(Collectors.toMap(ExternalAssetOwnerTransferLoanMapping::getLoanId,
+                        mapping -> Optional.of(mapping.getOwnerTransfer()), (first, second) -> first));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Optional<ExternalAssetOwnerTransfer>> currentCache() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Object resource = TransactionSynchronizationManager.getResource(this);
+        if (resource != null) {
+            return (Map<Long, Optional<ExternalAssetOwnerTransfer>>) resource;
+        }
+        Map<Long, Optional<ExternalAssetOwnerTransfer>> cache = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, cache);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(LoanOwnerLookupCache.this);
+            }
+        });
+        return cache;
+    }
+}
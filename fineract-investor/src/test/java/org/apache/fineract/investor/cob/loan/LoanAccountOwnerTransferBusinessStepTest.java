@@ -41,7 +41,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
+import org.apache.fineract.cob.data.LoanCOBParameter;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
@@ -59,6 +61,7 @@ import org.apache.fineract.investor.domain.LoanOwnershipTransferBusinessEvent;
 import org.apache.fineract.investor.service.AccountingService;
 import org.apache.fineract.investor.service.DelayedSettlementAttributeService;
 import org.apache.fineract.investor.service.ExternalAssetOwnerTransferOutstandingInterestCalculation;
+import org.apache.fineract.investor.service.LoanOwnerLookupCache;
 import org.apache.fineract.investor.service.LoanTransferabilityService;
 import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
@@ -111,6 +114,14 @@ public class LoanAccountOwnerTransferBusinessStepTest {
     @Mock
     private ExternalAssetOwnerTransferOutstandingInterestCalculation externalAssetOwnerTransferOutstandingInterestCalculation;
 
+    @Mock
+    private FineractProperties fineractProperties;
+
+    @Mock
+    private LoanOwnerLookupCache loanOwnerLookupCache;
+
+    private LoanOwnershipTransferIndex loanOwnershipTransferIndex;
+
     private LoanAccountOwnerTransferBusinessStep underTest;
 
     @BeforeAll
@@ -129,9 +140,12 @@ public class LoanAccountOwnerTransferBusinessStepTest {
         ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
         ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
         ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, actualDate)));
+        loanOwnershipTransferIndex = new LoanOwnershipTransferIndex(externalAssetOwnerTransferRepository,
+                externalAssetOwnerTransferLoanMappingRepository, fineractProperties, Optional.empty());
         underTest = new LoanAccountOwnerTransferBusinessStep(externalAssetOwnerTransferRepository,
                 externalAssetOwnerTransferLoanMappingRepository, accountingService, businessEventNotifierService,
-                loanTransferabilityService, delayedSettlementAttributeService, externalAssetOwnerTransferOutstandingInterestCalculation);
+                loanTransferabilityService, delayedSettlementAttributeService, externalAssetOwnerTransferOutstandingInterestCalculation,
+                loanOwnershipTransferIndex, loanOwnerLookupCache, Optional.empty());
     }
 
     @AfterEach
@@ -153,6 +167,62 @@ public class LoanAccountOwnerTransferBusinessStepTest {
         assertEquals(processedLoan, loanForProcessing);
     }
 
+    @Test
+    public void givenLoanNotInPartitionIndexSkipsTransferLookup() {
+        // given
+        givenCobContext();
+        givenInvestorModuleEnabled();
+        when(externalAssetOwnerTransferRepository.findLoanIdsBySettlementDateAndStatusIn(1L, 100L, actualDate,
+                LoanOwnershipTransferIndex.PENDING_OR_BUYBACK_STATUSES, FUTURE_DATE_9999_12_31)).thenReturn(List.of(7L));
+        when(externalAssetOwnerTransferLoanMappingRepository.findLoanIdsBetween(1L, 100L)).thenReturn(List.of());
+        loanOwnershipTransferIndex.beforePartition(new LoanCOBParameter(1L, 100L), actualDate);
+        final Loan loanForProcessing = Mockito.mock(Loan.class);
+        when(loanForProcessing.getId()).thenReturn(5L);
+        // when
+        final Loan processedLoan = underTest.execute(loanForProcessing);
+        // then
+        verify(externalAssetOwnerTransferRepository, never()).findAll(any(Specification.class), any(Sort.class));
+        verifyNoInteractions(businessEventNotifierService, loanTransferabilityService, accountingService);
+        assertEquals(processedLoan, loanForProcessing);
+    }
+
+    @Test
+    public void givenLoanInPartitionIndexLooksUpTransfers() {
+        // given
+        givenCobContext();
+        givenInvestorModuleEnabled();
+        when(externalAssetOwnerTransferRepository.findLoanIdsBySettlementDateAndStatusIn(1L, 100L, actualDate,
+                LoanOwnershipTransferIndex.PENDING_OR_BUYBACK_STATUSES, FUTURE_DATE_9999_12_31)).thenReturn(List.of(7L));
+        when(externalAssetOwnerTransferLoanMappingRepository.findLoanIdsBetween(1L, 100L)).thenReturn(List.of());
+        loanOwnershipTransferIndex.beforePartition(new LoanCOBParameter(1L, 100L), actualDate);
+        final Loan loanForProcessing = Mockito.mock(Loan.class);
+        when(loanForProcessing.getId()).thenReturn(7L);
+        // when
+        underTest.execute(loanForProcessing);
+        loanOwnershipTransferIndex.afterPartition(new LoanCOBParameter(1L, 100L), actualDate);
+        // then
+        verify(externalAssetOwnerTransferRepository, times(1)).findAll(any(Specification.class), eq(Sort.by(Sort.Direction.ASC, "id")));
+        assertTrue(loanOwnershipTransferIndex.mayHavePendingTransfer(5L, actualDate));
+    }
+
+    /**
+     * Business dates as set up by the Loan COB for the COB date {@link #actualDate}: the business date is the following
+     * day, the steps resolve the COB date through the COB action context.
+     */
+    private void givenCobContext() {
+        ThreadLocalContextUtil.setActionContext(ActionContext.COB);
+        ThreadLocalContextUtil.setBusinessDates(
+                new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, actualDate.plusDays(1), BusinessDateType.COB_DATE, actualDate)));
+    }
+
+    private void givenInvestorModuleEnabled() {
+        FineractProperties.FineractModulesProperties modules = new FineractProperties.FineractModulesProperties();
+        FineractProperties.FineractInvestorModuleProperties investor = new FineractProperties.FineractInvestorModuleProperties();
+        investor.setEnabled(true);
+        modules.setInvestor(investor);
+        when(fineractProperties.getModule()).thenReturn(modules);
+    }
+
     @Test
     public void givenLoanTwoTransferButInvalidTransfers() {
         // given
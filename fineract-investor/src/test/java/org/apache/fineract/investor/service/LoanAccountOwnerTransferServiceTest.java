@@ -82,6 +82,8 @@ public class LoanAccountOwnerTransferServiceTest {
     private BusinessEventNotifierService businessEventNotifierService;
     @Mock
     private ExternalAssetOwnerTransferOutstandingInterestCalculation externalAssetOwnerTransferOutstandingInterestCalculation;
+    @Mock
+    private LoanOwnerLookupCache loanOwnerLookupCache;
 
     @InjectMocks
     private LoanAccountOwnerTransferServiceImpl underTest;
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.investor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.fineract.investor.domain.ExternalAssetOwner;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransfer;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferLoanMapping;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferLoanMappingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+public class LoanOwnerLookupCacheTest {
+
+    @Mock
+    private ExternalAssetOwnerTransferLoanMappingRepository externalAssetOwnerTransferLoanMappingRepository;
+
+    private LoanOwnerLookupCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new LoanOwnerLookupCache(externalAssetOwnerTransferLoanMappingRepository);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    public void testLookupIsCachedWithinTransaction() {
+        ExternalAssetOwnerTransfer transfer = transferOf(1L);
+        when(externalAssetOwnerTransferLoanMappingRepository.findAllWithOwnerByLoanIdIn(anyCollection()))
+                .thenReturn(List.of(mappingOf(1L, transfer)));
+
+        assertSame(transfer.getOwner(), underTest.findActiveOwner(1L).orElseThrow());
+        assertSame(transfer.getOwner(), underTest.findActiveOwner(1L).orElseThrow());
+
+        verify(externalAssetOwnerTransferLoanMappingRepository, times(1)).findAllWithOwnerByLoanIdIn(anyCollection());
+    }
+
+    @Test
+    public void testPrefetchLoadsAllLoansWithSingleQuery() {
+        ExternalAssetOwnerTransfer transfer = transferOf(1L);
+        when(externalAssetOwnerTransferLoanMappingRepository.findAllWithOwnerByLoanIdIn(Set.of(1L, 2L)))
+                .thenReturn(List.of(mappingOf(1L, transfer)));
+
+        underTest.prefetch(List.of(1L, 2L, 1L));
+
+        assertEquals(Optional.of(transfer), underTest.findActiveTransfer(1L));
+        assertTrue(underTest.findActiveTransfer(2L).isEmpty());
+        verify(externalAssetOwnerTransferLoanMappingRepository, times(1)).findAllWithOwnerByLoanIdIn(anyCollection());
+    }
+
+    @Test
+    public void testEvictReloadsLoan() {
+        ExternalAssetOwnerTransfer transfer = transferOf(1L);
+        when(externalAssetOwnerTransferLoanMappingRepository.findAllWithOwnerByLoanIdIn(anyCollection())).thenReturn(List.of())
+                .thenReturn(List.of(mappingOf(1L, transfer)));
+
+        assertTrue(underTest.findActiveOwner(1L).isEmpty());
+        underTest.evict(1L);
+
+        assertSame(transfer.getOwner(), underTest.findActiveOwner(1L).orElseThrow());
+        verify(externalAssetOwnerTransferLoanMappingRepository, times(2)).findAllWithOwnerByLoanIdIn(anyCollection());
+    }
+
+    @Test
+    public void testNoCachingWithoutTransaction() {
+        TransactionSynchronizationManager.clearSynchronization();
+        when(externalAssetOwnerTransferLoanMappingRepository.findAllWithOwnerByLoanIdIn(anyCollection())).thenReturn(List.of());
+
+        underTest.findActiveOwner(1L);
+        underTest.findActiveOwner(1L);
+
+        verify(externalAssetOwnerTransferLoanMappingRepository, times(2)).findAllWithOwnerByLoanIdIn(anyCollection());
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static ExternalAssetOwnerTransfer transferOf(Long loanId) {
+        ExternalAssetOwnerTransfer transfer = new ExternalAssetOwnerTransfer();
+        transfer.setLoanId(loanId);
+        transfer.setOwner(new ExternalAssetOwner());
+        return transfer;
+    }
+
+    private static ExternalAssetOwnerTransferLoanMapping mappingOf(Long loanId, ExternalAssetOwnerTransfer transfer) {
+        ExternalAssetOwnerTransferLoanMapping mapping = new ExternalAssetOwnerTransferLoanMapping();
+        mapping.setLoanId(loanId);
+        mapping.setOwnerTransfer(transfer);
+        return mapping;
+    }
+}
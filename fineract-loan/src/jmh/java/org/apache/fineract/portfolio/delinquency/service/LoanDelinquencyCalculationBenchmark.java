@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.delinquency.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.delinquency.helper.DelinquencyEffectivePauseHelperImpl;
+import org.apache.fineract.portfolio.delinquency.validator.LoanDelinquencyActionData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanDelinquencyData;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Loan and installment level delinquency of an active loan as calculated by the COB delinquency step: the entity walk
+ * over the installments with {@code Money} arithmetic against the columnar {@link LoanInstallmentDelinquencySnapshot}
+ * (snapshot taken inside the measured call). Run with {@code -prof gc} to compare gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoanDelinquencyCalculationBenchmark {
+
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+    private static final LocalDate FIRST_DUE_DATE = LocalDate.of(2024, 1, 1);
+
+    @Param({ "12", "60", "360" })
+    private int numberOfInstallments;
+
+    private final LoanDelinquencyDomainServiceImpl loanDelinquencyDomainService = new LoanDelinquencyDomainServiceImpl(
+            new DelinquencyEffectivePauseHelperImpl(), null);
+    private final List<LoanDelinquencyActionData> effectiveDelinquencyList = List.of();
+    private final List<LoanTransaction> chargebackTransactions = List.of();
+    private BenchmarkLoan loan;
+    private LocalDate businessDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        initMoneyHelper();
+        loan = new BenchmarkLoan();
+        // half of the schedule is due, every third due installment is partially paid
+        businessDate = FIRST_DUE_DATE.plusMonths(numberOfInstallments / 2).plusDays(3);
+        LocalDate fromDate = FIRST_DUE_DATE.minusMonths(1);
+        for (int i = 1; i <= numberOfInstallments; i++) {
+            LocalDate dueDate = fromDate.plusMonths(1);
+            LoanRepaymentScheduleInstallment installment = new LoanRepaymentScheduleInstallment(loan, i, fromDate, dueDate,
+                    BigDecimal.valueOf(833.33), BigDecimal.valueOf(41.67), BigDecimal.valueOf(5), BigDecimal.ZERO, false, new HashSet<>(),
+                    BigDecimal.ZERO);
+            installment.setId((long) i);
+            if (dueDate.isBefore(businessDate) && i % 3 == 0) {
+                installment.setPrincipalCompleted(BigDecimal.valueOf(400));
+                installment.setInterestPaid(BigDecimal.valueOf(41.67));
+            }
+            loan.installments.add(installment);
+            fromDate = dueDate;
+        }
+    }
+
+    @Benchmark
+    public LoanDelinquencyData installmentWalk() {
+        return loanDelinquencyDomainService.calculateLoanDelinquencyData(loan, effectiveDelinquencyList, chargebackTransactions,
+                businessDate);
+    }
+
+    @Benchmark
+    public LoanDelinquencyData columnarSnapshot() {
+        return LoanInstallmentDelinquencySnapshot.of(loan, chargebackTransactions, businessDate).loanDelinquencyData(0, true, 0L);
+    }
+
+    private static void initMoneyHelper() {
+        // regular initialization from a stub configuration (HALF_EVEN), the measured code reads the cached rounding mode
+        ConfigurationDomainService configurationDomainService = Mockito.mock(ConfigurationDomainService.class);
+        Mockito.when(configurationDomainService.getRoundingMode()).thenReturn(6);
+        MoneyHelper moneyHelper = new MoneyHelper();
+        ReflectionTestUtils.setField(moneyHelper, "configurationDomainService", configurationDomainService);
+        moneyHelper.initialize();
+        MoneyHelper.fetchRoundingModeFromGlobalConfig();
+    }
+
+    /**
+     * Active loan without persistence context, only the state read by the delinquency calculation is provided.
+     */
+    private static final class BenchmarkLoan extends Loan {
+
+        private final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>();
+        private final LoanProductRelatedDetail loanProductRelatedDetail = new LoanProductRelatedDetail() {};
+
+        @Override
+        public List<LoanRepaymentScheduleInstallment> getRepaymentScheduleInstallments() {
+            return installments;
+        }
+
+        @Override
+        public MonetaryCurrency getCurrency() {
+            return CURRENCY;
+        }
+
+        @Override
+        public LoanStatus getStatus() {
+            return LoanStatus.ACTIVE;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return false;
+        }
+
+        @Override
+        public LoanProductRelatedDetail getLoanProductRelatedDetail() {
+            return loanProductRelatedDetail;
+        }
+
+        @Override
+        public boolean isEnableInstallmentLevelDelinquency() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.data;
+
+import com.google.gson.Gson;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
+import org.apache.fineract.infrastructure.core.serialization.StreamingJsonResponse;
+import org.apache.fineract.organisation.monetary.data.CurrencyData;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanSchedulePeriodData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Renders a loan with its repayment schedule and transactions the way {@code GET /loans/{loanId}?associations=all}
+ * does: built as a string and then encoded to the response, or streamed to the response directly. The bytes allocated
+ * per response are reported by the gc profiler ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoanAccountDataSerializationBenchmark {
+
+    private static final CurrencyData CURRENCY = new CurrencyData("USD", "US Dollar", 2, null, "usd", "$");
+    private static final LocalDate DISBURSEMENT_DATE = LocalDate.of(2024, 1, 1);
+    private static final LoanTransactionEnumData REPAYMENT = new LoanTransactionEnumData(2L, "loanTransactionType.repayment", "Repayment");
+    private static final Set<String> SUPPORTED_PARAMETERS = Set.of("id", "accountNo", "principal", "currency", "repaymentSchedule",
+            "transactions");
+    private static final Set<String> REQUESTED_FIELDS = Set.of("id", "principal", "repaymentSchedule");
+
+    @Param({ "60", "360" })
+    private int numberOfRepayments;
+
+    private final GoogleGsonSerializerHelper helper = new GoogleGsonSerializerHelper();
+    private final Gson gson = GoogleGsonSerializerHelper.createSimpleGson();
+    private LoanAccountData loan;
+    private OutputStream responseStream;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        BigDecimal principal = BigDecimal.valueOf(100_000);
+        BigDecimal principalDue = principal.divide(BigDecimal.valueOf(numberOfRepayments), 2, RoundingMode.HALF_EVEN);
+        BigDecimal interestDue = BigDecimal.valueOf(83.25);
+
+        List<LoanSchedulePeriodData> periods = new ArrayList<>(numberOfRepayments);
+        List<LoanTransactionData> transactions = new ArrayList<>(numberOfRepayments);
+        BigDecimal balance = principal;
+        for (int i = 1; i <= numberOfRepayments; i++) {
+            LocalDate fromDate = DISBURSEMENT_DATE.plusMonths(i - 1L);
+            LocalDate dueDate = DISBURSEMENT_DATE.plusMonths(i);
+            balance = balance.subtract(principalDue);
+            BigDecimal totalDue = principalDue.add(interestDue);
+            periods.add(LoanSchedulePeriodData.builder().period(i).fromDate(fromDate).dueDate(dueDate).principalDue(principalDue)
+                    .principalOriginalDue(principalDue).principalPaid(principalDue).principalLoanBalanceOutstanding(balance)
+                    .interestDue(interestDue).interestOriginalDue(interestDue).interestPaid(interestDue).totalOriginalDueForPeriod(totalDue)
+                    .totalDueForPeriod(totalDue).totalPaidForPeriod(totalDue).complete(true).build());
+            transactions.add(new LoanTransactionData((long) i, REPAYMENT, dueDate, totalDue, null, principalDue, interestDue,
+                    BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, balance, false,
+                    new ExternalId("repayment-" + i), 1L, new ExternalId("loan-1")));
+        }
+
+        LoanScheduleData repaymentSchedule = new LoanScheduleData(CURRENCY, periods, numberOfRepayments * 30, principal, principal,
+                interestDue.multiply(BigDecimal.valueOf(numberOfRepayments)), BigDecimal.ZERO, BigDecimal.ZERO,
+                principal.add(interestDue.multiply(BigDecimal.valueOf(numberOfRepayments))));
+
+        loan = new LoanAccountData().setId(1L).setAccountNo("000000001").setExternalId(new ExternalId("loan-1")).setCurrency(CURRENCY)
+                .setPrincipal(principal).setRepaymentSchedule(repaymentSchedule).setTransactions(transactions);
+
+        responseStream = new OutputStream() {
+
+            @Override
+            public void write(int b) {
+                blackhole.consume(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                blackhole.consume(b);
+            }
+        };
+    }
+
+    @Benchmark
+    public void serializeToString() throws IOException {
+        // what Jersey does with a String entity
+        responseStream.write(gson.toJson(loan).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public void streamToResponse() throws IOException {
+        write(new StreamingJsonResponse(gson, loan));
+    }
+
+    @Benchmark
+    public void streamPartialResponse() throws IOException {
+        Gson partialResponseSerializer = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS,
+                REQUESTED_FIELDS);
+        write(new StreamingJsonResponse(partialResponseSerializer, loan));
+    }
+
+    private void write(StreamingJsonResponse response) throws IOException {
+        // same as StreamingJsonMessageBodyWriter
+        Writer writer = new BufferedWriter(new OutputStreamWriter(responseStream, StandardCharsets.UTF_8), 8192);
+        response.writeTo(writer);
+        writer.flush();
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl;
+
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.service.ExternalIdFactory;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.mapper.CurrencyMapper;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionRepository;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.AbstractLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.CumulativeDecliningBalanceInterestLoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.CumulativeLoanBenchmarkContext;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultPaymentPeriodsInOneYearCalculator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultScheduledDateGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModel;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModelPeriod;
+import org.apache.fineract.portfolio.loanaccount.serialization.LoanChargeValidator;
+import org.apache.fineract.portfolio.loanaccount.service.LoanBalanceService;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Reverse-replay of the repayments of a cumulative loan by the transaction processing strategies of cumulative
+ * products, as done on every backdated transaction. The schedule is generated by the declining balance generator and
+ * the installments are repaid on their due date. The collaborators of the processors are not used on this path and are
+ * mocked, the loan is kept in memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CumulativeLoanRepaymentScheduleTransactionProcessorBenchmark {
+
+    @Param({ "12", "60", "360" })
+    private int numberOfRepayments;
+
+    /**
+     * Number of installments repaid on their due date, capped by the number of repayments.
+     */
+    @Param({ "1", "12", "60" })
+    private int repaymentTransactions;
+
+    @Param({ FineractStyleLoanRepaymentScheduleTransactionProcessor.STRATEGY_CODE,
+            EarlyPaymentLoanRepaymentScheduleTransactionProcessor.STRATEGY_CODE,
+            PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor.STRATEGY_CODE })
+    private String transactionProcessingStrategyCode;
+
+    private AbstractLoanRepaymentScheduleTransactionProcessor processor;
+    private BenchmarkLoan loan;
+    private List<LoanTransaction> transactions;
+    private Set<LoanCharge> charges;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CumulativeLoanBenchmarkContext.init(CumulativeLoanBenchmarkContext.DISBURSEMENT_DATE.plusMonths(numberOfRepayments));
+        ExternalIdFactory externalIdFactory = mock(ExternalIdFactory.class);
+        LoanChargeValidator loanChargeValidator = mock(LoanChargeValidator.class);
+        LoanBalanceService loanBalanceService = mock(LoanBalanceService.class);
+        processor = switch (transactionProcessingStrategyCode) {
+            case EarlyPaymentLoanRepaymentScheduleTransactionProcessor.STRATEGY_CODE ->
+                new EarlyPaymentLoanRepaymentScheduleTransactionProcessor(externalIdFactory, loanChargeValidator, loanBalanceService);
+            case PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor.STRATEGY_CODE ->
+                new PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor(externalIdFactory, loanChargeValidator,
+                        loanBalanceService);
+            default -> new FineractStyleLoanRepaymentScheduleTransactionProcessor(externalIdFactory, loanChargeValidator,
+                    loanBalanceService);
+        };
+
+        LoanProductRelatedDetail loanProductRelatedDetail = CumulativeLoanBenchmarkContext.loanProductRelatedDetail(numberOfRepayments,
+                InterestMethod.DECLINING_BALANCE);
+        LoanScheduleModel loanScheduleModel = new CumulativeDecliningBalanceInterestLoanScheduleGenerator(
+                new DefaultScheduledDateGenerator(), new DefaultPaymentPeriodsInOneYearCalculator(), mock(LoanTransactionRepository.class),
+                mock(CurrencyMapper.class)).generate(CumulativeLoanBenchmarkContext.MC,
+                        CumulativeLoanBenchmarkContext.loanApplicationTerms(loanProductRelatedDetail), Set.of(),
+                        CumulativeLoanBenchmarkContext.HOLIDAY_DETAIL);
+        loan = new BenchmarkLoan(loanProductRelatedDetail);
+
+        transactions = new ArrayList<>();
+        for (LoanScheduleModelPeriod period : loanScheduleModel.getPeriods()) {
+            if (!period.isRepaymentPeriod()) {
+                continue;
+            }
+            loan.installments.add(new LoanRepaymentScheduleInstallment(loan, period.periodNumber(), period.periodFromDate(),
+                    period.periodDueDate(), period.principalDue(), period.interestDue(), period.feeChargesDue(),
+                    period.penaltyChargesDue(), period.isRecalculatedInterestComponent(), new HashSet<>(), BigDecimal.ZERO));
+            if (transactions.size() < repaymentTransactions) {
+                LoanTransaction repayment = LoanTransaction.repayment(null,
+                        Money.of(loan.getCurrency(), period.principalDue().add(period.interestDue())), null, period.periodDueDate(),
+                        ExternalId.empty());
+                repayment.updateLoan(loan);
+                transactions.add(repayment);
+            }
+        }
+        charges = new HashSet<>();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        CumulativeLoanBenchmarkContext.reset();
+    }
+
+    @Benchmark
+    public ChangedTransactionDetail reprocessTransactions() {
+        return processor.reprocessLoanTransactions(CumulativeLoanBenchmarkContext.DISBURSEMENT_DATE, transactions, loan.getCurrency(),
+                loan.installments, charges);
+    }
+
+    /**
+     * Disbursed cumulative loan without persistence context.
+     */
+    private static final class BenchmarkLoan extends Loan {
+
+        private final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>();
+        private final LoanProductRelatedDetail loanProductRelatedDetail;
+
+        private BenchmarkLoan(LoanProductRelatedDetail loanProductRelatedDetail) {
+            this.loanProductRelatedDetail = loanProductRelatedDetail;
+        }
+
+        @Override
+        public List<LoanRepaymentScheduleInstallment> getRepaymentScheduleInstallments() {
+            return installments;
+        }
+
+        @Override
+        public LoanProductRelatedDetail getLoanProductRelatedDetail() {
+            return loanProductRelatedDetail;
+        }
+
+        @Override
+        public LoanProductRelatedDetail getLoanRepaymentScheduleDetail() {
+            return loanProductRelatedDetail;
+        }
+
+        @Override
+        public MonetaryCurrency getCurrency() {
+            return loanProductRelatedDetail.getCurrency();
+        }
+
+        @Override
+        public LocalDate getDisbursementDate() {
+            return CumulativeLoanBenchmarkContext.DISBURSEMENT_DATE;
+        }
+    }
+}
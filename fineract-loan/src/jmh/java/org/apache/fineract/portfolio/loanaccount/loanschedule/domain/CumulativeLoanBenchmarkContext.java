@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.loanschedule.domain;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.data.CurrencyData;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.portfolio.common.domain.DaysInMonthType;
+import org.apache.fineract.portfolio.common.domain.DaysInYearType;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanproduct.domain.AmortizationMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestCalculationPeriodMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.apache.fineract.portfolio.loanproduct.domain.RepaymentStartDateType;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Shared fixture of the cumulative loan benchmarks: a monthly loan without charges, grace, holidays or interest
+ * recalculation. There is no Spring context and no tenant, so {@link MoneyHelper}, the tenant and the business date are
+ * initialized here.
+ */
+public final class CumulativeLoanBenchmarkContext {
+
+    public static final MathContext MC = new MathContext(12, RoundingMode.HALF_EVEN);
+    public static final CurrencyData CURRENCY = new CurrencyData("USD", "US Dollar", 2, null, "usd", "$");
+    public static final LocalDate DISBURSEMENT_DATE = LocalDate.of(2024, 1, 1);
+    public static final BigDecimal PRINCIPAL = BigDecimal.valueOf(100_000);
+    public static final BigDecimal ANNUAL_INTEREST_RATE = BigDecimal.valueOf(9.99);
+    public static final HolidayDetailDTO HOLIDAY_DETAIL = new HolidayDetailDTO(false, List.of(),
+            new WorkingDays("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU",
+                    RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY.getValue(), false, false));
+
+    private CumulativeLoanBenchmarkContext() {}
+
+    /**
+     * Must be called from the benchmark thread, the business date is thread bound. {@link MoneyHelper} goes through its
+     * regular initialization with a stub configuration, so the measured code reads the cached rounding mode and math
+     * context instead of calling into a static mock.
+     */
+    public static void init(LocalDate businessDate) {
+        initMoneyHelper();
+
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "UTC", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, businessDate);
+        businessDates.put(BusinessDateType.COB_DATE, businessDate.minusDays(1));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+    }
+
+    public static void reset() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    private static void initMoneyHelper() {
+        ConfigurationDomainService configurationDomainService = Mockito.mock(ConfigurationDomainService.class);
+        // HALF_EVEN, the default of the rounding mode global configuration
+        Mockito.when(configurationDomainService.getRoundingMode()).thenReturn(6);
+        MoneyHelper moneyHelper = new MoneyHelper();
+        ReflectionTestUtils.setField(moneyHelper, "configurationDomainService", configurationDomainService);
+        moneyHelper.initialize();
+        MoneyHelper.fetchRoundingModeFromGlobalConfig();
+    }
+
+    public static LoanProductRelatedDetail loanProductRelatedDetail(int numberOfRepayments, InterestMethod interestMethod) {
+        LoanRepaymentScheduleModelData modelData = new LoanRepaymentScheduleModelData(DISBURSEMENT_DATE, CURRENCY, PRINCIPAL,
+                DISBURSEMENT_DATE, numberOfRepayments, 1, PeriodFrequencyType.MONTHS.name(), ANNUAL_INTEREST_RATE, false,
+                DaysInMonthType.ACTUAL, DaysInYearType.ACTUAL, BigDecimal.ZERO, null, null, false, null);
+        LoanProductRelatedDetail loanProductRelatedDetail = LoanApplicationTerms.assembleFrom(modelData, MC).toLoanProductRelatedDetail();
+        loanProductRelatedDetail.setNominalInterestRatePerPeriod(ANNUAL_INTEREST_RATE);
+        loanProductRelatedDetail.setInterestPeriodFrequencyType(PeriodFrequencyType.YEARS);
+        loanProductRelatedDetail.setInterestMethod(interestMethod);
+        loanProductRelatedDetail.setAmortizationMethod(AmortizationMethod.EQUAL_INSTALLMENTS);
+        loanProductRelatedDetail.setInterestCalculationPeriodMethod(InterestCalculationPeriodMethod.SAME_AS_REPAYMENT_PERIOD);
+        loanProductRelatedDetail.setLoanScheduleType(LoanScheduleType.CUMULATIVE);
+        return loanProductRelatedDetail;
+    }
+
+    /**
+     * The terms are modified by the schedule generators, a new instance is needed for every generated schedule.
+     */
+    public static LoanApplicationTerms loanApplicationTerms(LoanProductRelatedDetail loanProductRelatedDetail) {
+        return LoanApplicationTerms.assembleFrom(CURRENCY, loanProductRelatedDetail.getNumberOfRepayments(), PeriodFrequencyType.MONTHS,
+                null, null, DISBURSEMENT_DATE, null, null, Money.zero(CURRENCY, MC), loanProductRelatedDetail, false, null,
+                new ArrayList<>(), null, null, null, null, null, null, null, null, null, null, null, null, PRINCIPAL,
+                ANNUAL_INTEREST_RATE, new ArrayList<>(), null, null, false, HOLIDAY_DETAIL, false, false, false, null, false,
+                RepaymentStartDateType.DISBURSEMENT_DATE, DISBURSEMENT_DATE);
+    }
+}
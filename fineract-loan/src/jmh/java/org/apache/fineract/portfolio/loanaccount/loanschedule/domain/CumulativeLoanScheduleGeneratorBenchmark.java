@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.loanschedule.domain;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.organisation.monetary.mapper.CurrencyMapper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionRepository;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Schedule generation of a cumulative loan by the declining balance and the flat interest generators, as done when a
+ * loan is submitted, approved or disbursed. The repository and the mapper are only used when rescheduling and are
+ * mocked.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CumulativeLoanScheduleGeneratorBenchmark {
+
+    @Param({ "12", "60", "360" })
+    private int numberOfRepayments;
+
+    @Param({ "DECLINING_BALANCE", "FLAT" })
+    private InterestMethod interestMethod;
+
+    private AbstractCumulativeLoanScheduleGenerator generator;
+    private LoanProductRelatedDetail loanProductRelatedDetail;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CumulativeLoanBenchmarkContext.init(CumulativeLoanBenchmarkContext.DISBURSEMENT_DATE);
+        loanProductRelatedDetail = CumulativeLoanBenchmarkContext.loanProductRelatedDetail(numberOfRepayments, interestMethod);
+        ScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
+        PaymentPeriodsInOneYearCalculator paymentPeriodsInOneYearCalculator = new DefaultPaymentPeriodsInOneYearCalculator();
+        LoanTransactionRepository loanTransactionRepository = mock(LoanTransactionRepository.class);
+        CurrencyMapper currencyMapper = mock(CurrencyMapper.class);
+        generator = switch (interestMethod) {
+            case FLAT -> new CumulativeFlatInterestLoanScheduleGenerator(scheduledDateGenerator, paymentPeriodsInOneYearCalculator,
+                    loanTransactionRepository, currencyMapper);
+            default -> new CumulativeDecliningBalanceInterestLoanScheduleGenerator(scheduledDateGenerator,
+                    paymentPeriodsInOneYearCalculator, loanTransactionRepository, currencyMapper);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        CumulativeLoanBenchmarkContext.reset();
+    }
+
+    @Benchmark
+    public LoanScheduleModel generateSchedule() {
+        return generator.generate(CumulativeLoanBenchmarkContext.MC,
+                CumulativeLoanBenchmarkContext.loanApplicationTerms(loanProductRelatedDetail), Set.of(),
+                CumulativeLoanBenchmarkContext.HOLIDAY_DETAIL);
+    }
+}
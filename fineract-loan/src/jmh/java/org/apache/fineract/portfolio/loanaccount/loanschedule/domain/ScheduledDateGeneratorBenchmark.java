@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.loanschedule.domain;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.RescheduleType;
+import org.apache.fineract.organisation.monetary.data.CurrencyData;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.portfolio.common.domain.DaysInMonthType;
+import org.apache.fineract.portfolio.common.domain.DaysInYearType;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Repayment date generation shared by every schedule generator: the due dates of all periods are generated and moved
+ * to the next working day when the office does not work on weekends or to the day after a holiday of the office. The
+ * holiday details are created per invocation, as they are per loan, so the working day calendar is built every time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScheduledDateGeneratorBenchmark {
+
+    private static final MathContext MC = new MathContext(12, RoundingMode.HALF_EVEN);
+    private static final CurrencyData CURRENCY = new CurrencyData("USD", "US Dollar", 2, null, "usd", "$");
+    private static final LocalDate DISBURSEMENT_DATE = LocalDate.of(2024, 1, 1);
+    private static final String ALL_DAYS = "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU";
+    private static final String WEEKDAYS = "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR";
+
+    @Param({ "12", "60", "360" })
+    private int numberOfRepayments;
+
+    @Param({ "DAYS", "WEEKS", "MONTHS" })
+    private String repaymentFrequencyType;
+
+    @Param({ "false", "true" })
+    private boolean weekdaysOnly;
+
+    @Param({ "0", "120" })
+    private int numberOfHolidays;
+
+    private final DefaultScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
+    private LoanApplicationTerms loanApplicationTerms;
+    private WorkingDays workingDays;
+    private List<Holiday> holidays;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoanRepaymentScheduleModelData modelData = new LoanRepaymentScheduleModelData(DISBURSEMENT_DATE, CURRENCY,
+                BigDecimal.valueOf(100_000), DISBURSEMENT_DATE, numberOfRepayments, 1, repaymentFrequencyType, BigDecimal.valueOf(9.99),
+                false, DaysInMonthType.ACTUAL, DaysInYearType.ACTUAL, BigDecimal.ZERO, null, null, false, null);
+        loanApplicationTerms = LoanApplicationTerms.assembleFrom(modelData, MC);
+        workingDays = new WorkingDays(weekdaysOnly ? WEEKDAYS : ALL_DAYS, RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY.getValue(),
+                false, false);
+        holidays = new ArrayList<>(numberOfHolidays);
+        for (int i = 0; i < numberOfHolidays; i++) {
+            LocalDate fromDate = DISBURSEMENT_DATE.plusMonths(i).withDayOfMonth(15);
+            holidays.add(new Holiday().setFromDate(fromDate).setToDate(fromDate.plusDays(1))
+                    .setReschedulingType(RescheduleType.RESCHEDULETOSPECIFICDATE.getValue())
+                    .setRepaymentsRescheduledTo(fromDate.plusDays(2)));
+        }
+    }
+
+    @Benchmark
+    public List<LocalDate> generateRepaymentDates() {
+        HolidayDetailDTO holidayDetailDTO = new HolidayDetailDTO(numberOfHolidays > 0, holidays, workingDays);
+        List<LoanScheduleModelRepaymentPeriod> repaymentPeriods = scheduledDateGenerator.generateRepaymentPeriods(MC, DISBURSEMENT_DATE,
+                loanApplicationTerms, holidayDetailDTO);
+        List<LocalDate> dueDates = new ArrayList<>(repaymentPeriods.size());
+        for (LoanScheduleModelRepaymentPeriod repaymentPeriod : repaymentPeriods) {
+            dueDates.add(scheduledDateGenerator.adjustRepaymentDate(repaymentPeriod.periodDueDate(), loanApplicationTerms, holidayDetailDTO)
+                    .getChangedScheduleDate());
+        }
+        return dueDates;
+    }
+}
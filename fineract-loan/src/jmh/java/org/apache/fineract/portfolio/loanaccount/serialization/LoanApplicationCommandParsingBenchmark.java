@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.serialization;
+
+import com.google.gson.JsonElement;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reads the parameters of a loan application the way a create request does: the validator, the loan assembler and the
+ * schedule assembler each read the principal, the dates and the terms. Either every reader parses the request and
+ * converts the values again, or the request is parsed once and the typed values are memoized by {@link JsonCommand}.
+ * The bytes allocated per request are reported by the gc profiler ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoanApplicationCommandParsingBenchmark {
+
+    private static final String LOAN_APPLICATION = """
+            {"clientId": 1, "productId": 1, "principal": "10,000.00", "loanTermFrequency": 12, "loanTermFrequencyType": 2,
+             "numberOfRepayments": 12, "repaymentEvery": 1, "repaymentFrequencyType": 2, "interestRatePerPeriod": "1.5",
+             "amortizationType": 1, "interestType": 0, "interestCalculationPeriodType": 1, "transactionProcessingStrategyCode":
+             "mifos-standard-strategy", "expectedDisbursementDate": "01 January 2024", "submittedOnDate": "01 January 2024",
+             "repaymentsStartingFromDate": "01 February 2024", "loanType": "individual", "locale": "en", "dateFormat": "dd MMMM yyyy"}
+            """;
+    private static final Set<String> SUPPORTED_PARAMETERS = Set.of("clientId", "productId", "principal", "loanTermFrequency",
+            "loanTermFrequencyType", "numberOfRepayments", "repaymentEvery", "repaymentFrequencyType", "interestRatePerPeriod",
+            "amortizationType", "interestType", "interestCalculationPeriodType", "transactionProcessingStrategyCode",
+            "expectedDisbursementDate", "submittedOnDate", "repaymentsStartingFromDate", "loanType", "locale", "dateFormat");
+    private static final List<String> DATE_PARAMETERS = List.of("expectedDisbursementDate", "submittedOnDate",
+            "repaymentsStartingFromDate");
+    private static final List<String> INTEGER_PARAMETERS = List.of("loanTermFrequency", "loanTermFrequencyType", "numberOfRepayments",
+            "repaymentEvery", "repaymentFrequencyType", "amortizationType", "interestType", "interestCalculationPeriodType");
+    private static final List<String> DECIMAL_PARAMETERS = List.of("principal", "interestRatePerPeriod");
+    private static final Type TYPE_OF_MAP = new TypeToken<Map<String, Object>>() {}.getType();
+    private static final int READERS = 3;
+
+    private final FromJsonHelper fromApiJsonHelper = new FromJsonHelper();
+
+    @Benchmark
+    public void parsedPerReader(Blackhole blackhole) {
+        for (int reader = 0; reader < READERS; reader++) {
+            fromApiJsonHelper.checkForUnsupportedParameters(TYPE_OF_MAP, LOAN_APPLICATION, SUPPORTED_PARAMETERS);
+            final JsonElement element = fromApiJsonHelper.parse(LOAN_APPLICATION);
+            for (String parameterName : DATE_PARAMETERS) {
+                blackhole.consume(fromApiJsonHelper.extractLocalDateNamed(parameterName, element));
+            }
+            for (String parameterName : INTEGER_PARAMETERS) {
+                blackhole.consume(fromApiJsonHelper.extractIntegerWithLocaleNamed(parameterName, element));
+            }
+            for (String parameterName : DECIMAL_PARAMETERS) {
+                blackhole.consume(fromApiJsonHelper.extractBigDecimalWithLocaleNamed(parameterName, element));
+            }
+        }
+    }
+
+    @Benchmark
+    public void parsedOnce(Blackhole blackhole) {
+        final JsonCommand command = JsonCommand.from(LOAN_APPLICATION, fromApiJsonHelper.parse(LOAN_APPLICATION), fromApiJsonHelper,
+                null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+        command.checkForUnsupportedParameters(SUPPORTED_PARAMETERS);
+        for (int reader = 0; reader < READERS; reader++) {
+            for (String parameterName : DATE_PARAMETERS) {
+                blackhole.consume(command.localDateValueOfParameterNamed(parameterName));
+            }
+            for (String parameterName : INTEGER_PARAMETERS) {
+                blackhole.consume(command.integerValueOfParameterNamed(parameterName));
+            }
+            for (String parameterName : DECIMAL_PARAMETERS) {
+                blackhole.consume(command.bigDecimalValueOfParameterNamed(parameterName));
+            }
+        }
+    }
+}
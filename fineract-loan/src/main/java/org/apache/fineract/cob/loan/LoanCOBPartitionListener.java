@@ -0,0 +1,38 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import java.time.LocalDate;
+import org.apache.fineract.cob.data.LoanCOBParameter;
+
+/**
+ * Callback around the processing of a Loan COB partition on a worker, lets business steps prepare data covering the whole
+ * loan id range of the partition once instead of querying it loan by loan.
+ */
+public interface LoanCOBPartitionListener {
+
+    /**
+     * @param cobDate
+     *            the COB date of the job; this is what {@code DateUtils.getBusinessLocalDate()} resolves to while the
+     *            business steps run, as they run in the COB action context
+     */
+    void beforePartition(LoanCOBParameter partition, LocalDate cobDate);
+
+    void afterPartition(LoanCOBParameter partition, LocalDate cobDate);
+}
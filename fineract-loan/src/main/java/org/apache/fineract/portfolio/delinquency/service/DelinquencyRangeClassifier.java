@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.delinquency.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import org.apache.fineract.portfolio.delinquency.domain.DelinquencyRange;
+
+/**
+ * Immutable lookup of the delinquency range matching a number of overdue days, built from the ranges of a bucket.
+ * <p>
+ * The ranges are ordered by their minimum age once, when the lookup is built, and the first range containing the days
+ * wins (a range without maximum age is open-ended). The lookup answers with the position of the range in the list it
+ * was built from, so it can be reused for as long as {@link #matches(List)} confirms the bucket still holds the same
+ * ranges in the same order.
+ */
+final class DelinquencyRangeClassifier {
+
+    static final int NO_RANGE = -1;
+
+    private final Long[] rangeIds;
+    private final Long[] rangeVersions;
+    private final int[] minimumAgeDays;
+    private final Integer[] maximumAgeDays;
+
+    private final long[] sortedMinimumAgeDays;
+    private final long[] sortedMaximumAgeDays;
+    private final int[] sortedPositions;
+
+    private DelinquencyRangeClassifier(final List<DelinquencyRange> ranges) {
+        final int size = ranges.size();
+        this.rangeIds = new Long[size];
+        this.rangeVersions = new Long[size];
+        this.minimumAgeDays = new int[size];
+        this.maximumAgeDays = new Integer[size];
+        final Integer[] positions = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            final DelinquencyRange range = ranges.get(i);
+            rangeIds[i] = range.getId();
+            rangeVersions[i] = range.getVersion();
+            minimumAgeDays[i] = range.getMinimumAgeDays();
+            maximumAgeDays[i] = range.getMaximumAgeDays();
+            positions[i] = i;
+        }
+        // stable sort, ranges with the same minimum age keep their order as before
+        Arrays.sort(positions, Comparator.comparingInt(position -> minimumAgeDays[position]));
+
+        this.sortedMinimumAgeDays = new long[size];
+        this.sortedMaximumAgeDays = new long[size];
+        this.sortedPositions = new int[size];
+        for (int k = 0; k < size; k++) {
+            final int position = positions[k];
+            sortedPositions[k] = position;
+            sortedMinimumAgeDays[k] = minimumAgeDays[position];
+            sortedMaximumAgeDays[k] = maximumAgeDays[position] == null ? Long.MAX_VALUE : maximumAgeDays[position];
+        }
+    }
+
+    static DelinquencyRangeClassifier of(final List<DelinquencyRange> ranges) {
+        return new DelinquencyRangeClassifier(ranges);
+    }
+
+    /**
+     * @return the position of the matching range in the list the classifier was built from, or {@link #NO_RANGE}
+     */
+    int classify(final long overdueDays) {
+        for (int k = 0; k < sortedPositions.length; k++) {
+            if (sortedMinimumAgeDays[k] <= overdueDays && overdueDays <= sortedMaximumAgeDays[k]) {
+                return sortedPositions[k];
+            }
+        }
+        return NO_RANGE;
+    }
+
+    boolean matches(final List<DelinquencyRange> ranges) {
+        if (ranges.size() != rangeIds.length) {
+            return false;
+        }
+        for (int i = 0; i < rangeIds.length; i++) {
+            final DelinquencyRange range = ranges.get(i);
+            if (!Objects.equals(rangeIds[i], range.getId()) || !Objects.equals(rangeVersions[i], range.getVersion())
+                    || minimumAgeDays[i] != range.getMinimumAgeDays() || !Objects.equals(maximumAgeDays[i], range.getMaximumAgeDays())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -26,9 +26,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanDelinquencyRangeChangeBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.portfolio.delinquency.domain.DelinquencyBucket;
@@ -53,6 +56,9 @@ public class DelinquencyWritePlatformServiceHelper {
     private final DelinquencyRangeRepository repositoryRange;
     private final LoanInstallmentDelinquencyTagRepository loanInstallmentDelinquencyTagRepository;
 
+    // range lookups per tenant and bucket, rebuilt when the ranges of the bucket change
+    private final Map<RangeClassifierKey, DelinquencyRangeClassifier> rangeClassifiers = new ConcurrentHashMap<>();
+
     public Map<String, Object> applyDelinquencyForLoan(final Loan loan, final DelinquencyBucket delinquencyBucket, long overdueDays) {
         Map<String, Object> changes = new HashMap<>();
 
@@ -61,25 +67,11 @@ public class DelinquencyWritePlatformServiceHelper {
             changes = setLoanDelinquencyTag(loan, null);
 
         } else {
-            // Sort the ranges based on the minAgeDays
-            final List<DelinquencyRange> ranges = sortDelinquencyRangesByMinAge(delinquencyBucket.getRanges());
-
-            for (final DelinquencyRange delinquencyRange : ranges) {
-                if (delinquencyRange.getMaximumAgeDays() == null) { // Last Range in the Bucket
-                    if (delinquencyRange.getMinimumAgeDays() <= overdueDays) {
-                        log.debug("Loan {} with delinquency range {} with {} days", loan.getId(), delinquencyRange.getClassification(),
-                                overdueDays);
-                        changes = setLoanDelinquencyTag(loan, delinquencyRange.getId());
-                        break;
-                    }
-                } else {
-                    if (delinquencyRange.getMinimumAgeDays() <= overdueDays && delinquencyRange.getMaximumAgeDays() >= overdueDays) {
-                        log.debug("Loan {} with delinquency range {} with {} days", loan.getId(), delinquencyRange.getClassification(),
-                                overdueDays);
-                        changes = setLoanDelinquencyTag(loan, delinquencyRange.getId());
-                        break;
-                    }
-                }
+            final DelinquencyRange delinquencyRange = findDelinquencyRange(delinquencyBucket, overdueDays);
+            if (delinquencyRange != null) {
+                log.debug("Loan {} with delinquency range {} with {} days", loan.getId(), delinquencyRange.getClassification(),
+                        overdueDays);
+                changes = setLoanDelinquencyTag(loan, delinquencyRange.getId());
             }
         }
         changes.put("overdueDays", overdueDays);
@@ -192,26 +184,35 @@ public class DelinquencyWritePlatformServiceHelper {
     private DelinquencyRange getInstallmentDelinquencyRange(final DelinquencyBucket delinquencyBucket, Long overDueDays) {
         DelinquencyRange delinquencyRangeForInstallment = null;
         if (overDueDays > 0) {
-            // Sort the ranges based on the minAgeDays
-            final List<DelinquencyRange> ranges = sortDelinquencyRangesByMinAge(delinquencyBucket.getRanges());
-            for (final DelinquencyRange delinquencyRange : ranges) {
-                if (delinquencyRange.getMaximumAgeDays() == null) { // Last Range in the Bucket
-                    if (delinquencyRange.getMinimumAgeDays() <= overDueDays) {
-                        delinquencyRangeForInstallment = delinquencyRange;
-                        break;
-                    }
-                } else {
-                    if (delinquencyRange.getMinimumAgeDays() <= overDueDays && delinquencyRange.getMaximumAgeDays() >= overDueDays) {
-                        delinquencyRangeForInstallment = delinquencyRange;
-                        break;
-                    }
-                }
-            }
-
+            delinquencyRangeForInstallment = findDelinquencyRange(delinquencyBucket, overDueDays);
         }
         return delinquencyRangeForInstallment;
     }
 
+    /**
+     * The range with the lowest minimum age containing the overdue days, a range without maximum age being the last one
+     * of the bucket. The ranges of the bucket are not reordered.
+     */
+    DelinquencyRange findDelinquencyRange(final DelinquencyBucket delinquencyBucket, final long overdueDays) {
+        final List<DelinquencyRange> ranges = delinquencyBucket.getRanges();
+        final int position = getRangeClassifier(delinquencyBucket.getId(), ranges).classify(overdueDays);
+        return position == DelinquencyRangeClassifier.NO_RANGE ? null : ranges.get(position);
+    }
+
+    private DelinquencyRangeClassifier getRangeClassifier(final Long delinquencyBucketId, final List<DelinquencyRange> ranges) {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (delinquencyBucketId == null || tenant == null) {
+            return DelinquencyRangeClassifier.of(ranges);
+        }
+        final RangeClassifierKey key = new RangeClassifierKey(tenant.getTenantIdentifier(), delinquencyBucketId);
+        DelinquencyRangeClassifier classifier = rangeClassifiers.get(key);
+        if (classifier == null || !classifier.matches(ranges)) {
+            classifier = DelinquencyRangeClassifier.of(ranges);
+            rangeClassifiers.put(key, classifier);
+        }
+        return classifier;
+    }
+
     private boolean setDelinquencyDetailsForInstallment(final Loan loan, final LoanRepaymentScheduleInstallment installment,
             CollectionData installmentDelinquencyData, final DelinquencyRange delinquencyRangeForInstallment) {
         List<LoanInstallmentDelinquencyTag> installmentDelinquencyTags = new ArrayList<>();
@@ -265,4 +266,7 @@ public class DelinquencyWritePlatformServiceHelper {
         }
         return isDelinquencyRangeChanged;
     }
+
+    private record RangeClassifierKey(String tenantIdentifier, Long delinquencyBucketId) {
+    }
 }
@@ -52,14 +52,6 @@ public class LoanDelinquencyDomainServiceImpl implements LoanDelinquencyDomainSe
         final List<LoanTransaction> chargebackTransactions = loanTransactionReadService.fetchLoanTransactionsByType(loan.getId(), null,
                 LoanTransactionType.CHARGEBACK);
         final LocalDate businessDate = DateUtils.getBusinessLocalDate();
-        final MonetaryCurrency loanCurrency = loan.getCurrency();
-        final CollectionData collectionData = CollectionData.template();
-
-        LocalDate overdueSinceDate = null;
-        BigDecimal outstandingAmount = BigDecimal.ZERO;
-        boolean oldestOverdueInstallment = false;
-        boolean overdueSinceDateWasSet = false;
-        boolean firstNotYetDueInstallment = false;
         log.debug("Loan id {} with {} installments", loan.getId(), loan.getRepaymentScheduleInstallments().size());
 
         // If the Loan is not Active yet, return template data
@@ -69,6 +61,32 @@ public class LoanDelinquencyDomainServiceImpl implements LoanDelinquencyDomainSe
             return CollectionData.template();
         }
 
+        final LoanInstallmentDelinquencySnapshot snapshot = LoanInstallmentDelinquencySnapshot.of(loan, chargebackTransactions,
+                businessDate);
+        if (snapshot == null) {
+            return calculateOverdueCollectionData(loan, effectiveDelinquencyList, chargebackTransactions, businessDate);
+        }
+        final CollectionData collectionData = snapshot.overdueCollectionData(getGraceDays(loan),
+                getPausedDays(effectiveDelinquencyList, businessDate));
+        log.debug("Result: {}", collectionData);
+        return collectionData;
+    }
+
+    /**
+     * Entity based calculation of {@link #getOverdueCollectionData(Loan, List)}, used when the schedule cannot be
+     * captured in a {@link LoanInstallmentDelinquencySnapshot}.
+     */
+    CollectionData calculateOverdueCollectionData(final Loan loan, final List<LoanDelinquencyActionData> effectiveDelinquencyList,
+            final List<LoanTransaction> chargebackTransactions, final LocalDate businessDate) {
+        final MonetaryCurrency loanCurrency = loan.getCurrency();
+        final CollectionData collectionData = CollectionData.template();
+
+        LocalDate overdueSinceDate = null;
+        BigDecimal outstandingAmount = BigDecimal.ZERO;
+        boolean oldestOverdueInstallment = false;
+        boolean overdueSinceDateWasSet = false;
+        boolean firstNotYetDueInstallment = false;
+
         BigDecimal delinquentPrincipal = BigDecimal.ZERO;
         BigDecimal delinquentInterest = BigDecimal.ZERO;
         BigDecimal delinquentFee = BigDecimal.ZERO;
@@ -98,7 +116,7 @@ public class LoanDelinquencyDomainServiceImpl implements LoanDelinquencyDomainSe
                             installment.getDueDate());
                     firstNotYetDueInstallment = true;
                     final CollectionData nonOverDueInstallmentDelinquentData = calculateDelinquencyDataForNonOverdueInstallment(loan,
-                            installment);
+                            installment, chargebackTransactions, businessDate);
                     outstandingAmount = outstandingAmount.add(nonOverDueInstallmentDelinquentData.getDelinquentAmount());
                     delinquentPrincipal = delinquentPrincipal.add(nonOverDueInstallmentDelinquentData.getDelinquentPrincipal());
                     delinquentInterest = delinquentInterest.add(nonOverDueInstallmentDelinquentData.getDelinquentInterest());
@@ -112,10 +130,7 @@ public class LoanDelinquencyDomainServiceImpl implements LoanDelinquencyDomainSe
             }
         }
 
-        Integer graceDays = 0;
-        if (loan.getLoanProductRelatedDetail().getGraceOnArrearsAgeing() != null) {
-            graceDays = loan.getLoanProductRelatedDetail().getGraceOnArrearsAgeing();
-        }
+        final Integer graceDays = getGraceDays(loan);
         log.debug("Loan id {} with overdue since date {} and outstanding amount {}", loan.getId(), overdueSinceDate, outstandingAmount);
 
         long overdueDays = 0L;
@@ -149,27 +164,43 @@ public class LoanDelinquencyDomainServiceImpl implements LoanDelinquencyDomainSe
         final List<LoanTransaction> chargebackTransactions = loanTransactionReadService.fetchLoanTransactionsByType(loan.getId(), null,
                 LoanTransactionType.CHARGEBACK);
         final LocalDate businessDate = DateUtils.getBusinessLocalDate();
-        final CollectionData collectionData = CollectionData.template();
-        final Map<Long, CollectionData> loanInstallmentsCollectionData = new HashMap<>();
-        LocalDate overdueSinceDate = null;
-        BigDecimal outstandingAmount = BigDecimal.ZERO;
-        boolean oldestOverdueInstallment = false;
-        boolean overdueSinceDateWasSet = false;
-        boolean firstNotYetDueInstallment = false;
         log.debug("Loan id {} with {} installments", loan.getId(), loan.getRepaymentScheduleInstallments().size());
 
         // If the Loan is not Active yet, return template data
         // If the Loan is Rejected, Closed written-off, Withdrawn by Client, Closed with outstanding marked for
         // reschedule, Closed obligation met, Overpaid, return template data
         if (loan.isSubmittedAndPendingApproval() || loan.isApproved() || loan.isClosed() || loan.getStatus().isOverpaid()) {
-            return new LoanDelinquencyData(collectionData, loanInstallmentsCollectionData);
+            return new LoanDelinquencyData(CollectionData.template(), new HashMap<>());
+        }
+
+        final LoanInstallmentDelinquencySnapshot snapshot = LoanInstallmentDelinquencySnapshot.of(loan, chargebackTransactions,
+                businessDate);
+        if (snapshot == null) {
+            return calculateLoanDelinquencyData(loan, effectiveDelinquencyList, chargebackTransactions, businessDate);
         }
+        return snapshot.loanDelinquencyData(getGraceDays(loan), loan.isEnableInstallmentLevelDelinquency(),
+                getPausedDays(effectiveDelinquencyList, businessDate));
+    }
+
+    /**
+     * Entity based calculation of {@link #getLoanDelinquencyData(Loan, List)}, used when the schedule cannot be captured
+     * in a {@link LoanInstallmentDelinquencySnapshot}.
+     */
+    LoanDelinquencyData calculateLoanDelinquencyData(final Loan loan, final List<LoanDelinquencyActionData> effectiveDelinquencyList,
+            final List<LoanTransaction> chargebackTransactions, final LocalDate businessDate) {
+        final CollectionData collectionData = CollectionData.template();
+        final Map<Long, CollectionData> loanInstallmentsCollectionData = new HashMap<>();
+        LocalDate overdueSinceDate = null;
+        BigDecimal outstandingAmount = BigDecimal.ZERO;
+        boolean oldestOverdueInstallment = false;
+        boolean overdueSinceDateWasSet = false;
+        boolean firstNotYetDueInstallment = false;
 
         for (LoanRepaymentScheduleInstallment installment : loan.getRepaymentScheduleInstallments()) {
             CollectionData installmentCollectionData = CollectionData.template();
             if (!installment.isObligationsMet()) {
                 installmentCollectionData = getInstallmentOverdueCollectionData(loan, installment, effectiveDelinquencyList,
-                        chargebackTransactions);
+                        chargebackTransactions, businessDate);
                 outstandingAmount = outstandingAmount.add(installmentCollectionData.getDelinquentAmount());
                 // Get the oldest overdue installment if exists
                 if (DateUtils.isBefore(installment.getDueDate(), businessDate)) {
@@ -193,10 +224,7 @@ public class LoanDelinquencyDomainServiceImpl implements LoanDelinquencyDomainSe
 
         }
 
-        Integer graceDays = 0;
-        if (loan.getLoanProductRelatedDetail().getGraceOnArrearsAgeing() != null) {
-            graceDays = loan.getLoanProductRelatedDetail().getGraceOnArrearsAgeing();
-        }
+        final Integer graceDays = getGraceDays(loan);
         log.debug("Loan id {} with overdue since date {} and outstanding amount {}", loan.getId(), overdueSinceDate, outstandingAmount);
 
         long overdueDays = 0L;
@@ -218,6 +246,18 @@ public class LoanDelinquencyDomainServiceImpl implements LoanDelinquencyDomainSe
         return new LoanDelinquencyData(collectionData, loanInstallmentsCollectionData);
     }
 
+    private Integer getGraceDays(final Loan loan) {
+        Integer graceDays = 0;
+        if (loan.getLoanProductRelatedDetail().getGraceOnArrearsAgeing() != null) {
+            graceDays = loan.getLoanProductRelatedDetail().getGraceOnArrearsAgeing();
+        }
+        return graceDays;
+    }
+
+    private long getPausedDays(final List<LoanDelinquencyActionData> effectiveDelinquencyList, final LocalDate businessDate) {
+        return delinquencyEffectivePauseHelper.getPausedDaysBeforeDate(effectiveDelinquencyList, businessDate);
+    }
+
     private void calculateDelinquentDays(List<LoanDelinquencyActionData> effectiveDelinquencyList, LocalDate businessDate,
             CollectionData collectionData, Long delinquentDays) {
         Long pausedDays = delinquencyEffectivePauseHelper.getPausedDaysBeforeDate(effectiveDelinquencyList, businessDate);
@@ -226,8 +266,8 @@ public class LoanDelinquencyDomainServiceImpl implements LoanDelinquencyDomainSe
     }
 
     private CollectionData getInstallmentOverdueCollectionData(final Loan loan, final LoanRepaymentScheduleInstallment installment,
-            final List<LoanDelinquencyActionData> effectiveDelinquencyList, final List<LoanTransaction> chargebackTransactions) {
-        final LocalDate businessDate = DateUtils.getBusinessLocalDate();
+            final List<LoanDelinquencyActionData> effectiveDelinquencyList, final List<LoanTransaction> chargebackTransactions,
+            final LocalDate businessDate) {
         final CollectionData collectionData = CollectionData.template();
         LocalDate overdueSinceDate;
         BigDecimal outstandingAmount = BigDecimal.ZERO;
@@ -241,7 +281,8 @@ public class LoanDelinquencyDomainServiceImpl implements LoanDelinquencyDomainSe
         } else {
             // checking non overdue installment for chargeback transactions before installment due date and before
             // business date
-            final CollectionData nonOverDueInstallmentDelinquentData = calculateDelinquencyDataForNonOverdueInstallment(loan, installment);
+            final CollectionData nonOverDueInstallmentDelinquentData = calculateDelinquencyDataForNonOverdueInstallment(loan, installment,
+                    chargebackTransactions, businessDate);
             outstandingAmount = outstandingAmount.add(nonOverDueInstallmentDelinquentData.getDelinquentAmount());
             overdueSinceDate = nonOverDueInstallmentDelinquentData.getDelinquentDate();
         }
@@ -314,8 +355,8 @@ public class LoanDelinquencyDomainServiceImpl implements LoanDelinquencyDomainSe
     }
 
     private CollectionData calculateDelinquencyDataForNonOverdueInstallment(final Loan loan,
-            final LoanRepaymentScheduleInstallment installment) {
-        final LocalDate businessDate = DateUtils.getBusinessLocalDate();
+            final LoanRepaymentScheduleInstallment installment, final List<LoanTransaction> chargebackTransactions,
+            final LocalDate businessDate) {
         final MonetaryCurrency loanCurrency = loan.getCurrency();
 
         LocalDate overdueSinceDate = null;
@@ -326,8 +367,6 @@ public class LoanDelinquencyDomainServiceImpl implements LoanDelinquencyDomainSe
         BigDecimal delinquentFee = BigDecimal.ZERO;
         BigDecimal delinquentPenalty = BigDecimal.ZERO;
 
-        List<LoanTransaction> chargebackTransactions = loanTransactionReadService.fetchLoanTransactionsByType(loan.getId(), null,
-                LoanTransactionType.CHARGEBACK);
         BigDecimal amountAvailable = installment.getTotalPaid(loanCurrency).getAmount();
         for (LoanTransaction loanTransaction : chargebackTransactions) {
 
@@ -0,0 +1,361 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.delinquency.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.portfolio.loanaccount.data.CollectionData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanDelinquencyData;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+
+/**
+ * Columnar copy of the repayment schedule and the chargebacks of a loan, taken once per delinquency calculation.
+ * <p>
+ * Dates are held as epoch days and amounts as longs scaled to a common number of decimal places, so the overdue and
+ * installment level delinquency checks run as loops over primitive arrays instead of walking installment entities and
+ * allocating {@code Money} instances per comparison. The calculations mirror {@link LoanDelinquencyDomainServiceImpl}
+ * step by step; the returned amounts carry the same scale the {@code BigDecimal} arithmetic would have produced.
+ */
+final class LoanInstallmentDelinquencySnapshot {
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final int businessDate;
+    private final int scale;
+    private final int currencyScale;
+
+    private final int size;
+    private final Long[] installmentIds;
+    private final int[] fromDates;
+    private final int[] dueDates;
+    private final boolean[] obligationsMet;
+    private final boolean[] lastInstallment;
+    private final long[] principalOutstanding;
+    private final long[] interestOutstanding;
+    private final long[] feeOutstanding;
+    private final long[] penaltyOutstanding;
+    private final long[] totalOutstanding;
+    private final long[] totalPaid;
+
+    private final int[] chargebackDates;
+    private final long[] chargebackAmounts;
+    private final int[] chargebackScales;
+
+    // result of the last nonOverdueChargebackDate(..) call, kept as fields to avoid allocating a holder per installment
+    private long chargebackShortfall;
+    private int chargebackShortfallScale;
+
+    private LoanInstallmentDelinquencySnapshot(int businessDate, int scale, int currencyScale, int size, int chargebackCount) {
+        this.businessDate = businessDate;
+        this.scale = scale;
+        this.currencyScale = currencyScale;
+        this.size = size;
+        this.installmentIds = new Long[size];
+        this.fromDates = new int[size];
+        this.dueDates = new int[size];
+        this.obligationsMet = new boolean[size];
+        this.lastInstallment = new boolean[size];
+        this.principalOutstanding = new long[size];
+        this.interestOutstanding = new long[size];
+        this.feeOutstanding = new long[size];
+        this.penaltyOutstanding = new long[size];
+        this.totalOutstanding = new long[size];
+        this.totalPaid = new long[size];
+        this.chargebackDates = new int[chargebackCount];
+        this.chargebackAmounts = new long[chargebackCount];
+        this.chargebackScales = new int[chargebackCount];
+    }
+
+    /**
+     * @return the snapshot of the loan, or {@code null} when a date is missing or the amounts cannot be represented as
+     *         scaled longs; the caller falls back to the entity based calculation then
+     */
+    static LoanInstallmentDelinquencySnapshot of(final Loan loan, final List<LoanTransaction> chargebackTransactions,
+            final LocalDate businessDate) {
+        final MonetaryCurrency currency = loan.getCurrency();
+        final List<LoanRepaymentScheduleInstallment> installments = loan.getRepaymentScheduleInstallments();
+        final int currencyScale = currency.getDigitsAfterDecimal();
+        int scale = currencyScale;
+        for (LoanTransaction chargeback : chargebackTransactions) {
+            if (chargeback.getTransactionDate() == null || chargeback.getAmount() == null) {
+                return null;
+            }
+            scale = Math.max(scale, chargeback.getAmount().scale());
+        }
+
+        final LoanInstallmentDelinquencySnapshot snapshot = new LoanInstallmentDelinquencySnapshot((int) businessDate.toEpochDay(), scale,
+                currencyScale, installments.size(), chargebackTransactions.size());
+        try {
+            // every sum taken later is bounded by the sum of the absolute values, so checking it here rules out overflows
+            long magnitude = 0L;
+            for (int i = 0; i < chargebackTransactions.size(); i++) {
+                final LoanTransaction chargeback = chargebackTransactions.get(i);
+                snapshot.chargebackDates[i] = (int) chargeback.getTransactionDate().toEpochDay();
+                snapshot.chargebackAmounts[i] = scaled(chargeback.getAmount(), scale);
+                snapshot.chargebackScales[i] = chargeback.getAmount().scale();
+                magnitude = Math.addExact(magnitude, Math.abs(snapshot.chargebackAmounts[i]));
+            }
+            boolean anyOverdue = false;
+            for (int i = 0; i < snapshot.size; i++) {
+                final LoanRepaymentScheduleInstallment installment = installments.get(i);
+                if (installment.getFromDate() == null || installment.getDueDate() == null) {
+                    return null;
+                }
+                snapshot.installmentIds[i] = installment.getId();
+                snapshot.fromDates[i] = (int) installment.getFromDate().toEpochDay();
+                snapshot.dueDates[i] = (int) installment.getDueDate().toEpochDay();
+                snapshot.obligationsMet[i] = installment.isObligationsMet();
+                if (snapshot.obligationsMet[i]) {
+                    // amounts of settled installments never take part in the calculation
+                    continue;
+                }
+                anyOverdue |= snapshot.dueDates[i] < snapshot.businessDate;
+                snapshot.principalOutstanding[i] = scaled(installment.getPrincipalOutstanding(currency).getAmount(), scale);
+                snapshot.interestOutstanding[i] = scaled(installment.getInterestOutstanding(currency).getAmount(), scale);
+                snapshot.feeOutstanding[i] = scaled(installment.getFeeChargesOutstanding(currency).getAmount(), scale);
+                snapshot.penaltyOutstanding[i] = scaled(installment.getPenaltyChargesOutstanding(currency).getAmount(), scale);
+                snapshot.totalOutstanding[i] = scaled(installment.getTotalOutstanding(currency).getAmount(), scale);
+                snapshot.totalPaid[i] = scaled(installment.getTotalPaid(currency).getAmount(), scale);
+                magnitude = Math.addExact(magnitude, Math.abs(snapshot.principalOutstanding[i]));
+                magnitude = Math.addExact(magnitude, Math.abs(snapshot.interestOutstanding[i]));
+                magnitude = Math.addExact(magnitude, Math.abs(snapshot.feeOutstanding[i]));
+                magnitude = Math.addExact(magnitude, Math.abs(snapshot.penaltyOutstanding[i]));
+                magnitude = Math.addExact(magnitude, Math.abs(snapshot.totalOutstanding[i]));
+                magnitude = Math.addExact(magnitude, Math.abs(snapshot.totalPaid[i]));
+            }
+            if (anyOverdue) {
+                // only the chargeback check of overdue installments treats the last installment differently
+                final LoanRepaymentScheduleInstallment latestInstallment = loan.getLastLoanRepaymentScheduleInstallment();
+                if (latestInstallment == null) {
+                    return null;
+                }
+                for (int i = 0; i < snapshot.size; i++) {
+                    snapshot.lastInstallment[i] = Objects.equals(snapshot.installmentIds[i], latestInstallment.getId());
+                }
+            }
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    CollectionData overdueCollectionData(final int graceDays, final long pausedDays) {
+        final CollectionData collectionData = CollectionData.template();
+        final ScaledSum outstandingAmount = new ScaledSum();
+        final ScaledSum delinquentPrincipal = new ScaledSum();
+        final ScaledSum delinquentInterest = new ScaledSum();
+        final ScaledSum delinquentFee = new ScaledSum();
+        final ScaledSum delinquentPenalty = new ScaledSum();
+        int overdueSinceDate = NO_DATE;
+        boolean overdueSinceDateWasSet = false;
+        boolean oldestOverdueInstallment = false;
+        boolean firstNotYetDueInstallment = false;
+
+        for (int i = 0; i < size; i++) {
+            if (obligationsMet[i]) {
+                continue;
+            }
+            if (dueDates[i] < businessDate) {
+                outstandingAmount.add(totalOutstanding[i], currencyScale);
+                delinquentPrincipal.add(principalOutstanding[i], currencyScale);
+                delinquentInterest.add(interestOutstanding[i], currencyScale);
+                delinquentFee.add(feeOutstanding[i], currencyScale);
+                delinquentPenalty.add(penaltyOutstanding[i], currencyScale);
+                if (!oldestOverdueInstallment) {
+                    overdueSinceDate = overdueChargebackDate(i);
+                    oldestOverdueInstallment = true;
+                    overdueSinceDateWasSet = true;
+                }
+            } else if (!firstNotYetDueInstallment) {
+                firstNotYetDueInstallment = true;
+                final int chargebackDate = nonOverdueChargebackDate(i);
+                if (chargebackShortfall > 0) {
+                    outstandingAmount.add(chargebackShortfall, chargebackShortfallScale);
+                }
+                if (!overdueSinceDateWasSet) {
+                    overdueSinceDate = chargebackDate;
+                    overdueSinceDateWasSet = true;
+                }
+            }
+        }
+
+        final long overdueDays = applyOverdueSinceDate(collectionData, overdueSinceDate, graceDays);
+        collectionData.setDelinquentAmount(outstandingAmount.toBigDecimal(scale));
+        collectionData.setDelinquentPrincipal(delinquentPrincipal.toBigDecimal(scale));
+        collectionData.setDelinquentInterest(delinquentInterest.toBigDecimal(scale));
+        collectionData.setDelinquentFee(delinquentFee.toBigDecimal(scale));
+        collectionData.setDelinquentPenalty(delinquentPenalty.toBigDecimal(scale));
+        applyDelinquentDays(collectionData, overdueDays - graceDays, pausedDays);
+        return collectionData;
+    }
+
+    LoanDelinquencyData loanDelinquencyData(final int graceDays, final boolean installmentLevelDelinquency, final long pausedDays) {
+        final CollectionData collectionData = CollectionData.template();
+        final Map<Long, CollectionData> loanInstallmentsCollectionData = new HashMap<>();
+        final ScaledSum outstandingAmount = new ScaledSum();
+        int overdueSinceDate = NO_DATE;
+        boolean overdueSinceDateWasSet = false;
+        boolean oldestOverdueInstallment = false;
+        boolean firstNotYetDueInstallment = false;
+
+        for (int i = 0; i < size; i++) {
+            final CollectionData installmentCollectionData = CollectionData.template();
+            if (!obligationsMet[i]) {
+                final int installmentOverdueSinceDate;
+                final BigDecimal installmentAmount;
+                if (dueDates[i] < businessDate) {
+                    installmentOverdueSinceDate = overdueChargebackDate(i);
+                    outstandingAmount.add(totalOutstanding[i], currencyScale);
+                    installmentAmount = toBigDecimal(totalOutstanding[i], currencyScale);
+                    if (!oldestOverdueInstallment) {
+                        overdueSinceDate = installmentOverdueSinceDate;
+                        oldestOverdueInstallment = true;
+                        overdueSinceDateWasSet = true;
+                    }
+                } else {
+                    installmentOverdueSinceDate = nonOverdueChargebackDate(i);
+                    if (chargebackShortfall > 0) {
+                        outstandingAmount.add(chargebackShortfall, chargebackShortfallScale);
+                        installmentAmount = toBigDecimal(chargebackShortfall, chargebackShortfallScale);
+                    } else {
+                        installmentAmount = BigDecimal.ZERO;
+                    }
+                    if (!firstNotYetDueInstallment) {
+                        firstNotYetDueInstallment = true;
+                        if (!overdueSinceDateWasSet) {
+                            overdueSinceDate = installmentOverdueSinceDate;
+                            overdueSinceDateWasSet = true;
+                        }
+                    }
+                }
+                // Grace days are not considered for installment level delinquency calculation currently.
+                final long installmentOverdueDays = applyOverdueSinceDate(installmentCollectionData, installmentOverdueSinceDate, 0);
+                installmentCollectionData.setDelinquentAmount(installmentAmount);
+                applyDelinquentDays(installmentCollectionData, installmentOverdueDays, pausedDays);
+            }
+            if (installmentLevelDelinquency) {
+                loanInstallmentsCollectionData.put(installmentIds[i], installmentCollectionData);
+            }
+        }
+
+        final long overdueDays = applyOverdueSinceDate(collectionData, overdueSinceDate, graceDays);
+        collectionData.setDelinquentAmount(outstandingAmount.toBigDecimal(scale));
+        applyDelinquentDays(collectionData, overdueDays - graceDays, pausedDays);
+        return new LoanDelinquencyData(collectionData, loanInstallmentsCollectionData);
+    }
+
+    /**
+     * Date since the overdue installment is delinquent: its due date, or the chargeback which consumed the amount paid
+     * on it.
+     */
+    private int overdueChargebackDate(final int i) {
+        final int fromDate = fromDates[i];
+        final int dueDate = dueDates[i];
+        // the chargeback on the due date still belongs to the last installment
+        final int dueDateLimit = lastInstallment[i] ? dueDate : dueDate - 1;
+        long amountAvailable = totalPaid[i];
+        for (int k = 0; k < chargebackDates.length; k++) {
+            final int transactionDate = chargebackDates[k];
+            if (transactionDate >= fromDate && transactionDate <= dueDateLimit) {
+                amountAvailable -= chargebackAmounts[k];
+                if (amountAvailable < 0) {
+                    return transactionDate;
+                }
+            }
+        }
+        return dueDate;
+    }
+
+    /**
+     * Date since the not yet due installment is delinquent because of chargebacks exceeding the amount paid on it, or
+     * {@link #NO_DATE}. The uncovered chargeback amount is left in {@link #chargebackShortfall}.
+     */
+    private int nonOverdueChargebackDate(final int i) {
+        final int fromDate = fromDates[i];
+        final int transactionDateLimit = Math.min(dueDates[i], businessDate);
+        int overdueSinceDate = NO_DATE;
+        long amountAvailable = totalPaid[i];
+        int amountScale = currencyScale;
+        for (int k = 0; k < chargebackDates.length; k++) {
+            final int transactionDate = chargebackDates[k];
+            if (transactionDate >= fromDate && transactionDate < transactionDateLimit) {
+                amountAvailable -= chargebackAmounts[k];
+                amountScale = Math.max(amountScale, chargebackScales[k]);
+                if (amountAvailable < 0) {
+                    overdueSinceDate = transactionDate;
+                }
+            }
+        }
+        chargebackShortfall = amountAvailable < 0 ? -amountAvailable : 0L;
+        chargebackShortfallScale = amountScale;
+        return overdueSinceDate;
+    }
+
+    private long applyOverdueSinceDate(final CollectionData collectionData, final int overdueSinceDate, final int graceDays) {
+        if (overdueSinceDate == NO_DATE) {
+            return 0L;
+        }
+        final long overdueDays = Math.max((long) businessDate - overdueSinceDate, 0L);
+        collectionData.setPastDueDays(overdueDays);
+        collectionData.setDelinquentDate(LocalDate.ofEpochDay((long) overdueSinceDate + graceDays));
+        return overdueDays;
+    }
+
+    private static void applyDelinquentDays(final CollectionData collectionData, final long delinquentDays, final long pausedDays) {
+        collectionData.setDelinquentDays(0L);
+        if (delinquentDays > 0) {
+            final long calculatedDelinquentDays = delinquentDays - pausedDays;
+            collectionData.setDelinquentDays(calculatedDelinquentDays > 0 ? calculatedDelinquentDays : 0L);
+        }
+    }
+
+    private BigDecimal toBigDecimal(final long value, final int resultScale) {
+        return BigDecimal.valueOf(value, scale).setScale(resultScale);
+    }
+
+    private static long scaled(final BigDecimal amount, final int scale) {
+        return amount.movePointRight(scale).longValueExact();
+    }
+
+    /**
+     * Sum of scaled amounts that remembers the largest scale added, which is the scale {@code BigDecimal.ZERO.add(..)}
+     * chains end up with.
+     */
+    private static final class ScaledSum {
+
+        private long value;
+        private int resultScale;
+
+        void add(final long amount, final int amountScale) {
+            value += amount;
+            resultScale = Math.max(resultScale, amountScale);
+        }
+
+        BigDecimal toBigDecimal(final int scale) {
+            return BigDecimal.valueOf(value, scale).setScale(resultScale);
+        }
+    }
+}
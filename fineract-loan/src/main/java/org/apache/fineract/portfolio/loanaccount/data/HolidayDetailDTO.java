@@ -21,6 +21,7 @@ package org.apache.fineract.portfolio.loanaccount.data;
 import java.util.List;
 import org.apache.fineract.organisation.holiday.domain.Holiday;
 import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.organisation.workingdays.service.WorkingDayCalendar;
 
 public class HolidayDetailDTO {
 
@@ -29,6 +30,7 @@ public class HolidayDetailDTO {
     final WorkingDays workingDays;
     final boolean allowTransactionsOnHoliday;
     final boolean allowTransactionsOnNonWorkingDay;
+    private WorkingDayCalendar calendar;
 
     public HolidayDetailDTO(final boolean isHolidayEnabled, final List<Holiday> holidays, final WorkingDays workingDays) {
         this.isHolidayEnabled = isHolidayEnabled;
@@ -66,4 +68,15 @@ public class HolidayDetailDTO {
     public boolean isAllowTransactionsOnNonWorkingDay() {
         return this.allowTransactionsOnNonWorkingDay;
     }
+
+    /**
+     * @return the working days and holidays of this DTO indexed by day, built on first use and shared by all the date
+     *         adjustments done with this DTO
+     */
+    public WorkingDayCalendar getCalendar() {
+        if (this.calendar == null) {
+            this.calendar = WorkingDayCalendar.of(this.workingDays, this.holidays);
+        }
+        return this.calendar;
+    }
 }
@@ -28,6 +28,7 @@ import org.apache.fineract.cob.data.LoanIdAndExternalIdAndAccountNo;
 import org.apache.fineract.cob.data.LoanIdAndLastClosedBusinessDate;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.portfolio.accountdetails.domain.AccountType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -99,13 +100,17 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
     String FIND_ALL_LOANS_BY_LAST_CLOSED_BUSINESS_DATE_AND_MIN_AND_MAX_LOAN_ID_AND_STATUSES = "select loan.id from Loan loan where loan.id BETWEEN :minLoanId and :maxLoanId and loan.loanStatus in :loanStatuses and (:cobBusinessDate = loan.lastClosedBusinessDate or loan.lastClosedBusinessDate is NULL)";
 
     String FIND_ALL_LOANS_BY_LAST_CLOSED_BUSINESS_DATE_NOT_NULL_AND_MIN_AND_MAX_LOAN_ID_AND_STATUSES = "select loan.id from Loan loan where loan.id BETWEEN :minLoanId and :maxLoanId and loan.loanStatus in :loanStatuses and :cobBusinessDate = loan.lastClosedBusinessDate";
+    String FIND_ALL_LOANS_BEHIND_BY_MIN_AND_MAX_LOAN_ID_AND_STATUSES = "select loan.id from Loan loan where loan.id BETWEEN :minLoanId and :maxLoanId and loan.loanStatus in :loanStatuses and loan.lastClosedBusinessDate < :cobBusinessDate";
+
+    String COUNT_LOANS_BEHIND_BY_STATUSES = "select count(loan.id) from Loan loan where loan.loanStatus in :loanStatuses and loan.lastClosedBusinessDate < :cobBusinessDate";
+
     String FIND_ALL_LOANS_BEHIND_BY_LOAN_IDS_AND_STATUSES = "select loan.id, loan.lastClosedBusinessDate from Loan loan where loan.id IN :loanIds and loan.loanStatus in :loanStatuses and loan.lastClosedBusinessDate < :cobBusinessDate";
 
     String FIND_ALL_STAYED_LOCKED_BY_COB_BUSINESS_DATE = "select loan.id, loan.externalId, loan.accountNumber from LoanAccountLock lock left join Loan loan on lock.loanId = loan.id where lock.lockPlacedOnCobBusinessDate = :cobBusinessDate";
 
     String FIND_ALL_LOAN_IDS_BY_STATUS = "SELECT loan.id FROM Loan loan WHERE loan.loanStatus = :loanStatus";
 
-    String LOANS_FOR_ACCRUAL = "select l from Loan l left join l.loanInterestRecalculationDetails recalcDetails "
+    String LOANS_FOR_ACCRUAL_CONDITION = "from Loan l left join l.loanInterestRecalculationDetails recalcDetails "
             + "where l.loanStatus = :loanStatus and l.isNpa = false and l.chargedOff = false "
             + "and l.loanProduct.accountingRule = :accountingType "
             + "and (recalcDetails.isCompoundingToBePostedAsTransaction is null or recalcDetails.isCompoundingToBePostedAsTransaction = false) "
@@ -113,9 +118,15 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
             + "and ((coalesce(ls.interestCharged, 0) - coalesce(ls.interestWaived, 0)) <> coalesce(ls.interestAccrued, 0) "
             + "or (coalesce(ls.feeChargesCharged, 0) - coalesce(ls.feeChargesWaived, 0)) <> coalesce(ls.feeAccrued, 0) "
             + "or (coalesce(ls.penaltyCharges, 0) - coalesce(ls.penaltyChargesWaived, 0)) <> coalesce(ls.penaltyAccrued, 0)) ";
-    String FIND_LOANS_FOR_PERIODIC_ACCRUAL = LOANS_FOR_ACCRUAL
-            + "and (:futureCharges = true or ls.fromDate < :tillDate or (ls.installmentNumber = (select min(lsi.installmentNumber) from LoanRepaymentScheduleInstallment lsi where lsi.loan.id = l.id and lsi.isDownPayment = false) and ls.fromDate = :tillDate))))";
-    String FIND_LOANS_FOR_ADD_ACCRUAL = LOANS_FOR_ACCRUAL + "and (:futureCharges = true or ls.dueDate <= :tillDate)))";
+    String LOANS_FOR_ACCRUAL = "select l " + LOANS_FOR_ACCRUAL_CONDITION;
+    String PERIODIC_ACCRUAL_INSTALLMENT_CONDITION = "and (:futureCharges = true or ls.fromDate < :tillDate or (ls.installmentNumber = (select min(lsi.installmentNumber) from LoanRepaymentScheduleInstallment lsi where lsi.loan.id = l.id and lsi.isDownPayment = false) and ls.fromDate = :tillDate))))";
+    String ADD_ACCRUAL_INSTALLMENT_CONDITION = "and (:futureCharges = true or ls.dueDate <= :tillDate)))";
+    String FIND_LOANS_FOR_PERIODIC_ACCRUAL = LOANS_FOR_ACCRUAL + PERIODIC_ACCRUAL_INSTALLMENT_CONDITION;
+    String FIND_LOANS_FOR_ADD_ACCRUAL = LOANS_FOR_ACCRUAL + ADD_ACCRUAL_INSTALLMENT_CONDITION;
+    String FIND_LOAN_IDS_FOR_PERIODIC_ACCRUAL_AFTER_ID = "select l.id " + LOANS_FOR_ACCRUAL_CONDITION + PERIODIC_ACCRUAL_INSTALLMENT_CONDITION
+            + " and l.id > :lastLoanId order by l.id";
+    String FIND_LOAN_IDS_FOR_ADD_ACCRUAL_AFTER_ID = "select l.id " + LOANS_FOR_ACCRUAL_CONDITION + ADD_ACCRUAL_INSTALLMENT_CONDITION
+            + " and l.id > :lastLoanId order by l.id";
 
     String FIND_LOAN_BY_EXTERNAL_ID = "SELECT loan FROM Loan loan WHERE loan.externalId = :externalId";
 
@@ -247,6 +258,14 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
             @Param("maxLoanId") Long maxLoanId, @Param("cobBusinessDate") LocalDate cobBusinessDate,
             @Param("loanStatuses") Collection<LoanStatus> loanStatuses);
 
+    @Query(FIND_ALL_LOANS_BEHIND_BY_MIN_AND_MAX_LOAN_ID_AND_STATUSES)
+    List<Long> findAllLoansBehindByMinAndMaxLoanIdAndStatuses(@Param("minLoanId") Long minLoanId, @Param("maxLoanId") Long maxLoanId,
+            @Param("cobBusinessDate") LocalDate cobBusinessDate, @Param("loanStatuses") Collection<LoanStatus> loanStatuses);
+
+    @Query(COUNT_LOANS_BEHIND_BY_STATUSES)
+    long countLoansBehindByStatuses(@Param("cobBusinessDate") LocalDate cobBusinessDate,
+            @Param("loanStatuses") Collection<LoanStatus> loanStatuses);
+
     @Query(FIND_OLDEST_COB_PROCESSED_LOAN)
     List<LoanIdAndLastClosedBusinessDate> findOldestCOBProcessedLoan(@Param("cobBusinessDate") LocalDate cobBusinessDate,
             @Param("loanStatuses") Collection<LoanStatus> loanStatuses);
@@ -266,6 +285,16 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
     List<Loan> findLoansForAddAccrual(@Param("accountingType") AccountingRuleType accountingType, @Param("tillDate") LocalDate tillDate,
             @Param("futureCharges") boolean futureCharges, @Param("loanStatus") LoanStatus loanStatus);
 
+    @Query(FIND_LOAN_IDS_FOR_PERIODIC_ACCRUAL_AFTER_ID)
+    List<Long> findLoanIdsForPeriodicAccrualAfterId(@Param("accountingType") AccountingRuleType accountingType,
+            @Param("tillDate") LocalDate tillDate, @Param("futureCharges") boolean futureCharges, @Param("loanStatus") LoanStatus loanStatus,
+            @Param("lastLoanId") Long lastLoanId, Pageable pageable);
+
+    @Query(FIND_LOAN_IDS_FOR_ADD_ACCRUAL_AFTER_ID)
+    List<Long> findLoanIdsForAddAccrualAfterId(@Param("accountingType") AccountingRuleType accountingType,
+            @Param("tillDate") LocalDate tillDate, @Param("futureCharges") boolean futureCharges, @Param("loanStatus") LoanStatus loanStatus,
+            @Param("lastLoanId") Long lastLoanId, Pageable pageable);
+
     @Query(FIND_LOAN_BY_EXTERNAL_ID)
     Optional<Loan> findByExternalId(@Param("externalId") ExternalId externalId);
 }
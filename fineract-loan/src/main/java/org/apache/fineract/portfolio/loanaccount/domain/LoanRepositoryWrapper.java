@@ -30,6 +30,7 @@ import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.portfolio.accountdetails.domain.AccountType;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -302,6 +303,18 @@ public class LoanRepositoryWrapper {
         return repository.findLoansForAddAccrual(accountingType, tillDate, futureCharges, LoanStatus.ACTIVE);
     }
 
+    public List<Long> findLoanIdsForPeriodicAccrual(AccountingRuleType accountingType, LocalDate tillDate, boolean futureCharges,
+            Long lastLoanId, int limit) {
+        return repository.findLoanIdsForPeriodicAccrualAfterId(accountingType, tillDate, futureCharges, LoanStatus.ACTIVE, lastLoanId,
+                PageRequest.of(0, limit));
+    }
+
+    public List<Long> findLoanIdsForAddAccrual(AccountingRuleType accountingType, LocalDate tillDate, boolean futureCharges,
+            Long lastLoanId, int limit) {
+        return repository.findLoanIdsForAddAccrualAfterId(accountingType, tillDate, futureCharges, LoanStatus.ACTIVE, lastLoanId,
+                PageRequest.of(0, limit));
+    }
+
     public List<Long> findIdByExternalIds(List<ExternalId> externalIds) {
         return repository.findIdsByExternalIds(externalIds);
     }
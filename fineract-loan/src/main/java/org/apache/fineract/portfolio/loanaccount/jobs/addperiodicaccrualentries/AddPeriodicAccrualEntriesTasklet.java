@@ -47,6 +47,6 @@ public class AddPeriodicAccrualEntriesTasklet implements Tasklet {
     }
 
     private void addPeriodicAccruals(final LocalDate tilldate) throws MultiException {
-        loanAccrualsProcessingService.addPeriodicAccruals(tilldate);
+        loanAccrualsProcessingService.addPeriodicAccrualsInChunks(tilldate);
     }
 }
@@ -30,6 +30,8 @@ public interface LoanAccrualsProcessingService {
 
     void addPeriodicAccruals(@NotNull LocalDate tillDate) throws MultiException;
 
+    void addPeriodicAccrualsInChunks(@NotNull LocalDate tillDate) throws MultiException;
+
     void addPeriodicAccruals(@NotNull LocalDate tillDate, @NotNull Loan loan) throws MultiException;
 
     void addAccruals(@NotNull LocalDate tillDate) throws MultiException;
@@ -96,6 +96,13 @@ public interface LoanReadPlatformService {
      */
     Collection<OverdueLoanScheduleData> retrieveAllLoansWithOverdueInstallments(Long penaltyWaitPeriod, Boolean backdatePenalties);
 
+    /**
+     * @return the overdue installments of at most {@code maxLoans} loans with an id greater than {@code afterLoanId},
+     *         ordered by loan id and installment number
+     */
+    List<OverdueLoanScheduleData> retrieveLoansWithOverdueInstallments(Long penaltyWaitPeriod, Boolean backdatePenalties, Long afterLoanId,
+            int maxLoans);
+
     Collection<OverdueLoanScheduleData> retrieveAllOverdueInstallmentsForLoan(Loan loan);
 
     Integer retriveLoanCounter(Long groupId, Integer loanType, Long productId);
@@ -112,9 +119,14 @@ public interface LoanReadPlatformService {
 
     LoanTransactionData retrieveLoanChargeOffTemplate(Long loanId);
 
-    Collection<Long> fetchLoansForInterestRecalculation();
-
-    List<Long> fetchLoansForInterestRecalculation(Integer pageSize, Long maxLoanIdInList, String officeHierarchy);
+    /**
+     * @return at most {@code pageSize} ids of loans due for interest recalculation greater than {@code afterLoanId}, in
+     *         ascending order; restricted to the clients of the offices matching {@code officeHierarchy} unless it is
+     *         {@code null}. Reversed tranches are excluded in the join with the disbursement details, so loans without a
+     *         pending tranche are selected as well; the former unpaged query filtered them in the WHERE clause and only
+     *         returned loans with a pending non reversed tranche.
+     */
+    List<Long> fetchLoansForInterestRecalculation(Integer pageSize, Long afterLoanId, String officeHierarchy);
 
     LoanTransactionData retrieveLoanPrePaymentTemplate(LoanTransactionType repaymentTransactionType, Long loanId, LocalDate onDate);
 
@@ -18,20 +18,24 @@
  */
 package org.apache.fineract.portfolio.loanaccount.service;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
-import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 
+/**
+ * Recalculates the interest of the given loans one by one, every loan in its own transaction (retried on optimistic
+ * locking failures by the {@code recalculateInterest} retry instance). A failing loan does not stop the others, it is
+ * reported in the {@link Result}.
+ */
 @RequiredArgsConstructor
 @Slf4j
-public class RecalculateInterestPoster implements Callable<Void> {
+public class RecalculateInterestPoster implements Callable<RecalculateInterestPoster.Result> {
 
     @Setter
     private Collection<Long> loanIds;
@@ -40,27 +44,35 @@ public class RecalculateInterestPoster implements Callable<Void> {
     private final LoanWritePlatformService loanWritePlatformService;
 
     @Override
-    public Void call() throws JobExecutionException {
+    public Result call() {
+        final Map<Long, Exception> failures = new LinkedHashMap<>();
         if (loanIds.isEmpty()) {
-            return null;
+            return new Result(0, failures);
         }
+        int recalculated = 0;
         try {
             ThreadLocalContextUtil.init(fineractContext);
-            final List<Throwable> errors = new ArrayList<>();
             for (Long loanId : loanIds) {
                 log.debug("Loan ID {}", loanId);
                 try {
                     loanWritePlatformService.recalculateInterest(loanId);
+                    recalculated++;
                 } catch (Exception e) {
-                    errors.add(e);
+                    failures.put(loanId, e);
                 }
             }
-            if (!errors.isEmpty()) {
-                throw new JobExecutionException(errors);
-            }
         } finally {
             ThreadLocalContextUtil.reset();
         }
-        return null;
+        return new Result(recalculated, failures);
+    }
+
+    /**
+     * @param recalculated
+     *            number of loans recalculated
+     * @param failures
+     *            the loans that could not be recalculated, with the error of the last attempt
+     */
+    public record Result(int recalculated, Map<Long, Exception> failures) {
     }
 }
@@ -0,0 +1,207 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl;
+
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.service.ExternalIdFactory;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanPaymentAllocationRule;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionRepository;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultScheduledDateGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanApplicationTerms;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanBenchmarkContext;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModelRepaymentPeriod;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleProcessingType;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleType;
+import org.apache.fineract.portfolio.loanaccount.serialization.LoanChargeValidator;
+import org.apache.fineract.portfolio.loanaccount.service.InterestRefundService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanBalanceService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanChargeService;
+import org.apache.fineract.portfolio.loanaccount.service.schedule.LoanScheduleComponent;
+import org.apache.fineract.portfolio.loanproduct.calc.ProgressiveEMICalculator;
+import org.apache.fineract.portfolio.loanproduct.calc.data.ProgressiveLoanInterestScheduleModel;
+import org.apache.fineract.portfolio.loanproduct.calc.data.RepaymentPeriod;
+import org.apache.fineract.portfolio.loanproduct.domain.FutureInstallmentAllocationRule;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.apache.fineract.portfolio.loanproduct.domain.PaymentAllocationTransactionType;
+import org.apache.fineract.portfolio.loanproduct.domain.PaymentAllocationType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Reverse-replay of a progressive loan by {@link AdvancedPaymentScheduleTransactionProcessor}: the interest schedule
+ * model is rebuilt from the installments and the disbursement and repayments are processed again, as done on every
+ * backdated transaction and by the COB. The repositories and services are not used on this path and are mocked, the
+ * loan is kept in memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AdvancedPaymentScheduleTransactionProcessorBenchmark {
+
+    @Param({ "12", "60", "360" })
+    private int numberOfRepayments;
+
+    /**
+     * Number of installments repaid on their due date, capped by the number of repayments.
+     */
+    @Param({ "1", "12", "60" })
+    private int repaymentTransactions;
+
+    private AdvancedPaymentScheduleTransactionProcessor processor;
+    private BenchmarkLoan loan;
+    private List<LoanTransaction> transactions;
+    private Set<LoanCharge> charges;
+    private LocalDate targetDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        targetDate = LoanBenchmarkContext.DISBURSEMENT_DATE.plusMonths(numberOfRepayments);
+        LoanBenchmarkContext.init(targetDate);
+        ProgressiveEMICalculator emiCalculator = new ProgressiveEMICalculator();
+        processor = new AdvancedPaymentScheduleTransactionProcessor(emiCalculator, mock(LoanRepositoryWrapper.class),
+                mock(InterestRefundService.class), mock(ExternalIdFactory.class), mock(LoanScheduleComponent.class),
+                mock(LoanTransactionRepository.class), mock(LoanChargeValidator.class), mock(LoanBalanceService.class),
+                mock(LoanChargeService.class));
+
+        LoanApplicationTerms loanApplicationTerms = LoanApplicationTerms.assembleFrom(
+                LoanBenchmarkContext.modelData(numberOfRepayments, "MONTHS", BigDecimal.ZERO), LoanBenchmarkContext.MC);
+        LoanProductRelatedDetail loanProductRelatedDetail = loanApplicationTerms.toLoanProductRelatedDetail();
+        loanProductRelatedDetail.setLoanScheduleType(LoanScheduleType.PROGRESSIVE);
+        loanProductRelatedDetail.setLoanScheduleProcessingType(LoanScheduleProcessingType.HORIZONTAL);
+        loan = new BenchmarkLoan(loanProductRelatedDetail);
+
+        List<LoanScheduleModelRepaymentPeriod> expectedRepaymentPeriods = new DefaultScheduledDateGenerator()
+                .generateRepaymentPeriods(LoanBenchmarkContext.MC, LoanBenchmarkContext.DISBURSEMENT_DATE, loanApplicationTerms, null);
+        ProgressiveLoanInterestScheduleModel scheduleModel = emiCalculator.generatePeriodInterestScheduleModel(expectedRepaymentPeriods,
+                loanApplicationTerms.toLoanProductRelatedDetailMinimumData(), List.of(), null, LoanBenchmarkContext.MC);
+        Money principal = Money.of(loanProductRelatedDetail.getCurrency(), LoanBenchmarkContext.PRINCIPAL, LoanBenchmarkContext.MC);
+        emiCalculator.addDisbursement(scheduleModel, LoanBenchmarkContext.DISBURSEMENT_DATE, principal);
+
+        transactions = new ArrayList<>();
+        LoanTransaction disbursement = LoanTransaction.disbursement(loan, principal, null, LoanBenchmarkContext.DISBURSEMENT_DATE,
+                ExternalId.empty(), principal.zero());
+        disbursement.updateLoan(loan);
+        transactions.add(disbursement);
+
+        List<RepaymentPeriod> repaymentPeriods = scheduleModel.repaymentPeriods();
+        for (int i = 0; i < repaymentPeriods.size(); i++) {
+            RepaymentPeriod repaymentPeriod = repaymentPeriods.get(i);
+            loan.installments.add(new LoanRepaymentScheduleInstallment(loan, i + 1, repaymentPeriod.getFromDate(),
+                    repaymentPeriod.getDueDate(), repaymentPeriod.getDuePrincipal().getAmount(),
+                    repaymentPeriod.getDueInterest().getAmount(), BigDecimal.ZERO, BigDecimal.ZERO, false, new HashSet<>(),
+                    BigDecimal.ZERO));
+            if (i < repaymentTransactions) {
+                LoanTransaction repayment = LoanTransaction.repayment(null,
+                        repaymentPeriod.getDuePrincipal().plus(repaymentPeriod.getDueInterest()), null, repaymentPeriod.getDueDate(),
+                        ExternalId.empty());
+                repayment.updateLoan(loan);
+                transactions.add(repayment);
+            }
+        }
+        charges = new HashSet<>();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LoanBenchmarkContext.reset();
+    }
+
+    @Benchmark
+    public Pair<ChangedTransactionDetail, ProgressiveLoanInterestScheduleModel> reprocessTransactions() {
+        return processor.reprocessProgressiveLoanTransactions(LoanBenchmarkContext.DISBURSEMENT_DATE, targetDate, transactions,
+                loan.getCurrency(), loan.installments, charges);
+    }
+
+    /**
+     * Disbursed progressive loan without persistence context, paid with the default payment allocation rule.
+     */
+    private static final class BenchmarkLoan extends Loan {
+
+        private final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>();
+        private final LoanProductRelatedDetail loanProductRelatedDetail;
+        private final List<LoanPaymentAllocationRule> paymentAllocationRules;
+
+        private BenchmarkLoan(LoanProductRelatedDetail loanProductRelatedDetail) {
+            this.loanProductRelatedDetail = loanProductRelatedDetail;
+            this.paymentAllocationRules = List.of(new LoanPaymentAllocationRule(this, PaymentAllocationTransactionType.DEFAULT,
+                    List.of(PaymentAllocationType.values()), FutureInstallmentAllocationRule.NEXT_INSTALLMENT));
+        }
+
+        @Override
+        public List<LoanRepaymentScheduleInstallment> getRepaymentScheduleInstallments() {
+            return installments;
+        }
+
+        @Override
+        public LoanProductRelatedDetail getLoanProductRelatedDetail() {
+            return loanProductRelatedDetail;
+        }
+
+        @Override
+        public LoanProductRelatedDetail getLoanRepaymentScheduleDetail() {
+            return loanProductRelatedDetail;
+        }
+
+        @Override
+        public List<LoanPaymentAllocationRule> getPaymentAllocationRules() {
+            return paymentAllocationRules;
+        }
+
+        @Override
+        public MonetaryCurrency getCurrency() {
+            return loanProductRelatedDetail.getCurrency();
+        }
+
+        @Override
+        public boolean isInterestRecalculationEnabled() {
+            return false;
+        }
+
+        @Override
+        public LocalDate getDisbursementDate() {
+            return LoanBenchmarkContext.DISBURSEMENT_DATE;
+        }
+    }
+}
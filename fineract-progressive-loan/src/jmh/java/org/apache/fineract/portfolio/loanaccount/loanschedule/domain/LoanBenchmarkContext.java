@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.loanschedule.domain;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.data.CurrencyData;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.common.domain.DaysInMonthType;
+import org.apache.fineract.portfolio.common.domain.DaysInYearType;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Shared fixture of the loan engine benchmarks: there is no Spring context and no tenant, so {@link MoneyHelper}, the
+ * tenant and the business date are initialized here.
+ */
+public final class LoanBenchmarkContext {
+
+    public static final MathContext MC = new MathContext(12, RoundingMode.HALF_EVEN);
+    public static final CurrencyData CURRENCY = new CurrencyData("USD", "US Dollar", 2, null, "usd", "$");
+    public static final LocalDate DISBURSEMENT_DATE = LocalDate.of(2024, 1, 1);
+    public static final BigDecimal PRINCIPAL = BigDecimal.valueOf(100_000);
+    public static final BigDecimal ANNUAL_INTEREST_RATE = BigDecimal.valueOf(9.99);
+
+    private LoanBenchmarkContext() {}
+
+    /**
+     * Must be called from the benchmark thread, the business date is thread bound. {@link MoneyHelper} goes through its
+     * regular initialization with a stub configuration, so the measured code reads the cached rounding mode and math
+     * context instead of calling into a static mock.
+     */
+    public static void init(LocalDate businessDate) {
+        initMoneyHelper();
+
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "UTC", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, businessDate);
+        businessDates.put(BusinessDateType.COB_DATE, businessDate.minusDays(1));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+    }
+
+    public static void reset() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    private static void initMoneyHelper() {
+        ConfigurationDomainService configurationDomainService = Mockito.mock(ConfigurationDomainService.class);
+        // HALF_EVEN, the default of the rounding mode global configuration
+        Mockito.when(configurationDomainService.getRoundingMode()).thenReturn(6);
+        MoneyHelper moneyHelper = new MoneyHelper();
+        ReflectionTestUtils.setField(moneyHelper, "configurationDomainService", configurationDomainService);
+        moneyHelper.initialize();
+        MoneyHelper.fetchRoundingModeFromGlobalConfig();
+    }
+
+    public static LoanRepaymentScheduleModelData modelData(int numberOfRepayments, String repaymentFrequencyType,
+            BigDecimal downPaymentPercentage) {
+        boolean downPaymentEnabled = downPaymentPercentage.signum() > 0;
+        return new LoanRepaymentScheduleModelData(DISBURSEMENT_DATE, CURRENCY, PRINCIPAL, DISBURSEMENT_DATE, numberOfRepayments, 1,
+                repaymentFrequencyType, ANNUAL_INTEREST_RATE, downPaymentEnabled, DaysInMonthType.ACTUAL, DaysInYearType.ACTUAL,
+                downPaymentPercentage, null, null, false, null);
+    }
+}
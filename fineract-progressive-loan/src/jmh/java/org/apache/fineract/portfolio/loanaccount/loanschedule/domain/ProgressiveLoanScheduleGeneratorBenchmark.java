@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.loanschedule.domain;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanSchedulePlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Schedule generation of a progressive loan through the {@link EmbeddableProgressiveLoanScheduleGenerator}, the same
+ * entry point used by clients calculating the schedule outside of Fineract.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProgressiveLoanScheduleGeneratorBenchmark {
+
+    @Param({ "12", "60", "360" })
+    private int numberOfRepayments;
+
+    @Param({ "MONTHS", "WEEKS" })
+    private String repaymentFrequencyType;
+
+    @Param({ "0", "25" })
+    private int downPaymentPercentage;
+
+    private EmbeddableProgressiveLoanScheduleGenerator generator;
+    private LoanRepaymentScheduleModelData modelData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoanBenchmarkContext.init(LoanBenchmarkContext.DISBURSEMENT_DATE);
+        generator = new EmbeddableProgressiveLoanScheduleGenerator();
+        modelData = LoanBenchmarkContext.modelData(numberOfRepayments, repaymentFrequencyType,
+                BigDecimal.valueOf(downPaymentPercentage));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LoanBenchmarkContext.reset();
+    }
+
+    @Benchmark
+    public LoanSchedulePlan generateSchedule() {
+        return generator.generate(LoanBenchmarkContext.MC, modelData);
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanproduct.calc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultScheduledDateGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanApplicationTerms;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanBenchmarkContext;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModelRepaymentPeriod;
+import org.apache.fineract.portfolio.loanproduct.calc.data.PeriodDueDetails;
+import org.apache.fineract.portfolio.loanproduct.calc.data.ProgressiveLoanInterestScheduleModel;
+import org.apache.fineract.portfolio.loanproduct.calc.data.RepaymentPeriod;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductMinimumRepaymentScheduleRelatedDetail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Replays the life of a progressive loan on the interest schedule model: disbursement, a number of repayments and
+ * optionally a backdated interest rate change, which forces the EMI of every period to be recalculated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProgressiveEMICalculatorBenchmark {
+
+    private static final BigDecimal CHANGED_INTEREST_RATE = BigDecimal.valueOf(4.99);
+    private static final int EARLY_REPAYMENT_DAYS = 10;
+
+    @Param({ "12", "60", "360" })
+    private int numberOfRepayments;
+
+    /**
+     * Number of installments repaid, capped by the number of repayments.
+     */
+    @Param({ "1", "12", "60" })
+    private int repaymentTransactions;
+
+    @Param({ "false", "true" })
+    private boolean backdatedInterestRateChange;
+
+    /**
+     * When enabled the installments are repaid before their due date and the due amounts are recalculated till the
+     * transaction date, otherwise the scheduled amounts are repaid on the due date.
+     */
+    @Param({ "false", "true" })
+    private boolean interestRecalculation;
+
+    private final ProgressiveEMICalculator emiCalculator = new ProgressiveEMICalculator();
+    private List<LoanScheduleModelRepaymentPeriod> expectedRepaymentPeriods;
+    private LoanProductMinimumRepaymentScheduleRelatedDetail loanProductRelatedDetail;
+    private Money disbursedAmount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoanApplicationTerms loanApplicationTerms = LoanApplicationTerms.assembleFrom(
+                LoanBenchmarkContext.modelData(numberOfRepayments, "MONTHS", BigDecimal.ZERO), LoanBenchmarkContext.MC);
+        expectedRepaymentPeriods = new DefaultScheduledDateGenerator().generateRepaymentPeriods(LoanBenchmarkContext.MC,
+                LoanBenchmarkContext.DISBURSEMENT_DATE, loanApplicationTerms, null);
+        loanProductRelatedDetail = loanApplicationTerms.toLoanProductRelatedDetailMinimumData();
+        disbursedAmount = Money.of(LoanBenchmarkContext.CURRENCY, LoanBenchmarkContext.PRINCIPAL, LoanBenchmarkContext.MC);
+        LoanBenchmarkContext.init(expectedRepaymentPeriods.get(expectedRepaymentPeriods.size() - 1).periodDueDate());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LoanBenchmarkContext.reset();
+    }
+
+    @Benchmark
+    public ProgressiveLoanInterestScheduleModel replayLoan() {
+        ProgressiveLoanInterestScheduleModel scheduleModel = emiCalculator.generatePeriodInterestScheduleModel(expectedRepaymentPeriods,
+                loanProductRelatedDetail, List.of(), null, LoanBenchmarkContext.MC);
+        emiCalculator.addDisbursement(scheduleModel, LoanBenchmarkContext.DISBURSEMENT_DATE, disbursedAmount);
+
+        List<RepaymentPeriod> repaymentPeriods = scheduleModel.repaymentPeriods();
+        int repaidInstallments = Math.min(repaymentTransactions, repaymentPeriods.size());
+        for (int i = 0; i < repaidInstallments; i++) {
+            LocalDate dueDate = repaymentPeriods.get(i).getDueDate();
+            if (interestRecalculation) {
+                LocalDate transactionDate = dueDate.minusDays(EARLY_REPAYMENT_DAYS);
+                PeriodDueDetails dueAmounts = emiCalculator.getDueAmounts(scheduleModel, dueDate, transactionDate);
+                emiCalculator.payInterest(scheduleModel, dueDate, transactionDate, dueAmounts.getDueInterest());
+                emiCalculator.payPrincipal(scheduleModel, dueDate, transactionDate, dueAmounts.getDuePrincipal());
+            } else {
+                RepaymentPeriod repaymentPeriod = repaymentPeriods.get(i);
+                emiCalculator.payInterest(scheduleModel, dueDate, dueDate, repaymentPeriod.getDueInterest());
+                emiCalculator.payPrincipal(scheduleModel, dueDate, dueDate, repaymentPeriod.getDuePrincipal());
+            }
+        }
+
+        if (backdatedInterestRateChange) {
+            // submitted in the first period, before all of the repayments above
+            emiCalculator.changeInterestRate(scheduleModel, LoanBenchmarkContext.DISBURSEMENT_DATE.plusDays(EARLY_REPAYMENT_DAYS),
+                    CHANGED_INTEREST_RATE);
+        }
+        return scheduleModel;
+    }
+}
@@ -54,9 +54,13 @@ import org.apache.fineract.accounting.journalentry.domain.JournalEntryRepository
 import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
 import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException;
 import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException.GlJournalEntryInvalidReason;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryBatchWriter.GLAccountMappingKey;
+import org.apache.fineract.accounting.productaccountmapping.service.ProductToGLAccountMappingCache;
+import org.apache.fineract.accounting.productaccountmapping.service.ProductToGLAccountMappingCache.ProductGLAccountMappings;
 import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMapping;
 import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMappingRepository;
 import org.apache.fineract.accounting.producttoaccountmapping.exception.ProductToGLAccountMappingNotFoundException;
+import org.apache.fineract.accounting.trialbalance.service.TrialBalanceWritePlatformService;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -95,6 +99,9 @@ public class AccountingProcessorHelper {
     private final AccountTransfersReadPlatformService accountTransfersReadPlatformService;
     private final ChargeRepositoryWrapper chargeRepositoryWrapper;
     private final BusinessEventNotifierService businessEventNotifierService;
+    private final TrialBalanceWritePlatformService trialBalanceWritePlatformService;
+    private final JournalEntryBatchWriter journalEntryBatchWriter;
+    private final ProductToGLAccountMappingCache productToGLAccountMappingCache;
 
     public LoanDTO populateLoanDtoFromDTO(
             final org.apache.fineract.portfolio.loanaccount.data.AccountingBridgeDataDTO accountingBridgeData) {
@@ -832,7 +839,7 @@ public class AccountingProcessorHelper {
         final JournalEntry journalEntry = JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry,
                 transactionDate, JournalEntryType.CREDIT, amount, null, PortfolioProductType.CLIENT.getValue(), clientId, null, null, null,
                 transactionId, null);
-        persistJournalEntry(journalEntry);
+        postJournalEntry(journalEntry);
     }
 
     private void createCreditJournalEntryForSavings(final Office office, final String currencyCode, final GLAccount account,
@@ -849,7 +856,7 @@ public class AccountingProcessorHelper {
                 transactionDate, JournalEntryType.CREDIT, amount, null, PortfolioProductType.SAVING.getValue(), savingsId, null, null,
                 savingsAccountTransactionId, null, null);
 
-        persistJournalEntry(journalEntry);
+        postJournalEntry(journalEntry);
     }
 
     private void createCreditJournalEntryForLoan(final Office office, final String currencyCode, final GLAccount account, final Long loanId,
@@ -864,7 +871,7 @@ public class AccountingProcessorHelper {
         final JournalEntry journalEntry = JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry,
                 transactionDate, JournalEntryType.CREDIT, amount, null, PortfolioProductType.LOAN.getValue(), loanId, null,
                 loanTransactionId, null, null, null);
-        persistJournalEntry(journalEntry);
+        postJournalEntry(journalEntry);
     }
 
     public void createProvisioningDebitJournalEntry(LocalDate transactionDate, Long provisioningEntryId, Office office, String currencyCode,
@@ -874,7 +881,7 @@ public class AccountingProcessorHelper {
         final JournalEntry journalEntry = JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry,
                 transactionDate, JournalEntryType.DEBIT, amount, null, PortfolioProductType.PROVISIONING.getValue(), provisioningEntryId,
                 null, null, null, null, null);
-        persistJournalEntry(journalEntry);
+        postJournalEntry(journalEntry);
     }
 
     public void createProvisioningCreditJournalEntry(LocalDate transactionDate, Long provisioningEntryId, Office office,
@@ -884,7 +891,7 @@ public class AccountingProcessorHelper {
         final JournalEntry journalEntry = JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry,
                 transactionDate, JournalEntryType.CREDIT, amount, null, PortfolioProductType.PROVISIONING.getValue(), provisioningEntryId,
                 null, null, null, null, null);
-        persistJournalEntry(journalEntry);
+        postJournalEntry(journalEntry);
     }
 
     private void createDebitJournalEntryForLoan(final Office office, final String currencyCode, final GLAccount account, final Long loanId,
@@ -899,7 +906,7 @@ public class AccountingProcessorHelper {
         final JournalEntry journalEntry = JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry,
                 transactionDate, JournalEntryType.DEBIT, amount, null, PortfolioProductType.LOAN.getValue(), loanId, null,
                 loanTransactionId, null, null, null);
-        persistJournalEntry(journalEntry);
+        postJournalEntry(journalEntry);
     }
 
     private void createDebitJournalEntryForSavings(final Office office, final String currencyCode, final GLAccount account,
@@ -915,7 +922,7 @@ public class AccountingProcessorHelper {
                 transactionDate, JournalEntryType.DEBIT, amount, null, PortfolioProductType.SAVING.getValue(), savingsId, null, null,
                 savingsAccountTransactionId, null, null);
 
-        persistJournalEntry(journalEntry);
+        postJournalEntry(journalEntry);
     }
 
     private void createDebitJournalEntryForClientPayments(final Office office, final String currencyCode, final GLAccount account,
@@ -925,7 +932,7 @@ public class AccountingProcessorHelper {
         final JournalEntry journalEntry = JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry,
                 transactionDate, JournalEntryType.DEBIT, amount, null, PortfolioProductType.CLIENT.getValue(), clientId, null, null, null,
                 transactionId, null);
-        persistJournalEntry(journalEntry);
+        postJournalEntry(journalEntry);
     }
 
     public void createJournalEntriesForShares(final Office office, final String currencyCode, final int accountTypeToDebitId,
@@ -1038,7 +1045,7 @@ public class AccountingProcessorHelper {
         final JournalEntry journalEntry = JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry,
                 transactionDate, JournalEntryType.DEBIT, amount, null, PortfolioProductType.SHARES.getValue(), shareAccountId, null, null,
                 null, null, shareTransactionId);
-        persistJournalEntry(journalEntry);
+        postJournalEntry(journalEntry);
     }
 
     private void createCreditJournalEntryForShares(final Office office, final String currencyCode, final GLAccount account,
@@ -1053,45 +1060,53 @@ public class AccountingProcessorHelper {
         final JournalEntry journalEntry = JournalEntry.createNew(office, null, account, currencyCode, modifiedTransactionId, manualEntry,
                 transactionDate, JournalEntryType.CREDIT, amount, null, PortfolioProductType.SHARES.getValue(), shareAccountId, null, null,
                 null, null, shareTransactionId);
-        persistJournalEntry(journalEntry);
+        postJournalEntry(journalEntry);
     }
 
     public GLAccount getLinkedGLAccountForLoanProduct(final Long loanProductId, final int accountMappingTypeId, final Long paymentTypeId) {
+        return journalEntryBatchWriter.resolveGLAccount(
+                new GLAccountMappingKey(loanProductId, PortfolioProductType.LOAN.getValue(), accountMappingTypeId, null, paymentTypeId),
+                () -> findLinkedGLAccountForLoanProduct(loanProductId, accountMappingTypeId, paymentTypeId));
+    }
+
+    private GLAccount findLinkedGLAccountForLoanProduct(final Long loanProductId, final int accountMappingTypeId,
+            final Long paymentTypeId) {
         GLAccount glAccount;
         if (isOrganizationAccount(accountMappingTypeId)) {
             FinancialActivityAccount financialActivityAccount = this.financialActivityAccountRepository
                     .findByFinancialActivityTypeWithNotFoundDetection(accountMappingTypeId);
             glAccount = financialActivityAccount.getGlAccount();
         } else {
-            ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(loanProductId,
-                    PortfolioProductType.LOAN.getValue(), accountMappingTypeId);
+            final ProductGLAccountMappings mappings = this.productToGLAccountMappingCache.getMappings(PortfolioProductType.LOAN,
+                    loanProductId);
+            Long glAccountId = mappings.getGLAccountId(accountMappingTypeId);
 
             /****
              * Get more specific mapping for FUND source accounts (based on payment channels). Note that fund source
              * placeholder ID would be same for both cash and accrual accounts
              ***/
             if (accountMappingTypeId == CashAccountsForLoan.FUND_SOURCE.getValue()) {
-                final ProductToGLAccountMapping paymentChannelSpecificAccountMapping = this.accountMappingRepository
-                        .findByProductIdAndProductTypeAndFinancialAccountTypeAndPaymentTypeId(loanProductId,
-                                PortfolioProductType.LOAN.getValue(), accountMappingTypeId, paymentTypeId);
-                if (paymentChannelSpecificAccountMapping != null) {
-                    accountMapping = paymentChannelSpecificAccountMapping;
+                final Long paymentChannelSpecificGLAccountId = mappings.getPaymentTypeGLAccountId(accountMappingTypeId, paymentTypeId);
+                if (paymentChannelSpecificGLAccountId != null) {
+                    glAccountId = paymentChannelSpecificGLAccountId;
                 }
             }
 
-            if (accountMapping == null) {
-                throw new ProductToGLAccountMappingNotFoundException(PortfolioProductType.LOAN, loanProductId,
-                        AccrualAccountsForLoan.fromInt(accountMappingTypeId).toString());
-
-            }
-            glAccount = accountMapping.getGlAccount();
+            glAccount = getMappedGLAccount(glAccountId, PortfolioProductType.LOAN, loanProductId,
+                    AccrualAccountsForLoan.fromInt(accountMappingTypeId).toString());
         }
         return glAccount;
     }
 
     private GLAccount getLinkedGLAccountForLoanCharges(final Long loanProductId, final int accountMappingTypeId, final Long chargeId) {
-        ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(loanProductId,
-                PortfolioProductType.LOAN.getValue(), accountMappingTypeId);
+        return journalEntryBatchWriter.resolveGLAccount(
+                new GLAccountMappingKey(loanProductId, PortfolioProductType.LOAN.getValue(), accountMappingTypeId, chargeId, null),
+                () -> findLinkedGLAccountForLoanCharges(loanProductId, accountMappingTypeId, chargeId));
+    }
+
+    private GLAccount findLinkedGLAccountForLoanCharges(final Long loanProductId, final int accountMappingTypeId, final Long chargeId) {
+        final ProductGLAccountMappings mappings = this.productToGLAccountMappingCache.getMappings(PortfolioProductType.LOAN, loanProductId);
+        Long glAccountId = mappings.getGLAccountId(accountMappingTypeId);
         /*****
          * Get more specific mappings for Charges and penalties (based on the actual charge /penalty coupled with the
          * loan product). Note the income from fees and income from penalties placeholder ID would be the same for both
@@ -1101,21 +1116,21 @@ public class AccountingProcessorHelper {
         // Vishwas TODO: remove this condition as it should always be true
         if (accountMappingTypeId == CashAccountsForLoan.INCOME_FROM_FEES.getValue()
                 || accountMappingTypeId == CashAccountsForLoan.INCOME_FROM_PENALTIES.getValue()) {
-            final ProductToGLAccountMapping chargeSpecificIncomeAccountMapping = this.accountMappingRepository
-                    .findProductIdAndProductTypeAndFinancialAccountTypeAndChargeId(loanProductId, PortfolioProductType.LOAN.getValue(),
-                            accountMappingTypeId, chargeId);
-            if (chargeSpecificIncomeAccountMapping != null) {
-                accountMapping = chargeSpecificIncomeAccountMapping;
+            final Long chargeSpecificGLAccountId = mappings.getChargeGLAccountId(accountMappingTypeId, chargeId);
+            if (chargeSpecificGLAccountId != null) {
+                glAccountId = chargeSpecificGLAccountId;
             }
         }
-        return accountMapping.getGlAccount();
+        return getMappedGLAccount(glAccountId, PortfolioProductType.LOAN, loanProductId,
+                AccrualAccountsForLoan.fromInt(accountMappingTypeId).toString());
     }
 
     private GLAccount getLinkedGLAccountForSavingsCharges(final Long savingsProductId, final int accountMappingTypeId,
             final Long chargeId) {
 
-        ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(savingsProductId,
-                PortfolioProductType.SAVING.getValue(), accountMappingTypeId);
+        final ProductGLAccountMappings mappings = this.productToGLAccountMappingCache.getMappings(PortfolioProductType.SAVING,
+                savingsProductId);
+        Long glAccountId = mappings.getGLAccountId(accountMappingTypeId);
         /*****
          * Get more specific mappings for Charges and penalties (based on the actual charge /penalty coupled with the
          * loan product). Note the income from fees and income from penalties placeholder ID would be the same for both
@@ -1130,16 +1145,14 @@ public class AccountingProcessorHelper {
             if (glAccount != null) {
                 return glAccount;
             }
-            final ProductToGLAccountMapping chargeSpecificIncomeAccountMapping = this.accountMappingRepository
-                    .findProductIdAndProductTypeAndFinancialAccountTypeAndChargeId(savingsProductId, PortfolioProductType.SAVING.getValue(),
-                            accountMappingTypeId, chargeId);
-            if (chargeSpecificIncomeAccountMapping != null) {
+            final Long chargeSpecificGLAccountId = mappings.getChargeGLAccountId(accountMappingTypeId, chargeId);
+            if (chargeSpecificGLAccountId != null) {
 
-                accountMapping = chargeSpecificIncomeAccountMapping;
+                glAccountId = chargeSpecificGLAccountId;
             }
         }
 
-        return accountMapping.getGlAccount();
+        return getMappedGLAccount(glAccountId, PortfolioProductType.SAVING, savingsProductId, String.valueOf(accountMappingTypeId));
     }
 
     private GLAccount getLinkedGLAccountForSavingsProduct(final Long savingsProductId, final int accountMappingTypeId,
@@ -1150,21 +1163,21 @@ public class AccountingProcessorHelper {
                     .findByFinancialActivityTypeWithNotFoundDetection(accountMappingTypeId);
             glAccount = financialActivityAccount.getGlAccount();
         } else {
-            ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(savingsProductId,
-                    PortfolioProductType.SAVING.getValue(), accountMappingTypeId);
+            final ProductGLAccountMappings mappings = this.productToGLAccountMappingCache.getMappings(PortfolioProductType.SAVING,
+                    savingsProductId);
+            Long glAccountId = mappings.getGLAccountId(accountMappingTypeId);
             /****
              * Get more specific mapping for FUND source accounts (based on payment channels). Note that fund source
              * placeholder ID would be same for both cash and accrual accounts
              ***/
             if (accountMappingTypeId == CashAccountsForSavings.SAVINGS_REFERENCE.getValue()) {
-                final ProductToGLAccountMapping paymentChannelSpecificAccountMapping = this.accountMappingRepository
-                        .findByProductIdAndProductTypeAndFinancialAccountTypeAndPaymentTypeId(savingsProductId,
-                                PortfolioProductType.SAVING.getValue(), accountMappingTypeId, paymentTypeId);
-                if (paymentChannelSpecificAccountMapping != null) {
-                    accountMapping = paymentChannelSpecificAccountMapping;
+                final Long paymentChannelSpecificGLAccountId = mappings.getPaymentTypeGLAccountId(accountMappingTypeId, paymentTypeId);
+                if (paymentChannelSpecificGLAccountId != null) {
+                    glAccountId = paymentChannelSpecificGLAccountId;
                 }
             }
-            glAccount = accountMapping.getGlAccount();
+            glAccount = getMappedGLAccount(glAccountId, PortfolioProductType.SAVING, savingsProductId,
+                    String.valueOf(accountMappingTypeId));
         }
         return glAccount;
     }
@@ -1177,38 +1190,44 @@ public class AccountingProcessorHelper {
                     .findByFinancialActivityTypeWithNotFoundDetection(accountMappingTypeId);
             glAccount = financialActivityAccount.getGlAccount();
         } else {
-            ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(shareProductId,
-                    PortfolioProductType.SHARES.getValue(), accountMappingTypeId);
+            final ProductGLAccountMappings mappings = this.productToGLAccountMappingCache.getMappings(PortfolioProductType.SHARES,
+                    shareProductId);
+            Long glAccountId = mappings.getGLAccountId(accountMappingTypeId);
 
             if (accountMappingTypeId == CashAccountsForShares.SHARES_REFERENCE.getValue()) {
-                final ProductToGLAccountMapping paymentChannelSpecificAccountMapping = this.accountMappingRepository
-                        .findByProductIdAndProductTypeAndFinancialAccountTypeAndPaymentTypeId(shareProductId,
-                                PortfolioProductType.SHARES.getValue(), accountMappingTypeId, paymentTypeId);
-                if (paymentChannelSpecificAccountMapping != null) {
-                    accountMapping = paymentChannelSpecificAccountMapping;
+                final Long paymentChannelSpecificGLAccountId = mappings.getPaymentTypeGLAccountId(accountMappingTypeId, paymentTypeId);
+                if (paymentChannelSpecificGLAccountId != null) {
+                    glAccountId = paymentChannelSpecificGLAccountId;
                 }
             }
-            glAccount = accountMapping.getGlAccount();
+            glAccount = getMappedGLAccount(glAccountId, PortfolioProductType.SHARES, shareProductId, String.valueOf(accountMappingTypeId));
         }
         return glAccount;
     }
 
     private GLAccount getLinkedGLAccountForShareCharges(final Long shareProductId, final int accountMappingTypeId, final Long chargeId) {
-        ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(shareProductId,
-                PortfolioProductType.SHARES.getValue(), accountMappingTypeId);
+        final ProductGLAccountMappings mappings = this.productToGLAccountMappingCache.getMappings(PortfolioProductType.SHARES,
+                shareProductId);
+        Long glAccountId = mappings.getGLAccountId(accountMappingTypeId);
         /*****
          * Get more specific mappings for Charges and penalties (based on the actual charge /penalty coupled with the
          * loan product). Note the income from fees and income from penalties placeholder ID would be the same for both
          * cash and accrual based accounts
          *****/
 
-        final ProductToGLAccountMapping chargeSpecificIncomeAccountMapping = this.accountMappingRepository
-                .findProductIdAndProductTypeAndFinancialAccountTypeAndChargeId(shareProductId, PortfolioProductType.SHARES.getValue(),
-                        accountMappingTypeId, chargeId);
-        if (chargeSpecificIncomeAccountMapping != null) {
-            accountMapping = chargeSpecificIncomeAccountMapping;
+        final Long chargeSpecificGLAccountId = mappings.getChargeGLAccountId(accountMappingTypeId, chargeId);
+        if (chargeSpecificGLAccountId != null) {
+            glAccountId = chargeSpecificGLAccountId;
         }
-        return accountMapping.getGlAccount();
+        return getMappedGLAccount(glAccountId, PortfolioProductType.SHARES, shareProductId, String.valueOf(accountMappingTypeId));
+    }
+
+    private GLAccount getMappedGLAccount(final Long glAccountId, final PortfolioProductType productType, final Long productId,
+            final String accountType) {
+        if (glAccountId == null) {
+            throw new ProductToGLAccountMappingNotFoundException(productType, productId, accountType);
+        }
+        return getGLAccountById(glAccountId);
     }
 
     private boolean isOrganizationAccount(final int accountMappingTypeId) {
@@ -1285,9 +1304,33 @@ public class AccountingProcessorHelper {
         return incomeAccount;
     }
 
+    /**
+     * Runs the loan posting collecting the journal entries it creates, they are inserted with one JDBC batch when the
+     * posting completes.
+     */
+    public void collectJournalEntries(final Runnable posting) {
+        journalEntryBatchWriter.collect(posting);
+    }
+
+    /**
+     * Writes the journal entries collected so far, before the entries of the current posting are read back.
+     */
+    public void flushJournalEntries() {
+        journalEntryBatchWriter.flush();
+    }
+
+    private void postJournalEntry(final JournalEntry journalEntry) {
+        if (!journalEntryBatchWriter.add(journalEntry)) {
+            persistJournalEntry(journalEntry);
+        }
+    }
+
     public JournalEntry persistJournalEntry(JournalEntry journalEntry) {
         boolean isNew = journalEntry.isNew();
         JournalEntry savedJournalEntry = this.glJournalEntryRepository.saveAndFlush(journalEntry);
+        if (isNew) {
+            trialBalanceWritePlatformService.recordJournalEntry(savedJournalEntry);
+        }
         if (isNew && journalEntry.getLoanTransactionId() != null) {
             businessEventNotifierService.notifyPostBusinessEvent(new LoanJournalEntryCreatedBusinessEvent(savedJournalEntry));
         }
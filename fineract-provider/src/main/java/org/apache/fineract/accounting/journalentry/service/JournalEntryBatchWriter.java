@@ -0,0 +1,251 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.apache.fineract.infrastructure.core.domain.AuditableFieldsConstants.CREATED_BY_DB_FIELD;
+import static org.apache.fineract.infrastructure.core.domain.AuditableFieldsConstants.CREATED_DATE_DB_FIELD;
+import static org.apache.fineract.infrastructure.core.domain.AuditableFieldsConstants.LAST_MODIFIED_BY_DB_FIELD;
+import static org.apache.fineract.infrastructure.core.domain.AuditableFieldsConstants.LAST_MODIFIED_DATE_DB_FIELD;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.trialbalance.service.TrialBalanceWritePlatformService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.event.business.domain.journalentry.LoanJournalEntryCreatedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sink for the journal entries of a loan posting. Within {@link #collect(Runnable)} the entries created by
+ * {@link AccountingProcessorHelper} are not saved one by one through JPA but collected and inserted with a single JDBC
+ * batch when the posting completes, and the GL accounts mapped to the loan product are looked up once per posting.
+ * <p>
+ * Code reading the journal entries of the current posting back from the database must {@link #flush()} the collected
+ * entries first.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JournalEntryBatchWriter {
+
+    private static final String METRIC_NAME_ENTRIES = "fineract.accounting.journal-entry.batch.entries";
+    private static final String METRIC_NAME_BATCH_SIZE = "fineract.accounting.journal-entry.batch.size";
+    private static final String METRIC_NAME_WRITE = "fineract.accounting.journal-entry.batch.write";
+
+    private static final String INSERT_SQL = "insert into acc_gl_journal_entry (office_id, payment_details_id, account_id, currency_code,"
+            + " transaction_id, loan_transaction_id, savings_transaction_id, client_transaction_id, share_transaction_id, reversed,"
+            + " manual_entry, entry_date, type_enum, amount, description, entity_type_enum, entity_id, ref_num, submitted_on_date, "
+            + CREATED_BY_DB_FIELD + ", " + CREATED_DATE_DB_FIELD + ", " + LAST_MODIFIED_BY_DB_FIELD + ", " + LAST_MODIFIED_DATE_DB_FIELD
+            + ") values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<Long> auditorAware;
+    private final TrialBalanceWritePlatformService trialBalanceWritePlatformService;
+    private final BusinessEventNotifierService businessEventNotifierService;
+    private final FineractProperties fineractProperties;
+    private final Optional<MeterRegistry> meterRegistry;
+
+    private final ThreadLocal<Posting> currentPosting = new ThreadLocal<>();
+
+    private EntityManager entityManager;
+
+    @PersistenceContext
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Runs the posting collecting its journal entries and writes them when it completes. A nested call joins the
+     * posting already being collected.
+     */
+    public void collect(Runnable posting) {
+        if (currentPosting.get() != null || !isBatchWriteEnabled()) {
+            posting.run();
+            return;
+        }
+        currentPosting.set(new Posting());
+        try {
+            posting.run();
+            flush();
+        } finally {
+            currentPosting.remove();
+        }
+    }
+
+    /**
+     * @return {@code false} when no posting is being collected, the caller has to save the journal entry itself
+     */
+    public boolean add(JournalEntry journalEntry) {
+        Posting posting = currentPosting.get();
+        if (posting == null) {
+            return false;
+        }
+        posting.journalEntries.add(journalEntry);
+        return true;
+    }
+
+    /**
+     * Resolves the GL account of a product mapping at most once per posting, every lookup is delegated when no posting
+     * is being collected.
+     */
+    public GLAccount resolveGLAccount(GLAccountMappingKey key, Supplier<GLAccount> lookup) {
+        Posting posting = currentPosting.get();
+        if (posting == null) {
+            return lookup.get();
+        }
+        GLAccount glAccount = posting.glAccounts.get(key);
+        if (glAccount == null) {
+            glAccount = lookup.get();
+            posting.glAccounts.put(key, glAccount);
+        }
+        return glAccount;
+    }
+
+    /**
+     * Writes the journal entries collected so far by the current posting.
+     */
+    public void flush() {
+        Posting posting = currentPosting.get();
+        if (posting == null || posting.journalEntries.isEmpty()) {
+            return;
+        }
+        List<JournalEntry> journalEntries = new ArrayList<>(posting.journalEntries);
+        posting.journalEntries.clear();
+        write(journalEntries);
+    }
+
+    private void write(List<JournalEntry> journalEntries) {
+        long startNanos = System.nanoTime();
+        // the loan transactions and payment details referenced by the entries have to be inserted first
+        entityManager.flush();
+
+        Long userId = auditorAware.getCurrentAuditor().orElse(null);
+        OffsetDateTime auditDateTime = DateUtils.getAuditOffsetDateTime();
+        List<Object[]> rows = new ArrayList<>(journalEntries.size());
+        for (JournalEntry journalEntry : journalEntries) {
+            journalEntry.setCreatedBy(userId);
+            journalEntry.setCreatedDate(auditDateTime);
+            journalEntry.setLastModifiedBy(userId);
+            journalEntry.setLastModifiedDate(auditDateTime);
+            rows.add(toRow(journalEntry, userId, auditDateTime));
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        new ArgumentPreparedStatementSetter(rows.get(i)).setValues(ps);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != journalEntries.size()) {
+            throw new IllegalStateException(
+                    "Expected " + journalEntries.size() + " generated journal entry ids, received " + keys.size());
+        }
+        for (int i = 0; i < journalEntries.size(); i++) {
+            journalEntries.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+
+        trialBalanceWritePlatformService.recordJournalEntries(journalEntries);
+        for (JournalEntry journalEntry : journalEntries) {
+            if (journalEntry.getLoanTransactionId() != null) {
+                businessEventNotifierService.notifyPostBusinessEvent(new LoanJournalEntryCreatedBusinessEvent(journalEntry));
+            }
+        }
+        record(journalEntries.size(), System.nanoTime() - startNanos);
+        log.debug("Inserted {} journal entries with one batch", journalEntries.size());
+    }
+
+    private static Object[] toRow(JournalEntry journalEntry, Long userId, OffsetDateTime auditDateTime) {
+        return new Object[] { journalEntry.getOffice().getId(),
+                journalEntry.getPaymentDetail() == null ? null : journalEntry.getPaymentDetail().getId(),
+                journalEntry.getGlAccount().getId(), journalEntry.getCurrencyCode(), journalEntry.getTransactionId(),
+                journalEntry.getLoanTransactionId(), journalEntry.getSavingsTransactionId(), journalEntry.getClientTransactionId(),
+                journalEntry.getShareTransactionId(), journalEntry.isReversed(), journalEntry.isManualEntry(),
+                journalEntry.getTransactionDate(), journalEntry.getType(), journalEntry.getAmount(), journalEntry.getDescription(),
+                journalEntry.getEntityType(), journalEntry.getEntityId(), journalEntry.getReferenceNumber(),
+                journalEntry.getSubmittedOnDate(), userId, auditDateTime, userId, auditDateTime };
+    }
+
+    private boolean isBatchWriteEnabled() {
+        FineractProperties.FineractJournalEntryProperties properties = fineractProperties.getJournalEntry();
+        return properties == null || properties.isBatchWriteEnabled();
+    }
+
+    private void record(int batchSize, long durationNanos) {
+        meterRegistry.ifPresent(registry -> {
+            Counter.builder(METRIC_NAME_ENTRIES) //
+                    .description("Journal entries inserted with JDBC batches") //
+                    .register(registry) //
+                    .increment(batchSize);
+            DistributionSummary.builder(METRIC_NAME_BATCH_SIZE) //
+                    .description("Journal entries per JDBC batch") //
+                    .register(registry) //
+                    .record(batchSize);
+            Timer.builder(METRIC_NAME_WRITE) //
+                    .description("Time spent writing a batch of journal entries, including the trial balance changes and events") //
+                    .register(registry) //
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    /**
+     * Product mapping of a GL account, {@code chargeId} and {@code paymentTypeId} are set only for the mappings they
+     * specialize.
+     */
+    public record GLAccountMappingKey(Long productId, int productType, int accountMappingTypeId, Long chargeId, Long paymentTypeId) {
+    }
+
+    private static final class Posting {
+
+        private final List<JournalEntry> journalEntries = new ArrayList<>();
+        private final Map<GLAccountMappingKey, GLAccount> glAccounts = new HashMap<>();
+    }
+}
@@ -333,6 +333,7 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
         final GLClosure latestGLClosure = this.helper.getLatestClosureByBranch(officeId);
         this.helper.checkForBranchClosures(latestGLClosure, transactionDate);
         final String transactionId = AccountingProcessorHelper.LOAN_TRANSACTION_IDENTIFIER + loanTransactionId;
+        this.helper.flushJournalEntries();
         final List<JournalEntry> journalEntries = this.glJournalEntryRepository.findJournalEntries(transactionId,
                 PortfolioProductType.LOAN.getValue());
         if (journalEntries == null || journalEntries.isEmpty()) {
@@ -518,7 +519,7 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
             final LoanDTO loanDTO = this.helper.populateLoanDtoFromDTO(accountingBridgeData);
             final AccountingProcessorForLoan accountingProcessorForLoan = this.accountingProcessorForLoanFactory
                     .determineProcessor(loanDTO);
-            accountingProcessorForLoan.createJournalEntriesForLoan(loanDTO);
+            this.helper.collectJournalEntries(() -> accountingProcessorForLoan.createJournalEntriesForLoan(loanDTO));
         }
     }
 
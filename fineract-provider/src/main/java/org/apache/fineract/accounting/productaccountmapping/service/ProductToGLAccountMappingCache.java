@@ -0,0 +1,156 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.productaccountmapping.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.PortfolioProductType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-tenant cache of the product to GL account mappings used when posting journal entries. The mappings of a product
+ * are loaded lazily with one query into an immutable {@link ProductGLAccountMappings} and live in the node local cache
+ * manager independently of the platform cache switch.
+ * <p>
+ * Changing the mappings of a product evicts its entry on this node once the changing transaction completes; other nodes
+ * pick the change up when their entry expires, see {@code fineract.cache.custom-templates.productToGLAccountMappings}.
+ */
+@Service
+@RequiredArgsConstructor
+@CacheConfig(cacheNames = ProductToGLAccountMappingCache.PRODUCT_TO_GL_ACCOUNT_MAPPING_CACHE_NAME)
+public class ProductToGLAccountMappingCache {
+
+    public static final String PRODUCT_TO_GL_ACCOUNT_MAPPING_CACHE_NAME = "productToGLAccountMappings";
+    private static final String METRIC_NAME_CACHE = "fineract.accounting.product-mapping.cache";
+
+    private static final String SELECT_PRODUCT_MAPPINGS_SQL = "SELECT financial_account_type, charge_id, payment_type, gl_account_id"
+            + " FROM acc_product_mapping WHERE product_type = ? AND product_id = ? AND charge_off_reason_id IS NULL";
+
+    @Qualifier("ehCacheManager")
+    private final CacheManager ehCacheManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final Optional<MeterRegistry> meterRegistry;
+
+    public ProductGLAccountMappings getMappings(final PortfolioProductType productType, final Long productId) {
+        final Cache cache = ehCacheManager.getCache(PRODUCT_TO_GL_ACCOUNT_MAPPING_CACHE_NAME);
+        if (cache == null) {
+            return loadMappings(productType, productId);
+        }
+        final String tenantKey = tenantKey(productType, productId);
+        ProductGLAccountMappings mappings = cache.get(tenantKey, ProductGLAccountMappings.class);
+        countLookup(mappings != null);
+        if (mappings == null) {
+            mappings = loadMappings(productType, productId);
+            cache.put(tenantKey, mappings);
+        }
+        return mappings;
+    }
+
+    /**
+     * Drops the cached mappings of the product, called when they are changed. The entry is evicted again once the
+     * current transaction completes so neither a stale nor an uncommitted (rolled back) state stays cached.
+     */
+    public void evict(final PortfolioProductType productType, final Long productId) {
+        final String tenantKey = tenantKey(productType, productId);
+        evict(tenantKey);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    evict(tenantKey);
+                }
+            });
+        }
+    }
+
+    private void evict(final String tenantKey) {
+        final Cache cache = ehCacheManager.getCache(PRODUCT_TO_GL_ACCOUNT_MAPPING_CACHE_NAME);
+        if (cache != null) {
+            cache.evict(tenantKey);
+        }
+    }
+
+    private ProductGLAccountMappings loadMappings(final PortfolioProductType productType, final Long productId) {
+        final Map<MappingKey, Long> glAccountIds = new HashMap<>();
+        jdbcTemplate.query(SELECT_PRODUCT_MAPPINGS_SQL, rs -> {
+            final Long chargeId = rs.getObject("charge_id", Long.class);
+            final Long paymentTypeId = rs.getObject("payment_type", Long.class);
+            glAccountIds.put(new MappingKey(rs.getInt("financial_account_type"), chargeId, paymentTypeId), rs.getLong("gl_account_id"));
+        }, productType.getValue(), productId);
+        return new ProductGLAccountMappings(Map.copyOf(glAccountIds));
+    }
+
+    private static String tenantKey(final PortfolioProductType productType, final Long productId) {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier() + "_" + productType.getValue() + "_" + productId;
+    }
+
+    private void countLookup(final boolean hit) {
+        meterRegistry.ifPresent(registry -> Counter.builder(METRIC_NAME_CACHE) //
+                .description("Product to GL account mapping cache lookups") //
+                .tags("result", hit ? "hit" : "miss") //
+                .register(registry) //
+                .increment());
+    }
+
+    public record MappingKey(int financialAccountType, Long chargeId, Long paymentTypeId) {
+    }
+
+    /**
+     * The GL account ids mapped to one product, keyed the same way as the lookups of
+     * {@code ProductToGLAccountMappingRepository}.
+     */
+    public record ProductGLAccountMappings(Map<MappingKey, Long> glAccountIds) {
+
+        /**
+         * @return the GL account of the product level mapping (no charge, payment type or charge-off reason), or
+         *         {@code null} when the product has none
+         */
+        public Long getGLAccountId(final int financialAccountType) {
+            return glAccountIds.get(new MappingKey(financialAccountType, null, null));
+        }
+
+        /**
+         * @return the GL account mapped to the payment type, or {@code null} when there is no payment type specific
+         *         mapping
+         */
+        public Long getPaymentTypeGLAccountId(final int financialAccountType, final Long paymentTypeId) {
+            return paymentTypeId == null ? null : glAccountIds.get(new MappingKey(financialAccountType, null, paymentTypeId));
+        }
+
+        /**
+         * @return the GL account mapped to the charge, or {@code null} when there is no charge specific mapping
+         */
+        public Long getChargeGLAccountId(final int financialAccountType, final Long chargeId) {
+            return chargeId == null ? null : glAccountIds.get(new MappingKey(financialAccountType, chargeId, null));
+        }
+    }
+}
@@ -110,7 +110,7 @@ public class GetLoanByExternalIdCommandStrategy implements CommandStrategy {
         }
 
         responseBody = loansApiResource.retrieveLoan(loanExternalId, staffInSelectedOfficeOnly, associations, exclude, fields,
-                parameterizedUriInfo);
+                parameterizedUriInfo).toJson();
 
         response.setStatusCode(HttpStatus.SC_OK);
 
@@ -100,7 +100,7 @@ public class GetLoanByIdCommandStrategy implements CommandStrategy {
         }
 
         responseBody = loansApiResource.retrieveLoan(loanId, staffInSelectedOfficeOnly, associations, exclude, fields,
-                parameterizedUriInfo);
+                parameterizedUriInfo).toJson();
 
         response.setStatusCode(HttpStatus.SC_OK);
 
@@ -32,6 +32,7 @@ import jakarta.ws.rs.core.Response;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.cob.data.IsCatchUpRunningDTO;
+import org.apache.fineract.cob.data.LoanCOBCatchUpProgressDTO;
 import org.apache.fineract.cob.data.OldestCOBProcessedLoanDTO;
 import org.apache.fineract.cob.service.LoanCOBCatchUpService;
 import org.apache.fineract.infrastructure.core.exception.JobIsNotFoundOrNotEnabledException;
@@ -89,4 +90,14 @@ public class LoanCOBCatchUpApiResource {
         return loanCOBCatchUpServiceOp.map(LoanCOBCatchUpService::isCatchUpRunning)
                 .orElseThrow(() -> new JobIsNotFoundOrNotEnabledException(JobName.LOAN_COB.name()));
     }
+
+    @GET
+    @Path("catch-up-progress")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Retrieves the progress of Loan COB catch up", description = "Retrieves whether Loan COB catch up is running, the oldest COB processed date, the remaining days and the number of loans behind the COB business date.")
+    public LoanCOBCatchUpProgressDTO getCatchUpProgress() {
+        return loanCOBCatchUpServiceOp.map(LoanCOBCatchUpService::getCatchUpProgress)
+                .orElseThrow(() -> new JobIsNotFoundOrNotEnabledException(JobName.LOAN_COB.name()));
+    }
 }
@@ -50,4 +50,23 @@ final class LoanCOBCatchUpApiResourceSwagger {
         @Schema(example = "[2022, 9, 22]")
         public LocalDate processingDate;
     }
+
+    @Schema(description = "GetLoanCOBCatchUpProgressResponse")
+    public static final class GetLoanCOBCatchUpProgressResponse {
+
+        private GetLoanCOBCatchUpProgressResponse() {}
+
+        @Schema(example = "true")
+        public boolean isCatchUpRunning;
+        @Schema(example = "[2022, 9, 25]")
+        public LocalDate processingDate;
+        @Schema(example = "[2022, 9, 18]")
+        public LocalDate cobProcessedDate;
+        @Schema(example = "[2022, 9, 30]")
+        public LocalDate cobBusinessDate;
+        @Schema(example = "12")
+        public long remainingDays;
+        @Schema(example = "1500")
+        public long loansBehind;
+    }
 }
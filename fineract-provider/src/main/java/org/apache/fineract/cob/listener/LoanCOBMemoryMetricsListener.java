@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.listener;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.cob.loan.LoanItemReader;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.annotation.AfterChunk;
+import org.springframework.batch.core.annotation.AfterChunkError;
+import org.springframework.batch.core.annotation.AfterRead;
+import org.springframework.batch.core.annotation.AfterStep;
+import org.springframework.batch.core.annotation.BeforeChunk;
+import org.springframework.batch.core.annotation.BeforeStep;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.lang.NonNull;
+
+/**
+ * Publishes the memory footprint of the Loan COB chunks for capacity planning: the heap allocated by the thread while
+ * processing a chunk, the size of the object graph of the loans read and the number of loans written per garbage
+ * collection cycle. The garbage collections are counted for the whole JVM, so partitions running in parallel on the same
+ * worker share them.
+ */
+@RequiredArgsConstructor
+public class LoanCOBMemoryMetricsListener {
+
+    private static final String METRIC_NAME_CHUNK_ALLOCATED = "fineract.cob.loan.chunk.allocated";
+    private static final String METRIC_NAME_LOAN_GRAPH_SIZE = "fineract.cob.loan.graph.size";
+    private static final String METRIC_NAME_ITEMS_PER_GC = "fineract.cob.loan.items.per.gc";
+
+    private final Optional<MeterRegistry> meterRegistry;
+    private final LoanItemReader loanItemReader;
+
+    private final ThreadLocal<Long> allocatedBytesAtChunkStart = new ThreadLocal<>();
+    private long gcCountAtStepStart;
+
+    @BeforeStep
+    public void beforeStep(@NonNull StepExecution stepExecution) {
+        gcCountAtStepStart = totalGcCount();
+    }
+
+    @AfterStep
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        long gcCount = totalGcCount() - gcCountAtStepStart;
+        if (gcCount > 0) {
+            meterRegistry.ifPresent(registry -> DistributionSummary.builder(METRIC_NAME_ITEMS_PER_GC) //
+                    .description("Loans written by a Loan COB partition per garbage collection cycle") //
+                    .register(registry) //
+                    .record((double) stepExecution.getWriteCount() / gcCount));
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    @BeforeChunk
+    public void beforeChunk(ChunkContext context) {
+        long allocatedBytes = currentThreadAllocatedBytes();
+        if (allocatedBytes >= 0) {
+            allocatedBytesAtChunkStart.set(allocatedBytes);
+        }
+    }
+
+    @AfterChunk
+    public void afterChunk(ChunkContext context) {
+        Long allocatedBytesAtStart = allocatedBytesAtChunkStart.get();
+        allocatedBytesAtChunkStart.remove();
+        if (allocatedBytesAtStart != null) {
+            long allocatedBytes = currentThreadAllocatedBytes() - allocatedBytesAtStart;
+            meterRegistry.ifPresent(registry -> DistributionSummary.builder(METRIC_NAME_CHUNK_ALLOCATED) //
+                    .description("Heap allocated while processing a Loan COB chunk") //
+                    .baseUnit("bytes") //
+                    .register(registry) //
+                    .record(allocatedBytes));
+        }
+    }
+
+    @AfterChunkError
+    public void afterChunkError(ChunkContext context) {
+        allocatedBytesAtChunkStart.remove();
+    }
+
+    @AfterRead
+    public void afterRead(Loan loan) {
+        meterRegistry.ifPresent(registry -> DistributionSummary.builder(METRIC_NAME_LOAN_GRAPH_SIZE) //
+                .description("Installments, transactions and charges of the loans read by the Loan COB") //
+                .register(registry) //
+                .record(loanItemReader.getLoanGraphSize(loan.getId())));
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean sunThreadMXBean
+                && sunThreadMXBean.isThreadAllocatedMemorySupported() && sunThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return sunThreadMXBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static long totalGcCount() {
+        long gcCount = 0;
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, garbageCollector.getCollectionCount());
+        }
+        return gcCount;
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.listener;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.data.LoanCOBParameter;
+import org.apache.fineract.cob.loan.LoanCOBConstant;
+import org.apache.fineract.cob.loan.LoanCOBPartitionListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.lang.NonNull;
+
+/**
+ * {@link StepExecutionListener} notifying the {@link LoanCOBPartitionListener}s when a worker starts and finishes the
+ * business step of a partition.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LoanCOBPartitionStepListener implements StepExecutionListener {
+
+    private final List<LoanCOBPartitionListener> partitionListeners;
+
+    @Override
+    public void beforeStep(@NonNull StepExecution stepExecution) {
+        LoanCOBParameter partition = getPartition(stepExecution);
+        if (partition != null) {
+            LocalDate cobDate = getCobDate(stepExecution);
+            partitionListeners.forEach(listener -> listener.beforePartition(partition, cobDate));
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        LoanCOBParameter partition = getPartition(stepExecution);
+        if (partition != null) {
+            LocalDate cobDate = getCobDate(stepExecution);
+            for (LoanCOBPartitionListener listener : partitionListeners) {
+                try {
+                    listener.afterPartition(partition, cobDate);
+                } catch (RuntimeException e) {
+                    log.warn("Partition listener {} failed after partition {}-{}", listener.getClass().getSimpleName(),
+                            partition.getMinLoanId(), partition.getMaxLoanId(), e);
+                }
+            }
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    private LoanCOBParameter getPartition(StepExecution stepExecution) {
+        if (partitionListeners.isEmpty()) {
+            return null;
+        }
+        LoanCOBParameter partition = (LoanCOBParameter) stepExecution.getExecutionContext().get(LoanCOBConstant.LOAN_COB_PARAMETER);
+        if (partition == null || partition.getMinLoanId() == null || partition.getMaxLoanId() == null) {
+            return null;
+        }
+        return partition;
+    }
+
+    private LocalDate getCobDate(StepExecution stepExecution) {
+        String businessDate = (String) stepExecution.getJobExecution().getExecutionContext()
+                .get(LoanCOBConstant.BUSINESS_DATE_PARAMETER_NAME);
+        return businessDate == null ? null : LocalDate.parse(businessDate, DateTimeFormatter.ISO_DATE);
+    }
+}
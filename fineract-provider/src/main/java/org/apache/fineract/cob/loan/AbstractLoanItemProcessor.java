@@ -20,6 +20,7 @@ package org.apache.fineract.cob.loan;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -31,6 +32,9 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.apache.fineract.cob.data.BusinessStepNameAndOrder;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
@@ -48,6 +52,7 @@ public abstract class AbstractLoanItemProcessor implements ItemProcessor<Loan, L
     @Setter(AccessLevel.PROTECTED)
     private ExecutionContext executionContext;
     private LocalDate businessDate;
+    private boolean multiDateCatchUp;
 
     @SuppressWarnings({ "unchecked" })
     @Override
@@ -58,11 +63,43 @@ public abstract class AbstractLoanItemProcessor implements ItemProcessor<Loan, L
         }
         TreeMap<Long, String> businessStepMap = getBusinessStepMap(businessSteps);
 
+        if (multiDateCatchUp && item.getLastClosedBusinessDate() != null) {
+            return catchUpUntilBusinessDate(businessStepMap, item);
+        }
         Loan alreadyProcessedLoan = cobBusinessStepService.run(businessStepMap, item);
         alreadyProcessedLoan.setLastClosedBusinessDate(businessDate);
         return alreadyProcessedLoan;
     }
 
+    /**
+     * Runs the business steps once for every business date the loan missed, from the day after its last closed business
+     * date until the business date of the job. The loan stays locked for the whole range and the days are committed
+     * together by the chunk.
+     */
+    private Loan catchUpUntilBusinessDate(TreeMap<Long, String> businessStepMap, Loan item) {
+        HashMap<BusinessDateType, LocalDate> originalBusinessDates = ThreadLocalContextUtil.getBusinessDates();
+        LocalDate lastClosedBusinessDate = item.getLastClosedBusinessDate();
+        LocalDate cobDate = lastClosedBusinessDate.plusDays(1);
+        Loan loan = item;
+        try {
+            while (!DateUtils.isAfter(cobDate, businessDate)) {
+                // a new map per day, the original one might be shared with the other COB threads
+                HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>(originalBusinessDates);
+                businessDates.put(BusinessDateType.COB_DATE, cobDate);
+                businessDates.put(BusinessDateType.BUSINESS_DATE, cobDate.plusDays(1));
+                ThreadLocalContextUtil.setBusinessDates(businessDates);
+
+                loan = cobBusinessStepService.run(businessStepMap, loan);
+                loan.setLastClosedBusinessDate(cobDate);
+                cobDate = cobDate.plusDays(1);
+            }
+        } finally {
+            ThreadLocalContextUtil.setBusinessDates(originalBusinessDates);
+        }
+        log.debug("Loan {} caught up from {} until {}", loan.getId(), lastClosedBusinessDate, businessDate);
+        return loan;
+    }
+
     private TreeMap<Long, String> getBusinessStepMap(Set<BusinessStepNameAndOrder> businessSteps) {
         Map<Long, String> businessStepMap = businessSteps.stream()
                 .collect(Collectors.toMap(BusinessStepNameAndOrder::getStepOrder, BusinessStepNameAndOrder::getStepName));
@@ -81,4 +118,9 @@ public abstract class AbstractLoanItemProcessor implements ItemProcessor<Loan, L
                 DateTimeFormatter.ISO_DATE);
     }
 
+    protected void setMultiDateCatchUp(StepExecution stepExecution) {
+        this.multiDateCatchUp = Boolean.parseBoolean(
+                (String) stepExecution.getJobExecution().getExecutionContext().get(LoanCOBConstant.IS_MULTI_DATE_CATCH_UP_PARAMETER_NAME));
+    }
+
 }
@@ -44,7 +44,10 @@ public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
 
     @Override
     public Loan read() throws Exception {
-        final Long loanId = remainingData.poll();
+        return readLoan(pollNextLoanId());
+    }
+
+    protected Loan readLoan(final Long loanId) {
         if (loanId != null) {
             try {
                 return loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
@@ -55,6 +58,14 @@ public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
         return null;
     }
 
+    protected Long peekNextLoanId() {
+        return remainingData.peek();
+    }
+
+    protected Long pollNextLoanId() {
+        return remainingData.poll();
+    }
+
     @AfterStep
     public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
         return ExitStatus.COMPLETED;
@@ -68,8 +68,9 @@ public class ApplyLoanLockTasklet implements Tasklet {
                 || (loanCOBParameter.getMinLoanId().equals(0L) && loanCOBParameter.getMaxLoanId().equals(0L))) {
             loanIds = Collections.emptyList();
         } else {
-            loanIds = new ArrayList<>(
-                    retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter,
+            loanIds = new ArrayList<>(isMultiDateCatchUp(contribution)
+                    ? retrieveLoanIdService.retrieveAllNonClosedLoansBehindCOBDateByMinAndMaxLoanId(loanCOBParameter)
+                    : retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter,
                             customJobParameterResolver
                                     .getCustomJobParameterById(contribution.getStepExecution(), LoanCOBConstant.IS_CATCH_UP_PARAMETER_NAME)
                                     .map(Boolean::parseBoolean).orElse(false)));
@@ -97,6 +98,12 @@ public class ApplyLoanLockTasklet implements Tasklet {
         return RepeatStatus.FINISHED;
     }
 
+    private boolean isMultiDateCatchUp(StepContribution contribution) {
+        return customJobParameterResolver
+                .getCustomJobParameterById(contribution.getStepExecution(), LoanCOBConstant.IS_MULTI_DATE_CATCH_UP_PARAMETER_NAME)
+                .map(Boolean::parseBoolean).orElse(false);
+    }
+
     private void applyLocks(List<Long> toBeProcessedLoanIds) {
         transactionTemplate.setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
         transactionTemplate.execute(new TransactionCallbackWithoutResult() {
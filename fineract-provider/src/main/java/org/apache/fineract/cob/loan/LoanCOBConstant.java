@@ -30,6 +30,7 @@ public final class LoanCOBConstant {
     public static final String INLINE_LOAN_COB_JOB_NAME = "INLINE_LOAN_COB";
     public static final String BUSINESS_DATE_PARAMETER_NAME = "BusinessDate";
     public static final String IS_CATCH_UP_PARAMETER_NAME = "IS_CATCH_UP";
+    public static final String IS_MULTI_DATE_CATCH_UP_PARAMETER_NAME = "IS_MULTI_DATE_CATCH_UP";
     public static final String LOAN_IDS_PARAMETER_NAME = "LoanIds";
 
     public static final String LOAN_COB_PARTITIONER_STEP = "Loan COB partition - Step";
@@ -91,8 +91,9 @@ public class LoanCOBManagerConfiguration {
     public Step loanCOBStep() {
         return stepBuilderFactory.get(LoanCOBConstant.LOAN_COB_PARTITIONER_STEP)
                 .partitioner(LoanCOBConstant.LOAN_COB_WORKER_STEP, partitioner()).pollInterval(propertyService.getPollInterval(JOB_NAME))
-                .listener(new JobExecutionContextCopyListener(List.of("BusinessDate", "IS_CATCH_UP"))).outputChannel(outboundRequests)
-                .build();
+                .listener(new JobExecutionContextCopyListener(
+                        List.of("BusinessDate", "IS_CATCH_UP", LoanCOBConstant.IS_MULTI_DATE_CATCH_UP_PARAMETER_NAME)))
+                .outputChannel(outboundRequests).build();
     }
 
     @Bean
@@ -132,7 +133,8 @@ public class LoanCOBManagerConfiguration {
     @Bean
     public ExecutionContextPromotionListener customJobParametersPromotionListener() {
         ExecutionContextPromotionListener listener = new ExecutionContextPromotionListener();
-        listener.setKeys(new String[] { LoanCOBConstant.BUSINESS_DATE_PARAMETER_NAME, LoanCOBConstant.IS_CATCH_UP_PARAMETER_NAME });
+        listener.setKeys(new String[] { LoanCOBConstant.BUSINESS_DATE_PARAMETER_NAME, LoanCOBConstant.IS_CATCH_UP_PARAMETER_NAME,
+                LoanCOBConstant.IS_MULTI_DATE_CATCH_UP_PARAMETER_NAME });
         return listener;
     }
 }
@@ -64,6 +64,9 @@ public class LoanCOBPartitioner implements Partitioner {
     @Value("#{stepExecutionContext['IS_CATCH_UP']}")
     @Setter
     private Boolean isCatchUp;
+    @Value("#{stepExecutionContext['IS_MULTI_DATE_CATCH_UP']}")
+    @Setter
+    private Boolean isMultiDateCatchUp;
 
     @NonNull
     @Override
@@ -81,8 +84,13 @@ public class LoanCOBPartitioner implements Partitioner {
         }
         StopWatch sw = new StopWatch();
         sw.start();
-        List<LoanCOBPartition> loanCOBPartitions = new ArrayList<>(
-                retrieveLoanIdService.retrieveLoanCOBPartitions(numberOfDays, businessDate, isCatchUp != null && isCatchUp, partitionSize));
+        List<LoanCOBPartition> loanCOBPartitions;
+        if (isMultiDateCatchUp != null && isMultiDateCatchUp) {
+            loanCOBPartitions = new ArrayList<>(retrieveLoanIdService.retrieveLoanCOBPartitionsBehindDate(businessDate, partitionSize));
+        } else {
+            loanCOBPartitions = new ArrayList<>(
+                    retrieveLoanIdService.retrieveLoanCOBPartitions(numberOfDays, businessDate, isCatchUp != null && isCatchUp, partitionSize));
+        }
         sw.stop();
         // if there is no loan to be closed, we still would like to create at least one partition
 
@@ -18,12 +18,18 @@
  */
 package org.apache.fineract.cob.loan;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Optional;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.common.InitialisationTasklet;
 import org.apache.fineract.cob.common.ResetContextTasklet;
 import org.apache.fineract.cob.conditions.BatchWorkerCondition;
 import org.apache.fineract.cob.listener.ChunkProcessingLoanItemListener;
+import org.apache.fineract.cob.listener.LoanCOBMemoryMetricsListener;
+import org.apache.fineract.cob.listener.LoanCOBPartitionStepListener;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.springbatch.PropertyService;
@@ -38,6 +44,7 @@ import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.integration.partition.RemotePartitioningWorkerStepBuilderFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -83,6 +90,12 @@ public class LoanCOBWorkerConfiguration {
 
     @Autowired
     private CustomJobParameterResolver customJobParameterResolver;
+    @Autowired
+    private ObjectProvider<LoanCOBPartitionListener> partitionListeners;
+    @Autowired
+    private Optional<MeterRegistry> meterRegistry;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Bean(name = LoanCOBConstant.LOAN_COB_WORKER_STEP)
     public Step loanCOBWorkerStep() {
@@ -121,8 +134,12 @@ public class LoanCOBWorkerConfiguration {
     @Bean
     @StepScope
     public Step loanBusinessStep(@Value("#{stepExecutionContext['partition']}") String partitionName, TaskExecutor cobTaskExecutor) {
-        SimpleStepBuilder<Loan, Loan> stepBuilder = new StepBuilder("Loan Business - Step:" + partitionName, jobRepository)
-                .<Loan, Loan>chunk(propertyService.getChunkSize(JobName.LOAN_COB.name()), transactionManager) //
+        int chunkSize = propertyService.getChunkSize(JobName.LOAN_COB.name());
+        StepBuilder loanBusinessStepBuilder = new StepBuilder("Loan Business - Step:" + partitionName, jobRepository);
+        SimpleStepBuilder<Loan, Loan> stepBuilder = (isMemoryBounded()
+                ? loanBusinessStepBuilder.<Loan, Loan>chunk(new LoanGraphSizeCompletionPolicy(chunkSize, cobWorkerItemReader()),
+                        transactionManager)
+                : loanBusinessStepBuilder.<Loan, Loan>chunk(chunkSize, transactionManager)) //
                 .reader(cobWorkerItemReader()) //
                 .processor(cobWorkerItemProcessor()) //
                 .writer(cobWorkerItemWriter()) //
@@ -132,8 +149,12 @@ public class LoanCOBWorkerConfiguration {
                 .skip(Exception.class) //
                 .skipLimit(propertyService.getChunkSize(LoanCOBConstant.JOB_NAME) + 1) //
                 .listener(loanItemListener()) //
+                .listener(loanCOBPartitionStepListener()) //
                 .transactionManager(transactionManager);
 
+        if (isMemoryBounded()) {
+            stepBuilder.listener(new LoanCOBMemoryMetricsListener(meterRegistry, cobWorkerItemReader()));
+        }
         if (propertyService.getThreadPoolMaxPoolSize(LoanCOBConstant.JOB_NAME) > 1) {
             stepBuilder.taskExecutor(cobTaskExecutor);
         }
@@ -163,6 +184,11 @@ public class LoanCOBWorkerConfiguration {
         return new ChunkProcessingLoanItemListener(loanLockingService, transactionTemplate);
     }
 
+    @Bean
+    public LoanCOBPartitionStepListener loanCOBPartitionStepListener() {
+        return new LoanCOBPartitionStepListener(partitionListeners.orderedStream().toList());
+    }
+
     @Bean
     public ApplyLoanLockTasklet applyLock() {
         return new ApplyLoanLockTasklet(fineractProperties, loanLockingService, retrieveLoanIdService, customJobParameterResolver,
@@ -177,7 +203,12 @@ public class LoanCOBWorkerConfiguration {
     @Bean
     @StepScope
     public LoanItemReader cobWorkerItemReader() {
-        return new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver, loanLockingService);
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        if (isMemoryBounded()) {
+            loanItemReader.setLargeLoanGraphSizeThreshold(fineractProperties.getJob().getLoanCobLargeLoanGraphSizeThreshold());
+        }
+        return loanItemReader;
     }
 
     @Bean
@@ -191,6 +222,13 @@ public class LoanCOBWorkerConfiguration {
     public LoanItemWriter cobWorkerItemWriter() {
         LoanItemWriter repositoryItemWriter = new LoanItemWriter(loanLockingService);
         repositoryItemWriter.setRepository(loanRepository);
+        if (isMemoryBounded()) {
+            repositoryItemWriter.setEntityManager(entityManager);
+        }
         return repositoryItemWriter;
     }
+
+    private boolean isMemoryBounded() {
+        return fineractProperties.getJob().isLoanCobMemoryBoundedEnabled();
+    }
 }
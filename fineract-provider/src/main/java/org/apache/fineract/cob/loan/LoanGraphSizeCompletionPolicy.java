@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
+
+/**
+ * Completes the chunk at the configured chunk size or earlier, when the loans read by the chunk reach the large loan
+ * graph size threshold of the {@link LoanItemReader}. As the large loans are read at the end of the partition, each of
+ * them ends up in a chunk of size 1 and the persistence context of a chunk does not hold more than one huge loan.
+ */
+public class LoanGraphSizeCompletionPolicy extends SimpleCompletionPolicy {
+
+    private final LoanItemReader loanItemReader;
+
+    public LoanGraphSizeCompletionPolicy(int chunkSize, LoanItemReader loanItemReader) {
+        super(chunkSize);
+        this.loanItemReader = loanItemReader;
+    }
+
+    @Override
+    public RepeatContext start(RepeatContext context) {
+        loanItemReader.startChunk();
+        return super.start(context);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        return super.isComplete(context) || loanItemReader.isChunkGraphSizeReached();
+    }
+}
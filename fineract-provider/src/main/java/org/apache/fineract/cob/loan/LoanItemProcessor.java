@@ -32,5 +32,6 @@ public class LoanItemProcessor extends AbstractLoanItemProcessor {
     public void beforeStep(StepExecution stepExecution) {
         setExecutionContext(stepExecution.getExecutionContext());
         setBusinessDate(stepExecution);
+        setMultiDateCatchUp(stepExecution);
     }
 }
@@ -21,13 +21,16 @@ package org.apache.fineract.cob.loan;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.LinkedBlockingQueue;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.data.LoanCOBParameter;
 import org.apache.fineract.cob.domain.LoanAccountLock;
 import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.annotation.BeforeStep;
@@ -41,6 +44,23 @@ public class LoanItemReader extends AbstractLoanItemReader {
     private final CustomJobParameterResolver customJobParameterResolver;
     private final LoanLockingService loanLockingService;
 
+    /**
+     * Loans with at least this many installments, transactions and charges are read last and each of them is processed in
+     * a chunk of its own, see {@link LoanGraphSizeCompletionPolicy}. Not positive disables the tracking of the loan graph
+     * sizes.
+     */
+    @Setter
+    private long largeLoanGraphSizeThreshold;
+    private Map<Long, Long> loanGraphSizes = Map.of();
+    private final ThreadLocal<Long> chunkGraphSize = ThreadLocal.withInitial(() -> 0L);
+    /**
+     * The next loan claimed for the chunk of the current thread by {@link #isChunkGraphSizeReached()}. Checking the next
+     * loan and taking it has to be atomic in a multi-threaded step, otherwise another thread could take the small loan the
+     * check saw and leave a large one to be read into the non-empty chunk.
+     */
+    private final ThreadLocal<Long> claimedLoanId = new ThreadLocal<>();
+    private final Object remainingDataLock = new Object();
+
     public LoanItemReader(LoanRepository loanRepository, RetrieveLoanIdService retrieveLoanIdService,
             CustomJobParameterResolver customJobParameterResolver, LoanLockingService loanLockingService) {
         super(loanRepository);
@@ -60,17 +80,102 @@ public class LoanItemReader extends AbstractLoanItemReader {
                 || (loanCOBParameter.getMinLoanId().equals(0L) && loanCOBParameter.getMaxLoanId().equals(0L))) {
             loanIds = Collections.emptyList();
         } else {
-            loanIds = retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter,
-                    customJobParameterResolver.getCustomJobParameterById(stepExecution, LoanCOBConstant.IS_CATCH_UP_PARAMETER_NAME)
-                            .map(Boolean::parseBoolean).orElse(false));
+            loanIds = isMultiDateCatchUp(stepExecution)
+                    ? retrieveLoanIdService.retrieveAllNonClosedLoansBehindCOBDateByMinAndMaxLoanId(loanCOBParameter)
+                    : retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter,
+                            customJobParameterResolver.getCustomJobParameterById(stepExecution, LoanCOBConstant.IS_CATCH_UP_PARAMETER_NAME)
+                                    .map(Boolean::parseBoolean).orElse(false));
             if (loanIds.size() > 0) {
                 List<Long> lockedByCOBChunkProcessingAccountIds = getLoanIdsLockedWithChunkProcessingLock(loanIds);
                 loanIds.retainAll(lockedByCOBChunkProcessingAccountIds);
             }
+            if (isGraphSizeTracked() && !loanIds.isEmpty()) {
+                loanGraphSizes = retrieveLoanIdService.retrieveLoanGraphSizes(loanCOBParameter);
+                loanIds = moveLargeLoansToTheEnd(loanIds);
+            }
         }
         setRemainingData(new LinkedBlockingQueue<>(loanIds));
     }
 
+    @Override
+    public Loan read() throws Exception {
+        if (!isGraphSizeTracked()) {
+            return super.read();
+        }
+        Long loanId = claimedLoanId.get();
+        if (loanId != null) {
+            claimedLoanId.remove();
+        } else {
+            synchronized (remainingDataLock) {
+                loanId = pollNextLoanId();
+            }
+        }
+        Loan loan = readLoan(loanId);
+        if (loan != null) {
+            chunkGraphSize.set(chunkGraphSize.get() + getLoanGraphSize(loan.getId()));
+        }
+        return loan;
+    }
+
+    public long getLoanGraphSize(Long loanId) {
+        return loanGraphSizes.getOrDefault(loanId, 0L);
+    }
+
+    public void startChunk() {
+        chunkGraphSize.set(0L);
+    }
+
+    /**
+     * Whether the chunk read by the current thread has to be completed: its loans reached the graph size threshold or the
+     * next loan is a large one, which has to start a chunk of its own. Otherwise the next loan is claimed for the following
+     * {@link #read()} of the current thread, which the chunk, not being complete, always performs.
+     */
+    public boolean isChunkGraphSizeReached() {
+        if (!isGraphSizeTracked()) {
+            return false;
+        }
+        if (chunkGraphSize.get() >= largeLoanGraphSizeThreshold) {
+            return true;
+        }
+        if (claimedLoanId.get() != null) {
+            return false;
+        }
+        synchronized (remainingDataLock) {
+            Long nextLoanId = peekNextLoanId();
+            if (nextLoanId != null && getLoanGraphSize(nextLoanId) >= largeLoanGraphSizeThreshold) {
+                return true;
+            }
+            claimedLoanId.set(pollNextLoanId());
+        }
+        return false;
+    }
+
+    private boolean isGraphSizeTracked() {
+        return largeLoanGraphSizeThreshold > 0;
+    }
+
+    private List<Long> moveLargeLoansToTheEnd(List<Long> loanIds) {
+        List<Long> orderedLoanIds = new ArrayList<>(loanIds.size());
+        List<Long> largeLoanIds = new ArrayList<>();
+        for (Long loanId : loanIds) {
+            if (getLoanGraphSize(loanId) >= largeLoanGraphSizeThreshold) {
+                largeLoanIds.add(loanId);
+            } else {
+                orderedLoanIds.add(loanId);
+            }
+        }
+        if (!largeLoanIds.isEmpty()) {
+            log.debug("{} large loans are going to be processed one by one: {}", largeLoanIds.size(), largeLoanIds);
+        }
+        orderedLoanIds.addAll(largeLoanIds);
+        return orderedLoanIds;
+    }
+
+    private boolean isMultiDateCatchUp(StepExecution stepExecution) {
+        return customJobParameterResolver.getCustomJobParameterById(stepExecution, LoanCOBConstant.IS_MULTI_DATE_CATCH_UP_PARAMETER_NAME)
+                .map(Boolean::parseBoolean).orElse(false);
+    }
+
     private List<Long> getLoanIdsLockedWithChunkProcessingLock(List<Long> loanIds) {
         List<LoanAccountLock> accountLocks = new ArrayList<>();
         accountLocks.addAll(loanLockingService.findAllByLoanIdInAndLockOwner(loanIds, LockOwner.LOAN_COB_CHUNK_PROCESSING));
@@ -18,14 +18,35 @@
  */
 package org.apache.fineract.cob.loan;
 
+import jakarta.persistence.EntityManager;
+import lombok.Setter;
 import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.springframework.batch.item.Chunk;
+import org.springframework.lang.NonNull;
 
 public class LoanItemWriter extends AbstractLoanItemWriter {
 
+    /**
+     * When set, the persistence context is flushed and cleared once the loans of the chunk are written, so the loan graphs
+     * are not kept until the chunk transaction commits.
+     */
+    @Setter
+    private EntityManager entityManager;
+
     public LoanItemWriter(LoanLockingService loanLockingService) {
         super(loanLockingService);
     }
 
+    @Override
+    public void write(@NonNull Chunk<? extends Loan> items) throws Exception {
+        super.write(items);
+        if (entityManager != null && !items.isEmpty()) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
     @Override
     protected LockOwner getLockOwner() {
         return LockOwner.LOAN_COB_CHUNK_PROCESSING;
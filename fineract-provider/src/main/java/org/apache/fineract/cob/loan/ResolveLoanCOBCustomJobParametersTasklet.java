@@ -36,6 +36,11 @@ public class ResolveLoanCOBCustomJobParametersTasklet implements Tasklet {
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
         customJobParameterResolver.resolve(contribution, chunkContext, LoanCOBConstant.BUSINESS_DATE_PARAMETER_NAME,
                 LoanCOBConstant.BUSINESS_DATE_PARAMETER_NAME);
+        // optional, only present when a multi-date catch-up pass is running
+        customJobParameterResolver
+                .getCustomJobParameterById(contribution.getStepExecution(), LoanCOBConstant.IS_MULTI_DATE_CATCH_UP_PARAMETER_NAME)
+                .ifPresent(isMultiDateCatchUp -> contribution.getStepExecution().getExecutionContext()
+                        .put(LoanCOBConstant.IS_MULTI_DATE_CATCH_UP_PARAMETER_NAME, isMultiDateCatchUp));
         return RepeatStatus.FINISHED;
     }
 }
@@ -24,7 +24,9 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.cob.data.LoanCOBParameter;
 import org.apache.fineract.cob.data.LoanCOBPartition;
@@ -51,15 +53,23 @@ public class RetrieveAllNonClosedLoanIdServiceImpl implements RetrieveLoanIdServ
     @Override
     public List<LoanCOBPartition> retrieveLoanCOBPartitions(Long numberOfDays, LocalDate businessDate, boolean isCatchUp,
             int partitionSize) {
+        String lastClosedBusinessDateCondition = isCatchUp ? "last_closed_business_date = :businessDate "
+                : "(last_closed_business_date = :businessDate or last_closed_business_date is null) ";
+        return retrieveLoanCOBPartitions(lastClosedBusinessDateCondition, businessDate.minusDays(numberOfDays), partitionSize);
+    }
+
+    @Override
+    public List<LoanCOBPartition> retrieveLoanCOBPartitionsBehindDate(LocalDate businessDate, int partitionSize) {
+        return retrieveLoanCOBPartitions("last_closed_business_date < :businessDate ", businessDate, partitionSize);
+    }
+
+    private List<LoanCOBPartition> retrieveLoanCOBPartitions(String lastClosedBusinessDateCondition, LocalDate businessDate,
+            int partitionSize) {
         StringBuilder sql = new StringBuilder();
         sql.append("select min(id) as min, max(id) as max, page, count(id) as count from ");
         sql.append("  (select floor(((row_number() over(order by id))-1) / :pageSize) as page, t.* from ");
         sql.append("      (select id from m_loan where loan_status_id in (:statusIds) and ");
-        if (isCatchUp) {
-            sql.append("last_closed_business_date = :businessDate ");
-        } else {
-            sql.append("(last_closed_business_date = :businessDate or last_closed_business_date is null) ");
-        }
+        sql.append(lastClosedBusinessDateCondition);
         sql.append("order by id) t) t2 ");
         sql.append("group by page ");
         sql.append("order by page");
@@ -67,7 +77,7 @@ public class RetrieveAllNonClosedLoanIdServiceImpl implements RetrieveLoanIdServ
         MapSqlParameterSource parameters = new MapSqlParameterSource();
         parameters.addValue("pageSize", partitionSize);
         parameters.addValue("statusIds", List.of(100, 200, 300, 303, 304));
-        parameters.addValue("businessDate", businessDate.minusDays(numberOfDays));
+        parameters.addValue("businessDate", businessDate);
         return namedParameterJdbcTemplate.query(sql.toString(), parameters, RetrieveAllNonClosedLoanIdServiceImpl::mapRow);
     }
 
@@ -106,6 +116,40 @@ public class RetrieveAllNonClosedLoanIdServiceImpl implements RetrieveLoanIdServ
         }
     }
 
+    @Override
+    public List<Long> retrieveAllNonClosedLoansBehindCOBDateByMinAndMaxLoanId(LoanCOBParameter loanCOBParameter) {
+        return loanRepository.findAllLoansBehindByMinAndMaxLoanIdAndStatuses(loanCOBParameter.getMinLoanId(),
+                loanCOBParameter.getMaxLoanId(), ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE),
+                NON_CLOSED_LOAN_STATUSES);
+    }
+
+    @Override
+    public long countLoansBehindDate(LocalDate businessDate) {
+        return loanRepository.countLoansBehindByStatuses(businessDate, NON_CLOSED_LOAN_STATUSES);
+    }
+
+    @Override
+    public Map<Long, Long> retrieveLoanGraphSizes(LoanCOBParameter loanCOBParameter) {
+        String sql = """
+                select t.loan_id as loan_id, count(*) as graph_size from (
+                    select loan_id from m_loan_repayment_schedule where loan_id between :minLoanId and :maxLoanId
+                    union all
+                    select loan_id from m_loan_transaction where loan_id between :minLoanId and :maxLoanId
+                    union all
+                    select loan_id from m_loan_charge where loan_id between :minLoanId and :maxLoanId
+                ) t
+                group by t.loan_id
+                """;
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        parameters.addValue("minLoanId", loanCOBParameter.getMinLoanId());
+        parameters.addValue("maxLoanId", loanCOBParameter.getMaxLoanId());
+        Map<Long, Long> loanGraphSizes = new HashMap<>();
+        namedParameterJdbcTemplate.query(sql, parameters, rs -> {
+            loanGraphSizes.put(rs.getLong("loan_id"), rs.getLong("graph_size"));
+        });
+        return loanGraphSizes;
+    }
+
     @Override
     public List<LoanIdAndExternalIdAndAccountNo> findAllStayedLockedByCobBusinessDate(LocalDate cobBusinessDate) {
         return loanRepository.findAllStayedLockedByCobBusinessDate(cobBusinessDate);
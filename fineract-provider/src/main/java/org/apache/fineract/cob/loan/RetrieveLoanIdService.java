@@ -20,6 +20,7 @@ package org.apache.fineract.cob.loan;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import org.apache.fineract.cob.data.LoanCOBParameter;
 import org.apache.fineract.cob.data.LoanCOBPartition;
 import org.apache.fineract.cob.data.LoanIdAndExternalIdAndAccountNo;
@@ -30,6 +31,12 @@ public interface RetrieveLoanIdService {
 
     List<LoanCOBPartition> retrieveLoanCOBPartitions(Long numberOfDays, LocalDate businessDate, boolean isCatchUp, int partitionSize);
 
+    /**
+     * Partitions of the non-closed loans whose last closed business date is before the given business date, used by the
+     * multi-date catch-up where every loan is brought forward from its own last closed business date.
+     */
+    List<LoanCOBPartition> retrieveLoanCOBPartitionsBehindDate(LocalDate businessDate, int partitionSize);
+
     List<LoanIdAndLastClosedBusinessDate> retrieveLoanIdsBehindDate(LocalDate businessDate, List<Long> loanIds);
 
     List<LoanIdAndLastClosedBusinessDate> retrieveLoanIdsBehindDateOrNull(LocalDate businessDate, List<Long> loanIds);
@@ -38,6 +45,16 @@ public interface RetrieveLoanIdService {
 
     List<Long> retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(LoanCOBParameter loanCOBParameter, boolean isCatchUp);
 
+    List<Long> retrieveAllNonClosedLoansBehindCOBDateByMinAndMaxLoanId(LoanCOBParameter loanCOBParameter);
+
+    long countLoansBehindDate(LocalDate businessDate);
+
+    /**
+     * Number of installments, transactions and charges per loan in the id range of the partition, an estimate of the size
+     * of the object graph loaded by the COB for the loan. Loans without any of them are not present in the result.
+     */
+    Map<Long, Long> retrieveLoanGraphSizes(LoanCOBParameter loanCOBParameter);
+
     List<LoanIdAndExternalIdAndAccountNo> findAllStayedLockedByCobBusinessDate(@Param("cobBusinessDate") LocalDate cobBusinessDate);
 
 }
@@ -18,12 +18,18 @@
  */
 package org.apache.fineract.cob.service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.cob.conditions.LoanCOBEnabledCondition;
@@ -31,6 +37,7 @@ import org.apache.fineract.cob.data.LoanIdAndLastClosedBusinessDate;
 import org.apache.fineract.cob.loan.LoanCOBConstant;
 import org.apache.fineract.cob.loan.RetrieveLoanIdService;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
 import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -59,10 +66,17 @@ import org.springframework.stereotype.Service;
 @Conditional(LoanCOBEnabledCondition.class)
 public class AsyncLoanCOBExecutorServiceImpl implements AsyncLoanCOBExecutorService {
 
+    private static final String METRIC_NAME_CATCH_UP_DURATION = "fineract.cob.catchup.duration";
+    private static final String METRIC_NAME_CATCH_UP_DAYS = "fineract.cob.catchup.days";
+    private static final String MODE_MULTI_DATE = "multi-date";
+    private static final String MODE_DAY_BY_DAY = "day-by-day";
+
     private final JobLocator jobLocator;
     private final ScheduledJobDetailRepository scheduledJobDetailRepository;
     private final JobStarter jobStarter;
     private final RetrieveLoanIdService retrieveLoanIdService;
+    private final FineractProperties fineractProperties;
+    private final Optional<MeterRegistry> meterRegistry;
 
     @Override
     @Async(TaskExecutorConstant.LOAN_COB_CATCH_UP_TASK_EXECUTOR_BEAN_NAME)
@@ -77,7 +91,16 @@ public class AsyncLoanCOBExecutorServiceImpl implements AsyncLoanCOBExecutorServ
                     ? loanIdAndLastClosedBusinessDate.get(0).getLastClosedBusinessDate()
                     : cobBusinessDate;
             if (DateUtils.isBefore(oldestCOBProcessedDate, cobBusinessDate)) {
-                executeLoanCOBDayByDayUntilCOBBusinessDate(oldestCOBProcessedDate, cobBusinessDate);
+                long startNanos = System.nanoTime();
+                String mode;
+                if (fineractProperties.getJob().isLoanCobCatchUpMultiDateEnabled()) {
+                    mode = MODE_MULTI_DATE;
+                    executeLoanCOBMultiDateUntilCOBBusinessDate(oldestCOBProcessedDate, cobBusinessDate);
+                } else {
+                    mode = MODE_DAY_BY_DAY;
+                    executeLoanCOBDayByDayUntilCOBBusinessDate(oldestCOBProcessedDate, cobBusinessDate);
+                }
+                recordCatchUp(mode, ChronoUnit.DAYS.between(oldestCOBProcessedDate, cobBusinessDate), System.nanoTime() - startNanos);
             }
         } catch (NoSuchJobException e) {
             // Throwing an error here is useless as it will be swallowed hence it is async method
@@ -100,14 +123,64 @@ public class AsyncLoanCOBExecutorServiceImpl implements AsyncLoanCOBExecutorServ
         String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
 
         while (!DateUtils.isAfter(executingBusinessDate, cobBusinessDate)) {
-            JobParameterDTO jobParameterDTO = new JobParameterDTO(LoanCOBConstant.BUSINESS_DATE_PARAMETER_NAME,
-                    executingBusinessDate.format(DateTimeFormatter.ISO_DATE));
-            JobParameterDTO jobParameterCatchUpDTO = new JobParameterDTO(LoanCOBConstant.IS_CATCH_UP_PARAMETER_NAME, "true");
-            JobParameterDTO tenantParameterDTO = new JobParameterDTO(SchedulerServiceConstants.TENANT_IDENTIFIER, tenantIdentifier);
-            Set<JobParameterDTO> jobParameters = new HashSet<>();
-            Collections.addAll(jobParameters, jobParameterDTO, jobParameterCatchUpDTO, tenantParameterDTO);
+            Set<JobParameterDTO> jobParameters = catchUpJobParameters(executingBusinessDate, tenantIdentifier);
             jobStarter.run(job, scheduledJobDetail, jobParameters, tenantIdentifier);
             executingBusinessDate = executingBusinessDate.plusDays(1);
         }
     }
+
+    /**
+     * Every pass brings each loan behind the pass business date forward from its own last closed business date, so the
+     * loans do not wait for each other between the days. A pass covers at most
+     * {@code fineract.job.loan-cob-catch-up-max-dates-per-pass} days, the days of a pass are committed together per
+     * chunk.
+     */
+    private void executeLoanCOBMultiDateUntilCOBBusinessDate(LocalDate oldestCOBProcessedDate, LocalDate cobBusinessDate)
+            throws NoSuchJobException, JobInstanceAlreadyCompleteException, JobExecutionAlreadyRunningException,
+            JobParametersInvalidException, JobRestartException, JobExecutionException {
+        Job job = jobLocator.getJob(LoanCOBConstant.JOB_NAME);
+        ScheduledJobDetail scheduledJobDetail = scheduledJobDetailRepository.findByJobName(LoanCOBConstant.JOB_HUMAN_READABLE_NAME);
+        int maxDatesPerPass = Math.max(1, fineractProperties.getJob().getLoanCobCatchUpMaxDatesPerPass());
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        LocalDate processedBusinessDate = oldestCOBProcessedDate;
+
+        while (DateUtils.isBefore(processedBusinessDate, cobBusinessDate)) {
+            LocalDate passBusinessDate = DateUtils.isBefore(processedBusinessDate.plusDays(maxDatesPerPass), cobBusinessDate)
+                    ? processedBusinessDate.plusDays(maxDatesPerPass)
+                    : cobBusinessDate;
+            Set<JobParameterDTO> jobParameters = catchUpJobParameters(passBusinessDate, tenantIdentifier);
+            jobParameters.add(new JobParameterDTO(LoanCOBConstant.IS_MULTI_DATE_CATCH_UP_PARAMETER_NAME, "true"));
+            log.info("Loan COB multi-date catch-up pass from {} until {}", processedBusinessDate.plusDays(1), passBusinessDate);
+            jobStarter.run(job, scheduledJobDetail, jobParameters, tenantIdentifier);
+            processedBusinessDate = passBusinessDate;
+        }
+    }
+
+    private Set<JobParameterDTO> catchUpJobParameters(LocalDate businessDate, String tenantIdentifier) {
+        JobParameterDTO jobParameterDTO = new JobParameterDTO(LoanCOBConstant.BUSINESS_DATE_PARAMETER_NAME,
+                businessDate.format(DateTimeFormatter.ISO_DATE));
+        JobParameterDTO jobParameterCatchUpDTO = new JobParameterDTO(LoanCOBConstant.IS_CATCH_UP_PARAMETER_NAME, "true");
+        JobParameterDTO tenantParameterDTO = new JobParameterDTO(SchedulerServiceConstants.TENANT_IDENTIFIER, tenantIdentifier);
+        Set<JobParameterDTO> jobParameters = new HashSet<>();
+        Collections.addAll(jobParameters, jobParameterDTO, jobParameterCatchUpDTO, tenantParameterDTO);
+        return jobParameters;
+    }
+
+    private void recordCatchUp(String mode, long daysMissed, long elapsedNanos) {
+        log.info("Loan COB catch-up of {} day(s) in {} mode finished in {} ms", daysMissed, mode,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        meterRegistry.ifPresent(registry -> {
+            String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+            Timer.builder(METRIC_NAME_CATCH_UP_DURATION) //
+                    .description("Duration of the Loan COB catch-up") //
+                    .tags("tenant", tenantIdentifier, "mode", mode) //
+                    .register(registry) //
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder(METRIC_NAME_CATCH_UP_DAYS) //
+                    .description("Business dates missed by the loans brought forward by the Loan COB catch-up") //
+                    .tags("tenant", tenantIdentifier, "mode", mode) //
+                    .register(registry) //
+                    .record(daysMissed);
+        });
+    }
 }
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.service;
+
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.COBBusinessStepService;
+import org.apache.fineract.cob.conditions.LoanCOBEnabledCondition;
+import org.apache.fineract.cob.data.BusinessStepNameAndOrder;
+import org.apache.fineract.cob.domain.LoanAccountLock;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.loan.LoanCOBBusinessStep;
+import org.apache.fineract.cob.loan.LoanCOBConstant;
+import org.apache.fineract.cob.loan.LoanLockingService;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.serialization.ThrowableSerialization;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs the Loan COB business steps of a single loan in the calling thread, the same way the inline Loan COB job
+ * processes it but without launching the job, so an API request catching up a stale loan does not pay for the job
+ * repository bookkeeping.
+ * <p>
+ * The loan is expected to be locked by the caller with {@link LockOwner#LOAN_INLINE_COB_PROCESSING}. The lock is
+ * released together with the commit of the processed business date, when processing fails the error is stored on the
+ * lock like the inline job listener does.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Conditional(LoanCOBEnabledCondition.class)
+public class InlineLoanCOBDirectExecutor {
+
+    private final COBBusinessStepService cobBusinessStepService;
+    private final LoanRepository loanRepository;
+    private final LoanLockingService loanLockingService;
+    private final TransactionTemplate transactionTemplate;
+
+    public TreeMap<Long, String> getBusinessSteps() {
+        Map<Long, String> businessSteps = cobBusinessStepService
+                .getCOBBusinessSteps(LoanCOBBusinessStep.class, LoanCOBConstant.LOAN_COB_JOB_NAME).stream()
+                .collect(Collectors.toMap(BusinessStepNameAndOrder::getStepOrder, BusinessStepNameAndOrder::getStepName));
+        return new TreeMap<>(businessSteps);
+    }
+
+    public void execute(Long loanId, LocalDate businessDate, TreeMap<Long, String> businessSteps) {
+        HashMap<BusinessDateType, LocalDate> originalBusinessDates = ThreadLocalContextUtil.getBusinessDates();
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>(originalBusinessDates);
+        businessDates.put(BusinessDateType.COB_DATE, businessDate);
+        businessDates.put(BusinessDateType.BUSINESS_DATE, businessDate.plusDays(1));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+        ThreadLocalContextUtil.setActionContext(ActionContext.COB);
+        try {
+            transactionTemplate.setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
+            transactionTemplate.executeWithoutResult(status -> {
+                Loan loan = loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+                Loan processedLoan = cobBusinessStepService.run(businessSteps, loan);
+                processedLoan.setLastClosedBusinessDate(businessDate);
+                loanRepository.save(processedLoan);
+                loanLockingService.deleteByLoanIdInAndLockOwner(List.of(loanId), LockOwner.LOAN_INLINE_COB_PROCESSING);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Error was triggered during inline processing of Loan (id={}) due to: {}", loanId,
+                    ThrowableSerialization.serialize(e));
+            updateAccountLockWithError(loanId, e);
+            throw e;
+        } finally {
+            ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+            ThreadLocalContextUtil.setBusinessDates(originalBusinessDates);
+        }
+    }
+
+    private void updateAccountLockWithError(Long loanId, Exception e) {
+        transactionTemplate.setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> {
+            LoanAccountLock loanAccountLock = loanLockingService.findByLoanIdAndLockOwner(loanId, LockOwner.LOAN_INLINE_COB_PROCESSING);
+            if (loanAccountLock != null) {
+                loanAccountLock.setError(String.format("Loan (id: %d) processing is failed", loanId), ThrowableSerialization.serialize(e));
+            }
+        });
+    }
+}
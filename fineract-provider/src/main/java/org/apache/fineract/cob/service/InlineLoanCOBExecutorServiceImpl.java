@@ -23,6 +23,8 @@ import static org.springframework.transaction.TransactionDefinition.PROPAGATION_
 import com.google.common.collect.Lists;
 import com.google.gson.Gson;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -33,6 +35,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -86,6 +90,9 @@ import org.springframework.transaction.support.TransactionTemplate;
 public class InlineLoanCOBExecutorServiceImpl implements InlineExecutorService<Long> {
 
     private static final String JOB_EXECUTION_FAILED_MESSAGE = "Job execution failed for job with name: ";
+    private static final String METRIC_NAME_INLINE_DURATION = "fineract.cob.inline.duration";
+    private static final String MODE_DIRECT = "direct";
+    private static final String MODE_JOB = "job";
     private final LoanAccountLockRepository loanAccountLockRepository;
     private final InlineLoanCOBExecutionDataParser dataParser;
     private final JobLauncher jobLauncher;
@@ -96,6 +103,8 @@ public class InlineLoanCOBExecutorServiceImpl implements InlineExecutorService<L
     private final PlatformSecurityContext context;
     private final RetrieveLoanIdService retrieveLoanIdService;
     private final FineractProperties fineractProperties;
+    private final InlineLoanCOBDirectExecutor directExecutor;
+    private final Optional<MeterRegistry> meterRegistry;
 
     private final Gson gson = GoogleGsonSerializerHelper.createSimpleGson();
 
@@ -114,13 +123,53 @@ public class InlineLoanCOBExecutorServiceImpl implements InlineExecutorService<L
         List<LoanIdAndLastClosedBusinessDate> loansToBeProcessed = getLoansToBeProcessed(loanIds, cobBusinessDate);
         LocalDate executingBusinessDate = getOldestCOBBusinessDate(loansToBeProcessed).plusDays(1);
         if (!loansToBeProcessed.isEmpty()) {
+            long startNanos = System.nanoTime();
+            boolean direct = isDirectExecutionApplicable(loansToBeProcessed);
+            TreeMap<Long, String> businessSteps = direct ? directExecutor.getBusinessSteps() : null;
             while (!DateUtils.isAfter(executingBusinessDate, cobBusinessDate)) {
-                execute(getLoanIdsToBeProcessed(loansToBeProcessed, executingBusinessDate), jobName, executingBusinessDate);
+                List<Long> loanIdsToBeProcessed = getLoanIdsToBeProcessed(loansToBeProcessed, executingBusinessDate);
+                if (direct) {
+                    executeDirect(loanIdsToBeProcessed, jobName, executingBusinessDate, businessSteps);
+                } else {
+                    execute(loanIdsToBeProcessed, jobName, executingBusinessDate);
+                }
                 executingBusinessDate = executingBusinessDate.plusDays(1);
             }
+            recordInlineExecution(direct ? MODE_DIRECT : MODE_JOB, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * A single stale loan, which is what an API request touching a loan brings up to date, is processed without
+     * launching the inline Loan COB job; several loans still go through the job.
+     */
+    private boolean isDirectExecutionApplicable(List<LoanIdAndLastClosedBusinessDate> loansToBeProcessed) {
+        return fineractProperties.getJob().isInlineLoanCobDirectEnabled() && loansToBeProcessed.size() == 1;
+    }
+
+    @SuppressFBWarnings("SLF4J_SIGN_ONLY_FORMAT")
+    private void executeDirect(List<Long> loanIds, String jobName, LocalDate businessDate, TreeMap<Long, String> businessSteps) {
+        lockLoanAccounts(loanIds, businessDate);
+        for (Long loanId : loanIds) {
+            try {
+                directExecutor.execute(loanId, businessDate, businessSteps);
+            } catch (RuntimeException e) {
+                log.error("{}{}", JOB_EXECUTION_FAILED_MESSAGE, jobName, e);
+                throw new PlatformInternalServerException("error.msg.sheduler.job.execution.failed", JOB_EXECUTION_FAILED_MESSAGE, jobName,
+                        e);
+            }
         }
     }
 
+    private void recordInlineExecution(String mode, long elapsedNanos) {
+        log.debug("Inline Loan COB in {} mode finished in {} ms", mode, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        meterRegistry.ifPresent(registry -> Timer.builder(METRIC_NAME_INLINE_DURATION) //
+                .description("Duration of the inline Loan COB bringing the loans of a request up to date") //
+                .tags("tenant", ThreadLocalContextUtil.getTenant().getTenantIdentifier(), "mode", mode) //
+                .register(registry) //
+                .record(elapsedNanos, TimeUnit.NANOSECONDS));
+    }
+
     private List<Long> getLoanIdsToBeProcessed(List<LoanIdAndLastClosedBusinessDate> loansToBeProcessed, LocalDate executingBusinessDate) {
         List<Long> loanIdsToBeProcessed = new ArrayList<>();
         loansToBeProcessed.forEach(loan -> {
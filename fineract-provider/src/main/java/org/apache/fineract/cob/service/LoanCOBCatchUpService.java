@@ -19,6 +19,7 @@
 package org.apache.fineract.cob.service;
 
 import org.apache.fineract.cob.data.IsCatchUpRunningDTO;
+import org.apache.fineract.cob.data.LoanCOBCatchUpProgressDTO;
 import org.apache.fineract.cob.data.OldestCOBProcessedLoanDTO;
 
 public interface LoanCOBCatchUpService {
@@ -30,4 +31,6 @@ public interface LoanCOBCatchUpService {
     void executeLoanCOBCatchUp();
 
     IsCatchUpRunningDTO isCatchUpRunning();
+
+    LoanCOBCatchUpProgressDTO getCatchUpProgress();
 }
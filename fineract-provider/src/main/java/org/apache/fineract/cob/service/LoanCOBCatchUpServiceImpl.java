@@ -19,10 +19,12 @@
 package org.apache.fineract.cob.service;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.cob.conditions.LoanCOBEnabledCondition;
 import org.apache.fineract.cob.data.IsCatchUpRunningDTO;
+import org.apache.fineract.cob.data.LoanCOBCatchUpProgressDTO;
 import org.apache.fineract.cob.data.LoanIdAndLastClosedBusinessDate;
 import org.apache.fineract.cob.data.OldestCOBProcessedLoanDTO;
 import org.apache.fineract.cob.loan.LoanCOBConstant;
@@ -75,4 +77,15 @@ public class LoanCOBCatchUpServiceImpl implements LoanCOBCatchUpService {
                 "true", LoanCOBConstant.BUSINESS_DATE_PARAMETER_NAME);
         return new IsCatchUpRunningDTO(runningCatchUpBusinessDate != null, runningCatchUpBusinessDate);
     }
+
+    @Override
+    public LoanCOBCatchUpProgressDTO getCatchUpProgress() {
+        IsCatchUpRunningDTO catchUpRunning = isCatchUpRunning();
+        OldestCOBProcessedLoanDTO oldestCOBProcessedLoan = getOldestCOBProcessedLoan();
+        LocalDate cobBusinessDate = oldestCOBProcessedLoan.getCobBusinessDate();
+        long remainingDays = Math.max(0, ChronoUnit.DAYS.between(oldestCOBProcessedLoan.getCobProcessedDate(), cobBusinessDate));
+        long loansBehind = retrieveLoanIdService.countLoansBehindDate(cobBusinessDate);
+        return new LoanCOBCatchUpProgressDTO(catchUpRunning.isCatchUpRunning(), catchUpRunning.getProcessingDate(),
+                oldestCOBProcessedLoan.getCobProcessedDate(), cobBusinessDate, remainingDays, loansBehind);
+    }
 }
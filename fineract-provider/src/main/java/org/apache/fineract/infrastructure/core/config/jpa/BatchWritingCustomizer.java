@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.jpa;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.eclipse.persistence.config.BatchWriting;
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Groups the statements flushed by a unit of work into JDBC batches of {@code fineract.jpa.batch-writing-size}
+ * statements. Inserts relying on identity columns are still executed one by one, as their generated keys have to be
+ * read back.
+ */
+@Component
+@RequiredArgsConstructor
+@Conditional(BatchWritingCustomizerCondition.class)
+public class BatchWritingCustomizer implements EntityManagerFactoryCustomizer {
+
+    private final FineractProperties fineractProperties;
+
+    @Override
+    public Map<String, Object> additionalVendorProperties() {
+        return Map.of(PersistenceUnitProperties.BATCH_WRITING, BatchWriting.JDBC, PersistenceUnitProperties.BATCH_WRITING_SIZE,
+                String.valueOf(fineractProperties.getJpa().getBatchWritingSize()));
+    }
+}
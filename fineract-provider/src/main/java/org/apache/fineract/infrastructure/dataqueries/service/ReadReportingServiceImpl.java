@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service;
 
+import com.google.gson.Gson;
 import com.lowagie.text.Document;
 import com.lowagie.text.PageSize;
 import com.lowagie.text.pdf.PdfPTable;
@@ -27,24 +28,31 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
-import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
+import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.core.service.database.JdbcJavaType;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
@@ -53,6 +61,7 @@ import org.apache.fineract.infrastructure.dataqueries.data.ReportParameterData;
 import org.apache.fineract.infrastructure.dataqueries.data.ReportParameterJoinData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
+import org.apache.fineract.infrastructure.dataqueries.exception.ReportExportLimitExceededException;
 import org.apache.fineract.infrastructure.dataqueries.exception.ReportNotFoundException;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.infrastructure.security.service.SqlInjectionPreventerService;
@@ -64,44 +73,172 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ReadReportingServiceImpl implements ReadReportingService {
 
+    private static final String CURRENT_USER_HIERARCHY = "${currentUserHierarchy}";
+    private static final String CURRENT_USER_ID = "${currentUserId}";
+    private static final String IS_SELF_SERVICE_USER = "${isSelfServiceUser}";
+    private static final String CURRENT_DATE = "${currentDate}";
+
     private final JdbcTemplate jdbcTemplate;
     private final PlatformSecurityContext context;
     private final GenericDataService genericDataService;
     private final SqlInjectionPreventerService sqlInjectionPreventerService;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
     private final FineractProperties fineractProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportCacheService reportCacheService;
+    private final Gson reportGson = GoogleGsonSerializerHelper.createSimpleGson();
 
     @Override
     public StreamingOutput retrieveReportCSV(final String name, final String type, final Map<String, String> queryParams,
             final boolean isSelfServiceUserReport) {
+        final String sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
         return out -> {
-            try {
-                final GenericResultsetData result = retrieveGenericResultset(name, type, queryParams, isSelfServiceUserReport);
-                generateCsvFileBuffer(result, out);
-            } catch (final Exception e) {
-                throw ErrorHandler.getMappable(e);
+            final CountingOutputStream countingOut = new CountingOutputStream(out);
+            try (CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(countingOut, StandardCharsets.UTF_8), CSVFormat.EXCEL)) {
+                streamReport(name, sql, countingOut, new GenericResultsetRowHandler() {
+
+                    @Override
+                    public void onColumnHeaders(List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+                        final List<String> header = new ArrayList<>();
+                        for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
+                            header.add(columnHeader.getColumnName());
+                        }
+                        printer.printRecord(header);
+                    }
+
+                    @Override
+                    public boolean onRow(List<Object> row) throws IOException {
+                        printer.printRecord(row);
+                        return true;
+                    }
+                });
             }
         };
     }
 
-    private void generateCsvFileBuffer(final GenericResultsetData result, OutputStream out) throws IOException {
-        try (CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSVFormat.EXCEL)) {
-            final List<ResultsetColumnHeaderData> columnHeaders = result.getColumnHeaders();
-            final List<ResultsetRowData> data = result.getData();
-            final List<String> header = new ArrayList<>();
-            for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
-                header.add(columnHeader.getColumnName());
+    @Override
+    public StreamingOutput retrieveReportJSON(final String name, final String type, final Map<String, String> queryParams,
+            final boolean isSelfServiceUserReport, final boolean genericResultSet) {
+        final String sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
+        return out -> {
+            final CountingOutputStream countingOut = new CountingOutputStream(out);
+            try (Writer writer = new OutputStreamWriter(countingOut, StandardCharsets.UTF_8)) {
+                final GenericResultsetRowHandler handler = genericResultSet ? new GenericResultsetJsonRowHandler(writer)
+                        : new PlainJsonRowHandler(writer);
+                streamReport(name, sql, countingOut, handler);
+                writer.write(genericResultSet ? "]}" : "\n]");
             }
-            printer.printRecord(header);
-            for (final ResultsetRowData row : data) {
-                printer.printRecord(row.getRow());
+        };
+    }
+
+    /**
+     * Streams the rows of the report SQL to the handler within a read-only transaction (required for cursor based
+     * fetching), enforcing the configured row and byte limits. Failures writing to the client abort the running query.
+     */
+    private void streamReport(final String name, final String sql, final CountingOutputStream out, final GenericResultsetRowHandler handler)
+            throws IOException {
+        final FineractProperties.FineractReportStreamingProperties streaming = fineractProperties.getReport().getStreaming();
+        final long startTime = System.currentTimeMillis();
+        final long[] rowCount = { 0L };
+        final TransactionTemplate readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransactionTemplate.setReadOnly(true);
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> genericDataService.streamGenericResultSet(sql,
+                    streaming.getFetchSize(), new GenericResultsetRowHandler() {
+
+                        @Override
+                        public void onColumnHeaders(List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+                            handler.onColumnHeaders(columnHeaders);
+                        }
+
+                        @Override
+                        public boolean onRow(List<Object> row) throws IOException {
+                            if (streaming.getMaxRows() > 0 && rowCount[0] >= streaming.getMaxRows()) {
+                                throw new ReportExportLimitExceededException(name, "rows", streaming.getMaxRows());
+                            }
+                            if (streaming.getMaxBytes() > 0 && out.getByteCount() > streaming.getMaxBytes()) {
+                                throw new ReportExportLimitExceededException(name, "bytes", streaming.getMaxBytes());
+                            }
+                            rowCount[0]++;
+                            return handler.onRow(row);
+                        }
+                    }));
+        } catch (final UncheckedIOException e) {
+            log.debug("Streaming of report {} aborted after {} rows", LogParameterEscapeUtil.escapeLogParameter(name), rowCount[0]);
+            throw e.getCause();
+        } catch (final Exception e) {
+            throw ErrorHandler.getMappable(e);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("FINISHING streamed Report/Request Name: {} - {} rows     Elapsed Time: {}",
+                    LogParameterEscapeUtil.escapeLogParameter(name), rowCount[0], System.currentTimeMillis() - startTime);
+        }
+    }
+
+    /**
+     * Writes rows in the format of a serialized {@link GenericResultsetData}.
+     */
+    private final class GenericResultsetJsonRowHandler implements GenericResultsetRowHandler {
+
+        private final Writer writer;
+        private boolean first = true;
+
+        private GenericResultsetJsonRowHandler(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void onColumnHeaders(List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            writer.write("{\"columnHeaders\":");
+            reportGson.toJson(columnHeaders, writer);
+            writer.write(",\"data\":[");
+        }
+
+        @Override
+        public boolean onRow(List<Object> row) throws IOException {
+            if (!first) {
+                writer.write(',');
             }
+            first = false;
+            reportGson.toJson(ResultsetRowData.create(row), writer);
+            return true;
+        }
+    }
+
+    /**
+     * Writes rows in the format of {@link GenericDataService#generateJsonFromGenericResultsetData(GenericResultsetData)}.
+     */
+    private final class PlainJsonRowHandler implements GenericResultsetRowHandler {
+
+        private final Writer writer;
+        private List<ResultsetColumnHeaderData> columnHeaders;
+        private boolean first = true;
+
+        private PlainJsonRowHandler(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void onColumnHeaders(List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            this.columnHeaders = columnHeaders;
+            writer.write('[');
+        }
+
+        @Override
+        public boolean onRow(List<Object> row) throws IOException {
+            writer.write(first ? "\n" : ",\n");
+            first = false;
+            writer.write(genericDataService.generateJsonFromResultsetRow(columnHeaders, row));
+            return true;
         }
     }
 
@@ -115,9 +252,13 @@ public class ReadReportingServiceImpl implements ReadReportingService {
                     LogParameterEscapeUtil.escapeLogParameter(type));
         }
 
-        final String sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
+        final ReportSqlTemplate template = getSqlTemplate(name, type);
+        final AppUser currentUser = this.context.authenticatedUser();
+        final String sql = renderSql(template, queryParams, isSelfServiceUserReport, currentUser);
 
-        final GenericResultsetData result = this.genericDataService.fillGenericResultSet(sql);
+        final GenericResultsetData result = this.reportCacheService.getResult(
+                resultCacheKey(template, name, type, queryParams, isSelfServiceUserReport, currentUser),
+                () -> this.genericDataService.fillGenericResultSet(sql));
 
         final long elapsed = System.currentTimeMillis() - startTime;
         if (log.isDebugEnabled()) {
@@ -129,30 +270,45 @@ public class ReadReportingServiceImpl implements ReadReportingService {
 
     private String getSQLtoRun(final String name, final String type, final Map<String, String> queryParams,
             final boolean isSelfServiceUserReport) {
+        return renderSql(getSqlTemplate(name, type), queryParams, isSelfServiceUserReport, this.context.authenticatedUser());
+    }
 
-        String sql = getSql(name, type);
-
-        for (Map.Entry<String, String> entry : queryParams.entrySet()) {
-            sql = this.genericDataService.replace(sql, entry.getKey(), entry.getValue());
-        }
+    private ReportSqlTemplate getSqlTemplate(final String name, final String type) {
+        return this.reportCacheService.getSqlTemplate(type, name, () -> this.genericDataService.wrapSQL(getSql(name, type)));
+    }
 
-        final AppUser currentUser = this.context.authenticatedUser();
+    private String renderSql(final ReportSqlTemplate template, final Map<String, String> queryParams, final boolean isSelfServiceUserReport,
+            final AppUser currentUser) {
+        final Map<String, String> values = new HashMap<>(queryParams);
         // Allows sql query to restrict data by office hierarchy if required
-        sql = this.genericDataService.replace(sql, "${currentUserHierarchy}", currentUser.getOffice().getHierarchy());
+        values.put(CURRENT_USER_HIERARCHY, currentUser.getOffice().getHierarchy());
         // Allows sql query to restrict data by current user Id if required
         // (typically used to return report lists containing only reports
         // permitted to be run by the user
-        sql = this.genericDataService.replace(sql, "${currentUserId}", currentUser.getId().toString());
-        sql = this.genericDataService.replace(sql, "${isSelfServiceUser}", Boolean.toString(isSelfServiceUserReport));
-        sql = this.genericDataService.replace(sql, "${currentDate}", sqlGenerator.currentBusinessDate());
-        sql = StringUtils.replaceIgnoreCase(sql, "NOW()", sqlGenerator.currentTenantDateTime());
-        sql = StringUtils.replaceIgnoreCase(sql, "curdate()", sqlGenerator.currentBusinessDate());
-        sql = StringUtils.replaceIgnoreCase(sql, "CURRENT_DATE", sqlGenerator.currentBusinessDate());
-        sql = this.genericDataService.wrapSQL(sql);
+        values.put(CURRENT_USER_ID, currentUser.getId().toString());
+        values.put(IS_SELF_SERVICE_USER, Boolean.toString(isSelfServiceUserReport));
+        values.put(CURRENT_DATE, sqlGenerator.currentBusinessDate());
 
+        String sql = template.render(values, sqlGenerator.currentTenantDateTime(), sqlGenerator.currentBusinessDate());
+        // parameters not given in the ${name} form can only be applied as plain text replacement
+        for (Map.Entry<String, String> entry : queryParams.entrySet()) {
+            if (!entry.getKey().startsWith("${")) {
+                sql = this.genericDataService.replace(sql, entry.getKey(), entry.getValue());
+            }
+        }
         return sql;
     }
 
+    private String resultCacheKey(final ReportSqlTemplate template, final String name, final String type,
+            final Map<String, String> queryParams, final boolean isSelfServiceUserReport, final AppUser currentUser) {
+        final Long userId = template.usesPlaceholder(CURRENT_USER_ID) ? currentUser.getId() : null;
+        final LocalDate businessDate = template.usesDateMacro() || template.usesPlaceholder(CURRENT_DATE) ? DateUtils.getBusinessLocalDate()
+                : null;
+        // serialized as JSON so parameter values containing separators cannot collide
+        return reportGson.toJson(Arrays.asList(type, name, isSelfServiceUserReport, currentUser.getOffice().getHierarchy(), userId,
+                businessDate == null ? null : businessDate.toString(), new TreeMap<>(queryParams)));
+    }
+
     private String getSql(final String name, final String type) {
         final String encodedName = sqlInjectionPreventerService.encodeSql(name);
         final String encodedType = sqlInjectionPreventerService.encodeSql(type);
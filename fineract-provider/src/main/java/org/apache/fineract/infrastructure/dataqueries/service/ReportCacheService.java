@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-tenant caches of the compiled report SQL and (opt-in, {@code fineract.report.result-cache.enabled}) of report
+ * results. Both live in the node local cache manager independently of the platform cache switch; their size and TTL
+ * are configured through {@code fineract.cache.custom-templates.<cache name>}.
+ */
+@Service
+@RequiredArgsConstructor
+@CacheConfig(cacheNames = { ReportCacheService.REPORT_SQL_TEMPLATE_CACHE_NAME, ReportCacheService.REPORT_RESULT_CACHE_NAME })
+public class ReportCacheService {
+
+    public static final String REPORT_SQL_TEMPLATE_CACHE_NAME = "reportSqlTemplates";
+    public static final String REPORT_RESULT_CACHE_NAME = "reportResults";
+    private static final String METRIC_NAME_CACHE = "fineract.report.cache";
+
+    @Qualifier("ehCacheManager")
+    private final CacheManager ehCacheManager;
+    private final FineractProperties fineractProperties;
+    private final Optional<MeterRegistry> meterRegistry;
+
+    public ReportSqlTemplate getSqlTemplate(final String type, final String name, final Supplier<String> sqlLoader) {
+        return get(REPORT_SQL_TEMPLATE_CACHE_NAME, type + "_" + name, ReportSqlTemplate.class,
+                () -> ReportSqlTemplate.compile(sqlLoader.get()));
+    }
+
+    public boolean isResultCacheEnabled() {
+        FineractProperties.FineractReportResultCacheProperties resultCache = fineractProperties.getReport().getResultCache();
+        return resultCache != null && resultCache.isEnabled();
+    }
+
+    /**
+     * @param key
+     *            has to identify everything the result depends on (report, parameters, user hierarchy...), the tenant is
+     *            added here
+     */
+    public GenericResultsetData getResult(final String key, final Supplier<GenericResultsetData> resultLoader) {
+        if (!isResultCacheEnabled()) {
+            return resultLoader.get();
+        }
+        return get(REPORT_RESULT_CACHE_NAME, key, GenericResultsetData.class, resultLoader);
+    }
+
+    /**
+     * Drops all compiled report SQL and cached results, called when a report definition changes. Within a transaction
+     * the caches are cleared once it commits, so a report run concurrently with the change cannot cache the old
+     * definition again. Only the caches of this node are cleared, other nodes keep their entries until they expire.
+     */
+    public void evictAll() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    clearAll();
+                }
+            });
+        } else {
+            clearAll();
+        }
+    }
+
+    private void clearAll() {
+        for (String cacheName : new String[] { REPORT_SQL_TEMPLATE_CACHE_NAME, REPORT_RESULT_CACHE_NAME }) {
+            Cache cache = ehCacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private <T> T get(final String cacheName, final String key, final Class<T> type, final Supplier<T> loader) {
+        final Cache cache = ehCacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+        final String tenantKey = ThreadLocalContextUtil.getTenant().getTenantIdentifier() + "_" + key;
+        T value = cache.get(tenantKey, type);
+        countLookup(cacheName, value != null);
+        if (value == null) {
+            value = loader.get();
+            cache.put(tenantKey, value);
+        }
+        return value;
+    }
+
+    private void countLookup(final String cacheName, final boolean hit) {
+        meterRegistry.ifPresent(registry -> Counter.builder(METRIC_NAME_CACHE) //
+                .description("Report cache lookups") //
+                .tags("cache", cacheName, "result", hit ? "hit" : "miss") //
+                .register(registry) //
+                .increment());
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Report SQL parsed once into literal segments and the positions of its macros, so that running a report is a single
+ * pass over the segments instead of one search-and-replace over the whole SQL per parameter and macro.
+ * <p>
+ * Recognized macros are {@code ${name}} placeholders and (case-insensitive) {@code NOW()}, {@code curdate()} and
+ * {@code CURRENT_DATE}. Values substituted at render time are never scanned for further macros.
+ */
+public final class ReportSqlTemplate {
+
+    private static final String PLACEHOLDER_PREFIX = "${";
+    private static final String PLACEHOLDER_SUFFIX = "}";
+    private static final String NOW = "NOW()";
+    private static final String CURDATE = "curdate()";
+    private static final String CURRENT_DATE = "CURRENT_DATE";
+
+    private enum SegmentType {
+        LITERAL, PLACEHOLDER, CURRENT_DATE_TIME, CURRENT_BUSINESS_DATE
+    }
+
+    private record Segment(SegmentType type, String text) {
+    }
+
+    private final List<Segment> segments;
+    private final Set<String> placeholders;
+    private final boolean dateMacroUsed;
+    private final int literalLength;
+
+    private ReportSqlTemplate(List<Segment> segments) {
+        this.segments = List.copyOf(segments);
+        final Set<String> usedPlaceholders = new HashSet<>();
+        boolean usesDate = false;
+        int length = 0;
+        for (Segment segment : segments) {
+            switch (segment.type()) {
+                case LITERAL -> length += segment.text().length();
+                case PLACEHOLDER -> usedPlaceholders.add(segment.text());
+                case CURRENT_DATE_TIME, CURRENT_BUSINESS_DATE -> usesDate = true;
+            }
+        }
+        this.placeholders = Set.copyOf(usedPlaceholders);
+        this.dateMacroUsed = usesDate;
+        this.literalLength = length;
+    }
+
+    public static ReportSqlTemplate compile(final String sql) {
+        final List<Segment> segments = new ArrayList<>();
+        int literalStart = 0;
+        int i = 0;
+        while (i < sql.length()) {
+            if (sql.startsWith(PLACEHOLDER_PREFIX, i)) {
+                final int end = sql.indexOf(PLACEHOLDER_SUFFIX, i + PLACEHOLDER_PREFIX.length());
+                if (end < 0) {
+                    break;
+                }
+                addLiteral(segments, sql, literalStart, i);
+                segments.add(new Segment(SegmentType.PLACEHOLDER, sql.substring(i, end + 1)));
+                i = end + 1;
+                literalStart = i;
+            } else if (sql.regionMatches(true, i, NOW, 0, NOW.length())) {
+                addLiteral(segments, sql, literalStart, i);
+                segments.add(new Segment(SegmentType.CURRENT_DATE_TIME, null));
+                i += NOW.length();
+                literalStart = i;
+            } else if (sql.regionMatches(true, i, CURDATE, 0, CURDATE.length())) {
+                addLiteral(segments, sql, literalStart, i);
+                segments.add(new Segment(SegmentType.CURRENT_BUSINESS_DATE, null));
+                i += CURDATE.length();
+                literalStart = i;
+            } else if (sql.regionMatches(true, i, CURRENT_DATE, 0, CURRENT_DATE.length())) {
+                addLiteral(segments, sql, literalStart, i);
+                segments.add(new Segment(SegmentType.CURRENT_BUSINESS_DATE, null));
+                i += CURRENT_DATE.length();
+                literalStart = i;
+            } else {
+                i++;
+            }
+        }
+        addLiteral(segments, sql, literalStart, sql.length());
+        return new ReportSqlTemplate(segments);
+    }
+
+    private static void addLiteral(List<Segment> segments, String sql, int start, int end) {
+        if (end > start) {
+            segments.add(new Segment(SegmentType.LITERAL, sql.substring(start, end)));
+        }
+    }
+
+    /**
+     * @param values
+     *            placeholder values keyed by the full placeholder (e.g. {@code ${officeId}}), placeholders without a
+     *            value are left untouched
+     */
+    public String render(final Map<String, String> values, final String currentDateTime, final String currentBusinessDate) {
+        final StringBuilder sql = new StringBuilder(literalLength + 16 * (segments.size() - placeholders.size()));
+        for (Segment segment : segments) {
+            switch (segment.type()) {
+                case LITERAL -> sql.append(segment.text());
+                case PLACEHOLDER -> sql.append(values.getOrDefault(segment.text(), segment.text()));
+                case CURRENT_DATE_TIME -> sql.append(currentDateTime);
+                case CURRENT_BUSINESS_DATE -> sql.append(currentBusinessDate);
+            }
+        }
+        return sql.toString();
+    }
+
+    public boolean usesPlaceholder(final String placeholder) {
+        return placeholders.contains(placeholder);
+    }
+
+    public boolean usesDateMacro() {
+        return dateMacroUsed;
+    }
+}
@@ -31,6 +31,7 @@ import org.apache.fineract.accounting.glaccount.domain.GLAccount;
 import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
 import org.apache.fineract.accounting.journalentry.domain.JournalEntryRepository;
 import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.accounting.trialbalance.service.TrialBalanceWritePlatformService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
@@ -73,6 +74,7 @@ public class TellerWritePlatformServiceJpaImpl implements TellerWritePlatformSer
     private final JournalEntryRepository glJournalEntryRepository;
     private final FinancialActivityAccountRepositoryWrapper financialActivityAccountRepositoryWrapper;
     private final CashierTransactionDataValidator cashierTransactionDataValidator;
+    private final TrialBalanceWritePlatformService trialBalanceWritePlatformService;
 
     @Override
     @Transactional
@@ -430,8 +432,8 @@ public class TellerWritePlatformServiceJpaImpl implements TellerWritePlatformSer
                                              // Savings
                                              // Txn
 
-            this.glJournalEntryRepository.saveAndFlush(debitJournalEntry);
-            this.glJournalEntryRepository.saveAndFlush(creditJournalEntry);
+            this.trialBalanceWritePlatformService.recordJournalEntry(this.glJournalEntryRepository.saveAndFlush(debitJournalEntry));
+            this.trialBalanceWritePlatformService.recordJournalEntry(this.glJournalEntryRepository.saveAndFlush(creditJournalEntry));
 
             return new CommandProcessingResultBuilder() //
                     .withCommandId(command.commandId()) //
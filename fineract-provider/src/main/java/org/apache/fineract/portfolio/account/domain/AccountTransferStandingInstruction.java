@@ -38,6 +38,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import java.math.BigDecimal;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.MonthDay;
 import java.util.ArrayList;
@@ -49,6 +50,7 @@ import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.data.DataValidatorBuilder;
 import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
 
 @Entity
@@ -99,6 +101,9 @@ public class AccountTransferStandingInstruction extends AbstractPersistableCusto
     @Column(name = "last_run_date")
     private LocalDate latsRunDate;
 
+    @Column(name = "next_due_date")
+    private LocalDate nextDueDate;
+
     protected AccountTransferStandingInstruction() {
 
     }
@@ -142,6 +147,7 @@ public class AccountTransferStandingInstruction extends AbstractPersistableCusto
         if (!dataValidationErrors.isEmpty()) {
             throw new PlatformApiDataValidationException(dataValidationErrors);
         }
+        updateNextDueDate(DateUtils.getBusinessLocalDate());
     }
 
     public Map<String, Object> update(JsonCommand command) {
@@ -226,6 +232,7 @@ public class AccountTransferStandingInstruction extends AbstractPersistableCusto
         if (!dataValidationErrors.isEmpty()) {
             throw new PlatformApiDataValidationException(dataValidationErrors);
         }
+        updateNextDueDate(DateUtils.getBusinessLocalDate());
         return actualChanges;
     }
 
@@ -276,6 +283,28 @@ public class AccountTransferStandingInstruction extends AbstractPersistableCusto
         this.latsRunDate = latsRunDate;
     }
 
+    /**
+     * Recomputes the first date on or after {@code from} the instruction can be due on, see
+     * {@link StandingInstructionSchedule#nextDueDate}. Instructions following the loan dues have no schedule and are
+     * checked on every run of the standing instruction job.
+     */
+    public void updateNextDueDate(final LocalDate from) {
+        this.nextDueDate = null;
+        if (!AccountTransferRecurrenceType.fromInt(this.recurrenceType).isPeriodicRecurrence() || this.recurrenceFrequency == null
+                || this.validFrom == null) {
+            return;
+        }
+        final PeriodFrequencyType frequencyType = PeriodFrequencyType.fromInt(this.recurrenceFrequency);
+        try {
+            final LocalDate startDate = StandingInstructionSchedule.startDate(frequencyType, this.validFrom, this.recurrenceOnDay,
+                    this.recurrenceOnMonth);
+            this.nextDueDate = StandingInstructionSchedule.nextDueDate(frequencyType, this.recurrenceInterval, startDate, from);
+        } catch (DateTimeException e) {
+            // no start date in the month of validFrom (e.g. on the 31st), left to be checked on every run
+            this.nextDueDate = null;
+        }
+    }
+
     public void updateStatus(Integer status) {
         this.status = status;
     }
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.domain;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultScheduledDateGenerator;
+
+/**
+ * Recurrence schedule of a periodic standing instruction: the instruction is due on {@link #startDate} and on every
+ * {@code interval} periods after it.
+ */
+public final class StandingInstructionSchedule {
+
+    private StandingInstructionSchedule() {}
+
+    public static LocalDate startDate(final PeriodFrequencyType frequencyType, final LocalDate validFrom, final Integer recurrenceOnDay,
+            final Integer recurrenceOnMonth) {
+        LocalDate startDate = validFrom;
+        if (frequencyType.isMonthly()) {
+            startDate = startDate.withDayOfMonth(recurrenceOnDay);
+            if (DateUtils.isBefore(startDate, validFrom)) {
+                startDate = startDate.plusMonths(1);
+            }
+        } else if (frequencyType.isYearly()) {
+            startDate = startDate.withDayOfMonth(recurrenceOnDay).withMonth(recurrenceOnMonth);
+            if (DateUtils.isBefore(startDate, validFrom)) {
+                startDate = startDate.plusYears(1);
+            }
+        }
+        return startDate;
+    }
+
+    public static boolean isDue(final PeriodFrequencyType frequencyType, final Integer interval, final LocalDate startDate,
+            final LocalDate date) {
+        return new DefaultScheduledDateGenerator().isDateFallsInSchedule(frequencyType, interval, startDate, date);
+    }
+
+    /**
+     * First schedule date on or after {@code from}, or {@code null} when the frequency has no schedule.
+     * <p>
+     * The returned date is never after the next due date, but it is not always due itself: a date clamped to the end of a
+     * shorter month is not due according to {@link #isDue}, which callers still check before executing.
+     */
+    public static LocalDate nextDueDate(final PeriodFrequencyType frequencyType, final Integer interval, final LocalDate startDate,
+            final LocalDate from) {
+        final ChronoUnit unit = unitOf(frequencyType);
+        if (unit == null || interval == null || interval <= 0 || startDate == null) {
+            return null;
+        }
+        if (!DateUtils.isAfter(from, startDate)) {
+            return startDate;
+        }
+        long periods = unit.between(startDate, from) / interval * interval;
+        LocalDate candidate = startDate.plus(periods, unit);
+        while (DateUtils.isBefore(candidate, from)) {
+            periods += interval;
+            candidate = startDate.plus(periods, unit);
+        }
+        return candidate;
+    }
+
+    private static ChronoUnit unitOf(final PeriodFrequencyType frequencyType) {
+        if (frequencyType == null) {
+            return null;
+        }
+        return switch (frequencyType) {
+            case DAYS -> ChronoUnit.DAYS;
+            case WEEKS -> ChronoUnit.WEEKS;
+            case MONTHS -> ChronoUnit.MONTHS;
+            case YEARS -> ChronoUnit.YEARS;
+            default -> null;
+        };
+    }
+}
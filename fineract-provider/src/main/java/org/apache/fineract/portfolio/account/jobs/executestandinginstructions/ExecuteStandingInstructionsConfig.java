@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.account.jobs.executestandinginstructions;
 
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.portfolio.account.service.AccountTransfersWritePlatformService;
@@ -32,7 +33,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 public class ExecuteStandingInstructionsConfig {
@@ -49,6 +52,8 @@ public class ExecuteStandingInstructionsConfig {
     private DatabaseSpecificSQLGenerator sqlGenerator;
     @Autowired
     private AccountTransfersWritePlatformService accountTransfersWritePlatformService;
+    @Autowired
+    private FineractProperties fineractProperties;
 
     @Bean
     protected Step executeStandingInstructionsStep() {
@@ -65,6 +70,16 @@ public class ExecuteStandingInstructionsConfig {
     @Bean
     public ExecuteStandingInstructionsTasklet executeStandingInstructionsTasklet() {
         return new ExecuteStandingInstructionsTasklet(standingInstructionReadPlatformService, jdbcTemplate, sqlGenerator,
-                accountTransfersWritePlatformService);
+                accountTransfersWritePlatformService, new TransactionTemplate(transactionManager), standingInstructionTaskExecutor());
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor standingInstructionTaskExecutor() {
+        int threadPoolSize = fineractProperties.getJob().getStandingInstructionThreadPoolSize();
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(threadPoolSize);
+        threadPoolTaskExecutor.setMaxPoolSize(threadPoolSize);
+        threadPoolTaskExecutor.setThreadNamePrefix("standingInstruction");
+        return threadPoolTaskExecutor;
     }
 }
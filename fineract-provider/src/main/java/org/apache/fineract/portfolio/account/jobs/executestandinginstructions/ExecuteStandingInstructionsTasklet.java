@@ -22,26 +22,33 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.exception.AbstractPlatformServiceUnavailableException;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.portfolio.account.data.AccountTransferDTO;
 import org.apache.fineract.portfolio.account.data.StandingInstructionData;
 import org.apache.fineract.portfolio.account.data.StandingInstructionDuesData;
 import org.apache.fineract.portfolio.account.domain.AccountTransferRecurrenceType;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionSchedule;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionStatus;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionType;
 import org.apache.fineract.portfolio.account.service.AccountTransfersWritePlatformService;
 import org.apache.fineract.portfolio.account.service.StandingInstructionReadPlatformService;
 import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
-import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultScheduledDateGenerator;
-import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.ScheduledDateGenerator;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 import org.apache.fineract.portfolio.savings.exception.InsufficientAccountBalanceException;
 import org.springframework.batch.core.StepContribution;
@@ -49,90 +56,222 @@ import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Executes the active standing instructions due on the business date.
+ * <p>
+ * Only the instructions whose {@code next_due_date} has been reached (or is unknown) are loaded. Instructions sharing
+ * an account, as source or as destination, are grouped together and the groups are spread over the partitions of the
+ * standing instruction task executor. No account is touched by two partitions at the same time, and transfers of the
+ * same account keep their priority order, while unrelated accounts are processed in parallel. Every transfer runs in its
+ * own transaction together with its {@code last_run_date} and {@code next_due_date} update and its history row; a
+ * failing instruction is recorded in the history and reported at the end without stopping the others. Only the next due
+ * dates of instructions without a transfer are written in a batch per partition.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class ExecuteStandingInstructionsTasklet implements Tasklet {
 
+    private static final String UPDATE_LAST_RUN_DATE_SQL = "UPDATE m_account_transfer_standing_instructions SET last_run_date = ?"
+            + " WHERE id = ?";
+    private static final String UPDATE_NEXT_DUE_DATE_SQL = "UPDATE m_account_transfer_standing_instructions SET next_due_date = ?"
+            + " WHERE id = ?";
+    private static final String UPDATE_LAST_RUN_AND_NEXT_DUE_DATE_SQL = "UPDATE m_account_transfer_standing_instructions"
+            + " SET last_run_date = ?, next_due_date = ? WHERE id = ?";
+    private static final String STATUS_SUCCESS = "success";
+    private static final String STATUS_FAILED = "failed";
+
     private final StandingInstructionReadPlatformService standingInstructionReadPlatformService;
     private final JdbcTemplate jdbcTemplate;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
     private final AccountTransfersWritePlatformService accountTransfersWritePlatformService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor taskExecutor;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
         Collection<StandingInstructionData> instructionData = standingInstructionReadPlatformService
                 .retrieveAll(StandingInstructionStatus.ACTIVE.getValue());
-        List<Throwable> errors = new ArrayList<>();
-        for (StandingInstructionData data : instructionData) {
-            boolean isDueForTransfer = false;
-            AccountTransferRecurrenceType recurrenceType = data.getRecurrenceType();
-            StandingInstructionType instructionType = data.getInstructionType();
-            LocalDate transactionDate = DateUtils.getBusinessLocalDate();
-            if (recurrenceType.isPeriodicRecurrence()) {
-                final ScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
-                PeriodFrequencyType frequencyType = data.getRecurrenceFrequency();
-                LocalDate startDate = data.getValidFrom();
-                if (frequencyType.isMonthly()) {
-                    startDate = startDate.withDayOfMonth(data.getRecurrenceOnDay());
-                    if (DateUtils.isBefore(startDate, data.getValidFrom())) {
-                        startDate = startDate.plusMonths(1);
-                    }
-                } else if (frequencyType.isYearly()) {
-                    startDate = startDate.withDayOfMonth(data.getRecurrenceOnDay()).withMonth(data.getRecurrenceOnMonth());
-                    if (DateUtils.isBefore(startDate, data.getValidFrom())) {
-                        startDate = startDate.plusYears(1);
-                    }
+        if (instructionData.isEmpty()) {
+            return RepeatStatus.FINISHED;
+        }
+        LocalDate transactionDate = DateUtils.getBusinessLocalDate();
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        FineractContext context = ThreadLocalContextUtil.getContext();
+        // the system user the job runs as, pool threads do not inherit the security context of the job thread
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        List<Future<?>> responses = new ArrayList<>();
+        for (List<StandingInstructionData> partition : partitionByAccount(instructionData, taskExecutor.getMaxPoolSize())) {
+            responses.add(taskExecutor.submit(() -> {
+                try {
+                    ThreadLocalContextUtil.init(context);
+                    SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+                    securityContext.setAuthentication(authentication);
+                    SecurityContextHolder.setContext(securityContext);
+                    executePartition(partition, transactionDate, errors);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                    ThreadLocalContextUtil.reset();
                 }
-                isDueForTransfer = scheduledDateGenerator.isDateFallsInSchedule(frequencyType, data.getRecurrenceInterval(), startDate,
-                        transactionDate);
+            }));
+        }
+        for (Future<?> response : responses) {
+            try {
+                response.get();
+            } catch (ExecutionException e) {
+                errors.add(e.getCause());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+        return RepeatStatus.FINISHED;
+    }
 
+    /**
+     * Splits the instructions into at most {@code partitionCount} partitions. Instructions connected through a source or
+     * destination account end up in the same partition in their original (priority) order, so concurrent transfers never
+     * update the same account.
+     */
+    List<List<StandingInstructionData>> partitionByAccount(Collection<StandingInstructionData> instructionData, int partitionCount) {
+        Map<String, String> parentAccounts = new HashMap<>();
+        for (StandingInstructionData data : instructionData) {
+            String sourceRoot = rootAccount(parentAccounts, sourceAccountKey(data));
+            String destinationRoot = rootAccount(parentAccounts, destinationAccountKey(data));
+            if (!sourceRoot.equals(destinationRoot)) {
+                parentAccounts.put(destinationRoot, sourceRoot);
             }
-            BigDecimal transactionAmount = data.getAmount();
-            if (data.getToAccountType().isLoanAccount()
-                    && (recurrenceType.isDuesRecurrence() || (isDueForTransfer && instructionType.isDuesAmoutTransfer()))) {
-                StandingInstructionDuesData standingInstructionDuesData = standingInstructionReadPlatformService
-                        .retriveLoanDuesData(data.getToAccount().getId());
-                if (data.getInstructionType().isDuesAmoutTransfer()) {
-                    transactionAmount = standingInstructionDuesData.totalDueAmount();
-                }
-                if (recurrenceType.isDuesRecurrence()) {
-                    isDueForTransfer = isDueForTransfer(standingInstructionDuesData);
+        }
+        Map<String, List<StandingInstructionData>> byAccountGroup = new LinkedHashMap<>();
+        for (StandingInstructionData data : instructionData) {
+            byAccountGroup.computeIfAbsent(rootAccount(parentAccounts, sourceAccountKey(data)), key -> new ArrayList<>()).add(data);
+        }
+        int count = Math.max(1, Math.min(partitionCount, byAccountGroup.size()));
+        List<List<StandingInstructionData>> partitions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        // largest groups first, each to the least loaded partition
+        byAccountGroup.values().stream().sorted((first, second) -> Integer.compare(second.size(), first.size())).forEach(group -> {
+            List<StandingInstructionData> target = partitions.get(0);
+            for (List<StandingInstructionData> partition : partitions) {
+                if (partition.size() < target.size()) {
+                    target = partition;
                 }
             }
+            target.addAll(group);
+        });
+        return partitions;
+    }
 
-            if (isDueForTransfer && transactionAmount != null && transactionAmount.compareTo(BigDecimal.ZERO) > 0) {
-                final SavingsAccount fromSavingsAccount = null;
-                final boolean isRegularTransaction = true;
-                final boolean isExceptionForBalanceCheck = false;
-                AccountTransferDTO accountTransferDTO = new AccountTransferDTO(transactionDate, transactionAmount,
-                        data.getFromAccountType(), data.getToAccountType(), data.getFromAccount().getId(), data.getToAccount().getId(),
-                        data.getName() + " Standing instruction trasfer ", null, null, null, null, data.toTransferType(), null, null,
-                        data.getTransferType().getValue(), null, null, ExternalId.empty(), null, null, fromSavingsAccount,
-                        isRegularTransaction, isExceptionForBalanceCheck);
-                final boolean transferCompleted = transferAmount(errors, accountTransferDTO, data.getId());
-
-                if (transferCompleted) {
-                    final String updateQuery = "UPDATE m_account_transfer_standing_instructions SET last_run_date = ? where id = ?";
-                    jdbcTemplate.update(updateQuery, transactionDate, data.getId());
-                }
+    private static String sourceAccountKey(StandingInstructionData data) {
+        return data.getFromAccountType() + "-" + data.getFromAccount().getId();
+    }
+
+    private static String destinationAccountKey(StandingInstructionData data) {
+        return data.getToAccountType() + "-" + data.getToAccount().getId();
+    }
 
+    /**
+     * Root of the account group, {@code parentAccounts} only holds the accounts merged into another group.
+     */
+    private static String rootAccount(Map<String, String> parentAccounts, String account) {
+        String root = account;
+        while (parentAccounts.containsKey(root)) {
+            root = parentAccounts.get(root);
+        }
+        String current = account;
+        while (!current.equals(root)) {
+            current = parentAccounts.put(current, root);
+        }
+        return root;
+    }
+
+    private void executePartition(List<StandingInstructionData> partition, LocalDate transactionDate, List<Throwable> errors) {
+        List<Object[]> nextDueDates = new ArrayList<>();
+        for (StandingInstructionData data : partition) {
+            try {
+                executeInstruction(data, transactionDate, errors, nextDueDates);
+            } catch (Exception e) {
+                errors.add(new Exception("Exception while executing standing Instruction id" + data.getId(), e));
             }
         }
-        if (!errors.isEmpty()) {
-            throw new JobExecutionException(errors);
+        if (!nextDueDates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_NEXT_DUE_DATE_SQL, nextDueDates);
+        }
+    }
+
+    private void executeInstruction(StandingInstructionData data, LocalDate transactionDate, List<Throwable> errors,
+            List<Object[]> nextDueDates) {
+        boolean isDueForTransfer = false;
+        AccountTransferRecurrenceType recurrenceType = data.getRecurrenceType();
+        StandingInstructionType instructionType = data.getInstructionType();
+        LocalDate startDate = null;
+        if (recurrenceType.isPeriodicRecurrence()) {
+            PeriodFrequencyType frequencyType = data.getRecurrenceFrequency();
+            startDate = StandingInstructionSchedule.startDate(frequencyType, data.getValidFrom(), data.getRecurrenceOnDay(),
+                    data.getRecurrenceOnMonth());
+            isDueForTransfer = StandingInstructionSchedule.isDue(frequencyType, data.getRecurrenceInterval(), startDate, transactionDate);
+        }
+        BigDecimal transactionAmount = data.getAmount();
+        if (data.getToAccountType().isLoanAccount()
+                && (recurrenceType.isDuesRecurrence() || (isDueForTransfer && instructionType.isDuesAmoutTransfer()))) {
+            StandingInstructionDuesData standingInstructionDuesData = standingInstructionReadPlatformService
+                    .retriveLoanDuesData(data.getToAccount().getId());
+            if (data.getInstructionType().isDuesAmoutTransfer()) {
+                transactionAmount = standingInstructionDuesData.totalDueAmount();
+            }
+            if (recurrenceType.isDuesRecurrence()) {
+                isDueForTransfer = isDueForTransfer(standingInstructionDuesData);
+            }
+        }
+
+        LocalDate nextDueDate = startDate == null ? null
+                : StandingInstructionSchedule.nextDueDate(data.getRecurrenceFrequency(), data.getRecurrenceInterval(), startDate,
+                        transactionDate.plusDays(1));
+        if (isDueForTransfer && transactionAmount != null && transactionAmount.compareTo(BigDecimal.ZERO) > 0) {
+            final SavingsAccount fromSavingsAccount = null;
+            final boolean isRegularTransaction = true;
+            final boolean isExceptionForBalanceCheck = false;
+            AccountTransferDTO accountTransferDTO = new AccountTransferDTO(transactionDate, transactionAmount, data.getFromAccountType(),
+                    data.getToAccountType(), data.getFromAccount().getId(), data.getToAccount().getId(),
+                    data.getName() + " Standing instruction trasfer ", null, null, null, null, data.toTransferType(), null, null,
+                    data.getTransferType().getValue(), null, null, ExternalId.empty(), null, null, fromSavingsAccount,
+                    isRegularTransaction, isExceptionForBalanceCheck);
+            boolean transferCompleted = transferAmount(errors, accountTransferDTO, data.getId(), nextDueDate);
+            if (!transferCompleted && startDate != null) {
+                // a failed transfer stays due for a rerun of the job on the same day
+                nextDueDates.add(new Object[] { transactionDate, data.getId() });
+            }
+        } else if (startDate != null) {
+            nextDueDates.add(new Object[] { nextDueDate, data.getId() });
         }
-        return RepeatStatus.FINISHED;
     }
 
-    private boolean transferAmount(final List<Throwable> errors, final AccountTransferDTO accountTransferDTO, final Long instructionId) {
-        boolean transferCompleted = true;
+    /**
+     * Transfers the amount and records the run of the instruction in the same transaction, so a posted transfer always
+     * has its history row and updated run dates. A failed transfer gets its history row right after the rollback.
+     */
+    private boolean transferAmount(final List<Throwable> errors, final AccountTransferDTO accountTransferDTO, final Long instructionId,
+            final LocalDate nextDueDate) {
         StringBuilder errorLog = new StringBuilder();
-        StringBuilder updateQuery = new StringBuilder(
-                "INSERT INTO m_account_transfer_standing_instructions_history (standing_instruction_id, " + sqlGenerator.escape("status")
-                        + ", amount,execution_time, error_log) VALUES (");
         try {
-            accountTransfersWritePlatformService.transferFunds(accountTransferDTO);
+            transactionTemplate.executeWithoutResult(status -> {
+                accountTransfersWritePlatformService.transferFunds(accountTransferDTO);
+                if (nextDueDate == null) {
+                    jdbcTemplate.update(UPDATE_LAST_RUN_DATE_SQL, accountTransferDTO.getTransactionDate(), instructionId);
+                } else {
+                    jdbcTemplate.update(UPDATE_LAST_RUN_AND_NEXT_DUE_DATE_SQL, accountTransferDTO.getTransactionDate(), nextDueDate,
+                            instructionId);
+                }
+                insertHistory(instructionId, STATUS_SUCCESS, accountTransferDTO.getTransactionAmount(), "");
+            });
         } catch (final PlatformApiDataValidationException e) {
             errors.add(new Exception("Validation exception while transfering funds for standing Instruction id" + instructionId + " from "
                     + accountTransferDTO.getFromAccountId() + " to " + accountTransferDTO.getToAccountId(), e));
@@ -151,20 +290,19 @@ public class ExecuteStandingInstructionsTasklet implements Tasklet {
             errorLog.append("Exception while trasfering funds ").append(e.getMessage());
 
         }
-        updateQuery.append(instructionId).append(",");
-        if (errorLog.length() > 0) {
-            transferCompleted = false;
-            updateQuery.append("'failed'").append(",");
-        } else {
-            updateQuery.append("'success'").append(",");
+        boolean transferCompleted = errorLog.length() == 0;
+        if (!transferCompleted) {
+            insertHistory(instructionId, STATUS_FAILED, accountTransferDTO.getTransactionAmount(), errorLog.toString());
         }
-        updateQuery.append(accountTransferDTO.getTransactionAmount().doubleValue());
-        updateQuery.append(", now(),");
-        updateQuery.append("'").append(errorLog).append("')");
-        jdbcTemplate.update(updateQuery.toString());
         return transferCompleted;
     }
 
+    private void insertHistory(Long instructionId, String status, BigDecimal amount, String errorLog) {
+        jdbcTemplate.update("INSERT INTO m_account_transfer_standing_instructions_history (standing_instruction_id, "
+                + sqlGenerator.escape("status") + ", amount, execution_time, error_log) VALUES (?, ?, ?, now(), ?)", instructionId, status,
+                amount, errorLog);
+    }
+
     public boolean isDueForTransfer(StandingInstructionDuesData standingInstructionDuesData) {
         return standingInstructionDuesData.dueDate() != null
                 && !standingInstructionDuesData.dueDate().isAfter(LocalDate.now(DateUtils.getDateTimeZoneOfTenant()));
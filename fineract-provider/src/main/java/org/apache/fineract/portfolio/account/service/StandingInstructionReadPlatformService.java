@@ -33,6 +33,10 @@ public interface StandingInstructionReadPlatformService {
 
     StandingInstructionData retrieveOne(Long instructionId);
 
+    /**
+     * Instructions of the given status valid on the business date, not run yet on that date and whose next due date (if
+     * known) has been reached, by descending priority.
+     */
     Collection<StandingInstructionData> retrieveAll(Integer status);
 
     StandingInstructionDuesData retriveLoanDuesData(Long loanId);
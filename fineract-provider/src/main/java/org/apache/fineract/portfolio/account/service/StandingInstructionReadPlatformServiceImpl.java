@@ -338,7 +338,8 @@ public class StandingInstructionReadPlatformServiceImpl implements StandingInstr
                 .append(" where atsi.status=? and " + businessDate + " >= atsi.valid_from and (atsi.valid_till IS NULL or " + businessDate
                         + " < atsi.valid_till) ")
                 .append(" and  (atsi.last_run_date <> " + businessDate + " or atsi.last_run_date IS NULL)")
-                .append(" ORDER BY atsi.priority DESC");
+                .append(" and (atsi.next_due_date IS NULL or atsi.next_due_date <= " + businessDate + ")")
+                .append(" ORDER BY atsi.priority DESC, atsi.id");
         return this.jdbcTemplate.query(sqlBuilder.toString(), this.standingInstructionMapper, status);
     }
 
@@ -18,7 +18,9 @@
  */
 package org.apache.fineract.portfolio.loanaccount.jobs.applychargetooverdueloaninstallment;
 
+import org.apache.fineract.cob.loan.LoanLockingService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.portfolio.loanaccount.service.LoanChargeWritePlatformService;
 import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
@@ -31,7 +33,9 @@ import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 public class ApplyChargeToOverdueLoanInstallmentConfig {
@@ -46,6 +50,10 @@ public class ApplyChargeToOverdueLoanInstallmentConfig {
     private LoanReadPlatformService loanReadPlatformService;
     @Autowired
     private LoanChargeWritePlatformService loanChargeWritePlatformService;
+    @Autowired
+    private LoanLockingService loanLockingService;
+    @Autowired
+    private FineractProperties fineractProperties;
 
     @Bean
     protected Step applyChargeToOverdueLoanInstallmentStep() {
@@ -62,6 +70,17 @@ public class ApplyChargeToOverdueLoanInstallmentConfig {
     @Bean
     public ApplyChargeToOverdueLoanInstallmentTasklet applyChargeToOverdueLoanInstallmentTasklet() {
         return new ApplyChargeToOverdueLoanInstallmentTasklet(configurationDomainService, loanReadPlatformService,
-                loanChargeWritePlatformService);
+                loanChargeWritePlatformService, loanLockingService, overdueChargeTaskExecutor(),
+                new TransactionTemplate(transactionManager), fineractProperties.getJob().getOverdueChargePageSize());
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor overdueChargeTaskExecutor() {
+        int threadPoolSize = fineractProperties.getJob().getOverdueChargeThreadPoolSize();
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(threadPoolSize);
+        threadPoolTaskExecutor.setMaxPoolSize(threadPoolSize);
+        threadPoolTaskExecutor.setThreadNamePrefix("overdueCharge");
+        return threadPoolTaskExecutor;
     }
 }
@@ -19,16 +19,26 @@
 package org.apache.fineract.portfolio.loanaccount.jobs.applychargetooverdueloaninstallment;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.cob.domain.LoanAccountLock;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.loan.LoanLockingService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.exception.AbstractPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.portfolio.loanaccount.loanschedule.data.OverdueLoanScheduleData;
 import org.apache.fineract.portfolio.loanaccount.service.LoanChargeWritePlatformService;
@@ -37,7 +47,23 @@ import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Applies the overdue installment penalties of the active loans.
+ * <p>
+ * The overdue installments are read in loan id order, one page of {@code fineract.job.overdue-charge-page-size} loans
+ * at a time, and the loans of a page are spread over the partitions of the overdue charge task executor. Every loan
+ * gets its charges applied in its own transaction exactly as before, already applied charge periods are left out so a
+ * rerun on the same business date adds nothing. Failures are reported at the end without stopping the other loans.
+ * <p>
+ * Every loan is locked with {@link LockOwner#LOAN_INLINE_COB_PROCESSING} while its charges are applied, so neither Loan
+ * COB nor API writes change it meanwhile. Loans locked by a running Loan COB are skipped, the COB applies their overdue
+ * charges itself. Loans left locked by a failed Loan COB get their charges applied under the existing lock, which stays
+ * in place for the COB to catch them up.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class ApplyChargeToOverdueLoanInstallmentTasklet implements Tasklet {
@@ -45,53 +71,137 @@ public class ApplyChargeToOverdueLoanInstallmentTasklet implements Tasklet {
     private final ConfigurationDomainService configurationDomainService;
     private final LoanReadPlatformService loanReadPlatformService;
     private final LoanChargeWritePlatformService loanChargeWritePlatformService;
+    private final LoanLockingService loanLockingService;
+    private final ThreadPoolTaskExecutor taskExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
         final Long penaltyWaitPeriodValue = configurationDomainService.retrievePenaltyWaitPeriod();
         final Boolean backdatePenalties = configurationDomainService.isBackdatePenaltiesEnabled();
-        final Collection<OverdueLoanScheduleData> overdueLoanScheduledInstallments = loanReadPlatformService
-                .retrieveAllLoansWithOverdueInstallments(penaltyWaitPeriodValue, backdatePenalties);
+        final List<Throwable> exceptions = Collections.synchronizedList(new ArrayList<>());
+        final FineractContext context = ThreadLocalContextUtil.getContext();
 
-        if (!overdueLoanScheduledInstallments.isEmpty()) {
-            final Map<Long, Collection<OverdueLoanScheduleData>> overdueScheduleData = new HashMap<>();
-            for (final OverdueLoanScheduleData overdueInstallment : overdueLoanScheduledInstallments) {
-                if (overdueScheduleData.containsKey(overdueInstallment.getLoanId())) {
-                    overdueScheduleData.get(overdueInstallment.getLoanId()).add(overdueInstallment);
-                } else {
-                    Collection<OverdueLoanScheduleData> loanData = new ArrayList<>();
-                    loanData.add(overdueInstallment);
-                    overdueScheduleData.put(overdueInstallment.getLoanId(), loanData);
-                }
-            }
+        Long lastLoanId = 0L;
+        List<OverdueLoanScheduleData> overdueInstallments = loanReadPlatformService
+                .retrieveLoansWithOverdueInstallments(penaltyWaitPeriodValue, backdatePenalties, lastLoanId, pageSize);
+        while (!overdueInstallments.isEmpty()) {
+            final Map<Long, List<OverdueLoanScheduleData>> overdueScheduleData = overdueInstallments.stream().collect(
+                    Collectors.groupingBy(OverdueLoanScheduleData::getLoanId, LinkedHashMap::new, Collectors.toList()));
+            lastLoanId = overdueInstallments.get(overdueInstallments.size() - 1).getLoanId();
+
+            applyOverdueCharges(new ArrayList<>(overdueScheduleData.keySet()), overdueScheduleData, context, exceptions);
+
+            overdueInstallments = loanReadPlatformService.retrieveLoansWithOverdueInstallments(penaltyWaitPeriodValue, backdatePenalties,
+                    lastLoanId, pageSize);
+        }
+        if (!exceptions.isEmpty()) {
+            throw new JobExecutionException(exceptions);
+        }
+        return RepeatStatus.FINISHED;
+    }
 
-            List<Throwable> exceptions = new ArrayList<>();
-            for (Map.Entry<Long, Collection<OverdueLoanScheduleData>> entry : overdueScheduleData.entrySet()) {
+    private void applyOverdueCharges(List<Long> loanIds, Map<Long, List<OverdueLoanScheduleData>> overdueScheduleData,
+            FineractContext context, List<Throwable> exceptions) throws InterruptedException {
+        if (loanIds.isEmpty()) {
+            return;
+        }
+        final int partitionSize = (int) Math.ceil(loanIds.size() / (double) taskExecutor.getMaxPoolSize());
+        final List<Future<?>> responses = new ArrayList<>();
+        for (List<Long> partition : ListUtils.partition(loanIds, partitionSize)) {
+            responses.add(taskExecutor.submit(() -> {
                 try {
-                    if (!entry.getValue().isEmpty()) {
-                        loanChargeWritePlatformService.applyOverdueChargesForLoan(entry.getKey(), entry.getValue());
+                    ThreadLocalContextUtil.init(context);
+                    for (Long loanId : partition) {
+                        applyOverdueChargesUnderLock(loanId, overdueScheduleData.get(loanId), exceptions);
                     }
+                } finally {
+                    ThreadLocalContextUtil.reset();
+                }
+            }));
+        }
+        for (Future<?> response : responses) {
+            try {
+                response.get();
+            } catch (ExecutionException e) {
+                exceptions.add(e.getCause());
+            }
+        }
+    }
 
-                } catch (final PlatformApiDataValidationException e) {
-                    final List<ApiParameterError> errors = e.getErrors();
-                    for (final ApiParameterError error : errors) {
-                        log.error("Apply Charges due for overdue loans failed for account {} with message: {}", entry.getKey(),
-                                error.getDeveloperMessage(), e);
-                    }
-                    exceptions.add(e);
-                } catch (final AbstractPlatformDomainRuleException e) {
-                    log.error("Apply Charges due for overdue loans failed for account {} with message: {}", entry.getKey(),
-                            e.getDefaultUserMessage(), e);
-                    exceptions.add(e);
-                } catch (Exception e) {
-                    log.error("Apply Charges due for overdue loans failed for account {}", entry.getKey(), e);
-                    exceptions.add(e);
+    private void applyOverdueChargesUnderLock(Long loanId, List<OverdueLoanScheduleData> overdueInstallments, List<Throwable> exceptions) {
+        final LoanLockState lockState;
+        try {
+            lockState = lock(loanId);
+        } catch (Exception e) {
+            log.error("Unable to lock loan {} to apply its overdue charges", loanId, e);
+            exceptions.add(e);
+            return;
+        }
+        if (lockState == LoanLockState.LOCKED_BY_COB) {
+            log.info("Skipping overdue charges of loan {} locked by a running Loan COB", loanId);
+            return;
+        }
+        try {
+            applyOverdueCharges(loanId, overdueInstallments, exceptions);
+        } finally {
+            if (lockState == LoanLockState.ACQUIRED) {
+                unlock(loanId, exceptions);
+            }
+        }
+    }
+
+    private LoanLockState lock(Long loanId) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                loanLockingService.applyLock(List.of(loanId), LockOwner.LOAN_INLINE_COB_PROCESSING);
+                return LoanLockState.ACQUIRED;
+            } catch (DataIntegrityViolationException e) {
+                List<LoanAccountLock> locks = loanLockingService.findAllByLoanIdIn(List.of(loanId));
+                if (!locks.isEmpty()) {
+                    // a lock with an error is left behind by a failed Loan COB, nothing is processing the loan
+                    return StringUtils.isNotBlank(locks.get(0).getError()) ? LoanLockState.LOCKED_BY_FAILED_COB
+                            : LoanLockState.LOCKED_BY_COB;
                 }
+                // released in the meantime, try again
             }
-            if (!exceptions.isEmpty()) {
-                throw new JobExecutionException(exceptions);
+        }
+        return LoanLockState.LOCKED_BY_COB;
+    }
+
+    private void unlock(Long loanId, List<Throwable> exceptions) {
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> loanLockingService.deleteByLoanIdInAndLockOwner(List.of(loanId), LockOwner.LOAN_INLINE_COB_PROCESSING));
+        } catch (Exception e) {
+            log.error("Unable to release the lock of loan {} after applying its overdue charges", loanId, e);
+            exceptions.add(e);
+        }
+    }
+
+    private void applyOverdueCharges(Long loanId, List<OverdueLoanScheduleData> overdueInstallments, List<Throwable> exceptions) {
+        try {
+            loanChargeWritePlatformService.applyOverdueChargesForLoan(loanId, overdueInstallments);
+        } catch (final PlatformApiDataValidationException e) {
+            final List<ApiParameterError> errors = e.getErrors();
+            for (final ApiParameterError error : errors) {
+                log.error("Apply Charges due for overdue loans failed for account {} with message: {}", loanId,
+                        error.getDeveloperMessage(), e);
             }
+            exceptions.add(e);
+        } catch (final AbstractPlatformDomainRuleException e) {
+            log.error("Apply Charges due for overdue loans failed for account {} with message: {}", loanId, e.getDefaultUserMessage(), e);
+            exceptions.add(e);
+        } catch (Exception e) {
+            log.error("Apply Charges due for overdue loans failed for account {}", loanId, e);
+            exceptions.add(e);
         }
-        return RepeatStatus.FINISHED;
+    }
+
+    private enum LoanLockState {
+        ACQUIRED, //
+        LOCKED_BY_FAILED_COB, //
+        LOCKED_BY_COB //
     }
 }
@@ -24,7 +24,9 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +37,7 @@ import org.apache.fineract.infrastructure.event.business.service.BusinessEventNo
 import org.apache.fineract.organisation.holiday.domain.Holiday;
 import org.apache.fineract.organisation.holiday.domain.HolidayRepositoryWrapper;
 import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
 import org.apache.fineract.portfolio.loanaccount.data.ScheduleGeneratorDTO;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
@@ -73,6 +76,8 @@ public class ApplyHolidaysToLoansTasklet implements Tasklet {
         final Collection<LoanStatus> loanStatuses = new ArrayList<>(
                 Arrays.asList(LoanStatus.SUBMITTED_AND_PENDING_APPROVAL, LoanStatus.APPROVED, LoanStatus.ACTIVE));
         final List<Holiday> holidays = holidayRepository.findUnprocessed();
+        // the holidays and working days of an office are loaded once per run and their calendar is shared by its loans
+        final Map<OfficeHolidaysKey, HolidayDetailDTO> holidayDetails = new HashMap<>();
 
         for (final Holiday holiday : holidays) {
             final Set<Office> offices = holiday.getOffices();
@@ -87,7 +92,7 @@ public class ApplyHolidaysToLoansTasklet implements Tasklet {
             loans.addAll(loanRepositoryWrapper.findByGroupOfficeIdsAndLoanStatus(officeIds, loanStatuses));
 
             for (final Loan loan : loans) {
-                applyHolidayToRepaymentScheduleDates(loan, holiday);
+                applyHolidayToRepaymentScheduleDates(loan, holiday, holidayDetails);
             }
             loanRepositoryWrapper.save(loans);
             holiday.setProcessed(true);
@@ -97,6 +102,10 @@ public class ApplyHolidaysToLoansTasklet implements Tasklet {
     }
 
     public void applyHolidayToRepaymentScheduleDates(Loan loan, Holiday holiday) {
+        applyHolidayToRepaymentScheduleDates(loan, holiday, new HashMap<>());
+    }
+
+    private void applyHolidayToRepaymentScheduleDates(Loan loan, Holiday holiday, Map<OfficeHolidaysKey, HolidayDetailDTO> holidayDetails) {
         LocalDate adjustedRescheduleToDate = null;
         boolean isResheduleToNextRepaymentDate = holiday.getReScheduleType().isResheduleToNextRepaymentDate();
         if (holiday.getReScheduleType().isResheduleToNextRepaymentDate()) {
@@ -106,10 +115,13 @@ public class ApplyHolidaysToLoansTasklet implements Tasklet {
         }
 
         if (isRepaymentScheduleAdjustmentNeeded(adjustedRescheduleToDate)) {
+            final HolidayDetailDTO holidayDetailDTO = holidayDetails.computeIfAbsent(
+                    new OfficeHolidaysKey(loan.getOfficeId(), loan.getDisbursementDate()),
+                    key -> loanUtilService.constructHolidayDTO(key.officeId(), key.fromDate()));
             if (isResheduleToNextRepaymentDate) {
-                adjustAllRepaymentSchedules(loan, holiday, adjustedRescheduleToDate);
+                adjustAllRepaymentSchedules(loan, holiday, adjustedRescheduleToDate, holidayDetailDTO);
             } else {
-                adjustRepaymentSchedules(loan, holiday, adjustedRescheduleToDate);
+                adjustRepaymentSchedules(loan, holiday, adjustedRescheduleToDate, holidayDetailDTO);
             }
             businessEventNotifierService.notifyPostBusinessEvent(new LoanRescheduledDueHolidayBusinessEvent(loan));
         }
@@ -119,9 +131,11 @@ public class ApplyHolidaysToLoansTasklet implements Tasklet {
         return adjustedRescheduleToDate != null;
     }
 
-    private void adjustRepaymentSchedules(Loan loan, Holiday holiday, LocalDate adjustedRescheduleToDate) {
+    private void adjustRepaymentSchedules(Loan loan, Holiday holiday, LocalDate adjustedRescheduleToDate,
+            HolidayDetailDTO holidayDetailDTO) {
         final DefaultScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
-        ScheduleGeneratorDTO scheduleGeneratorDTO = loanUtilService.buildScheduleGeneratorDTO(loan, holiday.getFromDate());
+        ScheduleGeneratorDTO scheduleGeneratorDTO = loanUtilService.buildScheduleGeneratorDTO(loan, holiday.getFromDate(), null,
+                holidayDetailDTO);
         final LoanApplicationTerms loanApplicationTerms = loanTermVariationsMapper.constructLoanApplicationTerms(scheduleGeneratorDTO,
                 loan);
 
@@ -152,9 +166,11 @@ public class ApplyHolidaysToLoansTasklet implements Tasklet {
         }
     }
 
-    private void adjustAllRepaymentSchedules(Loan loan, Holiday holiday, LocalDate adjustedRescheduleToDate) {
+    private void adjustAllRepaymentSchedules(Loan loan, Holiday holiday, LocalDate adjustedRescheduleToDate,
+            HolidayDetailDTO holidayDetailDTO) {
         final DefaultScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
-        ScheduleGeneratorDTO scheduleGeneratorDTO = loanUtilService.buildScheduleGeneratorDTO(loan, holiday.getFromDate());
+        ScheduleGeneratorDTO scheduleGeneratorDTO = loanUtilService.buildScheduleGeneratorDTO(loan, holiday.getFromDate(), null,
+                holidayDetailDTO);
         final LoanApplicationTerms loanApplicationTerms = loanTermVariationsMapper.constructLoanApplicationTerms(scheduleGeneratorDTO,
                 loan);
 
@@ -209,4 +225,7 @@ public class ApplyHolidaysToLoansTasklet implements Tasklet {
         }
         return adjustedRescheduleToDate;
     }
+
+    private record OfficeHolidaysKey(Long officeId, LocalDate fromDate) {
+    }
 }
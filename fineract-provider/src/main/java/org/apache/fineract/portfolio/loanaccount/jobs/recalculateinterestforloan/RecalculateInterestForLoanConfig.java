@@ -18,6 +18,9 @@
  */
 package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
@@ -26,12 +29,16 @@ import org.apache.fineract.portfolio.loanaccount.service.LoanWritePlatformServic
 import org.apache.fineract.portfolio.loanaccount.service.RecalculateInterestPoster;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -40,9 +47,18 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+/**
+ * The interest recalculation job is a single chunk oriented step: {@link RecalculateInterestForLoanItemReader} pages
+ * through the loan ids, {@link RecalculateInterestForLoanItemWriter} recalculates every chunk of
+ * {@code batch-size * thread-pool-size} loans on {@code thread-pool-size} threads. Both job parameters are optional, as
+ * is {@code officeId} restricting the job to the loans of the clients of an office and its children.
+ */
 @Configuration
 public class RecalculateInterestForLoanConfig {
 
+    private static final int DEFAULT_THREAD_POOL_SIZE = 1;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
     @Autowired
     private JobRepository jobRepository;
     @Autowired
@@ -64,10 +80,16 @@ public class RecalculateInterestForLoanConfig {
     @Qualifier(TaskExecutorConstant.DEFAULT_TASK_EXECUTOR_BEAN_NAME)
     private ThreadPoolTaskExecutor taskExecutor;
 
+    @Autowired
+    private Optional<MeterRegistry> meterRegistry;
+
     @Bean
     protected Step recalculateInterestForLoanStep() {
         return new StepBuilder(JobName.RECALCULATE_INTEREST_FOR_LOAN.name(), jobRepository)
-                .tasklet(recalculateInterestForLoanTasklet(), transactionManager).build();
+                .<Long, Long>chunk(recalculateInterestForLoanCompletionPolicy(null, null), transactionManager)
+                .reader(recalculateInterestForLoanItemReader(null, null, null)) //
+                .writer(recalculateInterestForLoanItemWriter(null)) //
+                .build();
     }
 
     @Bean
@@ -84,8 +106,34 @@ public class RecalculateInterestForLoanConfig {
     }
 
     @Bean
-    public RecalculateInterestForLoanTasklet recalculateInterestForLoanTasklet() {
-        return new RecalculateInterestForLoanTasklet(loanReadPlatformService, loanWritePlatformService, applicationContext,
-                officeReadPlatformService, taskExecutor);
+    @StepScope
+    public CompletionPolicy recalculateInterestForLoanCompletionPolicy(@Value("#{jobParameters['thread-pool-size']}") String threadPoolSize,
+            @Value("#{jobParameters['batch-size']}") String batchSize) {
+        return new SimpleCompletionPolicy(chunkSize(threadPoolSize, batchSize));
+    }
+
+    @Bean
+    @StepScope
+    public RecalculateInterestForLoanItemReader recalculateInterestForLoanItemReader(
+            @Value("#{jobParameters['officeId']}") String officeId, @Value("#{jobParameters['thread-pool-size']}") String threadPoolSize,
+            @Value("#{jobParameters['batch-size']}") String batchSize) {
+        return new RecalculateInterestForLoanItemReader(loanReadPlatformService, officeReadPlatformService,
+                StringUtils.isBlank(officeId) ? null : Long.valueOf(officeId), chunkSize(threadPoolSize, batchSize));
+    }
+
+    @Bean
+    @StepScope
+    public RecalculateInterestForLoanItemWriter recalculateInterestForLoanItemWriter(
+            @Value("#{jobParameters['thread-pool-size']}") String threadPoolSize) {
+        return new RecalculateInterestForLoanItemWriter(applicationContext, taskExecutor, meterRegistry,
+                parse(threadPoolSize, DEFAULT_THREAD_POOL_SIZE));
+    }
+
+    private static int chunkSize(String threadPoolSize, String batchSize) {
+        return parse(threadPoolSize, DEFAULT_THREAD_POOL_SIZE) * parse(batchSize, DEFAULT_BATCH_SIZE);
+    }
+
+    private static int parse(String value, int defaultValue) {
+        return StringUtils.isBlank(value) ? defaultValue : Integer.parseInt(value);
     }
 }
@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.fineract.organisation.office.data.OfficeData;
+import org.apache.fineract.organisation.office.exception.OfficeNotFoundException;
+import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+
+/**
+ * Reads the ids of the loans due for interest recalculation in ascending order, one page of {@code pageSize} ids after
+ * the last id fetched at a time (keyset paging). The last id handed to the step is saved in the step execution context
+ * at every chunk commit, so a restarted step continues after the last committed chunk.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RecalculateInterestForLoanItemReader implements ItemStreamReader<Long> {
+
+    static final String LAST_LOAN_ID_KEY = "recalculateInterest.lastLoanId";
+
+    private final LoanReadPlatformService loanReadPlatformService;
+    private final OfficeReadPlatformService officeReadPlatformService;
+    private final Long officeId;
+    private final int pageSize;
+
+    private final Deque<Long> page = new ArrayDeque<>();
+    private String officeHierarchy;
+    private Long lastFetchedLoanId = 0L;
+    private Long lastReadLoanId = 0L;
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        if (officeId != null) {
+            final OfficeData office = officeReadPlatformService.retrieveOffice(officeId);
+            if (office == null) {
+                throw new OfficeNotFoundException(officeId);
+            }
+            officeHierarchy = office.getHierarchy() + "%";
+        }
+        if (executionContext.containsKey(LAST_LOAN_ID_KEY)) {
+            lastReadLoanId = executionContext.getLong(LAST_LOAN_ID_KEY);
+            lastFetchedLoanId = lastReadLoanId;
+            log.info("Restarting interest recalculation after loan {}", lastReadLoanId);
+        }
+    }
+
+    @Override
+    public Long read() {
+        if (page.isEmpty()) {
+            final List<Long> loanIds = loanReadPlatformService.fetchLoansForInterestRecalculation(pageSize, lastFetchedLoanId,
+                    officeHierarchy);
+            if (CollectionUtils.isEmpty(loanIds)) {
+                return null;
+            }
+            log.debug("Fetched {} loans for interest recalculation after loan {}", loanIds.size(), lastFetchedLoanId);
+            page.addAll(loanIds);
+            lastFetchedLoanId = loanIds.get(loanIds.size() - 1);
+        }
+        lastReadLoanId = page.poll();
+        return lastReadLoanId;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        executionContext.putLong(LAST_LOAN_ID_KEY, lastReadLoanId);
+    }
+}
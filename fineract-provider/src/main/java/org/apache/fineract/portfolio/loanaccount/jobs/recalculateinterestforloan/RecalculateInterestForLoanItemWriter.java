@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.loanaccount.service.RecalculateInterestPoster;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Recalculates the interest of a chunk of loans by splitting it between {@code threadPoolSize}
+ * {@link RecalculateInterestPoster}s. Every loan is recalculated in its own transaction, so a failing loan is counted
+ * as a write skip and the step goes on with the others; the step fails at the end when any loan was skipped. Those
+ * loans are picked up again by the next run as their interest is not marked as recalculated for the business date.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RecalculateInterestForLoanItemWriter implements ItemWriter<Long>, StepExecutionListener {
+
+    private static final String METRIC_NAME_LOANS = "fineract.loan.interest-recalculation.loans";
+    private static final String METRIC_NAME_CHUNK = "fineract.loan.interest-recalculation.chunk";
+
+    private final ApplicationContext applicationContext;
+    private final ThreadPoolTaskExecutor taskExecutor;
+    private final Optional<MeterRegistry> meterRegistry;
+    private final int threadPoolSize;
+
+    private StepExecution stepExecution;
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        this.stepExecution = stepExecution;
+        taskExecutor.setCorePoolSize(threadPoolSize);
+        taskExecutor.setMaxPoolSize(threadPoolSize);
+    }
+
+    @Override
+    public void write(Chunk<? extends Long> chunk) throws Exception {
+        final long start = System.nanoTime();
+        final List<Long> loanIds = new ArrayList<>(chunk.getItems());
+        final int partitionSize = (int) Math.ceil(loanIds.size() / (double) threadPoolSize);
+        final List<List<Long>> partitions = ListUtils.partition(loanIds, partitionSize);
+
+        final List<Future<RecalculateInterestPoster.Result>> responses = partitions.stream().map(subList -> {
+            RecalculateInterestPoster recalculateInterestPoster = applicationContext.getBean(RecalculateInterestPoster.class);
+            recalculateInterestPoster.setLoanIds(subList);
+            recalculateInterestPoster.setFineractContext(ThreadLocalContextUtil.getContext());
+            return taskExecutor.submit(recalculateInterestPoster);
+        }).toList();
+
+        int recalculated = 0;
+        final Map<Long, Exception> failures = new LinkedHashMap<>();
+        for (int i = 0; i < responses.size(); i++) {
+            try {
+                RecalculateInterestPoster.Result result = responses.get(i).get();
+                recalculated += result.recalculated();
+                failures.putAll(result.failures());
+            } catch (ExecutionException e) {
+                for (Long loanId : partitions.get(i)) {
+                    failures.put(loanId, e);
+                }
+            }
+        }
+        failures.forEach((loanId, e) -> log.warn("Interest recalculation failed for loan {}", loanId, e));
+        if (stepExecution != null && !failures.isEmpty()) {
+            stepExecution.setWriteSkipCount(stepExecution.getWriteSkipCount() + failures.size());
+        }
+        record(recalculated, failures.size(), System.nanoTime() - start);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        final long skipped = stepExecution.getWriteSkipCount();
+        if (skipped > 0) {
+            log.error("Interest recalculation failed for {} of {} loans", skipped, stepExecution.getWriteCount());
+            stepExecution.setStatus(BatchStatus.FAILED);
+            return ExitStatus.FAILED.addExitDescription("Interest recalculation failed for " + skipped + " loans");
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    private void record(int recalculated, int failed, long durationNanos) {
+        meterRegistry.ifPresent(registry -> {
+            Counter.builder(METRIC_NAME_LOANS).description("Loans processed by the interest recalculation job")
+                    .tags("result", "recalculated").register(registry).increment(recalculated);
+            Counter.builder(METRIC_NAME_LOANS).description("Loans processed by the interest recalculation job").tags("result", "failed")
+                    .register(registry).increment(failed);
+            Timer.builder(METRIC_NAME_CHUNK).description("Duration of recalculating the interest of a chunk of loans")
+                    .tags("threads", String.valueOf(threadPoolSize)).register(registry).record(durationNanos, TimeUnit.NANOSECONDS);
+        });
+    }
+}
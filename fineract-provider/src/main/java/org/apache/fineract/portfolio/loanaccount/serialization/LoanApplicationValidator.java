@@ -234,10 +234,9 @@ public final class LoanApplicationValidator {
     }
 
     public void validateForCreate(JsonCommand command) {
-        String json = command.json();
-        validateRequestBody(json);
-        validateForSupportedParameters(json);
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
+        validateRequestBody(command.json());
+        final JsonElement element = parsedJson(command);
+        validateForSupportedParameters(element);
         validateForCreate(element);
     }
 
@@ -877,10 +876,10 @@ public final class LoanApplicationValidator {
     }
 
     public void validateForModify(final JsonCommand command, final Loan loan) {
-        String json = command.json();
-        validateRequestBody(json);
+        validateRequestBody(command.json());
+        final JsonElement element = parsedJson(command);
 
-        validateForSupportedParameters(json);
+        validateForSupportedParameters(element);
 
         if (!loan.isSubmittedAndPendingApproval()) {
             throw new LoanApplicationNotInSubmittedAndPendingApprovalStateCannotBeModified(loan.getId());
@@ -897,7 +896,6 @@ public final class LoanApplicationValidator {
         }
 
         Validator.validateOrThrow("loan", baseDataValidator -> {
-            final JsonElement element = this.fromApiJsonHelper.parse(json);
             boolean atLeastOneParameterPassedForUpdate = false;
 
             Long clientId = loan.getClient() != null ? loan.getClient().getId() : null;
@@ -1954,6 +1952,22 @@ public final class LoanApplicationValidator {
         this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, SUPPORTED_PARAMETERS);
     }
 
+    private void validateForSupportedParameters(JsonElement element) {
+        if (!element.isJsonObject()) {
+            throw new InvalidJsonException();
+        }
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(), SUPPORTED_PARAMETERS);
+    }
+
+    /**
+     * Commands coming through the command pipeline carry the already parsed request, it is only parsed again for
+     * commands built from the raw JSON.
+     */
+    private JsonElement parsedJson(final JsonCommand command) {
+        final JsonElement element = command.parsedJson();
+        return element != null ? element : this.fromApiJsonHelper.parse(command.json());
+    }
+
     public BigDecimal validateTopupLoan(final Loan loan, final LocalDate disbursementDate) {
         final Long loanIdToClose = loan.getTopupLoanDetails().getLoanIdToClose();
         final Loan loanToClose = loanRepositoryWrapper.findNonClosedLoanThatBelongsToClient(loanIdToClose, loan.getClientId());
@@ -1993,11 +2007,13 @@ public final class LoanApplicationValidator {
                         LoanApiConstants.noteParameterName, LoanApiConstants.localeParameterName, LoanApiConstants.dateFormatParameterName,
                         LoanApiConstants.disbursementDataParameterName, LoanApiConstants.expectedDisbursementDateParameterName));
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, disbursementParameters);
+        final JsonElement element = parsedJson(command);
+        if (!element.isJsonObject()) {
+            throw new InvalidJsonException();
+        }
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(), disbursementParameters);
 
         Validator.validateOrThrow("loanapplication", baseDataValidator -> {
-            final JsonElement element = this.fromApiJsonHelper.parse(json);
 
             final BigDecimal principal = this.fromApiJsonHelper
                     .extractBigDecimalWithLocaleNamed(LoanApiConstants.approvedLoanAmountParameterName, element);
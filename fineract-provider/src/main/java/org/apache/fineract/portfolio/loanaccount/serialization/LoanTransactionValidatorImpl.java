@@ -117,41 +117,38 @@ public final class LoanTransactionValidatorImpl implements LoanTransactionValida
 
     @Override
     public void validateDisbursement(JsonCommand command, boolean isAccountTransfer, Long loanId) {
-        String json = command.json();
-        if (StringUtils.isBlank(json)) {
+        if (StringUtils.isBlank(command.json())) {
             throw new InvalidJsonException();
         }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, getDisbursementParameters(isAccountTransfer));
+        // the values read here through the command are memoized and reused by the disbursement itself
+        command.checkForUnsupportedParameters(getDisbursementParameters(isAccountTransfer));
 
         Validator.validateOrThrow("loan.disbursement", baseDataValidator -> {
-            final JsonElement element = this.fromApiJsonHelper.parse(json);
-            final LocalDate actualDisbursementDate = this.fromApiJsonHelper.extractLocalDateNamed("actualDisbursementDate", element);
+            final JsonElement element = command.parsedJson();
+            final LocalDate actualDisbursementDate = command.localDateValueOfParameterNamed("actualDisbursementDate");
             baseDataValidator.reset().parameter("actualDisbursementDate").value(actualDisbursementDate).notNull();
 
-            final String note = this.fromApiJsonHelper.extractStringNamed("note", element);
+            final String note = command.stringValueOfParameterNamedAllowingNull("note");
             baseDataValidator.reset().parameter("note").value(note).notExceedingLengthOf(1000);
 
-            final BigDecimal principal = this.fromApiJsonHelper
-                    .extractBigDecimalWithLocaleNamed(LoanApiConstants.principalDisbursedParameterName, element);
+            final BigDecimal principal = command.bigDecimalValueOfParameterNamed(LoanApiConstants.principalDisbursedParameterName);
             baseDataValidator.reset().parameter(LoanApiConstants.principalDisbursedParameterName).value(principal).ignoreIfNull()
                     .positiveAmount();
 
-            final BigDecimal netDisbursalAmount = this.fromApiJsonHelper
-                    .extractBigDecimalWithLocaleNamed(LoanApiConstants.disbursementNetDisbursalAmountParameterName, element);
+            final BigDecimal netDisbursalAmount = command
+                    .bigDecimalValueOfParameterNamed(LoanApiConstants.disbursementNetDisbursalAmountParameterName);
             baseDataValidator.reset().parameter(LoanApiConstants.disbursementNetDisbursalAmountParameterName).value(netDisbursalAmount)
                     .ignoreIfNull().positiveAmount();
 
-            final BigDecimal emiAmount = this.fromApiJsonHelper
-                    .extractBigDecimalWithLocaleNamed(LoanApiConstants.fixedEmiAmountParameterName, element);
+            final BigDecimal emiAmount = command.bigDecimalValueOfParameterNamed(LoanApiConstants.fixedEmiAmountParameterName);
             baseDataValidator.reset().parameter(LoanApiConstants.fixedEmiAmountParameterName).value(emiAmount).ignoreIfNull()
                     .positiveAmount().notGreaterThanMax(principal);
 
             validatePaymentDetails(baseDataValidator, element);
 
             if (command.parameterExists("postDatedChecks")) {
-                this.validateDisbursementWithPostDatedChecks(command.json(), loanId);
+                this.validateDisbursementWithPostDatedChecks(element, loanId);
             }
 
             final Loan loan = this.loanRepositoryWrapper.findOneWithNotFoundDetection(loanId, true);
@@ -241,8 +238,7 @@ public final class LoanTransactionValidatorImpl implements LoanTransactionValida
         });
     }
 
-    private void validateDisbursementWithPostDatedChecks(final String json, final Long loanId) {
-        final JsonElement jsonElement = this.fromApiJsonHelper.parse(json);
+    private void validateDisbursementWithPostDatedChecks(final JsonElement jsonElement, final Long loanId) {
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("loan.disbursement");
         final Loan loan = this.loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
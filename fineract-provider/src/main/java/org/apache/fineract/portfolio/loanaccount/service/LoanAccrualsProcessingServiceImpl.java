@@ -31,15 +31,21 @@ import static org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionTy
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -47,6 +53,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.accounting.common.AccountingRuleType;
 import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.infrastructure.core.domain.FineractContext;
@@ -122,29 +129,51 @@ public class LoanAccrualsProcessingServiceImpl implements LoanAccrualsProcessing
     private final LoanChargeService loanChargeService;
     private final LoanBalanceService loanBalanceService;
     private final LoanChargePaidByRepository loanChargePaidByRepository;
+    private final FineractProperties fineractProperties;
 
     /**
-     * method adds accrual for batch job "Add Periodic Accrual Transactions" and add accruals api for Loan
+     * method adds accrual for add accruals api for Loan. The loans are processed on the calling thread in the caller's
+     * transaction, so the api stays all-or-nothing.
      */
     @Override
     @Transactional
     public void addPeriodicAccruals(@NotNull LocalDate tillDate) throws JobExecutionException {
-        List<Loan> loans = loanRepositoryWrapper.findLoansForPeriodicAccrual(AccountingRuleType.ACCRUAL_PERIODIC, tillDate,
-                !isChargeOnDueDate());
+        final boolean chargeOnDueDate = isChargeOnDueDate();
+        final int pageSize = Math.max(1, fineractProperties.getJob().getPeriodicAccrualChunkSize());
         List<Throwable> errors = new ArrayList<>();
-        for (Loan loan : loans) {
-            try {
-                addPeriodicAccruals(tillDate, loan);
-            } catch (Exception e) {
-                log.error("Failed to add accrual for loan {}", loan.getId(), e);
-                errors.add(e);
+        Long lastLoanId = 0L;
+        List<Long> loanIds;
+        do {
+            loanIds = loanRepositoryWrapper.findLoanIdsForPeriodicAccrual(AccountingRuleType.ACCRUAL_PERIODIC, tillDate, !chargeOnDueDate,
+                    lastLoanId, pageSize);
+            for (Long loanId : loanIds) {
+                try {
+                    processAccrual(loanId, loan -> addPeriodicAccruals(tillDate, loan));
+                } catch (Exception e) {
+                    log.error("Failed to add accrual for loan {}", loanId, e);
+                    errors.add(e);
+                }
             }
-        }
+            if (!loanIds.isEmpty()) {
+                lastLoanId = loanIds.get(loanIds.size() - 1);
+            }
+        } while (loanIds.size() == pageSize);
         if (!errors.isEmpty()) {
             throw new JobExecutionException(errors);
         }
     }
 
+    /**
+     * method adds accrual for batch job "Add Periodic Accrual Transactions"
+     */
+    @Override
+    public void addPeriodicAccrualsInChunks(@NotNull LocalDate tillDate) throws JobExecutionException {
+        final boolean chargeOnDueDate = isChargeOnDueDate();
+        processAccrualsInChunks("periodic accrual", (lastLoanId, limit) -> loanRepositoryWrapper
+                .findLoanIdsForPeriodicAccrual(AccountingRuleType.ACCRUAL_PERIODIC, tillDate, !chargeOnDueDate, lastLoanId, limit),
+                loan -> addPeriodicAccruals(tillDate, loan));
+    }
+
     /**
      * method adds accrual for Loan COB business step
      */
@@ -162,47 +191,103 @@ public class LoanAccrualsProcessingServiceImpl implements LoanAccrualsProcessing
      * method adds accrual for batch job "Add Accrual Transactions"
      */
     @Override
-    @Transactional
     public void addAccruals(@NotNull LocalDate tillDate) throws JobExecutionException {
         final boolean chargeOnDueDate = isChargeOnDueDate();
-        List<Loan> loans = loanRepositoryWrapper.findLoansForAddAccrual(AccountingRuleType.ACCRUAL_PERIODIC, tillDate, !chargeOnDueDate);
+        processAccrualsInChunks("accrual", (lastLoanId, limit) -> loanRepositoryWrapper
+                .findLoanIdsForAddAccrual(AccountingRuleType.ACCRUAL_PERIODIC, tillDate, !chargeOnDueDate, lastLoanId, limit),
+                loan -> addAccruals(loan, tillDate, false, false, true, chargeOnDueDate));
+    }
 
-        List<Future<?>> loanTasks = new ArrayList<>();
+    /**
+     * Reads the ids of the loans to accrue page by page (keyset on the loan id) and processes every page as a chunk on
+     * the task executor in its own transaction, with at most {@code fineract.job.periodic-accrual-max-in-flight-chunks}
+     * chunks submitted at a time. When a chunk fails, its loans are processed again one by one so that a single failing
+     * loan does not hold back the others.
+     */
+    private void processAccrualsInChunks(String accrualName, BiFunction<Long, Integer, List<Long>> loanIdPageReader,
+            Consumer<Loan> accrualProcessor) throws JobExecutionException {
+        final int chunkSize = Math.max(1, fineractProperties.getJob().getPeriodicAccrualChunkSize());
+        final int maxInFlightChunks = Math.max(1, fineractProperties.getJob().getPeriodicAccrualMaxInFlightChunks());
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final long startNanos = System.nanoTime();
+
+        Deque<Future<AccrualChunkResult>> chunkTasks = new ArrayDeque<>();
+        List<Throwable> errors = new ArrayList<>();
+        int processedLoans = 0;
+        int chunks = 0;
+        Long lastLoanId = 0L;
+        List<Long> loanIds;
+        do {
+            loanIds = loanIdPageReader.apply(lastLoanId, chunkSize);
+            if (loanIds.isEmpty()) {
+                break;
+            }
+            lastLoanId = loanIds.get(loanIds.size() - 1);
+            if (chunkTasks.size() >= maxInFlightChunks) {
+                processedLoans += awaitAccrualChunk(chunkTasks.poll(), errors);
+            }
+            final List<Long> chunkLoanIds = loanIds;
+            chunkTasks.add(taskExecutor.submit(() -> processAccrualChunk(context, chunkLoanIds, accrualProcessor)));
+            chunks++;
+        } while (loanIds.size() == chunkSize);
+        while (!chunkTasks.isEmpty()) {
+            processedLoans += awaitAccrualChunk(chunkTasks.poll(), errors);
+        }
 
-        FineractContext context = ThreadLocalContextUtil.getContext();
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        log.info("Processed {} for {} loans in {} chunks in {} ms ({} loans/sec), {} failed", accrualName, processedLoans, chunks,
+                elapsedMillis, processedLoans * 1000L / elapsedMillis, errors.size());
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
 
-        loans.forEach(outerLoan -> {
-            loanTasks.add(taskExecutor.submit(() -> {
-                try {
-                    ThreadLocalContextUtil.init(context);
-                    transactionTemplate.executeWithoutResult(status -> {
-                        Loan loan = loanRepositoryWrapper.findOneWithNotFoundDetection(outerLoan.getId());
-                        try {
-                            log.debug("Adding accruals for loan '{}'", loan.getId());
-                            addAccruals(loan, tillDate, false, false, true, chargeOnDueDate);
-                            log.debug("Successfully processed loan: '{}' for accrual entries", loan.getId());
-                        } catch (Exception e) {
-                            log.error("Failed to add accrual for loan {}", loan.getId(), e);
-                            throw new RuntimeException("Failed to add accrual for loan " + loan.getId(), e);
-                        }
-                    });
-                } finally {
-                    ThreadLocalContextUtil.reset();
-                }
-            }));
-        });
+    private int awaitAccrualChunk(Future<AccrualChunkResult> chunkTask, List<Throwable> errors) {
+        try {
+            AccrualChunkResult result = chunkTask.get();
+            errors.addAll(result.errors());
+            return result.processedLoans();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.add(e);
+        } catch (ExecutionException e) {
+            errors.add(e.getCause());
+        }
+        return 0;
+    }
 
-        List<Throwable> errors = new ArrayList<>();
-        for (Future<?> task : loanTasks) {
+    private AccrualChunkResult processAccrualChunk(FineractContext context, List<Long> loanIds, Consumer<Loan> accrualProcessor) {
+        try {
+            ThreadLocalContextUtil.init(context);
             try {
-                task.get();
+                transactionTemplate.executeWithoutResult(status -> loanIds.forEach(loanId -> processAccrual(loanId, accrualProcessor)));
+                return new AccrualChunkResult(loanIds.size(), List.of());
             } catch (Exception e) {
-                errors.add(e);
+                log.warn("Failed to add accruals for the chunk of loans {} - {}, processing them one by one", loanIds.get(0),
+                        loanIds.get(loanIds.size() - 1), e);
             }
+            List<Throwable> errors = new ArrayList<>();
+            for (Long loanId : loanIds) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> processAccrual(loanId, accrualProcessor));
+                } catch (Exception e) {
+                    log.error("Failed to add accrual for loan {}", loanId, e);
+                    errors.add(e);
+                }
+            }
+            return new AccrualChunkResult(loanIds.size() - errors.size(), errors);
+        } finally {
+            ThreadLocalContextUtil.reset();
         }
-        if (!errors.isEmpty()) {
-            throw new JobExecutionException(errors);
-        }
+    }
+
+    private void processAccrual(Long loanId, Consumer<Loan> accrualProcessor) {
+        Loan loan = loanRepositoryWrapper.findOneWithNotFoundDetection(loanId);
+        log.debug("Adding accruals for loan '{}'", loanId);
+        accrualProcessor.accept(loan);
+    }
+
+    private record AccrualChunkResult(int processedLoans, List<Throwable> errors) {
     }
 
     /**
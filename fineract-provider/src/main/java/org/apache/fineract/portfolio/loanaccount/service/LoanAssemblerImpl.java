@@ -846,8 +846,7 @@ public class LoanAssemblerImpl implements LoanAssembler {
         if (changes.containsKey("recalculateLoanSchedule")) {
             changes.remove("recalculateLoanSchedule");
 
-            final JsonElement parsedQuery = this.fromApiJsonHelper.parse(command.json());
-            final JsonQuery query = JsonQuery.from(command.json(), parsedQuery, this.fromApiJsonHelper);
+            final JsonQuery query = JsonQuery.from(command.json(), command.parsedJson(), this.fromApiJsonHelper);
 
             final LoanScheduleModel loanScheduleModel = this.calculationPlatformService.calculateLoanSchedule(query, false);
             loanSchedule.updateLoanSchedule(loan, loanScheduleModel);
@@ -1876,22 +1876,44 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
     public Collection<OverdueLoanScheduleData> retrieveAllLoansWithOverdueInstallments(final Long penaltyWaitPeriod,
             final Boolean backdatePenalties) {
         final MusoniOverdueLoanScheduleMapper rm = new MusoniOverdueLoanScheduleMapper();
+        final List<Object> params = new ArrayList<>();
+        final String sql = "select " + rm.schema() + " where " + overdueInstallmentCondition(penaltyWaitPeriod, backdatePenalties, params);
+        return this.jdbcTemplate.query(sql, rm, params.toArray());
+    }
+
+    @Override
+    public List<OverdueLoanScheduleData> retrieveLoansWithOverdueInstallments(final Long penaltyWaitPeriod, final Boolean backdatePenalties,
+            final Long afterLoanId, final int maxLoans) {
+        final MusoniOverdueLoanScheduleMapper rm = new MusoniOverdueLoanScheduleMapper();
+        final List<Object> conditionParams = new ArrayList<>();
+        final String condition = overdueInstallmentCondition(penaltyWaitPeriod, backdatePenalties, conditionParams);
+        // the derived table picks the next page of loans, the outer query all their overdue installments
+        final String sql = "select " + rm.schema()
+                + " inner join (select distinct ls.loan_id from m_loan_repayment_schedule ls inner join m_loan ml on ml.id = ls.loan_id"
+                + " join m_product_loan_charge plc on plc.product_loan_id = ml.product_id join m_charge mc on mc.id = plc.charge_id"
+                + " where " + condition + " and ls.loan_id > ? order by ls.loan_id " + sqlGenerator.limit(maxLoans)
+                + ") page on page.loan_id = ls.loan_id where " + condition + " order by ls.loan_id, ls.installment, mc.id";
+        final List<Object> params = new ArrayList<>(conditionParams);
+        params.add(afterLoanId);
+        params.addAll(conditionParams);
+        return this.jdbcTemplate.query(sql, rm, params.toArray());
+    }
 
+    private String overdueInstallmentCondition(final Long penaltyWaitPeriod, final Boolean backdatePenalties, final List<Object> params) {
         final StringBuilder sqlBuilder = new StringBuilder(400);
-        sqlBuilder.append("select ").append(rm.schema())
-                .append(" where " + sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "?", "day") + " > ls.duedate ")
+        sqlBuilder.append(sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "?", "day") + " > ls.duedate ")
                 .append(" and ls.completed_derived <> true and mc.charge_applies_to_enum =1 ")
                 .append(" and ls.recalculated_interest_component <> true ")
                 .append(" and mc.charge_time_enum = 9 and ml.loan_status_id = 300 ");
+        params.add(penaltyWaitPeriod);
 
-        if (backdatePenalties) {
-            return this.jdbcTemplate.query(sqlBuilder.toString(), rm, penaltyWaitPeriod);
+        if (!backdatePenalties) {
+            // Only apply for duedate = yesterday (so that we don't apply
+            // penalties on the duedate itself)
+            sqlBuilder.append(" and ls.duedate >= " + sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "(? + 1)", "day"));
+            params.add(penaltyWaitPeriod);
         }
-        // Only apply for duedate = yesterday (so that we don't apply
-        // penalties on the duedate itself)
-        sqlBuilder.append(" and ls.duedate >= " + sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "(? + 1)", "day"));
-
-        return this.jdbcTemplate.query(sqlBuilder.toString(), rm, penaltyWaitPeriod, penaltyWaitPeriod);
+        return sqlBuilder.toString();
     }
 
     @Override
@@ -2048,57 +2070,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
     }
 
     @Override
-    public Collection<Long> fetchLoansForInterestRecalculation() {
-        final String sql = """
-                SELECT l.id
-                FROM m_loan l
-                INNER JOIN m_loan_repayment_schedule mr ON mr.loan_id = l.id
-                LEFT JOIN m_loan_disbursement_detail dd ON dd.loan_id=l.id AND dd.disbursedon_date IS NULL
-                -- for past due interest recalculation
-                LEFT JOIN m_loan_recalculation_details rcd ON rcd.loan_id = l.id
-                -- For Floating rate changes
-                LEFT JOIN m_product_loan_floating_rates pfr
-                    ON l.product_id = pfr.loan_product_id AND l.is_floating_interest_rate = TRUE
-                LEFT JOIN m_floating_rates fr ON pfr.floating_rates_id = fr.id
-                LEFT JOIN m_floating_rates_periods frp ON fr.id = frp.floating_rates_id
-                LEFT JOIN m_loan_reschedule_request lrr ON lrr.loan_id = l.id
-                -- this is to identify the applicable rates when base rate is changed
-                LEFT JOIN m_floating_rates bfr ON bfr.is_base_lending_rate = TRUE
-                LEFT JOIN m_floating_rates_periods bfrp ON bfr.id = bfrp.floating_rates_id AND bfrp.created_date >= ?
-                WHERE l.loan_status_id = ?
-                  AND l.is_npa = FALSE
-                  AND l.is_charged_off = FALSE
-                  AND dd.is_reversed = FALSE
-                  AND (
-                        (l.interest_recalculation_enabled = TRUE
-                            AND (l.interest_recalcualated_on IS NULL OR l.interest_recalcualated_on <> ?)
-                            AND ((mr.completed_derived IS FALSE AND mr.duedate < ?) OR dd.expected_disburse_date < ?)
-                            AND rcd.disallow_interest_calc_on_past_due = FALSE)
-                       OR
-                        -- float rate changes
-                        (fr.is_active = TRUE
-                            AND frp.is_active = TRUE
-                            AND (frp.created_date >= ?
-                                 OR (bfrp.id IS NOT NULL
-                                     AND frp.is_differential_to_base_lending_rate = TRUE
-                                     AND frp.from_date >= bfrp.from_date))
-                            AND lrr.loan_id IS NULL)
-                  )
-                GROUP BY l.id
-                """;
-        try {
-            LocalDate currentdate = DateUtils.getBusinessLocalDate();
-            // will look only for yesterday modified rates
-            LocalDate yesterday = DateUtils.getBusinessLocalDate().minusDays(1);
-            return this.jdbcTemplate.queryForList(sql, Long.class, yesterday, LoanStatus.ACTIVE.getValue(), currentdate, currentdate,
-                    currentdate, yesterday);
-        } catch (final EmptyResultDataAccessException e) {
-            return null;
-        }
-    }
-
-    @Override
-    public List<Long> fetchLoansForInterestRecalculation(Integer pageSize, Long maxLoanIdInList, String officeHierarchy) {
+    public List<Long> fetchLoansForInterestRecalculation(Integer pageSize, Long afterLoanId, String officeHierarchy) {
         LocalDate currentdate = DateUtils.getBusinessLocalDate();
         // will look only for yesterday modified rates
         LocalDate yesterday = DateUtils.getBusinessLocalDate().minusDays(1);
@@ -2108,6 +2080,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
                 LEFT JOIN m_client c ON c.id = l.client_id
                 LEFT JOIN m_office o ON c.office_id = o.id
                 INNER JOIN m_loan_repayment_schedule rps ON rps.loan_id = l.id
+                -- reversed tranches are filtered in the join, loans without a pending tranche are kept
                 LEFT JOIN m_loan_disbursement_detail dd
                     ON dd.loan_id=l.id AND dd.disbursedon_date IS NULL AND dd.is_reversed = FALSE
                 -- for past due interest recalculation
@@ -2138,14 +2111,20 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
                                       AND frp.from_date >= bfrp.from_date))
                              AND lrr.loan_id IS NULL)
                     )
-                    AND l.id >= ?
-                    AND o.hierarchy like ?
+                    AND l.id > ?
+                    %s
                 GROUP BY l.id
+                ORDER BY l.id
                 LIMIT ?
                 """;
         try {
-            return Collections.synchronizedList(this.jdbcTemplate.queryForList(sql, Long.class, yesterday, LoanStatus.ACTIVE.getValue(),
-                    currentdate, currentdate, currentdate, yesterday, maxLoanIdInList, officeHierarchy, pageSize));
+            if (officeHierarchy == null) {
+                return Collections.synchronizedList(this.jdbcTemplate.queryForList(sql.formatted(""), Long.class, yesterday,
+                        LoanStatus.ACTIVE.getValue(), currentdate, currentdate, currentdate, yesterday, afterLoanId, pageSize));
+            }
+            return Collections.synchronizedList(this.jdbcTemplate.queryForList(sql.formatted("AND o.hierarchy LIKE ?"), Long.class,
+                    yesterday, LoanStatus.ACTIVE.getValue(), currentdate, currentdate, currentdate, yesterday, afterLoanId, officeHierarchy,
+                    pageSize));
         } catch (final EmptyResultDataAccessException e) {
             return null;
         }
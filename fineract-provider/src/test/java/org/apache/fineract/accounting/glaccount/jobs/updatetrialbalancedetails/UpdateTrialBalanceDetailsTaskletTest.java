@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.glaccount.jobs.updatetrialbalancedetails;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.accounting.trialbalance.data.TrialBalanceAccountData;
+import org.apache.fineract.accounting.trialbalance.service.TrialBalanceWritePlatformService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.TrialBalanceUpdateMode;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.repeat.RepeatStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class UpdateTrialBalanceDetailsTaskletTest {
+
+    @Mock
+    private TrialBalanceWritePlatformService trialBalanceWritePlatformService;
+    @Mock
+    private FineractProperties fineractProperties;
+    @Mock
+    private ChunkContext chunkContext;
+    private StepContribution stepContribution;
+    private FineractProperties.FineractTrialBalanceProperties trialBalanceProperties;
+    private UpdateTrialBalanceDetailsTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        trialBalanceProperties = new FineractProperties.FineractTrialBalanceProperties();
+        trialBalanceProperties.setBatchSize(2);
+        when(fineractProperties.getTrialBalance()).thenReturn(trialBalanceProperties);
+        stepContribution = new StepExecution("updateTrialBalanceDetailsStep", new JobExecution(1L)).createStepContribution();
+        underTest = new UpdateTrialBalanceDetailsTasklet(trialBalanceWritePlatformService, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenMorePendingChangesThanBatchSizeWhenTaskExecutionThenTaskletContinues() throws Exception {
+        // given
+        when(trialBalanceWritePlatformService.applyPendingChanges(2)).thenReturn(2).thenReturn(1);
+        // when
+        RepeatStatus firstStatus = underTest.execute(stepContribution, chunkContext);
+        RepeatStatus secondStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        assertEquals(RepeatStatus.CONTINUABLE, firstStatus);
+        assertEquals(RepeatStatus.FINISHED, secondStatus);
+        verify(trialBalanceWritePlatformService, never()).findInconsistentAccounts();
+    }
+
+    @Test
+    public void givenVerifyModeWhenTaskExecutionThenInconsistentAccountsAreRebuiltAfterTheAppliedChangesAreCommitted() throws Exception {
+        // given
+        trialBalanceProperties.setUpdateMode(TrialBalanceUpdateMode.VERIFY);
+        TrialBalanceAccountData account = new TrialBalanceAccountData(1L, 10L);
+        when(trialBalanceWritePlatformService.applyPendingChanges(2)).thenReturn(1);
+        when(trialBalanceWritePlatformService.findInconsistentAccounts()).thenReturn(List.of(account));
+        // when
+        RepeatStatus applyStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        assertEquals(RepeatStatus.CONTINUABLE, applyStatus);
+        verify(trialBalanceWritePlatformService, never()).findInconsistentAccounts();
+        // when
+        RepeatStatus verifyStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        assertEquals(RepeatStatus.FINISHED, verifyStatus);
+        verify(trialBalanceWritePlatformService, times(1)).applyPendingChanges(2);
+        verify(trialBalanceWritePlatformService).rebuild(account);
+    }
+
+    @Test
+    public void givenRebuildModeWhenTaskExecutionThenWholeTrialBalanceIsRebuilt() throws Exception {
+        // given
+        trialBalanceProperties.setUpdateMode(TrialBalanceUpdateMode.REBUILD);
+        // when
+        RepeatStatus status = underTest.execute(stepContribution, chunkContext);
+        // then
+        assertEquals(RepeatStatus.FINISHED, status);
+        verify(trialBalanceWritePlatformService).rebuildAll();
+        verify(trialBalanceWritePlatformService, never()).applyPendingChanges(anyInt());
+        verifyNoMoreInteractions(trialBalanceWritePlatformService);
+    }
+}
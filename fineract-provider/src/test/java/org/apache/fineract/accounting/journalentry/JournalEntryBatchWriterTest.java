@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryBatchWriter;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryBatchWriter.GLAccountMappingKey;
+import org.apache.fineract.accounting.trialbalance.service.TrialBalanceWritePlatformService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.event.business.domain.journalentry.LoanJournalEntryCreatedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+
+@ExtendWith(MockitoExtension.class)
+class JournalEntryBatchWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private AuditorAware<Long> auditorAware;
+    @Mock
+    private TrialBalanceWritePlatformService trialBalanceWritePlatformService;
+    @Mock
+    private BusinessEventNotifierService businessEventNotifierService;
+    @Mock
+    private EntityManager entityManager;
+    private FineractProperties fineractProperties;
+    private JournalEntryBatchWriter underTest;
+
+    @BeforeEach
+    void setUp() {
+        fineractProperties = new FineractProperties();
+        fineractProperties.setJournalEntry(new FineractProperties.FineractJournalEntryProperties());
+        underTest = new JournalEntryBatchWriter(jdbcTemplate, auditorAware, trialBalanceWritePlatformService, businessEventNotifierService,
+                fineractProperties, Optional.empty());
+        underTest.setEntityManager(entityManager);
+    }
+
+    @Test
+    void testCollectedJournalEntriesAreInsertedWithOneBatchWhenPostingCompletes() {
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of(1L));
+        doAnswer(invocation -> {
+            KeyHolder keyHolder = invocation.getArgument(2);
+            keyHolder.getKeyList().add(Map.of("id", 11L));
+            keyHolder.getKeyList().add(Map.of("id", 12L));
+            return new int[] { 1, 1 };
+        }).when(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class));
+        JournalEntry debit = journalEntry(5L);
+        JournalEntry credit = journalEntry(null);
+
+        underTest.collect(() -> {
+            assertTrue(underTest.add(debit));
+            assertTrue(underTest.add(credit));
+            verifyNoInteractions(jdbcTemplate);
+        });
+
+        verify(entityManager).flush();
+        verify(jdbcTemplate, times(1)).batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class));
+        verify(debit).setId(11L);
+        verify(credit).setId(12L);
+        verify(trialBalanceWritePlatformService).recordJournalEntries(List.of(debit, credit));
+        verify(businessEventNotifierService, times(1)).notifyPostBusinessEvent(any(LoanJournalEntryCreatedBusinessEvent.class));
+        assertFalse(underTest.add(debit));
+    }
+
+    @Test
+    void testJournalEntriesAreNotCollectedWhenBatchWriteIsDisabled() {
+        fineractProperties.getJournalEntry().setBatchWriteEnabled(false);
+        AtomicInteger runs = new AtomicInteger();
+
+        underTest.collect(() -> {
+            runs.incrementAndGet();
+            assertFalse(underTest.add(mock(JournalEntry.class)));
+        });
+
+        assertEquals(1, runs.get());
+        verifyNoInteractions(jdbcTemplate, entityManager);
+        verify(trialBalanceWritePlatformService, never()).recordJournalEntries(anyList());
+    }
+
+    @Test
+    void testGLAccountMappingIsResolvedOncePerPosting() {
+        GLAccount glAccount = mock(GLAccount.class);
+        GLAccountMappingKey key = new GLAccountMappingKey(1L, 1, 2, null, null);
+        AtomicInteger lookups = new AtomicInteger();
+
+        underTest.collect(() -> {
+            assertSame(glAccount, underTest.resolveGLAccount(key, () -> {
+                lookups.incrementAndGet();
+                return glAccount;
+            }));
+            assertSame(glAccount, underTest.resolveGLAccount(key, () -> {
+                lookups.incrementAndGet();
+                return glAccount;
+            }));
+        });
+        underTest.resolveGLAccount(key, () -> {
+            lookups.incrementAndGet();
+            return glAccount;
+        });
+
+        assertEquals(2, lookups.get());
+    }
+
+    private JournalEntry journalEntry(Long loanTransactionId) {
+        JournalEntry journalEntry = mock(JournalEntry.class);
+        Office office = mock(Office.class);
+        GLAccount glAccount = mock(GLAccount.class);
+        lenient().when(journalEntry.getOffice()).thenReturn(office);
+        lenient().when(journalEntry.getGlAccount()).thenReturn(glAccount);
+        when(journalEntry.getLoanTransactionId()).thenReturn(loanTransactionId);
+        return journalEntry;
+    }
+}
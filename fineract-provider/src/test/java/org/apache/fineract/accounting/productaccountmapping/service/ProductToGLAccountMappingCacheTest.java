@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.productaccountmapping.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.Optional;
+import org.apache.fineract.accounting.productaccountmapping.service.ProductToGLAccountMappingCache.ProductGLAccountMappings;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.PortfolioProductType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ProductToGLAccountMappingCacheTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    private ProductToGLAccountMappingCache underTest;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        underTest = new ProductToGLAccountMappingCache(
+                new ConcurrentMapCacheManager(ProductToGLAccountMappingCache.PRODUCT_TO_GL_ACCOUNT_MAPPING_CACHE_NAME), jdbcTemplate,
+                Optional.empty());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row(1, null, null, 10L));
+            handler.processRow(row(1, null, 7L, 11L));
+            handler.processRow(row(4, 3L, null, 12L));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(PortfolioProductType.LOAN.getValue()), eq(5L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void testMappingsOfProductAreLoadedOnce() {
+        ProductGLAccountMappings mappings = underTest.getMappings(PortfolioProductType.LOAN, 5L);
+
+        assertSame(mappings, underTest.getMappings(PortfolioProductType.LOAN, 5L));
+        assertEquals(10L, mappings.getGLAccountId(1));
+        assertEquals(11L, mappings.getPaymentTypeGLAccountId(1, 7L));
+        assertNull(mappings.getPaymentTypeGLAccountId(1, 8L));
+        assertNull(mappings.getPaymentTypeGLAccountId(1, null));
+        assertEquals(12L, mappings.getChargeGLAccountId(4, 3L));
+        assertNull(mappings.getGLAccountId(4));
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), eq(PortfolioProductType.LOAN.getValue()),
+                eq(5L));
+    }
+
+    @Test
+    void testMappingsAreEvictedAgainWhenTransactionCompletes() {
+        underTest.getMappings(PortfolioProductType.LOAN, 5L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            underTest.evict(PortfolioProductType.LOAN, 5L);
+            // reloaded while the changing transaction is still running
+            underTest.getMappings(PortfolioProductType.LOAN, 5L);
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        underTest.getMappings(PortfolioProductType.LOAN, 5L);
+
+        verify(jdbcTemplate, times(3)).query(anyString(), any(RowCallbackHandler.class), eq(PortfolioProductType.LOAN.getValue()),
+                eq(5L));
+    }
+
+    private static ResultSet row(int financialAccountType, Long chargeId, Long paymentTypeId, long glAccountId) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt("financial_account_type")).thenReturn(financialAccountType);
+        when(rs.getObject("charge_id", Long.class)).thenReturn(chargeId);
+        when(rs.getObject("payment_type", Long.class)).thenReturn(paymentTypeId);
+        when(rs.getLong("gl_account_id")).thenReturn(glAccountId);
+        return rs;
+    }
+}
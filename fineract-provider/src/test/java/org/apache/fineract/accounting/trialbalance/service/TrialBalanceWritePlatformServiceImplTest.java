@@ -0,0 +1,212 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.trialbalance.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.accounting.trialbalance.data.TrialBalanceAccountData;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the incremental trial balance statements against PostgreSQL and compares the maintained rows with the balances
+ * expected from the journal.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class TrialBalanceWritePlatformServiceImplTest {
+
+    private static final long OFFICE_ID = 1L;
+    private static final TrialBalanceAccountData ACCOUNT = new TrialBalanceAccountData(OFFICE_ID, 10L);
+    private static final TrialBalanceAccountData OTHER_ACCOUNT = new TrialBalanceAccountData(OFFICE_ID, 20L);
+    private static final LocalDate DAY_0 = LocalDate.of(2026, 1, 1);
+    private static final LocalDate DAY_1 = DAY_0.plusDays(1);
+    private static final LocalDate DAY_2 = DAY_0.plusDays(2);
+    private static final LocalDate DAY_3 = DAY_0.plusDays(3);
+    private static final LocalDate DAY_4 = DAY_0.plusDays(4);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES_CONTAINER = new PostgreSQLContainer<>("postgres:16");
+
+    private static JdbcTemplate jdbcTemplate;
+    private TrialBalanceWritePlatformServiceImpl underTest;
+
+    @BeforeAll
+    public static void createTables() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(POSTGRES_CONTAINER.getJdbcUrl(), POSTGRES_CONTAINER.getUsername(),
+                POSTGRES_CONTAINER.getPassword()));
+        jdbcTemplate.execute("create table acc_gl_journal_entry (id bigserial primary key, office_id bigint not null,"
+                + " account_id bigint not null, type_enum smallint not null, amount decimal(19, 6) not null, entry_date date not null,"
+                + " submitted_on_date date not null)");
+        jdbcTemplate.execute("create table m_trial_balance (office_id bigint not null, account_id bigint not null,"
+                + " amount decimal(19, 6) not null, entry_date date not null, created_date date, closing_balance decimal(19, 6) not null)");
+        jdbcTemplate.execute("create table m_trial_balance_pending (id bigserial primary key, office_id bigint not null,"
+                + " account_id bigint not null, entry_date date not null, created_date date not null, amount decimal(19, 6) not null)");
+    }
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.execute("truncate acc_gl_journal_entry, m_trial_balance, m_trial_balance_pending");
+        DatabaseSpecificSQLGenerator sqlGenerator = mock(DatabaseSpecificSQLGenerator.class);
+        when(sqlGenerator.limit(anyInt())).thenAnswer(invocation -> "LIMIT " + invocation.getArgument(0));
+        underTest = new TrialBalanceWritePlatformServiceImpl(jdbcTemplate, sqlGenerator, new FineractProperties());
+    }
+
+    @Test
+    public void givenBackdatedEntriesWhenPendingChangesAppliedThenLaterClosingBalancesMove() {
+        post(ACCOUNT, JournalEntryType.DEBIT, "100", DAY_1, DAY_1);
+        post(ACCOUNT, JournalEntryType.DEBIT, "50", DAY_3, DAY_3);
+        assertEquals(2, underTest.applyPendingChanges(100));
+
+        // backdated into the past of both rows and between them, applied in one run
+        post(ACCOUNT, JournalEntryType.DEBIT, "5", DAY_0, DAY_4);
+        post(ACCOUNT, JournalEntryType.DEBIT, "25", DAY_2, DAY_4);
+        assertEquals(2, underTest.applyPendingChanges(100));
+
+        assertEquals(List.of(row(DAY_0, DAY_4, "5", "5"), row(DAY_1, DAY_1, "100", "105"), row(DAY_2, DAY_4, "25", "130"),
+                row(DAY_3, DAY_3, "50", "180")), rows(ACCOUNT));
+        assertTrue(underTest.findInconsistentAccounts().isEmpty());
+    }
+
+    @Test
+    public void givenPendingChangesAboveLimitWhenAppliedThenTheRestIsLeftForTheNextRun() {
+        post(ACCOUNT, JournalEntryType.DEBIT, "100", DAY_1, DAY_1);
+        post(ACCOUNT, JournalEntryType.DEBIT, "50", DAY_2, DAY_2);
+        post(ACCOUNT, JournalEntryType.CREDIT, "30", DAY_1, DAY_3);
+
+        assertEquals(2, underTest.applyPendingChanges(2));
+        assertEquals(1, underTest.applyPendingChanges(2));
+        assertEquals(0, underTest.applyPendingChanges(2));
+
+        assertEquals(List.of(row(DAY_1, DAY_1, "100", "100"), row(DAY_1, DAY_3, "-30", "70"), row(DAY_2, DAY_2, "50", "120")),
+                rows(ACCOUNT));
+        assertTrue(underTest.findInconsistentAccounts().isEmpty());
+    }
+
+    @Test
+    public void givenReversalWhenPendingChangesAppliedThenOnlyTheReversedAccountMoves() {
+        post(ACCOUNT, JournalEntryType.DEBIT, "100", DAY_1, DAY_1);
+        post(ACCOUNT, JournalEntryType.DEBIT, "40", DAY_2, DAY_2);
+        post(OTHER_ACCOUNT, JournalEntryType.DEBIT, "7", DAY_1, DAY_1);
+        underTest.applyPendingChanges(100);
+
+        post(ACCOUNT, JournalEntryType.CREDIT, "100", DAY_1, DAY_1);
+        assertEquals(1, underTest.applyPendingChanges(100));
+
+        assertEquals(List.of(row(DAY_1, DAY_1, "0", "0"), row(DAY_2, DAY_2, "40", "40")), rows(ACCOUNT));
+        assertEquals(List.of(row(DAY_1, DAY_1, "7", "7")), rows(OTHER_ACCOUNT));
+        assertTrue(underTest.findInconsistentAccounts().isEmpty());
+    }
+
+    @Test
+    public void givenUnappliedPendingChangesThenTrialBalanceIsNotInconsistent() {
+        post(ACCOUNT, JournalEntryType.DEBIT, "100", DAY_1, DAY_1);
+        underTest.applyPendingChanges(100);
+        post(ACCOUNT, JournalEntryType.CREDIT, "20", DAY_2, DAY_2);
+
+        assertTrue(underTest.findInconsistentAccounts().isEmpty());
+    }
+
+    @Test
+    public void givenDriftWhenVerifiedThenAccountIsFoundAndRebuilt() {
+        post(ACCOUNT, JournalEntryType.DEBIT, "100", DAY_1, DAY_1);
+        post(ACCOUNT, JournalEntryType.DEBIT, "50", DAY_2, DAY_2);
+        post(OTHER_ACCOUNT, JournalEntryType.DEBIT, "7", DAY_1, DAY_1);
+        underTest.applyPendingChanges(100);
+        // a wrong closing balance, and a journal entry that never recorded its pending change
+        jdbcTemplate.update("update m_trial_balance set closing_balance = closing_balance + 1 where account_id = ? and entry_date = ?",
+                ACCOUNT.glAccountId(), DAY_2);
+        insertJournalEntry(ACCOUNT, JournalEntryType.DEBIT, new BigDecimal("3"), DAY_3, DAY_3);
+        // a pending change still to be applied for the account is discarded by the rebuild
+        post(ACCOUNT, JournalEntryType.CREDIT, "20", DAY_3, DAY_3);
+
+        assertEquals(List.of(ACCOUNT), underTest.findInconsistentAccounts());
+
+        underTest.rebuild(ACCOUNT);
+
+        assertTrue(underTest.findInconsistentAccounts().isEmpty());
+        assertEquals(List.of(row(DAY_1, DAY_1, "100", "100"), row(DAY_2, DAY_2, "50", "150"), row(DAY_3, DAY_3, "-17", "133")),
+                rows(ACCOUNT));
+        assertEquals(List.of(row(DAY_1, DAY_1, "7", "7")), rows(OTHER_ACCOUNT));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from m_trial_balance_pending", Integer.class));
+    }
+
+    @Test
+    public void givenJournalWhenRebuiltAllThenTrialBalanceMatchesIncrementalUpdates() {
+        post(ACCOUNT, JournalEntryType.DEBIT, "100", DAY_1, DAY_1);
+        post(ACCOUNT, JournalEntryType.DEBIT, "25", DAY_0, DAY_2);
+        post(ACCOUNT, JournalEntryType.CREDIT, "40", DAY_2, DAY_2);
+        underTest.applyPendingChanges(100);
+        List<String> incremental = rows(ACCOUNT);
+
+        underTest.rebuildAll();
+
+        assertEquals(incremental, rows(ACCOUNT));
+        assertTrue(underTest.findInconsistentAccounts().isEmpty());
+    }
+
+    private void post(TrialBalanceAccountData account, JournalEntryType type, String amount, LocalDate entryDate, LocalDate postedOn) {
+        insertJournalEntry(account, type, new BigDecimal(amount), entryDate, postedOn);
+        JournalEntry journalEntry = mock(JournalEntry.class, RETURNS_DEEP_STUBS);
+        when(journalEntry.getOffice().getId()).thenReturn(account.officeId());
+        when(journalEntry.getGlAccount().getId()).thenReturn(account.glAccountId());
+        when(journalEntry.getType()).thenReturn(type.getValue());
+        when(journalEntry.getAmount()).thenReturn(new BigDecimal(amount));
+        when(journalEntry.getTransactionDate()).thenReturn(entryDate);
+        when(journalEntry.getSubmittedOnDate()).thenReturn(postedOn);
+        underTest.recordJournalEntry(journalEntry);
+    }
+
+    private static void insertJournalEntry(TrialBalanceAccountData account, JournalEntryType type, BigDecimal amount, LocalDate entryDate,
+            LocalDate postedOn) {
+        jdbcTemplate.update("insert into acc_gl_journal_entry (office_id, account_id, type_enum, amount, entry_date, submitted_on_date)"
+                + " values (?, ?, ?, ?, ?, ?)", account.officeId(), account.glAccountId(), type.getValue(), amount, entryDate, postedOn);
+    }
+
+    private static List<String> rows(TrialBalanceAccountData account) {
+        return jdbcTemplate.query(
+                "select entry_date, created_date, amount, closing_balance from m_trial_balance where office_id = ? and account_id = ?"
+                        + " order by entry_date, created_date",
+                (rs, rowNum) -> row(rs.getObject("entry_date", LocalDate.class), rs.getObject("created_date", LocalDate.class),
+                        rs.getBigDecimal("amount").stripTrailingZeros().toPlainString(),
+                        rs.getBigDecimal("closing_balance").stripTrailingZeros().toPlainString()),
+                account.officeId(), account.glAccountId());
+    }
+
+    private static String row(LocalDate entryDate, LocalDate postedOn, String amount, String closingBalance) {
+        return entryDate + " " + postedOn + " " + amount + " " + closingBalance;
+    }
+}
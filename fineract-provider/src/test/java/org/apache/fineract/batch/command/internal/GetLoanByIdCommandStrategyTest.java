@@ -22,6 +22,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 import jakarta.ws.rs.HttpMethod;
@@ -33,6 +34,7 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.fineract.batch.domain.BatchRequest;
 import org.apache.fineract.batch.domain.BatchResponse;
 import org.apache.fineract.infrastructure.core.api.MutableUriInfo;
+import org.apache.fineract.infrastructure.core.serialization.StreamingJsonResponse;
 import org.apache.fineract.portfolio.loanaccount.api.LoansApiResource;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -69,9 +71,11 @@ public class GetLoanByIdCommandStrategyTest {
         final Long loanId = Long.valueOf(RandomStringUtils.randomNumeric(4));
         final BatchRequest request = getBatchRequest(loanId, associations, exclude, fields);
         final String responseBody = "{\\\"id\\\":2,\\\"accountNo\\\":\\\"000000002\\\"}";
+        final StreamingJsonResponse streamingResponse = mock(StreamingJsonResponse.class);
+        given(streamingResponse.toJson()).willReturn(responseBody);
 
         given(testContext.loansApiResource.retrieveLoan(eq(loanId), eq(false), eq(associations), eq(exclude), eq(fields),
-                any(UriInfo.class))).willReturn(responseBody);
+                any(UriInfo.class))).willReturn(streamingResponse);
 
         // when
         final BatchResponse response = testContext.underTest.execute(request, testContext.uriInfo);
@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.listener;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import org.apache.fineract.cob.common.InitialisationTasklet;
+import org.apache.fineract.cob.data.LoanCOBParameter;
+import org.apache.fineract.cob.loan.LoanCOBConstant;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.investor.cob.loan.LoanAccountOwnerTransferBusinessStep;
+import org.apache.fineract.investor.cob.loan.LoanOwnershipTransferIndex;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferLoanMappingRepository;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
+import org.apache.fineract.investor.service.AccountingService;
+import org.apache.fineract.investor.service.DelayedSettlementAttributeService;
+import org.apache.fineract.investor.service.ExternalAssetOwnerTransferOutstandingInterestCalculation;
+import org.apache.fineract.investor.service.LoanOwnerLookupCache;
+import org.apache.fineract.investor.service.LoanTransferabilityService;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.apache.fineract.useradministration.domain.AppUserRepositoryWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Runs the owner transfer business step with the business dates set up by the {@link InitialisationTasklet} and the
+ * ownership transfer index prepared through the {@link LoanCOBPartitionStepListener}, the way a Loan COB worker does.
+ */
+@ExtendWith(MockitoExtension.class)
+public class LoanCOBPartitionStepListenerTest {
+
+    private static final LocalDate COB_DATE = LocalDate.of(2026, 10, 18);
+    private static final LoanCOBParameter PARTITION = new LoanCOBParameter(1L, 100L);
+
+    @Mock
+    private ExternalAssetOwnerTransferRepository externalAssetOwnerTransferRepository;
+    @Mock
+    private ExternalAssetOwnerTransferLoanMappingRepository externalAssetOwnerTransferLoanMappingRepository;
+    @Mock
+    private AppUserRepositoryWrapper userRepository;
+
+    private LoanAccountOwnerTransferBusinessStep businessStep;
+    private LoanCOBPartitionStepListener partitionStepListener;
+    private StepExecution workerStepExecution;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>());
+
+        LoanOwnershipTransferIndex index = new LoanOwnershipTransferIndex(externalAssetOwnerTransferRepository,
+                externalAssetOwnerTransferLoanMappingRepository, investorModuleEnabled(), Optional.empty());
+        businessStep = new LoanAccountOwnerTransferBusinessStep(externalAssetOwnerTransferRepository,
+                externalAssetOwnerTransferLoanMappingRepository, mock(AccountingService.class), mock(BusinessEventNotifierService.class),
+                mock(LoanTransferabilityService.class), mock(DelayedSettlementAttributeService.class),
+                mock(ExternalAssetOwnerTransferOutstandingInterestCalculation.class), index, mock(LoanOwnerLookupCache.class),
+                Optional.empty());
+        partitionStepListener = new LoanCOBPartitionStepListener(List.of(index));
+
+        JobExecution jobExecution = new JobExecution(1L);
+        jobExecution.getExecutionContext().putString(LoanCOBConstant.BUSINESS_DATE_PARAMETER_NAME, COB_DATE.toString());
+        StepExecution initialisationStepExecution = jobExecution.createStepExecution("initialisationStep");
+        workerStepExecution = jobExecution.createStepExecution(LoanCOBConstant.LOAN_COB_WORKER_STEP);
+        workerStepExecution.getExecutionContext().put(LoanCOBConstant.LOAN_COB_PARAMETER, PARTITION);
+
+        when(userRepository.fetchSystemUser()).thenReturn(mock(AppUser.class));
+        new InitialisationTasklet(userRepository).execute(initialisationStepExecution.createStepContribution(),
+                new ChunkContext(new StepContext(initialisationStepExecution)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenPartitionIndexOfTheCobDateLoansWithoutPendingTransferSkipTheLookup() {
+        when(externalAssetOwnerTransferRepository.findLoanIdsBySettlementDateAndStatusIn(PARTITION.getMinLoanId(),
+                PARTITION.getMaxLoanId(), COB_DATE, LoanOwnershipTransferIndex.PENDING_OR_BUYBACK_STATUSES,
+                LoanAccountOwnerTransferBusinessStep.FUTURE_DATE_9999_12_31)).thenReturn(List.of(7L));
+        when(externalAssetOwnerTransferLoanMappingRepository.findLoanIdsBetween(PARTITION.getMinLoanId(), PARTITION.getMaxLoanId()))
+                .thenReturn(List.of());
+
+        partitionStepListener.beforeStep(workerStepExecution);
+        businessStep.execute(loan(5L));
+        verify(externalAssetOwnerTransferRepository, never()).findAll(any(Specification.class), any(Sort.class));
+
+        businessStep.execute(loan(7L));
+        partitionStepListener.afterStep(workerStepExecution);
+        verify(externalAssetOwnerTransferRepository, times(1)).findAll(any(Specification.class), any(Sort.class));
+    }
+
+    private static Loan loan(Long loanId) {
+        Loan loan = mock(Loan.class);
+        when(loan.getId()).thenReturn(loanId);
+        return loan;
+    }
+
+    private static FineractProperties investorModuleEnabled() {
+        FineractProperties.FineractInvestorModuleProperties investor = new FineractProperties.FineractInvestorModuleProperties();
+        investor.setEnabled(true);
+        FineractProperties.FineractModulesProperties modules = new FineractProperties.FineractModulesProperties();
+        modules.setInvestor(investor);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setModule(modules);
+        return fineractProperties;
+    }
+}
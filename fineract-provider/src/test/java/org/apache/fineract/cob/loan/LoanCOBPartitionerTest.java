@@ -82,6 +82,29 @@ class LoanCOBPartitionerTest {
         validatePartitions(partitions, 2, 11,  20);
     }
 
+    @Test
+    public void testLoanCOBPartitionerMultiDateCatchUp() {
+        //given
+        when(propertyService.getPartitionSize(LoanCOBConstant.JOB_NAME)).thenReturn(5);
+        when(cobBusinessStepService.getCOBBusinessSteps(LoanCOBBusinessStep.class, LoanCOBConstant.LOAN_COB_JOB_NAME))
+                .thenReturn(BUSINESS_STEP_SET);
+        when(retrieveLoanIdService.retrieveLoanCOBPartitionsBehindDate(BUSINESS_DATE, 5))
+                .thenReturn(List.of(new LoanCOBPartition(1L,10L, 1L, 5L)));
+        LoanCOBPartitioner loanCOBPartitioner = new LoanCOBPartitioner(propertyService, cobBusinessStepService, retrieveLoanIdService, jobOperator, jobExplorer, 1L);
+        loanCOBPartitioner.setBusinessDate(BUSINESS_DATE);
+        loanCOBPartitioner.setIsCatchUp(true);
+        loanCOBPartitioner.setIsMultiDateCatchUp(true);
+
+        //when
+        Map<String, ExecutionContext> partitions = loanCOBPartitioner.partition(1);
+
+        //then
+        Assertions.assertEquals(1, partitions.size());
+        validatePartitions(partitions, 1, 1,  10);
+        verify(retrieveLoanIdService, times(0)).retrieveLoanCOBPartitions(Mockito.anyLong(), Mockito.any(), Mockito.anyBoolean(),
+                Mockito.anyInt());
+    }
+
     @Test
     public void testLoanCOBPartitionerEmptyBusinessSteps() throws NoSuchJobExecutionException, JobExecutionNotRunningException {
         //given
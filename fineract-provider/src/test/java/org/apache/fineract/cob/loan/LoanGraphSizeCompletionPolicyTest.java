@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+
+@ExtendWith(MockitoExtension.class)
+class LoanGraphSizeCompletionPolicyTest {
+
+    @Mock
+    private LoanItemReader loanItemReader;
+
+    @Test
+    public void testStartResetsTheChunkGraphSize() {
+        LoanGraphSizeCompletionPolicy policy = new LoanGraphSizeCompletionPolicy(3, loanItemReader);
+
+        policy.start(new RepeatContextSupport(null));
+
+        verify(loanItemReader).startChunk();
+    }
+
+    @Test
+    public void testChunkCompletesAtChunkSizeWithoutCheckingTheGraphSize() {
+        LoanGraphSizeCompletionPolicy policy = new LoanGraphSizeCompletionPolicy(2, loanItemReader);
+        RepeatContext context = policy.start(new RepeatContextSupport(null));
+        policy.update(context);
+        policy.update(context);
+
+        Assertions.assertTrue(policy.isComplete(context));
+        verify(loanItemReader, never()).isChunkGraphSizeReached();
+    }
+
+    @Test
+    public void testChunkCompletesEarlyWhenTheGraphSizeIsReached() {
+        LoanGraphSizeCompletionPolicy policy = new LoanGraphSizeCompletionPolicy(10, loanItemReader);
+        RepeatContext context = policy.start(new RepeatContextSupport(null));
+        when(loanItemReader.isChunkGraphSizeReached()).thenReturn(false, true);
+
+        policy.update(context);
+        Assertions.assertFalse(policy.isComplete(context));
+        policy.update(context);
+        Assertions.assertTrue(policy.isComplete(context));
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import org.apache.fineract.cob.COBBusinessStepService;
+import org.apache.fineract.cob.data.BusinessStepNameAndOrder;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+
+@ExtendWith(MockitoExtension.class)
+class LoanItemProcessorTest {
+
+    private static final LocalDate LAST_CLOSED_BUSINESS_DATE = LocalDate.of(2023, 1, 6);
+    private static final LocalDate JOB_BUSINESS_DATE = LocalDate.of(2023, 1, 10);
+
+    @Mock
+    private COBBusinessStepService cobBusinessStepService;
+
+    @Mock
+    private Loan loan;
+
+    private LoanItemProcessor loanItemProcessor;
+
+    private HashMap<BusinessDateType, LocalDate> originalBusinessDates;
+
+    @BeforeEach
+    void setUp() {
+        originalBusinessDates = new HashMap<>();
+        originalBusinessDates.put(BusinessDateType.BUSINESS_DATE, JOB_BUSINESS_DATE.plusDays(1));
+        originalBusinessDates.put(BusinessDateType.COB_DATE, JOB_BUSINESS_DATE);
+        ThreadLocalContextUtil.setBusinessDates(originalBusinessDates);
+
+        JobExecution jobExecution = new JobExecution(1L);
+        jobExecution.getExecutionContext().put(LoanCOBConstant.BUSINESS_DATE_PARAMETER_NAME, JOB_BUSINESS_DATE.toString());
+        jobExecution.getExecutionContext().put(LoanCOBConstant.IS_MULTI_DATE_CATCH_UP_PARAMETER_NAME, "true");
+        StepExecution stepExecution = new StepExecution("test", jobExecution);
+        stepExecution.getExecutionContext().put(LoanCOBConstant.BUSINESS_STEPS,
+                Set.of(new BusinessStepNameAndOrder("APPLY_CHARGE_TO_OVERDUE_LOANS", 1L)));
+
+        loanItemProcessor = new LoanItemProcessor(cobBusinessStepService);
+        loanItemProcessor.beforeStep(stepExecution);
+
+        when(loan.getLastClosedBusinessDate()).thenReturn(LAST_CLOSED_BUSINESS_DATE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void testCatchUpRunsTheBusinessStepsOncePerMissedDay() throws Exception {
+        List<LocalDate> cobDates = new ArrayList<>();
+        List<LocalDate> businessDates = new ArrayList<>();
+        when(cobBusinessStepService.run(any(TreeMap.class), eq(loan))).thenAnswer(invocation -> {
+            cobDates.add(ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE));
+            businessDates.add(ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.BUSINESS_DATE));
+            return loan;
+        });
+
+        Loan result = loanItemProcessor.process(loan);
+
+        assertSame(loan, result);
+        assertEquals(List.of(LocalDate.of(2023, 1, 7), LocalDate.of(2023, 1, 8), LocalDate.of(2023, 1, 9), JOB_BUSINESS_DATE), cobDates);
+        assertEquals(List.of(LocalDate.of(2023, 1, 8), LocalDate.of(2023, 1, 9), LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 11)),
+                businessDates);
+        ArgumentCaptor<LocalDate> lastClosedBusinessDates = ArgumentCaptor.forClass(LocalDate.class);
+        verify(loan, times(4)).setLastClosedBusinessDate(lastClosedBusinessDates.capture());
+        assertEquals(cobDates, lastClosedBusinessDates.getAllValues());
+        assertBusinessDatesRestored();
+    }
+
+    @Test
+    void testCatchUpRestoresTheBusinessDatesWhenAStepFails() {
+        List<LocalDate> cobDates = new ArrayList<>();
+        when(cobBusinessStepService.run(any(TreeMap.class), eq(loan))).thenAnswer(invocation -> {
+            LocalDate cobDate = ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE);
+            cobDates.add(cobDate);
+            if (cobDate.equals(LocalDate.of(2023, 1, 9))) {
+                throw new IllegalStateException("fail");
+            }
+            return loan;
+        });
+
+        assertThrows(IllegalStateException.class, () -> loanItemProcessor.process(loan));
+
+        assertEquals(List.of(LocalDate.of(2023, 1, 7), LocalDate.of(2023, 1, 8), LocalDate.of(2023, 1, 9)), cobDates);
+        ArgumentCaptor<LocalDate> lastClosedBusinessDates = ArgumentCaptor.forClass(LocalDate.class);
+        verify(loan, times(2)).setLastClosedBusinessDate(lastClosedBusinessDates.capture());
+        assertEquals(List.of(LocalDate.of(2023, 1, 7), LocalDate.of(2023, 1, 8)), lastClosedBusinessDates.getAllValues());
+        assertBusinessDatesRestored();
+    }
+
+    private void assertBusinessDatesRestored() {
+        assertSame(originalBusinessDates, ThreadLocalContextUtil.getBusinessDates());
+        assertEquals(JOB_BUSINESS_DATE.plusDays(1), ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.BUSINESS_DATE));
+        assertEquals(JOB_BUSINESS_DATE, ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE));
+    }
+}
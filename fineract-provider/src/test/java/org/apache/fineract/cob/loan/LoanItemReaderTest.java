@@ -26,6 +26,7 @@ import static org.mockito.Mockito.when;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -107,6 +108,91 @@ class LoanItemReaderTest {
         Mockito.verifyNoMoreInteractions(loanRepository);
     }
 
+    @Test
+    public void testLoanItemReaderLargeLoansAreReadLastInTheirOwnChunk() throws Exception {
+        // given
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "test", "test", "UTC", null));
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        loanItemReader.setLargeLoanGraphSizeThreshold(1000L);
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+        LoanCOBParameter loanCOBParameter = new LoanCOBParameter(1L, 4L);
+        when(executionContext.get(LoanCOBConstant.LOAN_COB_PARAMETER)).thenReturn(loanCOBParameter);
+        when(retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
+                .thenReturn(new ArrayList<>(List.of(1L, 2L, 3L, 4L)));
+        List<LoanAccountLock> accountLocks = List.of(1L, 2L, 3L, 4L).stream()
+                .map(l -> new LoanAccountLock(l, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.of(2023, 7, 25))).toList();
+        when(loanLockingService.findAllByLoanIdInAndLockOwner(List.of(1L, 2L, 3L, 4L), LockOwner.LOAN_COB_CHUNK_PROCESSING))
+                .thenReturn(accountLocks);
+        when(retrieveLoanIdService.retrieveLoanGraphSizes(loanCOBParameter)).thenReturn(Map.of(1L, 10L, 2L, 5000L, 3L, 20L, 4L, 30L));
+        when(loanRepository.findById(anyLong())).thenAnswer(invocation -> {
+            Loan readLoan = Mockito.mock(Loan.class);
+            when(readLoan.getId()).thenReturn(invocation.getArgument(0));
+            return Optional.of(readLoan);
+        });
+
+        // when + then
+        loanItemReader.beforeStep(stepExecution);
+        loanItemReader.startChunk();
+        Assertions.assertEquals(1L, loanItemReader.read().getId());
+        Assertions.assertFalse(loanItemReader.isChunkGraphSizeReached());
+        Assertions.assertEquals(3L, loanItemReader.read().getId());
+        Assertions.assertFalse(loanItemReader.isChunkGraphSizeReached());
+        Assertions.assertEquals(4L, loanItemReader.read().getId());
+        Assertions.assertTrue(loanItemReader.isChunkGraphSizeReached());
+
+        loanItemReader.startChunk();
+        Assertions.assertEquals(2L, loanItemReader.read().getId());
+        Assertions.assertTrue(loanItemReader.isChunkGraphSizeReached());
+        Assertions.assertNull(loanItemReader.read());
+    }
+
+    @Test
+    public void testLoanItemReaderNextLoanIsClaimedByTheCheckingThread() throws Exception {
+        // given
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "test", "test", "UTC", null));
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        loanItemReader.setLargeLoanGraphSizeThreshold(1000L);
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+        LoanCOBParameter loanCOBParameter = new LoanCOBParameter(1L, 3L);
+        when(executionContext.get(LoanCOBConstant.LOAN_COB_PARAMETER)).thenReturn(loanCOBParameter);
+        when(retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
+                .thenReturn(new ArrayList<>(List.of(1L, 2L, 3L)));
+        List<LoanAccountLock> accountLocks = List.of(1L, 2L, 3L).stream()
+                .map(l -> new LoanAccountLock(l, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.of(2023, 7, 25))).toList();
+        when(loanLockingService.findAllByLoanIdInAndLockOwner(List.of(1L, 2L, 3L), LockOwner.LOAN_COB_CHUNK_PROCESSING))
+                .thenReturn(accountLocks);
+        when(retrieveLoanIdService.retrieveLoanGraphSizes(loanCOBParameter)).thenReturn(Map.of(1L, 10L, 2L, 20L, 3L, 5000L));
+        when(loanRepository.findById(anyLong())).thenAnswer(invocation -> {
+            Loan readLoan = Mockito.mock(Loan.class);
+            when(readLoan.getId()).thenReturn(invocation.getArgument(0));
+            return Optional.of(readLoan);
+        });
+
+        // when + then
+        loanItemReader.beforeStep(stepExecution);
+        loanItemReader.startChunk();
+        Assertions.assertEquals(1L, loanItemReader.read().getId());
+        Assertions.assertFalse(loanItemReader.isChunkGraphSizeReached());
+
+        // another thread reading between the check and the read must not take the loan the check saw
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<Loan> otherThreadLoan = executorService.submit(() -> {
+                loanItemReader.startChunk();
+                return loanItemReader.read();
+            });
+            Assertions.assertEquals(3L, otherThreadLoan.get(5L, TimeUnit.SECONDS).getId());
+        } finally {
+            executorService.shutdown();
+        }
+
+        Assertions.assertEquals(2L, loanItemReader.read().getId());
+        Assertions.assertFalse(loanItemReader.isChunkGraphSizeReached());
+        Assertions.assertNull(loanItemReader.read());
+    }
+
     @Test
     public void testLoanItemReadNoOpenLoansFound() throws Exception {
         // given
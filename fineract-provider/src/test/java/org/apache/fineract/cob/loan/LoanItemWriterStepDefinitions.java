@@ -23,8 +23,10 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 import io.cucumber.java8.En;
+import jakarta.persistence.EntityManager;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.batch.item.Chunk;
 
@@ -32,6 +34,7 @@ public class LoanItemWriterStepDefinitions implements En {
 
     private final LoanLockingService loanLockingService = mock(LoanLockingService.class);
     private final LoanRepository loanRepository = mock(LoanRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
 
     private final LoanItemWriter loanItemWriter = new LoanItemWriter(loanLockingService);
 
@@ -51,6 +54,14 @@ public class LoanItemWriterStepDefinitions implements En {
             loanItemWriter.setRepository(loanRepository);
         });
 
+        Given("/^The memory bounded LoanItemWriter.write method with action (.*)$/", (String action) -> {
+            Loan loan = mock(Loan.class);
+            lenient().when(loan.getId()).thenReturn(1L);
+            items = action.equals("error") ? new Chunk<>() : new Chunk<>(loan);
+            loanItemWriter.setRepository(loanRepository);
+            loanItemWriter.setEntityManager(entityManager);
+        });
+
         When("LoanItemWriter.write method executed", () -> {
             loanItemWriter.write(items);
         });
@@ -62,5 +73,17 @@ public class LoanItemWriterStepDefinitions implements En {
         Then("LoanItemWriter.write should not call repository", () -> {
             verify(loanLockingService, Mockito.times(0)).deleteByLoanIdInAndLockOwner(Mockito.any(), Mockito.any());
         });
+
+        Then("LoanItemWriter.write should flush and clear the persistence context", () -> {
+            InOrder inOrder = Mockito.inOrder(loanRepository, loanLockingService, entityManager);
+            inOrder.verify(loanRepository).saveAll(Mockito.any());
+            inOrder.verify(loanLockingService).deleteByLoanIdInAndLockOwner(Mockito.any(), Mockito.any());
+            inOrder.verify(entityManager).flush();
+            inOrder.verify(entityManager).clear();
+        });
+
+        Then("LoanItemWriter.write should not touch the persistence context", () -> {
+            Mockito.verifyNoInteractions(entityManager);
+        });
     }
 }
@@ -74,6 +74,25 @@ public class RetrieveAllNonClosedLoanIdServiceImplTest {
         testRetrieveLoanCOBPartitions(expectedSQL, true);
     }
 
+    @Test
+    public void testRetrieveLoanCOBPartitionsBehindDate() {
+        String expectedSQL = """
+                select min(id) as min, max(id) as max, page, count(id) as count from
+                 (select  floor(((row_number() over(order by id))-1) / :pageSize) as page, t.* from
+                        (select id from m_loan where loan_status_id in (:statusIds) and last_closed_business_date < :businessDate order by id) t) t2
+                 group by page
+                 order by page
+                """;
+        RetrieveAllNonClosedLoanIdServiceImpl service = new RetrieveAllNonClosedLoanIdServiceImpl(loanRepository,
+                namedParameterJdbcTemplate);
+        LocalDate businessDate = LocalDate.parse("2023-06-28");
+        service.retrieveLoanCOBPartitionsBehindDate(businessDate, 5);
+        Mockito.verify(namedParameterJdbcTemplate, times(1)).query(sqlCaptor.capture(), paramsCaptor.capture(), rowMapper.capture());
+        Assertions.assertEquals(normalize(expectedSQL), normalize(sqlCaptor.getValue()));
+        Assertions.assertEquals(5, paramsCaptor.getValue().getValue("pageSize"));
+        Assertions.assertEquals(businessDate, paramsCaptor.getValue().getValue("businessDate"));
+    }
+
     private void testRetrieveLoanCOBPartitions(String expectedSQL, boolean isCatchup) {
         RetrieveAllNonClosedLoanIdServiceImpl service = new RetrieveAllNonClosedLoanIdServiceImpl(loanRepository,
                 namedParameterJdbcTemplate);
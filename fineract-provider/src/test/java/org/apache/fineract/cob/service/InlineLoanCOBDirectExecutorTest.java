@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import org.apache.fineract.cob.COBBusinessStepService;
+import org.apache.fineract.cob.domain.LoanAccountLock;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.exceptions.BusinessStepException;
+import org.apache.fineract.cob.loan.LoanLockingService;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class InlineLoanCOBDirectExecutorTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 3, 10);
+    private static final LocalDate COB_DATE = LocalDate.of(2024, 3, 5);
+
+    @InjectMocks
+    private InlineLoanCOBDirectExecutor testObj;
+    @Mock
+    private COBBusinessStepService cobBusinessStepService;
+    @Mock
+    private LoanRepository loanRepository;
+    @Mock
+    private LoanLockingService loanLockingService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final TreeMap<Long, String> businessSteps = new TreeMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE);
+        businessDates.put(BusinessDateType.COB_DATE, BUSINESS_DATE.minusDays(1));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+        businessSteps.put(1L, "applyChargeToOverdueLoansBusinessStep");
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void shouldRunBusinessStepsAndReleaseLock() {
+        Loan loan = mock(Loan.class);
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(loan));
+        when(cobBusinessStepService.run(businessSteps, loan)).thenAnswer(invocation -> {
+            assertEquals(COB_DATE, ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE));
+            assertEquals(COB_DATE.plusDays(1), ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.BUSINESS_DATE));
+            assertEquals(ActionContext.COB, ThreadLocalContextUtil.getActionContext());
+            return loan;
+        });
+
+        testObj.execute(1L, COB_DATE, businessSteps);
+
+        verify(loan).setLastClosedBusinessDate(COB_DATE);
+        verify(loanRepository).save(loan);
+        verify(loanLockingService).deleteByLoanIdInAndLockOwner(List.of(1L), LockOwner.LOAN_INLINE_COB_PROCESSING);
+        assertEquals(BUSINESS_DATE, ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.BUSINESS_DATE));
+        assertEquals(ActionContext.DEFAULT, ThreadLocalContextUtil.getActionContext());
+    }
+
+    @Test
+    void shouldStoreErrorOnLockWhenProcessingFails() {
+        Loan loan = mock(Loan.class);
+        LoanAccountLock loanAccountLock = mock(LoanAccountLock.class);
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(loan));
+        when(cobBusinessStepService.run(businessSteps, loan)).thenThrow(new BusinessStepException("failed"));
+        when(loanLockingService.findByLoanIdAndLockOwner(1L, LockOwner.LOAN_INLINE_COB_PROCESSING)).thenReturn(loanAccountLock);
+
+        assertThrows(BusinessStepException.class, () -> testObj.execute(1L, COB_DATE, businessSteps));
+
+        verify(loanAccountLock).setError(eq("Loan (id: 1) processing is failed"), any());
+        verify(loanLockingService, never()).deleteByLoanIdInAndLockOwner(any(), any());
+        assertEquals(BUSINESS_DATE, ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.BUSINESS_DATE));
+    }
+}
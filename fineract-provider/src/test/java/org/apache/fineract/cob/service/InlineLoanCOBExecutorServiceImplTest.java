@@ -22,7 +22,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -41,6 +44,7 @@ import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -50,6 +54,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
@@ -73,6 +78,12 @@ class InlineLoanCOBExecutorServiceImplTest {
     private FineractProperties.FineractApiProperties fineractApiProperties;
     @Mock
     private FineractProperties.FineractBodyItemSizeLimitProperties fineractBodyItemSizeLimitProperties;
+    @Mock
+    private FineractProperties.FineractJobProperties fineractJobProperties;
+    @Mock
+    private InlineLoanCOBDirectExecutor directExecutor;
+    @Mock
+    private JobLauncher jobLauncher;
 
     @AfterEach
     public void tearDown() {
@@ -93,6 +104,8 @@ class InlineLoanCOBExecutorServiceImplTest {
         when(transactionTemplate.execute(any())).thenThrow(new LoanAccountLockCannotBeOverruledException(""));
         when(fineractProperties.getQuery()).thenReturn(fineractQueryProperties);
         when(fineractProperties.getApi()).thenReturn(fineractApiProperties);
+        when(fineractProperties.getJob()).thenReturn(fineractJobProperties);
+        when(fineractJobProperties.isInlineLoanCobDirectEnabled()).thenReturn(true);
         when(dataParser.parseExecution(any())).thenReturn(List.of(1L));
         when(fineractQueryProperties.getInClauseParameterSizeLimit()).thenReturn(65000);
         when(fineractApiProperties.getBodyItemSizeLimit()).thenReturn(fineractBodyItemSizeLimitProperties);
@@ -117,6 +130,8 @@ class InlineLoanCOBExecutorServiceImplTest {
         when(transactionTemplate.execute(any())).thenThrow(new LoanAccountLockCannotBeOverruledException(""));
         when(fineractProperties.getQuery()).thenReturn(fineractQueryProperties);
         when(fineractProperties.getApi()).thenReturn(fineractApiProperties);
+        when(fineractProperties.getJob()).thenReturn(fineractJobProperties);
+        when(fineractJobProperties.isInlineLoanCobDirectEnabled()).thenReturn(true);
         when(dataParser.parseExecution(any())).thenReturn(List.of(1L, 2L, 3L));
         when(fineractQueryProperties.getInClauseParameterSizeLimit()).thenReturn(2);
         when(fineractApiProperties.getBodyItemSizeLimit()).thenReturn(fineractBodyItemSizeLimitProperties);
@@ -126,6 +141,35 @@ class InlineLoanCOBExecutorServiceImplTest {
         verify(retrieveLoanIdService, times(2)).retrieveLoanIdsBehindDateOrNull(any(), anyList());
     }
 
+    @Test
+    void shouldSingleLoanBeProcessedWithoutLaunchingTheJob() throws Exception {
+        JsonCommand command = mock(JsonCommand.class);
+        LoanIdAndLastClosedBusinessDate loan = mock(LoanIdAndLastClosedBusinessDate.class);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        LocalDate businessDate = LocalDate.now(ZoneId.systemDefault());
+        businessDates.put(BusinessDateType.BUSINESS_DATE, businessDate);
+        businessDates.put(BusinessDateType.COB_DATE, businessDate.minusDays(1));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+
+        when(loan.getId()).thenReturn(1L);
+        when(loan.getLastClosedBusinessDate()).thenReturn(businessDate.minusDays(2));
+        when(fineractProperties.getQuery()).thenReturn(fineractQueryProperties);
+        when(fineractProperties.getApi()).thenReturn(fineractApiProperties);
+        when(fineractProperties.getJob()).thenReturn(fineractJobProperties);
+        when(fineractJobProperties.isInlineLoanCobDirectEnabled()).thenReturn(true);
+        when(dataParser.parseExecution(any())).thenReturn(List.of(1L));
+        when(fineractQueryProperties.getInClauseParameterSizeLimit()).thenReturn(65000);
+        when(fineractApiProperties.getBodyItemSizeLimit()).thenReturn(fineractBodyItemSizeLimitProperties);
+        when(fineractBodyItemSizeLimitProperties.getInlineLoanCob()).thenReturn(1000);
+        when(retrieveLoanIdService.retrieveLoanIdsBehindDateOrNull(any(), anyList())).thenReturn(List.of(loan));
+        doThrow(new IllegalStateException("failed step")).when(directExecutor).execute(eq(1L), any(), any());
+
+        assertThrows(PlatformInternalServerException.class, () -> testObj.executeInlineJob(command, "INLINE_LOAN_COB"));
+        verify(directExecutor).execute(eq(1L), eq(businessDate.minusDays(1)), any());
+        verify(jobLauncher, never()).run(any(), any());
+    }
+
     @Test
     void shouldOldestCloseBusinessDateReturnWithCorrectDate()
             throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
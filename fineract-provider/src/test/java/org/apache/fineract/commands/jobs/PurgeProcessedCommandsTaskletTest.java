@@ -29,10 +29,12 @@ import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.fineract.commands.domain.CommandSourceRepository;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -60,6 +62,8 @@ public class PurgeProcessedCommandsTaskletTest {
     private StepContribution stepContribution;
     @Mock
     private ChunkContext chunkContext;
+    @Mock
+    private FineractProperties fineractProperties;
     private RepeatStatus resultStatus;
     private PurgeProcessedCommandsTasklet underTest;
 
@@ -69,7 +73,10 @@ public class PurgeProcessedCommandsTaskletTest {
         ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
         ThreadLocalContextUtil
                 .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
-        underTest = new PurgeProcessedCommandsTasklet(repository, configurationDomainService);
+        FineractProperties.FineractJobProperties jobProperties = new FineractProperties.FineractJobProperties();
+        jobProperties.setPurgeBatchSize(2);
+        when(fineractProperties.getJob()).thenReturn(jobProperties);
+        underTest = new PurgeProcessedCommandsTasklet(repository, configurationDomainService, fineractProperties);
     }
 
     @AfterEach
@@ -82,11 +89,12 @@ public class PurgeProcessedCommandsTaskletTest {
         // given
         ArgumentCaptor<OffsetDateTime> dateCriteriaCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
         when(configurationDomainService.retrieveProcessedCommandsPurgeDaysCriteria()).thenReturn(2L);
+        when(repository.findIdsOfOlderCommandsWithStatus(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(List.of(1L));
         // when
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
-        verify(repository, times(1)).deleteOlderEventsWithStatus(Mockito.any(), Mockito.any());
-        verify(repository).deleteOlderEventsWithStatus(Mockito.any(), dateCriteriaCaptor.capture());
+        verify(repository, times(1)).deleteByIds(List.of(1L));
+        verify(repository).findIdsOfOlderCommandsWithStatus(Mockito.any(), dateCriteriaCaptor.capture(), Mockito.any());
         OffsetDateTime expectedDateForPurgeCriteriaTest = DateUtils.getAuditOffsetDateTime().minusDays(2);
         OffsetDateTime actualDateForPurgeCriteria = dateCriteriaCaptor.getValue();
         assertTrue(expectedDateForPurgeCriteriaTest.toEpochSecond() - actualDateForPurgeCriteria.toEpochSecond() <= 1);
@@ -97,7 +105,8 @@ public class PurgeProcessedCommandsTaskletTest {
     public void givenEventsForPurgeWhenExceptionOccursThenJobExecutionFinishesSuccessfully() {
         // given
         when(configurationDomainService.retrieveProcessedCommandsPurgeDaysCriteria()).thenReturn(2L);
-        doThrow(new RuntimeException("Test Exception")).when(repository).deleteOlderEventsWithStatus(Mockito.any(), Mockito.any());
+        when(repository.findIdsOfOlderCommandsWithStatus(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(List.of(1L));
+        doThrow(new RuntimeException("Test Exception")).when(repository).deleteByIds(Mockito.any());
         // when
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
@@ -53,6 +53,7 @@ import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
+import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProcessSucceedException;
 import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProcessUnderProcessingException;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
@@ -99,6 +100,9 @@ public class SynchronousCommandProcessingServiceTest {
     @Mock
     private RetryConfigurationAssembler retryConfigurationAssembler;
 
+    @Mock
+    private CommandSourceJournalMetrics commandSourceJournalMetrics;
+
     @Spy
     private FineractRequestContextHolder fineractRequestContextHolder;
 
@@ -150,6 +154,7 @@ public class SynchronousCommandProcessingServiceTest {
         reset(idempotencyKeyResolver);
         reset(commandSourceService);
         reset(retryConfigurationAssembler);
+        reset(commandSourceJournalMetrics);
     }
 
     @Test
@@ -454,6 +459,61 @@ public class SynchronousCommandProcessingServiceTest {
         verify(commandSourceService).generateErrorInfo(runtimeException);
     }
 
+    @Test
+    public void testExecuteCommandWithOptimizedJournal() {
+        CommandWrapper commandWrapper = getCommandWrapper();
+        when(commandWrapper.isInterestPauseResource()).thenReturn(false);
+
+        long commandId = 1L;
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+
+        NewCommandSourceHandler commandHandler = Mockito.mock(NewCommandSourceHandler.class);
+        CommandProcessingResult commandProcessingResult = Mockito.mock(CommandProcessingResult.class);
+        when(commandHandlerProvider.getHandler(Mockito.any(), Mockito.any())).thenReturn(commandHandler);
+
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        CommandSource commandSource = Mockito.mock(CommandSource.class);
+        when(commandSource.getId()).thenReturn(commandId);
+
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        when(commandSourceService.isOptimizedJournalEnabled()).thenReturn(true);
+        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk)).thenReturn(commandSource);
+        when(commandSourceService.processCommandAndSaveResult(Mockito.eq(commandHandler), Mockito.eq(jsonCommand),
+                Mockito.eq(commandSource), Mockito.eq(appUser), Mockito.eq(false), any())).thenReturn(commandProcessingResult);
+
+        CommandProcessingResult actualCommandProcessingResult = underTest.executeCommand(commandWrapper, jsonCommand, false);
+
+        assertEquals(commandProcessingResult, actualCommandProcessingResult);
+        verify(commandSourceService, times(0)).findCommandSource(any(), any());
+        verify(commandSourceService, times(0)).saveResultSameTransaction(any());
+        verify(commandSourceJournalMetrics).recordRoundTrip(Mockito.eq(true), Mockito.eq(true), Mockito.anyLong());
+    }
+
+    @Test
+    public void testExecuteCommandWithOptimizedJournalDetectsProcessedDuplicate() {
+        CommandWrapper commandWrapper = getCommandWrapper();
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        when(commandSourceService.isOptimizedJournalEnabled()).thenReturn(true);
+        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk))
+                .thenThrow(new IdempotentCommandProcessUnderProcessingException(commandWrapper, idk));
+
+        CommandSource existingCommandSource = Mockito.mock(CommandSource.class);
+        when(existingCommandSource.getStatus()).thenReturn(CommandProcessingResultType.PROCESSED.getValue());
+        when(commandSourceService.findCommandSource(commandWrapper, idk)).thenReturn(existingCommandSource);
+
+        assertThrows(IdempotentCommandProcessSucceedException.class, () -> underTest.executeCommand(commandWrapper, jsonCommand, false));
+
+        verify(commandSourceService, times(0)).processCommandAndSaveResult(any(), any(), any(), any(), Mockito.anyBoolean(), any());
+        verify(commandSourceJournalMetrics).recordRoundTrip(Mockito.eq(true), Mockito.eq(false), Mockito.anyLong());
+    }
+
     @NotNull
     private static CommandWrapper getCommandWrapper() {
         CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
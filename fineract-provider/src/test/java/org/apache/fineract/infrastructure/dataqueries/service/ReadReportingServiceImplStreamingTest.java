@@ -0,0 +1,204 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseIndependentQueryService;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseType;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.core.service.database.RoutingDataSource;
+import org.apache.fineract.infrastructure.dataqueries.exception.ReportExportLimitExceededException;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.infrastructure.security.service.SqlInjectionPreventerService;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadReportingServiceImplStreamingTest {
+
+    private static final String REPORT_NAME = "Active Loans";
+    private static final String REPORT_SQL = "select name from m_loan";
+    private static final int ROW_COUNT = 100;
+    private static final String ROW_VALUE = StringUtils.repeat('x', 1000);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformSecurityContext context;
+    @Mock
+    private SqlInjectionPreventerService sqlInjectionPreventerService;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ReportCacheService reportCacheService;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private Statement statement;
+
+    private final AtomicInteger cursorPosition = new AtomicInteger();
+    private FineractProperties.FineractReportStreamingProperties streaming;
+    private ReadReportingServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        streaming = new FineractProperties.FineractReportStreamingProperties();
+        streaming.setFetchSize(10);
+        final FineractProperties.FineractReportProperties report = new FineractProperties.FineractReportProperties();
+        report.setStreaming(streaming);
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setReport(report);
+
+        final Office office = mock(Office.class);
+        when(office.getHierarchy()).thenReturn(".");
+        final AppUser user = mock(AppUser.class);
+        when(user.getOffice()).thenReturn(office);
+        when(user.getId()).thenReturn(1L);
+        when(context.authenticatedUser()).thenReturn(user);
+        when(sqlGenerator.currentBusinessDate()).thenReturn("DATE '2024-01-02'");
+        when(sqlGenerator.currentTenantDateTime()).thenReturn("TIMESTAMP '2024-01-02 10:11:12'");
+        when(reportCacheService.getSqlTemplate(eq("report"), eq(REPORT_NAME), any())).thenReturn(ReportSqlTemplate.compile(REPORT_SQL));
+
+        when(transactionTemplate.getTransactionManager()).thenReturn(transactionManager);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        // a cursor of ROW_COUNT single column rows, read through the real generic data service
+        final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnName(1)).thenReturn("name");
+        when(metaData.getColumnTypeName(1)).thenReturn("VARCHAR");
+        when(databaseTypeResolver.databaseType()).thenReturn(DatabaseType.MYSQL);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.next()).thenAnswer(invocation -> cursorPosition.incrementAndGet() <= ROW_COUNT);
+        when(resultSet.getObject(1)).thenReturn(ROW_VALUE);
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(ResultSetExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResultSetExtractor<?>>getArgument(1).extractData(resultSet));
+
+        final GenericDataService genericDataService = new GenericDataServiceImpl(jdbcTemplate, mock(RoutingDataSource.class),
+                mock(DatabaseIndependentQueryService.class), mock(DatatableKeywordGenerator.class), databaseTypeResolver);
+        underTest = new ReadReportingServiceImpl(jdbcTemplate, context, genericDataService, sqlInjectionPreventerService, sqlGenerator,
+                fineractProperties, transactionTemplate, reportCacheService);
+    }
+
+    @Test
+    public void testCsvExportWritesAllRowsWithoutLimits() throws IOException, SQLException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        underTest.retrieveReportCSV(REPORT_NAME, "report", Map.of(), false).write(out);
+
+        final String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(ROW_COUNT + 1, lines.length);
+        assertEquals("name", lines[0]);
+        assertEquals(ROW_VALUE, lines[ROW_COUNT]);
+        verify(resultSet, never()).getStatement();
+    }
+
+    @Test
+    public void testCsvExportStopsAtRowLimit() throws SQLException {
+        streaming.setMaxRows(3);
+        when(resultSet.getStatement()).thenReturn(statement);
+
+        assertThrows(ReportExportLimitExceededException.class,
+                () -> underTest.retrieveReportCSV(REPORT_NAME, "report", Map.of(), false).write(new ByteArrayOutputStream()));
+
+        // the fourth row exceeds the limit, the rest of the cursor is never read
+        assertEquals(4, cursorPosition.get());
+        verify(statement).cancel();
+    }
+
+    @Test
+    public void testJsonExportStopsAtByteLimit() throws SQLException {
+        streaming.setMaxBytes(10_000);
+        when(resultSet.getStatement()).thenReturn(statement);
+
+        assertThrows(ReportExportLimitExceededException.class,
+                () -> underTest.retrieveReportJSON(REPORT_NAME, "report", Map.of(), false, true).write(new ByteArrayOutputStream()));
+
+        assertTrue(cursorPosition.get() < ROW_COUNT, "cursor read to the end: " + cursorPosition.get());
+        verify(statement).cancel();
+    }
+
+    @Test
+    public void testClientDisconnectCancelsQuery() throws SQLException {
+        when(resultSet.getStatement()).thenReturn(statement);
+        final OutputStream disconnectingOut = new OutputStream() {
+
+            private int written;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                written += len;
+                if (written > 4096) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        final IOException e = assertThrows(IOException.class,
+                () -> underTest.retrieveReportCSV(REPORT_NAME, "report", Map.of(), false).write(disconnectingOut));
+
+        assertEquals("Broken pipe", e.getMessage());
+        assertTrue(cursorPosition.get() < ROW_COUNT, "cursor read to the end: " + cursorPosition.get());
+        verify(statement).cancel();
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class ReportCacheServiceTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private ReportCacheService underTest;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        FineractProperties.FineractReportResultCacheProperties resultCache = new FineractProperties.FineractReportResultCacheProperties();
+        resultCache.setEnabled(true);
+        FineractProperties.FineractReportProperties report = new FineractProperties.FineractReportProperties();
+        report.setResultCache(resultCache);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setReport(report);
+        underTest = new ReportCacheService(new ConcurrentMapCacheManager(ReportCacheService.REPORT_SQL_TEMPLATE_CACHE_NAME,
+                ReportCacheService.REPORT_RESULT_CACHE_NAME), fineractProperties, Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void testResultIsLoadedOncePerKey() {
+        underTest.getResult("[\"table\",\"report\"]", this::load);
+        underTest.getResult("[\"table\",\"report\"]", this::load);
+        underTest.getResult("[\"table\",\"other report\"]", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEvictAllWithinTransactionClearsOnlyAfterCommit() {
+        underTest.getResult("key", this::load);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            underTest.evictAll();
+            // a report run while the changing transaction is still running keeps the committed definition
+            underTest.getResult("key", this::load);
+            assertEquals(1, loads.get());
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        underTest.getResult("key", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEvictAllWithoutTransactionClearsImmediately() {
+        underTest.getResult("key", this::load);
+        underTest.evictAll();
+        underTest.getResult("key", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    private GenericResultsetData load() {
+        loads.incrementAndGet();
+        return new GenericResultsetData(List.of(), List.of());
+    }
+}
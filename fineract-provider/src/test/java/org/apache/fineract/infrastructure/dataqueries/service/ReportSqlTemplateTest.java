@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class ReportSqlTemplateTest {
+
+    private static final String DATE_TIME = "TIMESTAMP '2024-01-02 10:11:12'";
+    private static final String BUSINESS_DATE = "DATE '2024-01-02'";
+
+    @Test
+    public void placeholdersAndDateMacrosAreReplaced() {
+        ReportSqlTemplate template = ReportSqlTemplate
+                .compile("select * from m_loan l where l.office_id = ${officeId} and l.expected_maturedon_date < curdate()"
+                        + " and l.created_on_utc < now() and l.id in (select ${officeId} from x where d = current_date)");
+
+        String sql = template.render(Map.of("${officeId}", "1"), DATE_TIME, BUSINESS_DATE);
+
+        assertEquals("select * from m_loan l where l.office_id = 1 and l.expected_maturedon_date < " + BUSINESS_DATE
+                + " and l.created_on_utc < " + DATE_TIME + " and l.id in (select 1 from x where d = " + BUSINESS_DATE + ")", sql);
+        assertTrue(template.usesPlaceholder("${officeId}"));
+        assertTrue(template.usesDateMacro());
+    }
+
+    @Test
+    public void unknownPlaceholdersAreKept() {
+        ReportSqlTemplate template = ReportSqlTemplate.compile("select '${unknown}' as a, ${currentUserId} as b, '${unterminated' as c");
+
+        String sql = template.render(Map.of("${currentUserId}", "5"), DATE_TIME, BUSINESS_DATE);
+
+        assertEquals("select '${unknown}' as a, 5 as b, '${unterminated' as c", sql);
+        assertFalse(template.usesDateMacro());
+        assertFalse(template.usesPlaceholder("${officeId}"));
+    }
+
+    @Test
+    public void substitutedValuesAreNotScannedForMacros() {
+        ReportSqlTemplate template = ReportSqlTemplate.compile("select ${a}, ${b}");
+
+        String sql = template.render(Map.of("${a}", "${b}", "${b}", "NOW()"), DATE_TIME, BUSINESS_DATE);
+
+        assertEquals("select ${b}, NOW()", sql);
+    }
+}
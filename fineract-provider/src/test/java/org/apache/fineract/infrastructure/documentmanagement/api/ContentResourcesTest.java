@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.google.common.io.ByteSource;
+import com.google.common.io.MoreFiles;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.service.ContentDownloadMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ContentResourcesTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final String ETAG = "\"v1\"";
+
+    private final ContentDownloadMetrics metrics = new ContentDownloadMetrics(Optional.empty());
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void sendsWholeContentWithoutRange() throws IOException {
+        Response response = ContentResources.fileDataToResponse(streamed(), "attachment", null, null, metrics);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("10", response.getHeaderString("Content-Length"));
+        assertEquals("bytes", response.getHeaderString("Accept-Ranges"));
+        assertEquals(ETAG, response.getHeaderString(HttpHeaders.ETAG));
+        assertArrayEquals(CONTENT, bodyOf(response));
+    }
+
+    @Test
+    void sendsRequestedRangeOfStreamedContent() throws IOException {
+        Response response = ContentResources.fileDataToResponse(streamed(), "attachment", "bytes=2-5", null, metrics);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeaderString("Content-Range"));
+        assertEquals("4", response.getHeaderString("Content-Length"));
+        assertArrayEquals("2345".getBytes(StandardCharsets.US_ASCII), bodyOf(response));
+    }
+
+    @Test
+    void sendsRequestedRangeOfFile() throws IOException {
+        Path file = Files.write(tempDir.resolve("image.png"), CONTENT);
+        FileData fileData = new FileData(MoreFiles.asByteSource(file), "image.png", "image/png", file, ETAG,
+                FileData.ORIGIN_FILESYSTEM);
+
+        Response response = ContentResources.fileDataToResponse(fileData, "inline", "bytes=-3", null, metrics);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 7-9/10", response.getHeaderString("Content-Range"));
+        assertArrayEquals("789".getBytes(StandardCharsets.US_ASCII), bodyOf(response));
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() {
+        Response response = ContentResources.fileDataToResponse(streamed(), "attachment", "bytes=10-", null, metrics);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeaderString("Content-Range"));
+        assertNull(response.getEntity());
+    }
+
+    @Test
+    void ignoresMalformedAndMultipleRanges() {
+        assertNull(ContentResources.parseRange("bytes=1-2,4-5", 10));
+        assertNull(ContentResources.parseRange("items=1-2", 10));
+        assertNull(ContentResources.parseRange("bytes=5-2", 10));
+        assertArrayEquals(new long[] { 5, 9 }, ContentResources.parseRange("bytes=5-100", 10));
+    }
+
+    @Test
+    void answersNotModifiedForMatchingETag() {
+        Response response = ContentResources.fileDataToResponse(streamed(), "attachment", "bytes=2-5", "\"v0\", W/\"v1\"", metrics);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(ETAG, response.getHeaderString(HttpHeaders.ETAG));
+        assertNull(response.getEntity());
+    }
+
+    @Test
+    void sendsContentForStaleETag() {
+        Response response = ContentResources.fileDataToResponse(streamed(), "attachment", null, "\"v0\"", metrics);
+
+        assertEquals(200, response.getStatus());
+    }
+
+    private static FileData streamed() {
+        return new FileData(ByteSource.wrap(CONTENT), "file.txt", "text/plain", null, "s3://bucket/file.txt", ETAG, FileData.ORIGIN_S3);
+    }
+
+    private static byte[] bodyOf(Response response) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(output);
+        return output.toByteArray();
+    }
+}
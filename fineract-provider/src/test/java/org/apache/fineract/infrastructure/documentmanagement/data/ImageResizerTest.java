@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.google.common.io.ByteSource;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import javax.imageio.ImageIO;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ImageResizerTest {
+
+    private static final String LOCATION = "images/clients/1/photo.png";
+
+    @TempDir
+    private Path cacheDirectory;
+
+    private FineractProperties.FineractContentImageCacheProperties imageCacheProperties;
+    private DerivedImageCache derivedImageCache;
+    private ImageResizer imageResizer;
+
+    @BeforeEach
+    void setUp() {
+        imageCacheProperties = new FineractProperties.FineractContentImageCacheProperties();
+        imageCacheProperties.setEnabled(true);
+        imageCacheProperties.setDirectory(cacheDirectory.toString());
+        imageCacheProperties.setMaxSizeMb(1);
+        FineractProperties.FineractContentProperties contentProperties = new FineractProperties.FineractContentProperties();
+        contentProperties.setImageCache(imageCacheProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setContent(contentProperties);
+        derivedImageCache = new DerivedImageCache(fineractProperties, Optional.empty());
+        imageResizer = new ImageResizer(derivedImageCache);
+    }
+
+    @Test
+    void servesCachedRenditionWithoutReadingTheOriginal() throws IOException {
+        FileData resized = imageResizer.resize(image(png(100, 50), "\"v1\""), 20, 20);
+        assertEquals(FileData.ORIGIN_DERIVED_CACHE, resized.origin());
+        BufferedImage rendition = ImageIO.read(resized.file().toFile());
+        assertEquals(20, rendition.getWidth());
+        assertEquals(10, rendition.getHeight());
+
+        ByteSource original = mock(ByteSource.class);
+        FileData cached = imageResizer
+                .resize(new FileData(original, "photo.png", "image/png", null, LOCATION, "\"v1\"", FileData.ORIGIN_S3), 20, 20);
+
+        assertEquals(resized.file(), cached.file());
+        assertEquals(resized.eTag(), cached.eTag());
+        verifyNoInteractions(original);
+    }
+
+    @Test
+    void newVersionOfTheOriginalGetsANewRendition() throws IOException {
+        FileData first = imageResizer.resize(image(png(100, 50), "\"v1\""), 20, 20);
+        FileData second = imageResizer.resize(image(png(100, 100), "\"v2\""), 20, 20);
+
+        assertNotEquals(first.file(), second.file());
+        assertEquals(20, ImageIO.read(second.file().toFile()).getHeight());
+    }
+
+    @Test
+    void servesOriginalWhenItFitsTheBounds() throws IOException {
+        FileData original = image(png(10, 10), "\"v1\"");
+        assertSame(original, imageResizer.resize(original, 20, 20));
+
+        FileData unread = new FileData(mock(ByteSource.class), "photo.png", "image/png", null, LOCATION, "\"v1\"", FileData.ORIGIN_S3);
+        assertSame(unread, imageResizer.resize(unread, 20, 20));
+        verifyNoInteractions(unread.getByteSource());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedRenditionsAboveTheMaximumSize() throws IOException {
+        byte[] rendition = new byte[400 * 1024];
+        Path oldest = derivedImageCache.put("aa-oldest", rendition).orElseThrow();
+        Path recent = derivedImageCache.put("bb-recent", rendition).orElseThrow();
+        Files.setLastModifiedTime(oldest, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        Files.setLastModifiedTime(recent, FileTime.fromMillis(System.currentTimeMillis() - 30_000));
+
+        Path newest = derivedImageCache.put("cc-newest", rendition).orElseThrow();
+
+        assertFalse(Files.exists(oldest));
+        assertTrue(Files.exists(recent));
+        assertTrue(Files.exists(newest));
+        assertTrue(derivedImageCache.get("aa-oldest").isEmpty());
+        assertTrue(derivedImageCache.get("bb-recent").isPresent());
+    }
+
+    private static FileData image(byte[] content, String eTag) {
+        return new FileData(ByteSource.wrap(content), "photo.png", "image/png", null, LOCATION, eTag, FileData.ORIGIN_S3);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", output);
+        return output.toByteArray();
+    }
+}
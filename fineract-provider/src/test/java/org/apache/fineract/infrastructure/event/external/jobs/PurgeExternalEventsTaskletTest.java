@@ -27,9 +27,11 @@ import static org.mockito.Mockito.when;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -58,6 +60,8 @@ public class PurgeExternalEventsTaskletTest {
     private StepContribution stepContribution;
     @Mock
     private ChunkContext chunkContext;
+    @Mock
+    private FineractProperties fineractProperties;
     private RepeatStatus resultStatus;
     private PurgeExternalEventsTasklet underTest;
 
@@ -67,7 +71,10 @@ public class PurgeExternalEventsTaskletTest {
         ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
         ThreadLocalContextUtil
                 .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
-        underTest = new PurgeExternalEventsTasklet(repository, configurationDomainService);
+        FineractProperties.FineractJobProperties jobProperties = new FineractProperties.FineractJobProperties();
+        jobProperties.setPurgeBatchSize(2);
+        when(fineractProperties.getJob()).thenReturn(jobProperties);
+        underTest = new PurgeExternalEventsTasklet(repository, configurationDomainService, fineractProperties);
     }
 
     @AfterEach
@@ -80,22 +87,39 @@ public class PurgeExternalEventsTaskletTest {
         // given
         ArgumentCaptor<LocalDate> dateCriteriaCaptor = ArgumentCaptor.forClass(LocalDate.class);
         when(configurationDomainService.retrieveExternalEventsPurgeDaysCriteria()).thenReturn(2L);
+        when(repository.findIdsOfOlderEventsWithStatus(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(List.of(1L));
         // when
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
-        verify(repository, times(1)).deleteOlderEventsWithSentStatus(Mockito.any(), Mockito.any());
-        verify(repository).deleteOlderEventsWithSentStatus(Mockito.any(), dateCriteriaCaptor.capture());
+        verify(repository, times(1)).deleteByIds(List.of(1L));
+        verify(repository).findIdsOfOlderEventsWithStatus(Mockito.any(), dateCriteriaCaptor.capture(), Mockito.any());
         LocalDate expectedDateForPurgeCriteriaTest = DateUtils.getBusinessLocalDate().minusDays(2);
         LocalDate actualDateForPurgeCriteria = dateCriteriaCaptor.getValue();
         assertEquals(expectedDateForPurgeCriteriaTest, actualDateForPurgeCriteria);
         assertEquals(RepeatStatus.FINISHED, resultStatus);
     }
 
+    @Test
+    public void givenMoreEventsThanBatchSizeWhenTaskExecutionThenTaskletContinues() {
+        // given
+        when(configurationDomainService.retrieveExternalEventsPurgeDaysCriteria()).thenReturn(2L);
+        when(repository.findIdsOfOlderEventsWithStatus(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of());
+        // when
+        RepeatStatus firstStatus = underTest.execute(stepContribution, chunkContext);
+        RepeatStatus secondStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        assertEquals(RepeatStatus.CONTINUABLE, firstStatus);
+        assertEquals(RepeatStatus.FINISHED, secondStatus);
+        verify(repository, times(1)).deleteByIds(Mockito.any());
+    }
+
     @Test
     public void givenEventsForPurgeWhenExceptionOccursThenJobExecutionFinishesSuccessfully() {
         // given
         when(configurationDomainService.retrieveExternalEventsPurgeDaysCriteria()).thenReturn(2L);
-        doThrow(new RuntimeException("Test Exception")).when(repository).deleteOlderEventsWithSentStatus(Mockito.any(), Mockito.any());
+        when(repository.findIdsOfOlderEventsWithStatus(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(List.of(1L));
+        doThrow(new RuntimeException("Test Exception")).when(repository).deleteByIds(Mockito.any());
         // when
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
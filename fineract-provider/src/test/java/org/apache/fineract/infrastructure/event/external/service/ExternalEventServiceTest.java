@@ -184,7 +184,7 @@ class ExternalEventServiceTest {
         BulkBusinessEvent bulkEvent = new BulkBusinessEvent(List.of(event));
         byte[] data = new byte[0];
 
-        given(bulkMessageItemFactory.createBulkMessageItem(1, event)).willReturn(messageItem);
+        given(bulkMessageItemFactory.createBulkMessageItems(List.of(event))).willReturn(List.of(messageItem));
         given(idempotencyKeyGenerator.generate(bulkEvent)).willReturn(idempotencyKey);
         given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
         // when
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.junit.jupiter.api.Test;
+
+public class StandingInstructionScheduleTest {
+
+    @Test
+    public void testMonthlyStartDateMovesToNextMonthWhenDayAlreadyPassed() {
+        LocalDate startDate = StandingInstructionSchedule.startDate(PeriodFrequencyType.MONTHS, LocalDate.of(2024, 3, 20), 5, 0);
+        assertThat(startDate).isEqualTo(LocalDate.of(2024, 4, 5));
+    }
+
+    @Test
+    public void testNextDueDateBeforeStartIsStartDate() {
+        LocalDate startDate = LocalDate.of(2024, 4, 5);
+        assertThat(StandingInstructionSchedule.nextDueDate(PeriodFrequencyType.MONTHS, 1, startDate, LocalDate.of(2024, 3, 20)))
+                .isEqualTo(startDate);
+    }
+
+    @Test
+    public void testNextDueDateIsInclusive() {
+        LocalDate startDate = LocalDate.of(2024, 4, 5);
+        assertThat(StandingInstructionSchedule.nextDueDate(PeriodFrequencyType.MONTHS, 2, startDate, LocalDate.of(2024, 6, 5)))
+                .isEqualTo(LocalDate.of(2024, 6, 5));
+        assertThat(StandingInstructionSchedule.nextDueDate(PeriodFrequencyType.MONTHS, 2, startDate, LocalDate.of(2024, 6, 6)))
+                .isEqualTo(LocalDate.of(2024, 8, 5));
+    }
+
+    @Test
+    public void testNextDueDateForDaysAndWeeks() {
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        assertThat(StandingInstructionSchedule.nextDueDate(PeriodFrequencyType.DAYS, 3, startDate, LocalDate.of(2024, 1, 5)))
+                .isEqualTo(LocalDate.of(2024, 1, 7));
+        assertThat(StandingInstructionSchedule.nextDueDate(PeriodFrequencyType.WEEKS, 2, startDate, LocalDate.of(2024, 1, 2)))
+                .isEqualTo(LocalDate.of(2024, 1, 15));
+    }
+
+    @Test
+    public void testNextDueDateNeverSkipsADueDate() {
+        LocalDate startDate = LocalDate.of(2024, 1, 31);
+        LocalDate date = startDate;
+        LocalDate nextDueDate = StandingInstructionSchedule.nextDueDate(PeriodFrequencyType.MONTHS, 1, startDate, date);
+        while (date.isBefore(LocalDate.of(2025, 1, 1))) {
+            if (StandingInstructionSchedule.isDue(PeriodFrequencyType.MONTHS, 1, startDate, date)) {
+                assertThat(nextDueDate).isBeforeOrEqualTo(date);
+                nextDueDate = StandingInstructionSchedule.nextDueDate(PeriodFrequencyType.MONTHS, 1, startDate, date.plusDays(1));
+            }
+            date = date.plusDays(1);
+        }
+    }
+
+    @Test
+    public void testNoNextDueDateWithoutSchedule() {
+        assertThat(StandingInstructionSchedule.nextDueDate(PeriodFrequencyType.INVALID, 1, LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 2, 1))).isNull();
+    }
+}
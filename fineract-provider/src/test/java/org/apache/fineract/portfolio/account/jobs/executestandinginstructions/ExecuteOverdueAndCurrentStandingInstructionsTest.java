@@ -19,17 +19,50 @@
 package org.apache.fineract.portfolio.account.jobs.executestandinginstructions;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.account.PortfolioAccountType;
+import org.apache.fineract.portfolio.account.data.PortfolioAccountData;
+import org.apache.fineract.portfolio.account.data.StandingInstructionData;
 import org.apache.fineract.portfolio.account.data.StandingInstructionDuesData;
+import org.apache.fineract.portfolio.account.domain.AccountTransferRecurrenceType;
+import org.apache.fineract.portfolio.account.domain.AccountTransferType;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionStatus;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionType;
+import org.apache.fineract.portfolio.account.service.AccountTransfersWritePlatformService;
+import org.apache.fineract.portfolio.account.service.StandingInstructionReadPlatformService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
 public class ExecuteOverdueAndCurrentStandingInstructionsTest {
 
@@ -44,20 +77,141 @@ public class ExecuteOverdueAndCurrentStandingInstructionsTest {
 
     @AfterEach
     public void tearDown() {
+        SecurityContextHolder.clearContext();
         ThreadLocalContextUtil.reset();
     }
 
     @Test
     public void testAcceptPreviousDateAsDue() {
-        ExecuteStandingInstructionsTasklet tasklet = new ExecuteStandingInstructionsTasklet(null, null, null, null);
+        ExecuteStandingInstructionsTasklet tasklet = new ExecuteStandingInstructionsTasklet(null, null, null, null, null, null);
         boolean isDueForTransfer = tasklet.isDueForTransfer(new StandingInstructionDuesData(previousDate, BigDecimal.ONE));
         assertThat(isDueForTransfer).isTrue().describedAs("Earlier instructions are accepted as due");
     }
 
     @Test
     public void testAcceptCurrentDateAsDue() {
-        ExecuteStandingInstructionsTasklet tasklet = new ExecuteStandingInstructionsTasklet(null, null, null, null);
+        ExecuteStandingInstructionsTasklet tasklet = new ExecuteStandingInstructionsTasklet(null, null, null, null, null, null);
         boolean isDueForTransfer = tasklet.isDueForTransfer(new StandingInstructionDuesData(currentDate, BigDecimal.ONE));
         assertThat(isDueForTransfer).isTrue().describedAs("Current day instructions are accepted as due");
     }
+
+    @Test
+    public void testPartitionsKeepInstructionsOfSourceAccountTogether() {
+        ExecuteStandingInstructionsTasklet tasklet = new ExecuteStandingInstructionsTasklet(null, null, null, null, null, null);
+        List<StandingInstructionData> instructions = List.of(instruction(1L, 10L, 100L), instruction(2L, 20L, 200L),
+                instruction(3L, 10L, 300L), instruction(4L, 30L, 400L), instruction(5L, 10L, 500L));
+
+        List<List<StandingInstructionData>> partitions = tasklet.partitionByAccount(instructions, 2);
+
+        assertThat(partitions).hasSize(2);
+        assertThat(partitions.get(0)).extracting(StandingInstructionData::getId).containsExactly(1L, 3L, 5L);
+        assertThat(partitions.get(1)).extracting(StandingInstructionData::getId).containsExactly(2L, 4L);
+    }
+
+    @Test
+    public void testPartitionsKeepInstructionsSharingAnyAccountTogether() {
+        ExecuteStandingInstructionsTasklet tasklet = new ExecuteStandingInstructionsTasklet(null, null, null, null, null, null);
+        // 1 and 3 credit the same account, 4 debits the account 2 credits, 5 is unrelated
+        List<StandingInstructionData> instructions = List.of(instruction(1L, 10L, 100L), instruction(2L, 20L, 200L),
+                instruction(3L, 30L, 100L), instruction(4L, 200L, 400L), instruction(5L, 50L, 500L));
+
+        List<List<StandingInstructionData>> partitions = tasklet.partitionByAccount(instructions, 3);
+
+        assertThat(partitions).hasSize(3);
+        assertThat(partitions.get(0)).extracting(StandingInstructionData::getId).containsExactly(1L, 3L);
+        assertThat(partitions.get(1)).extracting(StandingInstructionData::getId).containsExactly(2L, 4L);
+        assertThat(partitions.get(2)).extracting(StandingInstructionData::getId).containsExactly(5L);
+    }
+
+    @Test
+    public void testPartitionsJoinGroupsConnectedLaterThroughADestination() {
+        ExecuteStandingInstructionsTasklet tasklet = new ExecuteStandingInstructionsTasklet(null, null, null, null, null, null);
+        // 3 connects the groups of 1 and 2, which were separate until then
+        List<StandingInstructionData> instructions = List.of(instruction(1L, 10L, 100L), instruction(2L, 20L, 200L),
+                instruction(3L, 10L, 200L));
+
+        List<List<StandingInstructionData>> partitions = tasklet.partitionByAccount(instructions, 2);
+
+        assertThat(partitions).hasSize(1);
+        assertThat(partitions.get(0)).extracting(StandingInstructionData::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    public void testTransfersRunAsTheJobUserOnThePoolThreads() throws Exception {
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, currentDate)));
+        Authentication systemUser = new UsernamePasswordAuthenticationToken("system", null);
+        SecurityContextHolder.getContext().setAuthentication(systemUser);
+
+        StandingInstructionReadPlatformService readPlatformService = mock(StandingInstructionReadPlatformService.class);
+        AccountTransfersWritePlatformService accountTransfersWritePlatformService = mock(AccountTransfersWritePlatformService.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        DatabaseSpecificSQLGenerator sqlGenerator = mock(DatabaseSpecificSQLGenerator.class);
+        when(sqlGenerator.escape("status")).thenReturn("status");
+        when(readPlatformService.retrieveAll(StandingInstructionStatus.ACTIVE.getValue())).thenReturn(List.of(loanDuesInstruction()));
+        when(readPlatformService.retriveLoanDuesData(20L)).thenReturn(new StandingInstructionDuesData(previousDate, BigDecimal.TEN));
+        AtomicReference<Authentication> transferUser = new AtomicReference<>();
+        when(accountTransfersWritePlatformService.transferFunds(any())).thenAnswer(invocation -> {
+            transferUser.set(SecurityContextHolder.getContext().getAuthentication());
+            return 1L;
+        });
+        // the history row is written inside the transfer transaction
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        doAnswer(invocation -> {
+            inTransaction.set(true);
+            try {
+                invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            } finally {
+                inTransaction.set(false);
+            }
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        AtomicBoolean historyWrittenInTransaction = new AtomicBoolean();
+        when(jdbcTemplate.update(startsWith("INSERT INTO m_account_transfer_standing_instructions_history"), eq(1L), eq("success"),
+                eq(BigDecimal.TEN), eq(""))).thenAnswer(invocation -> {
+                    historyWrittenInTransaction.set(inTransaction.get());
+                    return 1;
+                });
+
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(1);
+        taskExecutor.setMaxPoolSize(1);
+        taskExecutor.initialize();
+        try {
+            ExecuteStandingInstructionsTasklet tasklet = new ExecuteStandingInstructionsTasklet(readPlatformService, jdbcTemplate,
+                    sqlGenerator, accountTransfersWritePlatformService, transactionTemplate, taskExecutor);
+
+            assertThat(tasklet.execute(null, null)).isEqualTo(RepeatStatus.FINISHED);
+
+            verify(accountTransfersWritePlatformService).transferFunds(any());
+            assertThat(transferUser.get()).isSameAs(systemUser);
+            assertThat(historyWrittenInTransaction).isTrue();
+            // the pool thread does not keep the job user once the partition is done
+            assertThat(taskExecutor.submit(() -> SecurityContextHolder.getContext().getAuthentication()).get()).isNull();
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(systemUser);
+        } finally {
+            taskExecutor.shutdown();
+        }
+    }
+
+    private StandingInstructionData loanDuesInstruction() {
+        EnumOptionData savings = new EnumOptionData((long) PortfolioAccountType.SAVINGS.getValue(), null, null);
+        EnumOptionData loan = new EnumOptionData((long) PortfolioAccountType.LOAN.getValue(), null, null);
+        PortfolioAccountData fromAccount = new PortfolioAccountData(10L, null, null, null, null, null, null, null, null, null, null, null);
+        PortfolioAccountData toAccount = new PortfolioAccountData(20L, null, null, null, null, null, null, null, null, null, null, null);
+        return StandingInstructionData.instance(1L, null, "Loan dues", null, null, null, null, savings, fromAccount, loan, toAccount,
+                new EnumOptionData((long) AccountTransferType.LOAN_REPAYMENT.getValue(), null, null), null,
+                new EnumOptionData((long) StandingInstructionType.DUES.getValue(), null, null), null, null, previousDate, null,
+                new EnumOptionData((long) AccountTransferRecurrenceType.AS_PER_DUES.getValue(), null, null), null, null, null);
+    }
+
+    private static StandingInstructionData instruction(Long id, Long fromAccountId, Long toAccountId) {
+        EnumOptionData savings = new EnumOptionData((long) PortfolioAccountType.SAVINGS.getValue(), null, null);
+        PortfolioAccountData fromAccount = new PortfolioAccountData(fromAccountId, null, null, null, null, null, null, null, null, null,
+                null, null);
+        PortfolioAccountData toAccount = new PortfolioAccountData(toAccountId, null, null, null, null, null, null, null, null, null, null,
+                null);
+        return StandingInstructionData.instance(id, null, null, null, null, null, null, savings, fromAccount, savings, toAccount, null,
+                null, null, null, null, null, null, null, null, null, null);
+    }
 }
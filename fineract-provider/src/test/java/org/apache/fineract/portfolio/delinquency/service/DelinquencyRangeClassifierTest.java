@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.delinquency.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.apache.fineract.portfolio.delinquency.domain.DelinquencyRange;
+import org.junit.jupiter.api.Test;
+
+public class DelinquencyRangeClassifierTest {
+
+    @Test
+    public void givenRandomRangesThenClassificationMatchesSortedScan() {
+        final Random random = new Random(42L);
+        for (int run = 0; run < 200; run++) {
+            final List<DelinquencyRange> ranges = randomRanges(random);
+            final List<DelinquencyRange> rangesInBucketOrder = new ArrayList<>(ranges);
+            final DelinquencyRangeClassifier classifier = DelinquencyRangeClassifier.of(ranges);
+
+            for (long overdueDays = 0; overdueDays <= 200; overdueDays++) {
+                final DelinquencyRange expected = sortedScan(ranges, overdueDays);
+                final int position = classifier.classify(overdueDays);
+                assertEquals(expected, position == DelinquencyRangeClassifier.NO_RANGE ? null : ranges.get(position),
+                        "run " + run + " days " + overdueDays);
+            }
+            // the bucket keeps its order
+            assertEquals(rangesInBucketOrder, ranges);
+        }
+    }
+
+    @Test
+    public void givenChangedRangesThenClassifierDoesNotMatch() {
+        final DelinquencyRange range1 = range(1L, 1, 30);
+        final DelinquencyRange range2 = range(2L, 31, null);
+        final DelinquencyRangeClassifier classifier = DelinquencyRangeClassifier.of(List.of(range1, range2));
+
+        assertTrue(classifier.matches(List.of(range1, range2)));
+        assertFalse(classifier.matches(List.of(range2, range1)));
+        assertFalse(classifier.matches(List.of(range1)));
+
+        range2.setMinimumAgeDays(45);
+        assertFalse(classifier.matches(List.of(range1, range2)));
+        range2.setMinimumAgeDays(31);
+        range2.setVersion(1L);
+        assertFalse(classifier.matches(List.of(range1, range2)));
+    }
+
+    private static DelinquencyRange sortedScan(final List<DelinquencyRange> ranges, final long overdueDays) {
+        final List<DelinquencyRange> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparing(DelinquencyRange::getMinimumAgeDays));
+        for (DelinquencyRange range : sorted) {
+            final boolean withinMaximumAge = range.getMaximumAgeDays() == null || range.getMaximumAgeDays() >= overdueDays;
+            if (range.getMinimumAgeDays() <= overdueDays && withinMaximumAge) {
+                return range;
+            }
+        }
+        return null;
+    }
+
+    private static List<DelinquencyRange> randomRanges(final Random random) {
+        final List<DelinquencyRange> ranges = new ArrayList<>();
+        final int numberOfRanges = 1 + random.nextInt(6);
+        for (int i = 0; i < numberOfRanges; i++) {
+            final int minimumAgeDays = random.nextInt(150);
+            final Integer maximumAgeDays = random.nextInt(5) == 0 ? null : minimumAgeDays + random.nextInt(60);
+            ranges.add(range((long) i + 1, minimumAgeDays, maximumAgeDays));
+        }
+        return ranges;
+    }
+
+    private static DelinquencyRange range(final Long id, final int minimumAgeDays, final Integer maximumAgeDays) {
+        final DelinquencyRange range = DelinquencyRange.instance("Range" + id, minimumAgeDays, maximumAgeDays);
+        range.setId(id);
+        return range;
+    }
+}
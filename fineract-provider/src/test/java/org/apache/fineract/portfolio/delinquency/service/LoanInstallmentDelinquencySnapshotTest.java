@@ -0,0 +1,233 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.delinquency.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.delinquency.helper.DelinquencyEffectivePauseHelper;
+import org.apache.fineract.portfolio.delinquency.validator.LoanDelinquencyActionData;
+import org.apache.fineract.portfolio.loanaccount.data.CollectionData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanDelinquencyData;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionType;
+import org.apache.fineract.portfolio.loanaccount.service.LoanTransactionReadService;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Differential test of the snapshot based delinquency calculation against the installment entity walk of
+ * {@link LoanDelinquencyDomainServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LoanInstallmentDelinquencySnapshotTest {
+
+    private static final int RUNS = 500;
+    private static final BigDecimal PARTIAL_PAYMENT = new BigDecimal("0.37");
+
+    @Mock
+    private DelinquencyEffectivePauseHelper delinquencyEffectivePauseHelper;
+    @Mock
+    private LoanTransactionReadService loanTransactionReadService;
+    @InjectMocks
+    private LoanDelinquencyDomainServiceImpl underTest;
+
+    private final List<LoanDelinquencyActionData> effectiveDelinquencyList = Collections.emptyList();
+    private final MonetaryCurrency currency = new MonetaryCurrency("USD", 2, null);
+    private final LocalDate businessDate = LocalDate.of(2024, 6, 15);
+    private MockedStatic<MoneyHelper> moneyHelperStatic;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, businessDate)));
+
+        moneyHelperStatic = Mockito.mockStatic(MoneyHelper.class);
+        moneyHelperStatic.when(MoneyHelper::getMathContext).thenReturn(new MathContext(12, RoundingMode.HALF_EVEN));
+        moneyHelperStatic.when(MoneyHelper::getRoundingMode).thenReturn(RoundingMode.HALF_EVEN);
+    }
+
+    @AfterEach
+    public void deregister() {
+        ThreadLocalContextUtil.reset();
+        moneyHelperStatic.close();
+    }
+
+    @Test
+    public void givenRandomSchedulesThenOverdueCollectionDataMatchesInstallmentWalk() {
+        final Random random = new Random(20240615L);
+        for (int run = 0; run < RUNS; run++) {
+            final Loan loan = randomLoan(random);
+            final List<LoanTransaction> chargebacks = randomChargebacks(random);
+            givenChargebacksAndPausedDays(chargebacks, random.nextInt(4));
+
+            final CollectionData expected = underTest.calculateOverdueCollectionData(loan, effectiveDelinquencyList, chargebacks,
+                    businessDate);
+            final CollectionData actual = underTest.getOverdueCollectionData(loan, effectiveDelinquencyList);
+
+            assertEquals(expected, actual, "run " + run);
+        }
+    }
+
+    @Test
+    public void givenRandomSchedulesThenLoanDelinquencyDataMatchesInstallmentWalk() {
+        final Random random = new Random(20240616L);
+        for (int run = 0; run < RUNS; run++) {
+            final Loan loan = randomLoan(random);
+            final List<LoanTransaction> chargebacks = randomChargebacks(random);
+            givenChargebacksAndPausedDays(chargebacks, random.nextInt(4));
+
+            final LoanDelinquencyData expected = underTest.calculateLoanDelinquencyData(loan, effectiveDelinquencyList, chargebacks,
+                    businessDate);
+            final LoanDelinquencyData actual = underTest.getLoanDelinquencyData(loan, effectiveDelinquencyList);
+
+            assertEquals(expected.getLoanCollectionData(), actual.getLoanCollectionData(), "run " + run);
+            assertEquals(expected.getLoanInstallmentsCollectionData(), actual.getLoanInstallmentsCollectionData(), "run " + run);
+        }
+    }
+
+    @Test
+    public void givenAmountsBeyondScaledLongThenSnapshotIsNotTaken() {
+        final Loan loan = loanWithInstallments(List.of(installment(1L, businessDate.minusMonths(2), businessDate.minusMonths(1),
+                new BigDecimal("1000"), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO)), 0);
+        final List<LoanTransaction> chargebacks = List
+                .of(chargeback(businessDate.minusDays(40), new BigDecimal("1000000000000000.000000")));
+
+        assertNull(LoanInstallmentDelinquencySnapshot.of(loan, chargebacks, businessDate));
+        assertNotNull(LoanInstallmentDelinquencySnapshot.of(loan, Collections.emptyList(), businessDate));
+
+        givenChargebacksAndPausedDays(chargebacks, 0);
+        assertEquals(underTest.calculateOverdueCollectionData(loan, effectiveDelinquencyList, chargebacks, businessDate),
+                underTest.getOverdueCollectionData(loan, effectiveDelinquencyList));
+    }
+
+    private void givenChargebacksAndPausedDays(final List<LoanTransaction> chargebacks, final long pausedDays) {
+        when(loanTransactionReadService.fetchLoanTransactionsByType(isNull(), isNull(), eq(LoanTransactionType.CHARGEBACK)))
+                .thenReturn(chargebacks);
+        when(delinquencyEffectivePauseHelper.getPausedDaysBeforeDate(any(), any())).thenReturn(pausedDays);
+    }
+
+    private Loan randomLoan(final Random random) {
+        final int numberOfInstallments = 1 + random.nextInt(12);
+        LocalDate fromDate = businessDate.minusDays(random.nextInt(300));
+        final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>();
+        for (int i = 0; i < numberOfInstallments; i++) {
+            final LocalDate dueDate = fromDate.plusDays(1 + random.nextInt(45));
+            final LoanRepaymentScheduleInstallment installment = installment((long) i + 1, fromDate, dueDate, randomAmount(random, 1000),
+                    randomAmount(random, 100), randomAmount(random, 20), randomAmount(random, 10));
+            switch (random.nextInt(4)) {
+                case 0 -> installment.setObligationsMet(true);
+                case 1 -> installment.setPrincipalCompleted(installment.getPrincipal(currency).getAmount().multiply(PARTIAL_PAYMENT));
+                case 2 -> {
+                    installment.setInterestPaid(installment.getInterestCharged(currency).getAmount());
+                    installment.setFeeChargesPaid(installment.getFeeChargesCharged(currency).getAmount());
+                }
+                default -> {
+                }
+            }
+            installments.add(installment);
+            fromDate = dueDate;
+        }
+        return loanWithInstallments(installments, random.nextInt(5) == 0 ? null : random.nextInt(6));
+    }
+
+    private Loan loanWithInstallments(final List<LoanRepaymentScheduleInstallment> installments, final Integer graceOnArrearsAgeing) {
+        final Loan loan = mock(Loan.class);
+        final LoanProductRelatedDetail loanProductRelatedDetail = mock(LoanProductRelatedDetail.class);
+        when(loanProductRelatedDetail.getGraceOnArrearsAgeing()).thenReturn(graceOnArrearsAgeing);
+        when(loan.getLoanProductRelatedDetail()).thenReturn(loanProductRelatedDetail);
+        when(loan.getRepaymentScheduleInstallments()).thenReturn(installments);
+        when(loan.getLastLoanRepaymentScheduleInstallment()).thenReturn(installments.get(installments.size() - 1));
+        when(loan.getCurrency()).thenReturn(currency);
+        when(loan.getStatus()).thenReturn(LoanStatus.ACTIVE);
+        when(loan.isEnableInstallmentLevelDelinquency()).thenReturn(true);
+        return loan;
+    }
+
+    private LoanRepaymentScheduleInstallment installment(final Long id, final LocalDate fromDate, final LocalDate dueDate,
+            final BigDecimal principal, final BigDecimal interest, final BigDecimal fee, final BigDecimal penalty) {
+        final LoanRepaymentScheduleInstallment installment = new LoanRepaymentScheduleInstallment(null, id.intValue(), fromDate, dueDate,
+                principal, interest, fee, penalty, false, new HashSet<>(), BigDecimal.ZERO);
+        installment.setId(id);
+        return installment;
+    }
+
+    private List<LoanTransaction> randomChargebacks(final Random random) {
+        final List<LoanTransaction> chargebacks = new ArrayList<>();
+        final int numberOfChargebacks = random.nextInt(4);
+        for (int i = 0; i < numberOfChargebacks; i++) {
+            BigDecimal amount = randomAmount(random, 1500);
+            if (random.nextBoolean()) {
+                // persisted transaction amounts carry the scale of the column
+                amount = amount.setScale(6, RoundingMode.UNNECESSARY);
+            }
+            chargebacks.add(chargeback(businessDate.minusDays(random.nextInt(300)).plusDays(random.nextInt(30)), amount));
+        }
+        return chargebacks;
+    }
+
+    private LoanTransaction chargeback(final LocalDate transactionDate, final BigDecimal amount) {
+        final LoanTransaction chargeback = mock(LoanTransaction.class);
+        when(chargeback.getTransactionDate()).thenReturn(transactionDate);
+        when(chargeback.getAmount()).thenReturn(amount);
+        return chargeback;
+    }
+
+    private static BigDecimal randomAmount(final Random random, final int bound) {
+        return BigDecimal.valueOf(random.nextInt(bound * 100), 2);
+    }
+}
@@ -19,49 +19,105 @@
 package org.apache.fineract.portfolio.loanaccount.jobs.applychargetooverdueloaninstallment;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.anyCollection;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.apache.fineract.cob.domain.LoanAccountLock;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.loan.LoanLockingService;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.portfolio.loanaccount.loanschedule.data.OverdueLoanScheduleData;
 import org.apache.fineract.portfolio.loanaccount.service.LoanChargeWritePlatformService;
 import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
 public class ApplyChargeToOverdueLoanInstallmentTaskletTest {
 
+    private static final int PAGE_SIZE = 2;
+
     private LoanReadPlatformService loanReadPlatformService;
     private LoanChargeWritePlatformService loanChargeWritePlatformService;
+    private LoanLockingService loanLockingService;
+    private ThreadPoolTaskExecutor taskExecutor;
+    private TransactionTemplate transactionTemplate;
     private StepContribution contribution;
     private ChunkContext chunkContext;
     private ApplyChargeToOverdueLoanInstallmentTasklet tasklet;
 
     @BeforeEach
+    @SuppressWarnings("unchecked")
     public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+
         loanReadPlatformService = mock(LoanReadPlatformService.class);
         loanChargeWritePlatformService = mock(LoanChargeWritePlatformService.class);
+        loanLockingService = mock(LoanLockingService.class);
         ConfigurationDomainService configurationDomainService = mock(ConfigurationDomainService.class);
         contribution = mock(StepContribution.class);
         chunkContext = mock(ChunkContext.class);
 
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(2);
+        taskExecutor.setMaxPoolSize(2);
+        taskExecutor.initialize();
+        transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
         tasklet = new ApplyChargeToOverdueLoanInstallmentTasklet(configurationDomainService, loanReadPlatformService,
-                loanChargeWritePlatformService);
+                loanChargeWritePlatformService, loanLockingService, taskExecutor, transactionTemplate, PAGE_SIZE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskExecutor.shutdown();
+        ThreadLocalContextUtil.reset();
     }
 
     @Test
     public void testExecute_WhenNoOverdueInstallments_ShouldNotApplyCharges() throws Exception {
-        when(loanReadPlatformService.retrieveAllLoansWithOverdueInstallments(anyLong(), anyBoolean()))
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), anyLong(), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         RepeatStatus status = tasklet.execute(contribution, chunkContext);
@@ -73,14 +129,129 @@ public class ApplyChargeToOverdueLoanInstallmentTaskletTest {
 
     @Test
     public void testExecute_WhenOverdueInstallmentsExist_ShouldApplyCharges() throws Exception {
-        OverdueLoanScheduleData overdueData = mock(OverdueLoanScheduleData.class);
-        when(loanReadPlatformService.retrieveAllLoansWithOverdueInstallments(anyLong(), anyBoolean()))
+        OverdueLoanScheduleData overdueData = overdueInstallment(1L);
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(0L), eq(PAGE_SIZE)))
                 .thenReturn(Collections.singletonList(overdueData));
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(1L), eq(PAGE_SIZE)))
+                .thenReturn(Collections.emptyList());
 
         RepeatStatus status = tasklet.execute(contribution, chunkContext);
 
         assertEquals(RepeatStatus.FINISHED, status);
 
-        verify(loanChargeWritePlatformService, times(1)).applyOverdueChargesForLoan(anyLong(), anyCollection());
+        verify(loanChargeWritePlatformService, times(1)).applyOverdueChargesForLoan(1L, List.of(overdueData));
+    }
+
+    @Test
+    public void testExecute_ShouldReadPagesAfterTheLastLoanOfThePreviousPage() throws Exception {
+        OverdueLoanScheduleData firstInstallment = overdueInstallment(1L);
+        OverdueLoanScheduleData secondInstallment = overdueInstallment(1L);
+        OverdueLoanScheduleData otherLoanInstallment = overdueInstallment(2L);
+        OverdueLoanScheduleData nextPageInstallment = overdueInstallment(3L);
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(0L), eq(PAGE_SIZE)))
+                .thenReturn(List.of(firstInstallment, secondInstallment, otherLoanInstallment));
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(2L), eq(PAGE_SIZE)))
+                .thenReturn(List.of(nextPageInstallment));
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(3L), eq(PAGE_SIZE)))
+                .thenReturn(Collections.emptyList());
+
+        tasklet.execute(contribution, chunkContext);
+
+        verify(loanChargeWritePlatformService).applyOverdueChargesForLoan(1L, List.of(firstInstallment, secondInstallment));
+        verify(loanChargeWritePlatformService).applyOverdueChargesForLoan(2L, List.of(otherLoanInstallment));
+        verify(loanChargeWritePlatformService).applyOverdueChargesForLoan(3L, List.of(nextPageInstallment));
+    }
+
+    @Test
+    public void testExecute_ShouldApplyChargesUnderTheLoanLock() throws Exception {
+        OverdueLoanScheduleData overdueData = overdueInstallment(1L);
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(0L), eq(PAGE_SIZE)))
+                .thenReturn(List.of(overdueData));
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(1L), eq(PAGE_SIZE)))
+                .thenReturn(Collections.emptyList());
+
+        tasklet.execute(contribution, chunkContext);
+
+        InOrder inOrder = inOrder(loanLockingService, loanChargeWritePlatformService);
+        inOrder.verify(loanLockingService).applyLock(List.of(1L), LockOwner.LOAN_INLINE_COB_PROCESSING);
+        inOrder.verify(loanChargeWritePlatformService).applyOverdueChargesForLoan(1L, List.of(overdueData));
+        inOrder.verify(loanLockingService).deleteByLoanIdInAndLockOwner(List.of(1L), LockOwner.LOAN_INLINE_COB_PROCESSING);
+    }
+
+    @Test
+    public void testExecute_ShouldReleaseTheLoanLockWhenApplyingFails() throws Exception {
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(0L), eq(PAGE_SIZE)))
+                .thenReturn(List.of(overdueInstallment(1L)));
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(1L), eq(PAGE_SIZE)))
+                .thenReturn(Collections.emptyList());
+        doThrow(new IllegalStateException("fail")).when(loanChargeWritePlatformService).applyOverdueChargesForLoan(eq(1L),
+                anyCollection());
+
+        assertThrows(JobExecutionException.class, () -> tasklet.execute(contribution, chunkContext));
+
+        verify(loanLockingService).deleteByLoanIdInAndLockOwner(List.of(1L), LockOwner.LOAN_INLINE_COB_PROCESSING);
+    }
+
+    @Test
+    public void testExecute_ShouldSkipLoansLockedByRunningLoanCOB() throws Exception {
+        OverdueLoanScheduleData lockedLoanInstallment = overdueInstallment(1L);
+        OverdueLoanScheduleData unlockedLoanInstallment = overdueInstallment(2L);
+        givenExistingLock(1L, null);
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(0L), eq(PAGE_SIZE)))
+                .thenReturn(List.of(lockedLoanInstallment, unlockedLoanInstallment));
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(2L), eq(PAGE_SIZE)))
+                .thenReturn(Collections.emptyList());
+
+        tasklet.execute(contribution, chunkContext);
+
+        verify(loanChargeWritePlatformService, never()).applyOverdueChargesForLoan(eq(1L), anyCollection());
+        verify(loanLockingService, never()).deleteByLoanIdInAndLockOwner(List.of(1L), LockOwner.LOAN_INLINE_COB_PROCESSING);
+        verify(loanChargeWritePlatformService).applyOverdueChargesForLoan(2L, List.of(unlockedLoanInstallment));
+    }
+
+    @Test
+    public void testExecute_ShouldApplyChargesOfLoansLockedByFailedLoanCOBAndKeepTheLock() throws Exception {
+        OverdueLoanScheduleData overdueData = overdueInstallment(1L);
+        givenExistingLock(1L, "Loan (id: 1) processing is failed");
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(0L), eq(PAGE_SIZE)))
+                .thenReturn(List.of(overdueData));
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(1L), eq(PAGE_SIZE)))
+                .thenReturn(Collections.emptyList());
+
+        tasklet.execute(contribution, chunkContext);
+
+        verify(loanChargeWritePlatformService).applyOverdueChargesForLoan(1L, List.of(overdueData));
+        verify(loanLockingService, never()).deleteByLoanIdInAndLockOwner(anyList(), any());
+    }
+
+    @Test
+    public void testExecute_WhenALoanFails_ShouldApplyTheOthersAndFailTheJob() throws Exception {
+        OverdueLoanScheduleData failingLoanInstallment = overdueInstallment(1L);
+        OverdueLoanScheduleData otherLoanInstallment = overdueInstallment(2L);
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(0L), eq(PAGE_SIZE)))
+                .thenReturn(List.of(failingLoanInstallment, otherLoanInstallment));
+        when(loanReadPlatformService.retrieveLoansWithOverdueInstallments(anyLong(), anyBoolean(), eq(2L), eq(PAGE_SIZE)))
+                .thenReturn(Collections.emptyList());
+        doThrow(new IllegalStateException("fail")).when(loanChargeWritePlatformService).applyOverdueChargesForLoan(eq(1L),
+                anyCollection());
+
+        assertThrows(JobExecutionException.class, () -> tasklet.execute(contribution, chunkContext));
+
+        verify(loanChargeWritePlatformService).applyOverdueChargesForLoan(2L, List.of(otherLoanInstallment));
+    }
+
+    private void givenExistingLock(Long loanId, String error) {
+        LoanAccountLock lock = mock(LoanAccountLock.class);
+        when(lock.getLoanId()).thenReturn(loanId);
+        when(lock.getError()).thenReturn(error);
+        doThrow(new DuplicateKeyException("locked")).when(loanLockingService).applyLock(List.of(loanId),
+                LockOwner.LOAN_INLINE_COB_PROCESSING);
+        when(loanLockingService.findAllByLoanIdIn(List.of(loanId))).thenReturn(List.of(lock));
+    }
+
+    private OverdueLoanScheduleData overdueInstallment(Long loanId) {
+        OverdueLoanScheduleData overdueData = mock(OverdueLoanScheduleData.class);
+        when(overdueData.getLoanId()).thenReturn(loanId);
+        return overdueData;
     }
 }
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.ExecutionContext;
+
+@ExtendWith(MockitoExtension.class)
+class RecalculateInterestForLoanItemReaderTest {
+
+    // gapped ids, the pages have to follow the ids actually fetched
+    private static final TreeSet<Long> LOAN_IDS = new TreeSet<>(List.of(1L, 2L, 3L, 50L, 51L, 1000L, 1001L, 1002L, 5000L));
+
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+    @Mock
+    private OfficeReadPlatformService officeReadPlatformService;
+
+    @BeforeEach
+    void setUp() {
+        when(loanReadPlatformService.fetchLoansForInterestRecalculation(eq(2), anyLong(), isNull())).thenAnswer(invocation -> {
+            Long afterLoanId = invocation.getArgument(1);
+            return LOAN_IDS.tailSet(afterLoanId, false).stream().limit(2).toList();
+        });
+    }
+
+    @Test
+    void testEveryLoanIsReadOnceAcrossGappedIds() {
+        RecalculateInterestForLoanItemReader underTest = new RecalculateInterestForLoanItemReader(loanReadPlatformService,
+                officeReadPlatformService, null, 2);
+        underTest.open(new ExecutionContext());
+
+        assertEquals(new ArrayList<>(LOAN_IDS), readAll(underTest));
+        verify(loanReadPlatformService).fetchLoansForInterestRecalculation(2, 1002L, null);
+        verifyNoInteractions(officeReadPlatformService);
+    }
+
+    @Test
+    void testRestartContinuesAfterLastCommittedLoan() {
+        RecalculateInterestForLoanItemReader underTest = new RecalculateInterestForLoanItemReader(loanReadPlatformService,
+                officeReadPlatformService, null, 2);
+        ExecutionContext executionContext = new ExecutionContext();
+        underTest.open(executionContext);
+        underTest.read();
+        underTest.read();
+        underTest.read();
+        underTest.update(executionContext);
+
+        RecalculateInterestForLoanItemReader restarted = new RecalculateInterestForLoanItemReader(loanReadPlatformService,
+                officeReadPlatformService, null, 2);
+        restarted.open(executionContext);
+
+        assertEquals(List.of(50L, 51L, 1000L, 1001L, 1002L, 5000L), readAll(restarted));
+    }
+
+    private static List<Long> readAll(RecalculateInterestForLoanItemReader reader) {
+        List<Long> loanIds = new ArrayList<>();
+        for (Long loanId = reader.read(); loanId != null; loanId = reader.read()) {
+            loanIds.add(loanId);
+        }
+        assertNull(reader.read());
+        return loanIds;
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.loanaccount.service.LoanWritePlatformService;
+import org.apache.fineract.portfolio.loanaccount.service.RecalculateInterestPoster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@ExtendWith(MockitoExtension.class)
+class RecalculateInterestForLoanItemWriterTest {
+
+    @Mock
+    private ApplicationContext applicationContext;
+    @Mock
+    private LoanWritePlatformService loanWritePlatformService;
+    private ThreadPoolTaskExecutor taskExecutor;
+    private StepExecution stepExecution;
+    private RecalculateInterestForLoanItemWriter underTest;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 1, 1))));
+        when(applicationContext.getBean(RecalculateInterestPoster.class))
+                .thenAnswer(invocation -> new RecalculateInterestPoster(loanWritePlatformService));
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.initialize();
+        stepExecution = new StepExecution("recalculateInterest", new JobExecution(1L));
+        underTest = new RecalculateInterestForLoanItemWriter(applicationContext, taskExecutor, Optional.empty(), 2);
+        underTest.beforeStep(stepExecution);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskExecutor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void testFailingLoanIsSkippedAndTheOthersAreRecalculated() throws Exception {
+        doThrow(new IllegalStateException("broken schedule")).when(loanWritePlatformService).recalculateInterest(2L);
+
+        underTest.write(Chunk.of(1L, 2L, 3L, 4L));
+
+        verify(loanWritePlatformService, times(1)).recalculateInterest(1L);
+        verify(loanWritePlatformService, times(1)).recalculateInterest(3L);
+        verify(loanWritePlatformService, times(1)).recalculateInterest(4L);
+        verify(applicationContext, times(2)).getBean(RecalculateInterestPoster.class);
+        assertEquals(1, stepExecution.getWriteSkipCount());
+        assertEquals(ExitStatus.FAILED.getExitCode(), underTest.afterStep(stepExecution).getExitCode());
+        assertEquals(BatchStatus.FAILED, stepExecution.getStatus());
+    }
+
+    @Test
+    void testStepStatusIsKeptWhenAllLoansAreRecalculated() throws Exception {
+        underTest.write(Chunk.of(1L, 2L, 3L));
+
+        verify(loanWritePlatformService, times(3)).recalculateInterest(anyLong());
+        assertEquals(0, stepExecution.getWriteSkipCount());
+        assertEquals(stepExecution.getExitStatus(), underTest.afterStep(stepExecution));
+    }
+}
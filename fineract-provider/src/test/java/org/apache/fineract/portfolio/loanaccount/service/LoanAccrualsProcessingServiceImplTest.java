@@ -18,7 +18,13 @@
  */
 package org.apache.fineract.portfolio.loanaccount.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -27,13 +33,29 @@ import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import org.apache.fineract.accounting.common.AccountingRuleType;
 import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -43,6 +65,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -66,6 +91,21 @@ public class LoanAccrualsProcessingServiceImplTest {
     @Mock
     private JournalEntryWritePlatformService journalEntryWritePlatformService;
 
+    @Mock
+    private LoanRepositoryWrapper loanRepositoryWrapper;
+
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+
+    @Mock
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private FineractProperties fineractProperties;
+
     @BeforeEach
     void setUp() {
         when(loan.isClosed()).thenReturn(false);
@@ -73,6 +113,75 @@ public class LoanAccrualsProcessingServiceImplTest {
         when(loanStatus.isOverpaid()).thenReturn(false);
     }
 
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void addPeriodicAccrualsInChunks_ShouldProcessLoansInChunks_WhenLoansAreFound() throws Exception {
+        // Given
+        final LocalDate tillDate = LocalDate.of(2024, 2, 15);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, tillDate)));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        FineractProperties.FineractJobProperties jobProperties = new FineractProperties.FineractJobProperties();
+        jobProperties.setPeriodicAccrualChunkSize(2);
+        jobProperties.setPeriodicAccrualMaxInFlightChunks(1);
+        when(fineractProperties.getJob()).thenReturn(jobProperties);
+        when(loanRepositoryWrapper.findLoanIdsForPeriodicAccrual(eq(AccountingRuleType.ACCRUAL_PERIODIC), eq(tillDate), anyBoolean(),
+                eq(0L), anyInt())).thenReturn(List.of(1L, 2L));
+        when(loanRepositoryWrapper.findLoanIdsForPeriodicAccrual(eq(AccountingRuleType.ACCRUAL_PERIODIC), eq(tillDate), anyBoolean(),
+                eq(2L), anyInt())).thenReturn(List.of(3L));
+        when(loanRepositoryWrapper.findOneWithNotFoundDetection(any(Long.class))).thenReturn(loan);
+        when(loan.isClosed()).thenReturn(true);
+        when(taskExecutor.submit(any(Callable.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(((Callable<?>) invocation.getArgument(0)).call()));
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        // When
+        accrualsProcessingService.addPeriodicAccrualsInChunks(tillDate);
+
+        // Then
+        verify(taskExecutor, times(2)).submit(any(Callable.class));
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(loanRepositoryWrapper, times(1)).findOneWithNotFoundDetection(1L);
+        verify(loanRepositoryWrapper, times(1)).findOneWithNotFoundDetection(2L);
+        verify(loanRepositoryWrapper, times(1)).findOneWithNotFoundDetection(3L);
+        verify(loanRepositoryWrapper, never()).findLoansForPeriodicAccrual(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void addPeriodicAccruals_ShouldProcessLoansOnCallingThreadInCallerTransaction() {
+        // Given
+        final LocalDate tillDate = LocalDate.of(2024, 2, 15);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, tillDate)));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        FineractProperties.FineractJobProperties jobProperties = new FineractProperties.FineractJobProperties();
+        jobProperties.setPeriodicAccrualChunkSize(2);
+        when(fineractProperties.getJob()).thenReturn(jobProperties);
+        when(loanRepositoryWrapper.findLoanIdsForPeriodicAccrual(eq(AccountingRuleType.ACCRUAL_PERIODIC), eq(tillDate), anyBoolean(),
+                eq(0L), anyInt())).thenReturn(List.of(1L, 2L));
+        when(loanRepositoryWrapper.findLoanIdsForPeriodicAccrual(eq(AccountingRuleType.ACCRUAL_PERIODIC), eq(tillDate), anyBoolean(),
+                eq(2L), anyInt())).thenReturn(List.of(3L));
+        when(loanRepositoryWrapper.findOneWithNotFoundDetection(any(Long.class))).thenReturn(loan);
+        when(loanRepositoryWrapper.findOneWithNotFoundDetection(2L)).thenThrow(new IllegalStateException("broken loan"));
+        when(loan.isClosed()).thenReturn(true);
+
+        // When
+        JobExecutionException exception = assertThrows(JobExecutionException.class,
+                () -> accrualsProcessingService.addPeriodicAccruals(tillDate));
+
+        // Then
+        assertEquals(1, exception.getCauses().size());
+        verify(loanRepositoryWrapper, times(1)).findOneWithNotFoundDetection(1L);
+        verify(loanRepositoryWrapper, times(1)).findOneWithNotFoundDetection(3L);
+        verifyNoInteractions(taskExecutor, transactionTemplate);
+    }
+
     @ParameterizedTest
     @MethodSource("loanStatusTestCases")
     void addPeriodicAccruals_ShouldNotProceed_WhenLoanIsClosedOrOverpaid(final boolean isClosed, final boolean isOverpaid) {
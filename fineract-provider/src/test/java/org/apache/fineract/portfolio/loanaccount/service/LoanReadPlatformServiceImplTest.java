@@ -0,0 +1,183 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.OverdueLoanScheduleData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the overdue installment queries against PostgreSQL and compares the keyset pages with the result of the query
+ * reading all loans at once.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class LoanReadPlatformServiceImplTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2026, 3, 1);
+    private static final long PENALTY_WAIT_PERIOD = 2L;
+    private static final int LOANS = 30;
+    private static final int ACTIVE = 300;
+    private static final int CLOSED = 600;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES_CONTAINER = new PostgreSQLContainer<>("postgres:16");
+
+    private static JdbcTemplate jdbcTemplate;
+    private LoanReadPlatformServiceImpl underTest;
+
+    @BeforeAll
+    public static void createTables() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(POSTGRES_CONTAINER.getJdbcUrl(), POSTGRES_CONTAINER.getUsername(),
+                POSTGRES_CONTAINER.getPassword()));
+        jdbcTemplate.execute("create table m_loan (id bigint primary key, product_id bigint not null, loan_status_id smallint not null)");
+        jdbcTemplate.execute("create table m_charge (id bigint primary key, amount decimal(19, 6) not null,"
+                + " charge_applies_to_enum smallint not null, charge_time_enum smallint not null)");
+        jdbcTemplate.execute("create table m_product_loan_charge (product_loan_id bigint not null, charge_id bigint not null)");
+        jdbcTemplate.execute("create table m_loan_repayment_schedule (id bigserial primary key, loan_id bigint not null,"
+                + " installment smallint not null, fromdate date, duedate date not null, obligations_met_on_date date,"
+                + " completed_derived boolean not null, recalculated_interest_component boolean not null,"
+                + " principal_amount decimal(19, 6), principal_completed_derived decimal(19, 6),"
+                + " principal_writtenoff_derived decimal(19, 6), interest_amount decimal(19, 6),"
+                + " interest_completed_derived decimal(19, 6), interest_waived_derived decimal(19, 6),"
+                + " interest_writtenoff_derived decimal(19, 6), fee_charges_amount decimal(19, 6),"
+                + " fee_charges_completed_derived decimal(19, 6), fee_charges_waived_derived decimal(19, 6),"
+                + " fee_charges_writtenoff_derived decimal(19, 6), penalty_charges_amount decimal(19, 6),"
+                + " penalty_charges_completed_derived decimal(19, 6), penalty_charges_waived_derived decimal(19, 6),"
+                + " penalty_charges_writtenoff_derived decimal(19, 6),"
+                + " total_paid_in_advance_derived decimal(19, 6), total_paid_late_derived decimal(19, 6))");
+
+        // product 1 has two overdue penalties, product 2 one overdue penalty and a charge that is not applied when overdue
+        jdbcTemplate.update("insert into m_charge (id, amount, charge_applies_to_enum, charge_time_enum) values"
+                + " (1, 10, 1, 9), (2, 5, 1, 9), (3, 7, 1, 9), (4, 3, 1, 2)");
+        jdbcTemplate.update("insert into m_product_loan_charge (product_loan_id, charge_id) values (1, 1), (1, 2), (2, 3), (2, 4)");
+        for (long loanId = 1; loanId <= LOANS; loanId++) {
+            jdbcTemplate.update("insert into m_loan (id, product_id, loan_status_id) values (?, ?, ?)", loanId, loanId % 2 == 0 ? 1 : 2,
+                    loanId % 7 == 0 ? CLOSED : ACTIVE);
+            // long overdue, due on the last day before the wait period ends, and not due yet
+            insertInstallment(loanId, 1, LocalDate.of(2026, 2, 1), loanId % 3 == 0, false);
+            insertInstallment(loanId, 2, BUSINESS_DATE.minusDays(PENALTY_WAIT_PERIOD + 1), loanId % 5 == 0, loanId % 11 == 0);
+            insertInstallment(loanId, 3, BUSINESS_DATE.plusDays(4), false, false);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE);
+        businessDates.put(BusinessDateType.COB_DATE, BUSINESS_DATE.minusDays(1));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+
+        DatabaseTypeResolver databaseTypeResolver = mock(DatabaseTypeResolver.class);
+        when(databaseTypeResolver.isPostgreSQL()).thenReturn(true);
+        // only the JDBC template and the SQL generator are used by the overdue installment queries
+        underTest = new LoanReadPlatformServiceImpl(jdbcTemplate, null, null, null, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, new DatabaseSpecificSQLGenerator(databaseTypeResolver), null, null, null, null,
+                null, null, null, null, null, null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenBackdatedPenaltiesWhenReadInPagesThenEveryOverdueInstallmentIsReadOnce() {
+        List<String> all = sorted(underTest.retrieveAllLoansWithOverdueInstallments(PENALTY_WAIT_PERIOD, true));
+
+        assertFalse(all.isEmpty());
+        for (int pageSize : new int[] { 1, 4, 7, LOANS }) {
+            assertEquals(all, readInPages(true, pageSize), "Page size " + pageSize);
+        }
+    }
+
+    @Test
+    public void givenPenaltiesOfTheLastDayOnlyWhenReadInPagesThenEveryOverdueInstallmentIsReadOnce() {
+        List<String> all = sorted(underTest.retrieveAllLoansWithOverdueInstallments(PENALTY_WAIT_PERIOD, false));
+
+        assertFalse(all.isEmpty());
+        assertTrue(all.stream().allMatch(row -> row.contains("/2/")), "Only the installments due on the last day are overdue: " + all);
+        for (int pageSize : new int[] { 1, 4, 7, LOANS }) {
+            assertEquals(all, readInPages(false, pageSize), "Page size " + pageSize);
+        }
+    }
+
+    private List<String> readInPages(boolean backdatePenalties, int pageSize) {
+        List<String> rows = new ArrayList<>();
+        long afterLoanId = 0L;
+        List<OverdueLoanScheduleData> page = underTest.retrieveLoansWithOverdueInstallments(PENALTY_WAIT_PERIOD, backdatePenalties,
+                afterLoanId, pageSize);
+        while (!page.isEmpty()) {
+            Set<Long> loanIds = new LinkedHashSet<>();
+            for (OverdueLoanScheduleData data : page) {
+                assertTrue(data.getLoanId() > afterLoanId, "Loan " + data.getLoanId() + " was already read before loan " + afterLoanId);
+                loanIds.add(data.getLoanId());
+                rows.add(row(data));
+            }
+            assertTrue(loanIds.size() <= pageSize, "Page of " + pageSize + " loans returned " + loanIds);
+            afterLoanId = page.get(page.size() - 1).getLoanId();
+            page = underTest.retrieveLoansWithOverdueInstallments(PENALTY_WAIT_PERIOD, backdatePenalties, afterLoanId, pageSize);
+        }
+        return rows;
+    }
+
+    private static List<String> sorted(Iterable<OverdueLoanScheduleData> overdueInstallments) {
+        List<OverdueLoanScheduleData> sorted = new ArrayList<>();
+        overdueInstallments.forEach(sorted::add);
+        sorted.sort(Comparator.comparing(OverdueLoanScheduleData::getLoanId).thenComparing(OverdueLoanScheduleData::getPeriodNumber)
+                .thenComparing(OverdueLoanScheduleData::getChargeId));
+        return sorted.stream().map(LoanReadPlatformServiceImplTest::row).toList();
+    }
+
+    private static String row(OverdueLoanScheduleData data) {
+        return data.getLoanId() + "/" + data.getPeriodNumber() + "/" + data.getChargeId();
+    }
+
+    private static void insertInstallment(long loanId, int installment, LocalDate dueDate, boolean completed,
+            boolean recalculatedInterest) {
+        jdbcTemplate.update("insert into m_loan_repayment_schedule (loan_id, installment, fromdate, duedate, completed_derived,"
+                + " recalculated_interest_component, principal_amount, interest_amount) values (?, ?, ?, ?, ?, ?, 100, 10)", loanId,
+                installment, dueDate.minusMonths(1), dueDate, completed, recalculatedInterest);
+    }
+}
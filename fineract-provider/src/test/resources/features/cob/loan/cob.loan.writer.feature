@@ -37,3 +37,23 @@ Feature: COB Writer
     Examples:
       |action|
       |error|
+
+  @cob
+  Scenario Outline: LoanItemWriter - memory bounded: flush and clear
+    Given The memory bounded LoanItemWriter.write method with action <action>
+    When LoanItemWriter.write method executed
+    Then LoanItemWriter.write should flush and clear the persistence context
+
+    Examples:
+      |action|
+      |good|
+
+  @cob
+  Scenario Outline: LoanItemWriter - memory bounded: empty chunk
+    Given The memory bounded LoanItemWriter.write method with action <action>
+    When LoanItemWriter.write method executed
+    Then LoanItemWriter.write should not touch the persistence context
+
+    Examples:
+      |action|
+      |error|